@@ -0,0 +1,276 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Results of a run of benchmarks saved as reference, against which later runs are checked for
+ * regressions (see {@link RegressionCheck}), e.g., to fail a build when a hot path becomes slower.
+ * <p/>
+ * The baseline is saved as a text file, starting with the line {@link #HEADER}, followed by a line for
+ * each benchmark with the tab-separated fields of its {@link BenchmarkSummary}: name, number of samples,
+ * mean, standard deviation and median (in nanoseconds) and the comma-separated sorted durations
+ * of each execution (or {@link #NO_SAMPLES} if the samples are not kept).
+ * At most {@link #MAXIMUM_SAVED_SAMPLES} durations are saved for each benchmark, so that the file stays
+ * small enough to be committed: if more samples are kept, evenly spaced quantiles of them are saved
+ * instead, while the number of samples, the mean and the standard deviation refer to all of them.
+ * Benchmarks in {@link BenchmarkMode#THROUGHPUT} mode do not time the executions and are not saved.
+ */
+public final class Baseline {
+
+    /**
+     * The {@link Logger} of current class.
+     */
+    private static final Logger LOGGER_OF_THIS_CLASS = Logger.getLogger(Baseline.class.getCanonicalName());
+    /**
+     * First line of a file of a baseline (identifying the version of the format).
+     */
+    static final String HEADER = "# java-benchmark baseline, format 1";
+    /**
+     * Separator of the fields of each benchmark.
+     */
+    private static final String FIELD_SEPARATOR = "\t";
+    /**
+     * Separator of the samples.
+     */
+    private static final String SAMPLE_SEPARATOR = ",";
+    /**
+     * Value of the field of the samples if the samples are not kept.
+     */
+    static final String NO_SAMPLES = "-";
+    /**
+     * Maximum number of durations saved for each benchmark.
+     */
+    static final int MAXIMUM_SAVED_SAMPLES = 1000;
+
+    /**
+     * The summary of each benchmark, by name (see {@link BenchmarkSummary#getNameOfBenchmark()}).
+     */
+    private final Map<String, BenchmarkSummary> summaries;
+
+    /**
+     * Constructor.
+     *
+     * @param summaries The summary of each benchmark, by name.
+     */
+    private Baseline(@NotNull Map<String, BenchmarkSummary> summaries) {
+        this.summaries = Collections.unmodifiableMap(summaries);
+    }
+
+    /**
+     * Creates a baseline from the results of a run of benchmarks (e.g., the ones of
+     * {@link BenchmarkRunner#benchmarkAllAnnotatedMethodsAndGetListOfResults()}).
+     *
+     * @param results The results of the benchmarks.
+     * @return the baseline, without the benchmarks which do not time the executions.
+     */
+    public static Baseline of(@NotNull List<BenchmarkInstance> results) {
+        Map<String, BenchmarkSummary> summaries = new LinkedHashMap<>();
+        for (BenchmarkInstance result : results) {
+            if (result.getDistributionOfDurationOfEachExecutionInNanoseconds() == null) {
+                logSkippedBenchmark(result);
+            } else {
+                BenchmarkSummary summary = BenchmarkSummary.of(result);
+                summaries.put(summary.getNameOfBenchmark(), summary);
+            }
+        }
+        return new Baseline(summaries);
+    }
+
+    /**
+     * @param result The result of a benchmark which does not time the executions.
+     */
+    private static void logSkippedBenchmark(@NotNull BenchmarkInstance result) {
+        LOGGER_OF_THIS_CLASS.log(Level.WARNING, "Benchmarks in " + result.getMode() + " mode cannot be checked against a baseline: "
+                + result.getTestedMethod() + " skipped.");
+    }
+
+    /**
+     * Loads a baseline from a file.
+     *
+     * @param path The path of the file.
+     * @return the loaded baseline.
+     * @throws IOException If the file cannot be read or is not a valid baseline.
+     */
+    public static Baseline load(@NotNull Path path) throws IOException {
+        Map<String, BenchmarkSummary> summaries = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException(path + " is not a baseline file.");
+            }
+            int lineNumber = 1;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                final String[] FIELDS = line.split(FIELD_SEPARATOR, -1);
+                try {
+                    if (FIELDS.length != 6) {
+                        throw new IllegalArgumentException("expected 6 fields, found " + FIELDS.length);
+                    }
+                    summaries.put(FIELDS[0], new BenchmarkSummary(FIELDS[0], Long.parseLong(FIELDS[1]),
+                            Double.parseDouble(FIELDS[2]), Double.parseDouble(FIELDS[3]), Double.parseDouble(FIELDS[4]),
+                            NO_SAMPLES.equals(FIELDS[5]) ? null
+                                    : Arrays.stream(FIELDS[5].split(SAMPLE_SEPARATOR)).mapToDouble(Double::parseDouble).sorted().toArray()));
+                } catch (IllegalArgumentException e) {  // including NumberFormatException
+                    throw new IOException("Invalid line " + lineNumber + " of " + path + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return new Baseline(summaries);
+    }
+
+    /**
+     * Saves this baseline to a file, creating the missing parent directories and overwriting the file if it exists.
+     *
+     * @param path The path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(@NotNull Path path) throws IOException {
+        final Path DIRECTORY = path.toAbsolutePath().getParent();
+        if (DIRECTORY != null) {
+            Files.createDirectories(DIRECTORY);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (BenchmarkSummary summary : summaries.values()) {
+                final double[] SORTED_DURATIONS = getSortedDurationsToSave(summary);
+                writer.write(String.join(FIELD_SEPARATOR,
+                        summary.getNameOfBenchmark(),
+                        String.valueOf(summary.getNumberOfSamples()),
+                        String.valueOf(summary.getMeanInNanoseconds()),
+                        String.valueOf(summary.getStandardDeviationInNanoseconds()),
+                        String.valueOf(summary.getMedianInNanoseconds()),
+                        SORTED_DURATIONS == null ? NO_SAMPLES
+                                : Arrays.stream(SORTED_DURATIONS).mapToObj(String::valueOf).collect(Collectors.joining(SAMPLE_SEPARATOR))));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * @param summary The summary of a benchmark.
+     * @return the sorted durations of the given summary if they are at most {@link #MAXIMUM_SAVED_SAMPLES},
+     * otherwise {@link #MAXIMUM_SAVED_SAMPLES} evenly spaced quantiles of them (the durations at the centers of
+     * equally sized ranks), or null if the samples are not kept.
+     */
+    private static double[] getSortedDurationsToSave(@NotNull BenchmarkSummary summary) {
+        final double[] SORTED_DURATIONS = summary.getSortedDurationsInNanoseconds();
+        if (SORTED_DURATIONS == null || SORTED_DURATIONS.length <= MAXIMUM_SAVED_SAMPLES) {
+            return SORTED_DURATIONS;
+        }
+        double[] quantiles = new double[MAXIMUM_SAVED_SAMPLES];
+        for (int i = 0; i < MAXIMUM_SAVED_SAMPLES; i++) {
+            quantiles[i] = SORTED_DURATIONS[(int) ((i + 0.5) * SORTED_DURATIONS.length / MAXIMUM_SAVED_SAMPLES)];
+        }
+        return quantiles;
+    }
+
+    /**
+     * Merges baselines of disjoint sets of benchmarks (e.g., the ones saved by the workers of a {@link ParallelSuite}).
+     *
+     * @param baselines The baselines to merge.
+     * @return the baseline with the benchmarks of all the given baselines, in the given order
+     * (if a benchmark is in more baselines, the last one is kept).
+     */
+    static Baseline merge(@NotNull List<Baseline> baselines) {
+        Map<String, BenchmarkSummary> summaries = new LinkedHashMap<>();
+        baselines.forEach(baseline -> summaries.putAll(baseline.summaries));
+        return new Baseline(summaries);
+    }
+
+    /**
+     * Checks the results of a run of benchmarks against this baseline, each one with the
+     * {@link Benchmark#regressionThreshold()} and at the significance level complementary to the
+     * {@link Benchmark#confidenceLevel()} of its method.
+     *
+     * @param results The results of the benchmarks.
+     * @return the report of the regressions and of the improvements.
+     */
+    public RegressionReport check(@NotNull List<BenchmarkInstance> results) {
+        Map<BenchmarkSummary, Benchmark> currentSummaries = new LinkedHashMap<>();
+        for (BenchmarkInstance result : results) {
+            if (result.getDistributionOfDurationOfEachExecutionInNanoseconds() == null) {
+                logSkippedBenchmark(result);
+            } else {
+                currentSummaries.put(BenchmarkSummary.of(result), result.getTestedMethod().getAnnotation(Benchmark.class));
+            }
+        }
+        return check(currentSummaries);
+    }
+
+    /**
+     * Checks a run of benchmarks summarized as baseline (e.g., in other JVMs, see {@link ParallelSuite})
+     * against this baseline, as {@link #check(List)}.
+     * The benchmarks whose method cannot be found are skipped.
+     *
+     * @param currentRun The summaries of the run of benchmarks.
+     * @return the report of the regressions and of the improvements.
+     */
+    RegressionReport check(@NotNull Baseline currentRun) {
+        Map<BenchmarkSummary, Benchmark> currentSummaries = new LinkedHashMap<>();
+        for (BenchmarkSummary summary : currentRun.summaries.values()) {
+            final Method METHOD = BenchmarkSummary.methodOf(summary.getNameOfBenchmark());
+            if (METHOD == null) {
+                LOGGER_OF_THIS_CLASS.log(Level.WARNING, "Method of " + summary.getNameOfBenchmark() + " not found: skipped.");
+            } else {
+                currentSummaries.put(summary, METHOD.getAnnotation(Benchmark.class));
+            }
+        }
+        return check(currentSummaries);
+    }
+
+    /**
+     * @param currentSummaries The summaries of the benchmarks to check, with the annotations of their methods.
+     * @return the report of the regressions and of the improvements.
+     */
+    private RegressionReport check(@NotNull Map<BenchmarkSummary, Benchmark> currentSummaries) {
+        List<RegressionCheck> checks = new ArrayList<>();
+        List<String> benchmarksNotInBaseline = new ArrayList<>();
+        List<String> benchmarksNotRun = new ArrayList<>(summaries.keySet());
+        currentSummaries.forEach((current, annotation) -> {
+            final BenchmarkSummary BASELINE = summaries.get(current.getNameOfBenchmark());
+            if (BASELINE == null) {
+                benchmarksNotInBaseline.add(current.getNameOfBenchmark());
+            } else {
+                benchmarksNotRun.remove(current.getNameOfBenchmark());
+                checks.add(new RegressionCheck(BASELINE, current, annotation.regressionThreshold(),
+                        1 - annotation.confidenceLevel()));
+            }
+        });
+        return new RegressionReport(checks, benchmarksNotInBaseline, benchmarksNotRun);
+    }
+
+    /**
+     * Getter for {@link #summaries}.
+     *
+     * @return the current {@link #summaries}.
+     */
+    public Map<String, BenchmarkSummary> getSummaries() {
+        return summaries;
+    }
+
+    @Override
+    public String toString() {
+        return "Baseline of " + summaries.size() + " benchmark" + (summaries.size() == 1 ? "" : "s") + ": "
+                + String.join(", ", summaries.keySet());
+    }
+}
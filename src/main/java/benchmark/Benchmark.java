@@ -4,7 +4,10 @@ import java.lang.annotation.*;
 
 /**
  * Annotation to be used on methods to benchmark
- * Method annotated with this annotation must be static and must not take any parameters.
+ * Method annotated with this annotation must be static and must not take any parameters,
+ * except for parameters of type {@link Blackhole}, which are injected by the framework, and,
+ * for the members of a {@link #group()}, parameters for the state objects shared by the group.
+ * The value returned by the method is consumed by a {@link Blackhole}.
  */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
@@ -16,12 +19,146 @@ public @interface Benchmark {
     int DEFAULT_ITERATIONS = 1000;
 
     /**
-     * @return the number of warmup iterations (excluded from benchmark statistics).
+     * Value for {@link #batchSize()} to let the batch size be automatically chosen,
+     * such that each iteration lasts at least {@link #minimumIterationDurationInMicroseconds()}.
+     */
+    int AUTOMATIC_BATCH_SIZE = 0;
+
+    /**
+     * Default minimum duration of each iteration, used when {@link #batchSize()} is
+     * {@link #AUTOMATIC_BATCH_SIZE}.
+     */
+    int DEFAULT_MINIMUM_ITERATION_DURATION_IN_MICROSECONDS = 10;
+
+    /**
+     * Value for {@link #warmUpTimeInMilliseconds()} and {@link #measurementTimeInMilliseconds()}
+     * to bound the corresponding phase by the number of iterations (respectively, {@link #warmUpIterations()}
+     * and {@link #iterations()}) rather than by time.
+     */
+    int BOUNDED_BY_ITERATIONS = -1;
+
+    /**
+     * Value for {@link #warmUpIterations()} to run the warmup until the execution times reach a steady state
+     * (see {@link #steadyStateTolerance()}), for at most {@link #warmUpTimeInMilliseconds()}, if specified, or
+     * {@link #DEFAULT_MAXIMUM_WARM_UP_TIME_IN_MILLISECONDS} otherwise.
+     */
+    int UNTIL_STEADY_STATE = -1;
+
+    /**
+     * Default maximum duration of the warmup phase, when run {@link #UNTIL_STEADY_STATE}.
+     */
+    int DEFAULT_MAXIMUM_WARM_UP_TIME_IN_MILLISECONDS = 10_000;
+
+    /**
+     * Default tolerance for the steady state (see {@link #steadyStateTolerance()}).
+     */
+    double DEFAULT_STEADY_STATE_TOLERANCE = 0.05;
+
+    /**
+     * Default minimum duration of each timed iteration, as a number of clock ticks (see {@link ClockCalibration}).
+     */
+    int DEFAULT_MINIMUM_CLOCK_TICKS_PER_ITERATION = 10;
+
+    /**
+     * Default number of time windows measured in {@link BenchmarkMode#THROUGHPUT} mode.
+     */
+    int DEFAULT_MEASUREMENT_WINDOWS = 10;
+
+    /**
+     * Default duration of each time window measured in {@link BenchmarkMode#THROUGHPUT} mode.
+     */
+    int DEFAULT_WINDOW_DURATION_IN_MILLISECONDS = 100;
+
+    /**
+     * Default number of fresh JVMs in which the method is executed in {@link BenchmarkMode#SINGLE_SHOT} mode.
+     */
+    int DEFAULT_FORKS = 10;
+
+    /**
+     * Default probability of each iteration to be timed in {@link BenchmarkMode#SAMPLE_TIME} mode.
+     */
+    double DEFAULT_SAMPLING_PROBABILITY = 0.01;
+
+    /**
+     * Default maximum number of timed iterations kept in {@link BenchmarkMode#SAMPLE_TIME} mode.
+     */
+    int DEFAULT_RESERVOIR_SIZE = 10_000;
+
+    /**
+     * Value for {@link #histogramSignificantDigits()} to keep the execution time of each iteration.
+     */
+    int NO_HISTOGRAM = 0;
+
+    /**
+     * Value for {@link #rawSamplesDirectory()} to not write the execution times in a file.
+     */
+    String NO_RAW_SAMPLES_FILE = "";
+
+    /**
+     * Value for {@link #targetRelativeHalfWidthOfConfidenceInterval()} to measure a fixed number of iterations
+     * (or for a fixed time), without targeting a precision.
+     */
+    double NO_TARGET_PRECISION = 0;
+
+    /**
+     * Default maximum number of iterations measured when targeting a precision.
+     */
+    int DEFAULT_MAXIMUM_ITERATIONS = 1_000_000;
+
+    /**
+     * Default maximum duration of the measurement phase when targeting a precision.
+     */
+    int DEFAULT_MAXIMUM_MEASUREMENT_TIME_IN_MILLISECONDS = 10_000;
+
+    /**
+     * Default confidence level of the error bounds shown in the benchmark report.
+     */
+    double DEFAULT_CONFIDENCE_LEVEL = 0.999;
+
+    /**
+     * Default number of bootstrap resamples used to compute the confidence intervals of the percentiles.
+     */
+    int DEFAULT_BOOTSTRAP_RESAMPLES = 10_000;
+
+    /**
+     * Default threshold for regressions (see {@link #regressionThreshold()}).
+     */
+    double DEFAULT_REGRESSION_THRESHOLD = 0.05;
+
+    /**
+     * Value for {@link #threads()} to measure how the throughput scales with the number of threads: the benchmark
+     * is run at 1, 2, 4, ... threads, up to {@link #maximumThreadsOfScalabilitySweep()}, and the benchmark report
+     * shows the fit of Amdahl's law and of the Universal Scalability Law (see {@link ScalabilityAnalysis}).
+     */
+    int SCALABILITY_SWEEP = 0;
+
+    /**
+     * Value for {@link #maximumThreadsOfScalabilitySweep()} to use as many threads as the available processors.
+     */
+    int AVAILABLE_PROCESSORS = 0;
+
+    /**
+     * Value for {@link #group()} if the method is benchmarked alone.
+     */
+    String NO_GROUP = "";
+
+    /**
+     * @return what has to be measured by the benchmark.
+     */
+    BenchmarkMode mode() default BenchmarkMode.LATENCY;
+
+    /**
+     * @return the number of warmup iterations (excluded from benchmark statistics), or {@link #UNTIL_STEADY_STATE}
+     * to detect when the warmup can end.
+     * This value is ignored if {@link #warmUpTimeInMilliseconds()} is specified, unless it is
+     * {@link #UNTIL_STEADY_STATE} (then the given time bounds the warmup).
      */
     int warmUpIterations() default DEFAULT_ITERATIONS;
 
     /**
      * @return the number of iterations (for benchmark statistics).
+     * This value is ignored in {@link BenchmarkMode#THROUGHPUT} mode, where {@link #measurementWindows()}
+     * are measured instead, and if {@link #measurementTimeInMilliseconds()} is specified.
      */
     int iterations() default DEFAULT_ITERATIONS;
 
@@ -30,6 +167,169 @@ public @interface Benchmark {
      */
     int tearDownIterations() default DEFAULT_ITERATIONS;
 
+    /**
+     * @return the duration (in milliseconds) of the warmup phase, or {@link #BOUNDED_BY_ITERATIONS}
+     * if {@link #warmUpIterations()} are executed instead.
+     * The warmup phase lasts until the first iteration ending after the given duration, so its
+     * actual duration can exceed the given one by at most a few iterations.
+     */
+    int warmUpTimeInMilliseconds() default BOUNDED_BY_ITERATIONS;
+
+    /**
+     * @return the maximum relative difference between the median execution times of consecutive windows of warmup
+     * iterations for the execution times to be considered steady, when the warmup is run {@link #UNTIL_STEADY_STATE}.
+     * The warmup ends after a few consecutive steady windows.
+     */
+    double steadyStateTolerance() default DEFAULT_STEADY_STATE_TOLERANCE;
+
+    /**
+     * @return the duration (in milliseconds) of the measurement phase (for benchmark statistics), or
+     * {@link #BOUNDED_BY_ITERATIONS} if {@link #iterations()} are measured instead.
+     * In {@link BenchmarkMode#THROUGHPUT} mode, the given duration is split into time windows of
+     * {@link #windowDurationInMilliseconds()} (rounded up to a whole number of windows) and
+     * {@link #measurementWindows()} is ignored.
+     */
+    int measurementTimeInMilliseconds() default BOUNDED_BY_ITERATIONS;
+
+    /**
+     * @return the number of time windows measured in {@link BenchmarkMode#THROUGHPUT} mode.
+     * This value is ignored if {@link #measurementTimeInMilliseconds()} is specified.
+     */
+    int measurementWindows() default DEFAULT_MEASUREMENT_WINDOWS;
+
+    /**
+     * @return the duration (in milliseconds) of each time window measured in {@link BenchmarkMode#THROUGHPUT} mode.
+     */
+    int windowDurationInMilliseconds() default DEFAULT_WINDOW_DURATION_IN_MILLISECONDS;
+
+    /**
+     * @return the target precision of the measurement in {@link BenchmarkMode#LATENCY} mode, as the half-width
+     * of the confidence interval (at confidence level {@link #confidenceLevel()}) of
+     * {@link #statisticOfTargetPrecision()} relative to its value (e.g., 0.01 for +/-1%), or
+     * {@link #NO_TARGET_PRECISION}.
+     * If specified, after {@link #iterations()} (or {@link #measurementTimeInMilliseconds()}) more iterations are
+     * measured until the target precision is reached, at most until {@link #maximumIterations()} iterations have
+     * been measured or {@link #maximumMeasurementTimeInMilliseconds()} elapsed.
+     */
+    double targetRelativeHalfWidthOfConfidenceInterval() default NO_TARGET_PRECISION;
+
+    /**
+     * @return the statistic whose confidence interval is used for {@link #targetRelativeHalfWidthOfConfidenceInterval()}.
+     */
+    CentralTendency statisticOfTargetPrecision() default CentralTendency.MEAN;
+
+    /**
+     * @return the maximum number of iterations measured when targeting a precision (see
+     * {@link #targetRelativeHalfWidthOfConfidenceInterval()}).
+     */
+    int maximumIterations() default DEFAULT_MAXIMUM_ITERATIONS;
+
+    /**
+     * @return the maximum duration (in milliseconds) of the measurement phase when targeting a precision (see
+     * {@link #targetRelativeHalfWidthOfConfidenceInterval()}).
+     */
+    int maximumMeasurementTimeInMilliseconds() default DEFAULT_MAXIMUM_MEASUREMENT_TIME_IN_MILLISECONDS;
+
+    /**
+     * @return the confidence level, in the open interval (0, 1), of the confidence intervals in the benchmark
+     * report (computed with the Student's t-distribution for means and with the bootstrap for percentiles)
+     * and of the one used for {@link #targetRelativeHalfWidthOfConfidenceInterval()}.
+     */
+    double confidenceLevel() default DEFAULT_CONFIDENCE_LEVEL;
+
+    /**
+     * @return the number of bootstrap resamples of the execution times used to compute the confidence
+     * intervals of the percentiles.
+     */
+    int bootstrapResamples() default DEFAULT_BOOTSTRAP_RESAMPLES;
+
+    /**
+     * @return the number of fresh JVMs in which the method is executed in {@link BenchmarkMode#SINGLE_SHOT} mode.
+     */
+    int forks() default DEFAULT_FORKS;
+
+    /**
+     * @return the number of first invocations of the method which are individually timed in each fresh
+     * JVM in {@link BenchmarkMode#SINGLE_SHOT} mode.
+     */
+    int coldInvocationsInEachFork() default 1;
+
+    /**
+     * @return the probability of each iteration to be timed in {@link BenchmarkMode#SAMPLE_TIME} mode,
+     * in (0, 1].
+     */
+    double samplingProbability() default DEFAULT_SAMPLING_PROBABILITY;
+
+    /**
+     * @return the maximum number of timed iterations kept (as a uniform random subset of all the timed
+     * iterations) in {@link BenchmarkMode#SAMPLE_TIME} mode.
+     */
+    int reservoirSize() default DEFAULT_RESERVOIR_SIZE;
+
+    /**
+     * @return the number of significant decimal digits (from 1 to {@link LatencyHistogram#MAXIMUM_SIGNIFICANT_DIGITS})
+     * with which the execution time of each iteration is recorded in a {@link LatencyHistogram} in
+     * {@link BenchmarkMode#LATENCY} mode, or {@link #NO_HISTOGRAM}.
+     * If specified, the execution times are not kept, hence the used memory does not grow with the
+     * number of iterations, and the percentiles are approximated with the given precision.
+     * A histogram cannot be combined with a target precision (see
+     * {@link #targetRelativeHalfWidthOfConfidenceInterval()}), which needs the execution times.
+     */
+    int histogramSignificantDigits() default NO_HISTOGRAM;
+
+    /**
+     * @return true if, in {@link BenchmarkMode#LATENCY} mode, the execution time of each iteration must only be
+     * accumulated in {@link StreamingStatistics} (count, extreme values, mean and variance), without keeping the
+     * execution times, hence with constant memory whatever the number of iterations (e.g., for measurements
+     * lasting hours, see {@link #measurementTimeInMilliseconds()}).
+     * The quantiles are reported only if a histogram is requested too (see {@link #histogramSignificantDigits()}).
+     * Streaming statistics cannot be combined with a target precision (see
+     * {@link #targetRelativeHalfWidthOfConfidenceInterval()}), which needs the execution times.
+     */
+    boolean streamingStatistics() default false;
+
+    /**
+     * @return the directory (created if missing) where, in {@link BenchmarkMode#LATENCY} mode, the execution time
+     * of each iteration of the measurement phase is written in a {@link RawSampleFile} named after the method
+     * (overwritten at each run), or {@link #NO_RAW_SAMPLES_FILE}.
+     * The file is memory-mapped, hence the execution times are not kept on the heap: the report is computed
+     * as with {@link #streamingStatistics()} and the file can be analyzed later.
+     * Raw samples files cannot be combined with a target precision (see
+     * {@link #targetRelativeHalfWidthOfConfidenceInterval()}), which needs the execution times.
+     */
+    String rawSamplesDirectory() default NO_RAW_SAMPLES_FILE;
+
+    /**
+     * @return the number of invocations of the method which are timed together in each iteration
+     * (both for statistics and for warmup and teardown), or {@link #AUTOMATIC_BATCH_SIZE}.
+     * The benchmark report shows the duration of each single invocation (i.e., the duration of each
+     * iteration divided by the batch size), so that the cost and the granularity of the clock are
+     * amortized over the invocations of the batch.
+     * Methods to be executed before and after each iteration (see {@link #beforeEach()} and
+     * {@link #afterEach()}) are executed once for each batch.
+     * In {@link BenchmarkMode#THROUGHPUT} mode, the end of the time window is checked after each
+     * batch and the duration of the methods to be executed before and after each batch is included
+     * in the window.
+     * This value is ignored in {@link BenchmarkMode#SINGLE_SHOT} mode, where each invocation is timed alone.
+     */
+    int batchSize() default 1;
+
+    /**
+     * @return the minimum duration (in microseconds) of each iteration, used to choose the batch
+     * size when {@link #batchSize()} is {@link #AUTOMATIC_BATCH_SIZE}.
+     */
+    int minimumIterationDurationInMicroseconds() default DEFAULT_MINIMUM_ITERATION_DURATION_IN_MICROSECONDS;
+
+    /**
+     * @return the minimum duration of each timed iteration, as a number of ticks of the clock, whose
+     * resolution is measured by {@link ClockCalibration}: shorter durations cannot be measured accurately.
+     * In {@link BenchmarkMode#LATENCY} and {@link BenchmarkMode#SAMPLE_TIME} modes, if iterations are shorter
+     * at the end of the warmup, the batch size is automatically increased (as with {@link #AUTOMATIC_BATCH_SIZE}),
+     * while in {@link BenchmarkMode#SINGLE_SHOT} mode shorter invocations are flagged in the benchmark report.
+     * If zero, no check is performed.
+     */
+    int minimumClockTicksPerIteration() default DEFAULT_MINIMUM_CLOCK_TICKS_PER_ITERATION;
+
     /**
      * @return comment which should appear in the benchmark report.
      */
@@ -48,4 +348,70 @@ public @interface Benchmark {
      * return type nor parameters, is provided.
      */
     String afterEach() default "";
+
+    /**
+     * @return the benchmarked method (annotated with {@link Benchmark}) implementing the same thing as this one,
+     * taken as baseline: the two methods are statistically compared (see {@link BenchmarkComparison}) when
+     * benchmarked by the same {@link BenchmarkRunner}.
+     * The canonical name, starting with the class name and without neither parenthesis nor
+     * return type nor parameters, is provided.
+     */
+    String comparedWith() default "";
+
+    /**
+     * @return the maximum relative slowdown (e.g., 0.05 for 5%) of the method with respect to a {@link Baseline}
+     * which is not considered a regression (and the maximum relative speedup which is not considered an
+     * improvement), even if statistically significant (see {@link RegressionCheck}).
+     */
+    double regressionThreshold() default DEFAULT_REGRESSION_THRESHOLD;
+
+    /**
+     * @return the number of threads executing the method at once in {@link BenchmarkMode#LATENCY} and
+     * {@link BenchmarkMode#THROUGHPUT} modes (e.g., to measure a concurrent data structure under contention).
+     * With more than one thread, each thread runs all the phases with its own {@link Blackhole}: the threads start
+     * each phase together and stop it together, on a shared deadline (in {@link BenchmarkMode#LATENCY} mode, if
+     * {@link #measurementTimeInMilliseconds()} is not specified, as soon as a thread completes {@link #iterations()}),
+     * and the execution time of each iteration is recorded in a {@link LatencyHistogram} (with
+     * {@link #histogramSignificantDigits()}, or 3 if not specified).
+     * The benchmark report shows the aggregate throughput and latency, the ones of each thread and how fairly
+     * the executions were distributed across the threads (see {@link ThreadGroupStatistics}).
+     * Multiple threads cannot be combined with a warmup {@link #UNTIL_STEADY_STATE}, a target precision
+     * (see {@link #targetRelativeHalfWidthOfConfidenceInterval()}), streaming statistics or raw samples files.
+     * If {@link #SCALABILITY_SWEEP}, the statistics in the benchmark report refer to the largest number of threads.
+     */
+    int threads() default 1;
+
+    /**
+     * @return the largest number of threads of a {@link #SCALABILITY_SWEEP}, or {@link #AVAILABLE_PROCESSORS}.
+     */
+    int maximumThreadsOfScalabilitySweep() default AVAILABLE_PROCESSORS;
+
+    /**
+     * @return the name of the group of the method, if it has to be executed at once with the other methods of
+     * the same class in the same group (e.g., producers and consumers of a queue), or {@link #NO_GROUP}.
+     * Each member of the group runs on its own {@link #threads()} (at least one) and all the threads of the group
+     * run the phases together, as with {@link #threads()} (see {@link BenchmarkGroup}): the members must then have
+     * the same {@link #mode()} ({@link BenchmarkMode#LATENCY} or {@link BenchmarkMode#THROUGHPUT}) and the same
+     * settings of the phases, and their {@link #batchSize()} cannot be {@link #AUTOMATIC_BATCH_SIZE}.
+     * The members can declare parameters (other than {@link Blackhole}s) for the state objects they share: a
+     * single instance of each type (created with its constructor without parameters) is passed to all the members
+     * of the group, which must not block indefinitely (e.g., they must poll a queue rather than take from it), since
+     * the threads stop at the end of their current iteration.
+     * The benchmark report of each member shows the statistics of its threads and of the whole group.
+     */
+    String group() default NO_GROUP;
+
+    /**
+     * @return true if the {@link #threads()} executing the method have to be virtual threads, started by a
+     * virtual-thread-per-task executor, e.g., to benchmark blocking code with thousands of concurrent threads.
+     * Virtual threads are supported from Java 21: with older runtimes, platform threads are used instead.
+     * The benchmark is also run on as many platform threads, and the benchmark report shows the aggregate
+     * throughput of the virtual threads relative to the platform threads and how many times the virtual threads
+     * pinned their carrier threads by blocking where they could not unmount (e.g., in {@code synchronized} blocks),
+     * if the JDK Flight Recorder is available (see {@link VirtualThreadPinning}).
+     * The execution times of each thread are recorded with {@link #histogramSignificantDigits()} or, if not
+     * specified, with 1 significant digit, to limit the memory used by thousands of threads.
+     * Virtual threads cannot be combined with a {@link #SCALABILITY_SWEEP} or a {@link #group()}.
+     */
+    boolean virtualThreads() default false;
 }
\ No newline at end of file
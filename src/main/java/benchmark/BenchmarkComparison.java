@@ -0,0 +1,250 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import utils.StatisticsUtility;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * Statistical comparison between the durations of the executions of two benchmarked methods
+ * implementing the same thing: a baseline and a contender.
+ * The difference is significant (at the significance level complementary to the confidence level
+ * of the baseline, e.g., 0.001 for {@link Benchmark#DEFAULT_CONFIDENCE_LEVEL}) if the Mann-Whitney U
+ * test on the ranks rejects the hypothesis of equal durations or, if the samples are not available
+ * (e.g., durations recorded in a histogram), if the Welch's t-test on the means does: a single outlier,
+ * which is common in timings (e.g., a garbage collection), can hide any difference from the t-test,
+ * but not from the U test. Accordingly, the reported difference is the one of the medians if the U test
+ * is performed, and the one of the means (with the confidence interval from the Welch's t-distribution)
+ * otherwise; both are always available from the getters.
+ * <p/>
+ * The comparison can be requested with {@link Benchmark#comparedWith()} or computed with
+ * {@link #compare(BenchmarkInstance, BenchmarkInstance)}.
+ */
+public final class BenchmarkComparison {
+
+    /**
+     * The method taken as reference.
+     */
+    private final Method baseline;
+    /**
+     * The method compared with the {@link #baseline}.
+     */
+    private final Method contender;
+    /**
+     * Difference between the mean duration of the executions of the {@link #baseline} and of the
+     * {@link #contender}, relative to the former: positive if the contender is faster.
+     */
+    private final double relativeDifferenceOfMeans;
+    /**
+     * Difference between the median duration of the executions of the {@link #baseline} and of the
+     * {@link #contender}, relative to the former: positive if the contender is faster.
+     */
+    private final double relativeDifferenceOfMedians;
+    /**
+     * Half-width of the confidence interval (at confidence level {@link #confidenceLevel}) of
+     * {@link #relativeDifferenceOfMeans}, computed with the Welch's t-distribution (the uncertainty
+     * of the mean of the baseline, by which the difference is divided, is neglected).
+     */
+    private final double halfWidthOfConfidenceIntervalOfRelativeDifference;
+    /**
+     * Confidence level of the confidence interval: differences are significant at the complementary level.
+     */
+    private final double confidenceLevel;
+    /**
+     * Two-sided p-value of the Welch's t-test on the means.
+     */
+    private final double pValueOfWelchTTest;
+    /**
+     * Two-sided p-value of the Mann-Whitney U test, or null if the samples of a method are not kept
+     * (e.g., if the durations are recorded in a histogram).
+     */
+    private final Double pValueOfMannWhitneyUTest;
+
+    /**
+     * Constructor.
+     *
+     * @param baseline                                          The method taken as reference.
+     * @param contender                                         The method compared with the baseline.
+     * @param relativeDifferenceOfMeans                         The relative difference of the means.
+     * @param relativeDifferenceOfMedians                       The relative difference of the medians.
+     * @param halfWidthOfConfidenceIntervalOfRelativeDifference The half-width of its confidence interval.
+     * @param confidenceLevel                                   The confidence level.
+     * @param pValueOfWelchTTest                                The p-value of the Welch's t-test.
+     * @param pValueOfMannWhitneyUTest                          The p-value of the Mann-Whitney U test, or null.
+     */
+    private BenchmarkComparison(@NotNull Method baseline, @NotNull Method contender, double relativeDifferenceOfMeans,
+                                double relativeDifferenceOfMedians, double halfWidthOfConfidenceIntervalOfRelativeDifference, double confidenceLevel,
+                                double pValueOfWelchTTest, Double pValueOfMannWhitneyUTest) {
+        this.baseline = baseline;
+        this.contender = contender;
+        this.relativeDifferenceOfMeans = relativeDifferenceOfMeans;
+        this.relativeDifferenceOfMedians = relativeDifferenceOfMedians;
+        this.halfWidthOfConfidenceIntervalOfRelativeDifference = halfWidthOfConfidenceIntervalOfRelativeDifference;
+        this.confidenceLevel = confidenceLevel;
+        this.pValueOfWelchTTest = pValueOfWelchTTest;
+        this.pValueOfMannWhitneyUTest = pValueOfMannWhitneyUTest;
+    }
+
+    /**
+     * Compares the durations of the executions of two benchmarked methods.
+     *
+     * @param baseline  The result of the benchmark of the method taken as reference.
+     * @param contender The result of the benchmark of the method to compare with the baseline.
+     * @return the comparison.
+     * @throws IllegalArgumentException If a benchmark does not time the executions (i.e., in
+     *                                  {@link BenchmarkMode#THROUGHPUT} mode).
+     */
+    public static BenchmarkComparison compare(@NotNull BenchmarkInstance baseline, @NotNull BenchmarkInstance contender) {
+        final DistributionStatistics A = Objects.requireNonNull(baseline).getDistributionOfDurationOfEachExecutionInNanoseconds();
+        final DistributionStatistics B = Objects.requireNonNull(contender).getDistributionOfDurationOfEachExecutionInNanoseconds();
+        if (A == null || B == null) {
+            throw new IllegalArgumentException("Only benchmarks which time the executions can be compared.");
+        }
+        final double CONFIDENCE_LEVEL = baseline.getConfidenceLevel();
+        final double DIFFERENCE_OF_MEANS = A.getMeanInNanoseconds() - B.getMeanInNanoseconds();
+        final double STANDARD_ERROR_OF_DIFFERENCE = Math.sqrt(
+                A.getStandardDeviationInNanoseconds() * A.getStandardDeviationInNanoseconds() / A.getNumberOfSamples()
+                        + B.getStandardDeviationInNanoseconds() * B.getStandardDeviationInNanoseconds() / B.getNumberOfSamples());
+        final double DEGREES_OF_FREEDOM = StatisticsUtility.welchDegreesOfFreedom(
+                A.getStandardDeviationInNanoseconds(), A.getNumberOfSamples(),
+                B.getStandardDeviationInNanoseconds(), B.getNumberOfSamples());
+        final double HALF_WIDTH_OF_CONFIDENCE_INTERVAL = STANDARD_ERROR_OF_DIFFERENCE == 0 ? 0
+                : Double.isNaN(DEGREES_OF_FREEDOM) ? Double.NaN
+                : StatisticsUtility.studentTQuantile(1 - (1 - CONFIDENCE_LEVEL) / 2, DEGREES_OF_FREEDOM)
+                * STANDARD_ERROR_OF_DIFFERENCE;
+        final double[] SORTED_DURATIONS_A = A.getSortedDurationsOfEachExecutionInNanoseconds();
+        final double[] SORTED_DURATIONS_B = B.getSortedDurationsOfEachExecutionInNanoseconds();
+        return new BenchmarkComparison(baseline.getTestedMethod(), contender.getTestedMethod(),
+                DIFFERENCE_OF_MEANS / A.getMeanInNanoseconds(),
+                (A.getMedianInNanoseconds() - B.getMedianInNanoseconds()) / A.getMedianInNanoseconds(),
+                HALF_WIDTH_OF_CONFIDENCE_INTERVAL / A.getMeanInNanoseconds(),
+                CONFIDENCE_LEVEL,
+                StatisticsUtility.welchTTestPValue(
+                        A.getMeanInNanoseconds(), A.getStandardDeviationInNanoseconds(), A.getNumberOfSamples(),
+                        B.getMeanInNanoseconds(), B.getStandardDeviationInNanoseconds(), B.getNumberOfSamples()),
+                SORTED_DURATIONS_A == null || SORTED_DURATIONS_B == null ? null
+                        : StatisticsUtility.mannWhitneyUTestPValue(SORTED_DURATIONS_A, SORTED_DURATIONS_B));
+    }
+
+    /**
+     * @return true if the difference between the methods is statistically significant (see {@link BenchmarkComparison}).
+     */
+    public boolean isSignificant() {
+        final double SIGNIFICANCE_LEVEL = 1 - confidenceLevel;
+        return pValueOfMannWhitneyUTest == null
+                ? pValueOfWelchTTest < SIGNIFICANCE_LEVEL
+                : pValueOfMannWhitneyUTest < SIGNIFICANCE_LEVEL;
+    }
+
+    /**
+     * Getter for {@link #baseline}.
+     *
+     * @return the current {@link #baseline}.
+     */
+    public Method getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * Getter for {@link #contender}.
+     *
+     * @return the current {@link #contender}.
+     */
+    public Method getContender() {
+        return contender;
+    }
+
+    /**
+     * Getter for {@link #relativeDifferenceOfMeans}.
+     *
+     * @return the current {@link #relativeDifferenceOfMeans}.
+     */
+    public double getRelativeDifferenceOfMeans() {
+        return relativeDifferenceOfMeans;
+    }
+
+    /**
+     * Getter for {@link #relativeDifferenceOfMedians}.
+     *
+     * @return the current {@link #relativeDifferenceOfMedians}.
+     */
+    public double getRelativeDifferenceOfMedians() {
+        return relativeDifferenceOfMedians;
+    }
+
+    /**
+     * Getter for {@link #halfWidthOfConfidenceIntervalOfRelativeDifference}.
+     *
+     * @return the current {@link #halfWidthOfConfidenceIntervalOfRelativeDifference}.
+     */
+    public double getHalfWidthOfConfidenceIntervalOfRelativeDifference() {
+        return halfWidthOfConfidenceIntervalOfRelativeDifference;
+    }
+
+    /**
+     * Getter for {@link #confidenceLevel}.
+     *
+     * @return the current {@link #confidenceLevel}.
+     */
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /**
+     * Getter for {@link #pValueOfWelchTTest}.
+     *
+     * @return the current {@link #pValueOfWelchTTest}.
+     */
+    public double getPValueOfWelchTTest() {
+        return pValueOfWelchTTest;
+    }
+
+    /**
+     * Getter for {@link #pValueOfMannWhitneyUTest}.
+     *
+     * @return the current {@link #pValueOfMannWhitneyUTest}.
+     */
+    public Double getPValueOfMannWhitneyUTest() {
+        return pValueOfMannWhitneyUTest;
+    }
+
+    /**
+     * @param method A method.
+     * @return the name of the method, preceded by the simple name of its class.
+     */
+    private static String nameOf(@NotNull Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    /**
+     * @param fraction A fraction.
+     * @return the given fraction as a percentage, rounded to one decimal.
+     */
+    private static String toPercentage(double fraction) {
+        return Math.round(fraction * 1000) / 10d + "%";
+    }
+
+    /**
+     * @return the relative difference reported as the difference between the methods (see {@link BenchmarkComparison}):
+     * positive if the {@link #contender} is faster.
+     */
+    public double getRelativeDifference() {
+        return pValueOfMannWhitneyUTest == null ? relativeDifferenceOfMeans : relativeDifferenceOfMedians;
+    }
+
+    @Override
+    public String toString() {
+        final String MEANS = "CI +/-" + toPercentage(halfWidthOfConfidenceIntervalOfRelativeDifference)
+                + ", p=" + (float) pValueOfWelchTTest;
+        final String TESTS = pValueOfMannWhitneyUTest == null ? MEANS
+                : "medians, Mann-Whitney p=" + pValueOfMannWhitneyUTest.floatValue()
+                + "; means " + toPercentage(relativeDifferenceOfMeans) + ", " + MEANS;
+        final double RELATIVE_DIFFERENCE = getRelativeDifference();
+        return isSignificant()
+                ? nameOf(contender) + " is " + toPercentage(Math.abs(RELATIVE_DIFFERENCE))
+                + (RELATIVE_DIFFERENCE > 0 ? " faster" : " slower") + " than " + nameOf(baseline) + " (" + TESTS + ")"
+                : "No significant difference between " + nameOf(contender) + " and " + nameOf(baseline)
+                + " (" + toPercentage(RELATIVE_DIFFERENCE) + ", " + TESTS + ")";
+    }
+}
@@ -0,0 +1,265 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Methods of the same class benchmarked at once, each on its own threads (see {@link Benchmark#group()}),
+ * e.g., the producers and the consumers of a queue, which is a state object shared by the members.
+ * The threads of the members are consecutive in the {@link MultiThreadedRun} of the group, in the order
+ * of the names of the members.
+ * The group is run when the first of its members is benchmarked, and the run is kept for the other members
+ * benchmarked with the same {@link Registry} (e.g., by the same call of {@link BenchmarkRunner}), so that each
+ * member can be reported (see {@link BenchmarkInstance}) with a single run of the group.
+ */
+final class BenchmarkGroup {
+
+    /**
+     * The name of the group.
+     */
+    private final String name;
+    /**
+     * The members of the group, sorted by name.
+     */
+    private final List<Method> members;
+    /**
+     * The index of the first thread of each member, followed by the total number of threads.
+     */
+    private final int[] indexOfFirstThreadOfEachMember;
+    /**
+     * The run of the group, null if the group has not been run yet.
+     */
+    @Nullable
+    private MultiThreadedRun run;
+
+    /**
+     * Constructor.
+     *
+     * @param name    The name of the group.
+     * @param members The members of the group, sorted by name.
+     */
+    private BenchmarkGroup(@NotNull String name, @NotNull List<Method> members) {
+        this.name = Objects.requireNonNull(name);
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+        indexOfFirstThreadOfEachMember = new int[members.size() + 1];
+        for (int i = 0; i < members.size(); i++) {
+            indexOfFirstThreadOfEachMember[i + 1] =
+                    indexOfFirstThreadOfEachMember[i] + members.get(i).getAnnotation(Benchmark.class).threads();
+        }
+    }
+
+    /**
+     * @param member A method which is a member of a group (see {@link Benchmark#group()}).
+     * @return the group of the given method, which has not been run yet (see {@link #getRun()}).
+     * @throws IllegalArgumentException If the members of the group do not have the same settings of the phases,
+     *                                  if they use the {@link Benchmark#AUTOMATIC_BATCH_SIZE} or less than one
+     *                                  thread, if they use more than {@link MultiThreadedRun#MAXIMUM_THREADS} in
+     *                                  total, or if the state objects cannot be created.
+     */
+    static BenchmarkGroup of(@NotNull Method member) {
+        final String NAME = member.getAnnotation(Benchmark.class).group();
+        List<Method> members = Arrays.stream(member.getDeclaringClass().getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(Benchmark.class))
+                .filter(method -> method.getAnnotation(Benchmark.class).group().equals(NAME))
+                .sorted(Comparator.comparing(Method::getName))
+                .peek(method -> method.setAccessible(true))
+                .collect(Collectors.toList());
+        final List<Object> SETTINGS_OF_PHASES = getSettingsOfPhases(member.getAnnotation(Benchmark.class));
+        for (Method method : members) {
+            Benchmark annotationOfMethod = method.getAnnotation(Benchmark.class);
+            if (!getSettingsOfPhases(annotationOfMethod).equals(SETTINGS_OF_PHASES)) {
+                throw new IllegalArgumentException("The members of the group " + NAME + " must have the same mode "
+                        + "and the same iterations and durations of the phases, but " + method + " differs from " + member + ".");
+            }
+            if (annotationOfMethod.threads() < 1 || annotationOfMethod.batchSize() == Benchmark.AUTOMATIC_BATCH_SIZE) {
+                throw new IllegalArgumentException("The members of the group " + NAME
+                        + " must run on at least one thread, with a given batch size.");
+            }
+            for (Class<?> typeOfStateObject : getTypesOfStateObjects(method)) {
+                try {
+                    if (Modifier.isAbstract(typeOfStateObject.getModifiers())) {
+                        throw new NoSuchMethodException();
+                    }
+                    typeOfStateObject.getDeclaredConstructor();
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalArgumentException("The state objects of the group " + NAME + " must be instances of "
+                            + "concrete classes with a constructor without parameters, but " + typeOfStateObject.getName()
+                            + " (parameter of " + method + ") is not.");
+                }
+            }
+        }
+        if (members.stream().mapToLong(method -> method.getAnnotation(Benchmark.class).threads()).sum()
+                > MultiThreadedRun.MAXIMUM_THREADS) {
+            throw new IllegalArgumentException("The members of the group " + NAME + " must run on at most "
+                    + MultiThreadedRun.MAXIMUM_THREADS + " threads in total.");
+        }
+        return new BenchmarkGroup(NAME, members);
+    }
+
+    /**
+     * @param annotationOfMember The {@link Benchmark} annotation of a member of a group.
+     * @return the settings of the phases, which must be the same for all the members of a group.
+     */
+    private static List<Object> getSettingsOfPhases(@NotNull Benchmark annotationOfMember) {
+        return Arrays.asList(
+                annotationOfMember.mode(),
+                annotationOfMember.warmUpIterations(), annotationOfMember.warmUpTimeInMilliseconds(),
+                annotationOfMember.iterations(), annotationOfMember.measurementTimeInMilliseconds(),
+                annotationOfMember.measurementWindows(), annotationOfMember.windowDurationInMilliseconds(),
+                annotationOfMember.tearDownIterations(), annotationOfMember.histogramSignificantDigits());
+    }
+
+    /**
+     * @param member A member of a group.
+     * @return the types of the parameters of the member which are not {@link Blackhole}s.
+     */
+    private static List<Class<?>> getTypesOfStateObjects(@NotNull Method member) {
+        return Arrays.stream(member.getParameterTypes())
+                .filter(parameterType -> parameterType != Blackhole.class)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Generates the {@link BenchmarkHarness} of each thread of the group, with new state objects
+     * (one for each type) shared by all of them: the threads of the same member share the class of their
+     * harness (see {@link BenchmarkHarness#copy()}).
+     *
+     * @return the {@link BenchmarkHarness} of each thread, by index of the thread.
+     * @throws ReflectiveOperationException If the state objects cannot be created or if the methods to
+     *                                      be executed before and after each iteration are not found.
+     */
+    List<BenchmarkHarness> generateHarnessOfEachThread() throws ReflectiveOperationException {
+        Map<Class<?>, Object> stateObjects = new HashMap<>();
+        for (Method member : members) {
+            for (Class<?> typeOfStateObject : getTypesOfStateObjects(member)) {
+                if (!stateObjects.containsKey(typeOfStateObject)) {
+                    Constructor<?> constructor = typeOfStateObject.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    stateObjects.put(typeOfStateObject, constructor.newInstance());
+                }
+            }
+        }
+        List<BenchmarkHarness> harnessOfEachThread = new ArrayList<>();
+        for (Method member : members) {
+            Invoker invokerOfMember = Invoker.of(member, true);
+            final BenchmarkHarness HARNESS_OF_MEMBER = BenchmarkInstance.generateHarness(invokerOfMember, stateObjects);
+            harnessOfEachThread.add(HARNESS_OF_MEMBER);
+            for (int i = 1; i < member.getAnnotation(Benchmark.class).threads(); i++) {
+                harnessOfEachThread.add(HARNESS_OF_MEMBER.copy());
+            }
+        }
+        return harnessOfEachThread;
+    }
+
+    /**
+     * @return the number of invocations of the benchmarked method in each iteration, for each thread of the group.
+     */
+    int[] getBatchSizeOfEachThread() {
+        int[] batchSizeOfEachThread = new int[getNumberOfThreads()];
+        for (int i = 0; i < members.size(); i++) {
+            Arrays.fill(batchSizeOfEachThread, indexOfFirstThreadOfEachMember[i], indexOfFirstThreadOfEachMember[i + 1],
+                    members.get(i).getAnnotation(Benchmark.class).batchSize());
+        }
+        return batchSizeOfEachThread;
+    }
+
+    /**
+     * @return the name of the method executed by each thread of the group.
+     */
+    String[] getRoleOfEachThread() {
+        String[] roleOfEachThread = new String[getNumberOfThreads()];
+        for (int i = 0; i < members.size(); i++) {
+            Arrays.fill(roleOfEachThread, indexOfFirstThreadOfEachMember[i], indexOfFirstThreadOfEachMember[i + 1],
+                    members.get(i).getName());
+        }
+        return roleOfEachThread;
+    }
+
+    /**
+     * @return the total number of threads of the group.
+     */
+    int getNumberOfThreads() {
+        return indexOfFirstThreadOfEachMember[members.size()];
+    }
+
+    /**
+     * @param member A member of this group.
+     * @return the index of the first thread executing the given member.
+     * @throws IllegalArgumentException If the given method is not a member of this group.
+     */
+    int getIndexOfFirstThreadOf(@NotNull Method member) {
+        final int INDEX_OF_MEMBER = members.indexOf(member);
+        if (INDEX_OF_MEMBER < 0) {
+            throw new IllegalArgumentException(member + " is not a member of the group " + name + ".");
+        }
+        return indexOfFirstThreadOfEachMember[INDEX_OF_MEMBER];
+    }
+
+    /**
+     * Keeps the given run of this group for the members which did not run it.
+     *
+     * @param run The completed run of this group.
+     */
+    synchronized void keepRun(@NotNull MultiThreadedRun run) {
+        this.run = Objects.requireNonNull(run);
+    }
+
+    /**
+     * Getter for {@link #name}.
+     *
+     * @return the current {@link #name}.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for {@link #members}.
+     *
+     * @return the current {@link #members}.
+     */
+    List<Method> getMembers() {
+        return members;
+    }
+
+    /**
+     * Getter for {@link #run}.
+     *
+     * @return the current {@link #run}.
+     */
+    @Nullable
+    synchronized MultiThreadedRun getRun() {
+        return run;
+    }
+
+    /**
+     * The groups whose members are benchmarked together (e.g., by a call of
+     * {@link BenchmarkRunner#benchmarkAllAnnotatedMethodsAndGetListOfResults()}): each group is run at most once
+     * and its run is shared by its members, and released with the registry.
+     */
+    static final class Registry {
+
+        /**
+         * The group of the members benchmarked so far, by class and name of the group.
+         */
+        private final Map<List<Object>, BenchmarkGroup> groups = new HashMap<>();
+
+        /**
+         * @param member A method which is a member of a group (see {@link Benchmark#group()}).
+         * @return the group of the given method, which has already been run if another member has been
+         * benchmarked with this registry.
+         * @throws IllegalArgumentException See {@link BenchmarkGroup#of(Method)}.
+         */
+        synchronized BenchmarkGroup groupOf(@NotNull Method member) {
+            return groups.computeIfAbsent(
+                    Arrays.asList(member.getDeclaringClass(), member.getAnnotation(Benchmark.class).group()),
+                    key -> BenchmarkGroup.of(member));
+        }
+    }
+}
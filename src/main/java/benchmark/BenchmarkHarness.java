@@ -0,0 +1,65 @@
+package benchmark;
+
+/**
+ * Measurement loop of a benchmark.
+ * Instances are obtained from {@link BenchmarkHarnessGenerator}, which defines a
+ * dedicated subclass for each benchmarked method, so that the JIT compiler profiles
+ * and compiles the loop of each benchmark in isolation.
+ * Each instance has its own {@link Blackhole}, hence it must be used by a single thread: the other
+ * threads benchmarking the same method use a {@link #copy()}, without generating another class.
+ */
+abstract class BenchmarkHarness {
+
+    /**
+     * The {@link Blackhole} which consumes the values returned by the executed methods and which is
+     * injected in their {@link Blackhole} parameters.
+     */
+    final Blackhole blackhole = new Blackhole();
+
+    /**
+     * @return a new instance of the same class, which executes the same methods with its own {@link Blackhole}.
+     */
+    abstract BenchmarkHarness copy();
+
+    /**
+     * Executes the benchmarked method (with the methods to be executed before and after
+     * each iteration, if any) and saves the duration of each iteration in the given array.
+     * Each iteration is a batch of consecutive invocations of the benchmarked method, which
+     * are timed together.
+     * This method does not allocate (unless the executed methods do), hence it does not trigger
+     * garbage collections which would be timed in later iterations.
+     *
+     * @param executionTimesInNanoseconds The array where to save the execution times (in nanoseconds)
+     *                                    of each iteration.
+     * @param fromIndex                   The index (inclusive) of the array where to save the
+     *                                    execution time of the first iteration.
+     * @param toIndex                     The index (exclusive) of the array after the one where to save
+     *                                    the execution time of the last iteration.
+     * @param batchSize                   The number of invocations of the benchmarked method in each iteration.
+     * @throws Throwable If the executed methods throw.
+     */
+    abstract void measure(long[] executionTimesInNanoseconds, int fromIndex, int toIndex, int batchSize) throws Throwable;
+
+    /**
+     * Executes the benchmarked method (with the methods to be executed before and after
+     * each iteration, if any) back-to-back, in batches, until the given deadline.
+     * At least one batch is executed.
+     *
+     * @param deadlineInNanoseconds The value of {@link System#nanoTime()} after which no more
+     *                              batches are started.
+     * @param batchSize             The number of invocations of the benchmarked method in each batch.
+     * @return the number of completed invocations of the benchmarked method.
+     * @throws Throwable If the executed methods throw.
+     */
+    abstract long countOperationsUntil(long deadlineInNanoseconds, int batchSize) throws Throwable;
+
+    /**
+     * Executes the benchmarked method (with the methods to be executed before and after
+     * each iteration, if any) without timing it.
+     *
+     * @param numberOfIterations The number of iterations to execute.
+     * @param batchSize          The number of invocations of the benchmarked method in each iteration.
+     * @throws Throwable If the executed methods throw.
+     */
+    abstract void execute(long numberOfIterations, int batchSize) throws Throwable;
+}
@@ -0,0 +1,215 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class to generate at run time a dedicated {@link BenchmarkHarness} subclass for
+ * each benchmarked method.
+ * Each generated class is a clone of {@link BenchmarkHarnessTemplate}, with a different
+ * name, defined through {@link MethodHandles.Lookup#defineClass(byte[])}: the bytecode is
+ * the same, but each generated class has its own static final {@link MethodHandle}s and
+ * its own JIT profile, so the call site of the benchmarked method in the measurement loop
+ * is monomorphic.
+ */
+class BenchmarkHarnessGenerator {
+
+    /**
+     * Index of the {@link MethodHandle} of the benchmarked method in the array
+     * returned by {@link #takeMethodHandles(Class)}.
+     */
+    static final int INDEX_OF_METHOD_TO_BENCHMARK = 0;
+    /**
+     * Index of the {@link MethodHandle} of the method to be executed before each
+     * iteration in the array returned by {@link #takeMethodHandles(Class)}.
+     */
+    static final int INDEX_OF_BEFORE_EACH = 1;
+    /**
+     * Index of the {@link MethodHandle} of the method to be executed after each
+     * iteration in the array returned by {@link #takeMethodHandles(Class)}.
+     */
+    static final int INDEX_OF_AFTER_EACH = 2;
+    /**
+     * The internal name (as in the class file) of {@link BenchmarkHarnessTemplate}.
+     */
+    private static final String INTERNAL_NAME_OF_TEMPLATE = BenchmarkHarnessTemplate.class.getName().replace('.', '/');
+    /**
+     * The bytecode of {@link BenchmarkHarnessTemplate}, lazily loaded.
+     */
+    private static byte[] bytecodeOfTemplate;
+    /**
+     * Counter used to generate unique class names.
+     */
+    private static final AtomicLong COUNTER_OF_GENERATED_CLASSES = new AtomicLong();
+    /**
+     * {@link MethodHandle}s which are waiting to be taken by the generated class
+     * (during its initialization) with the given name.
+     */
+    private static final Map<String, MethodHandle[]> METHOD_HANDLES_OF_CLASSES_TO_INITIALIZE = new ConcurrentHashMap<>();
+
+    /**
+     * Generates a new {@link BenchmarkHarness}.
+     *
+     * @param nameOfBenchmark   A name for the benchmark, used in the name of the generated class
+     *                          (it must be a valid Java identifier).
+     * @param methodToBenchmark The {@link MethodHandle} of the benchmarked method, of type
+     *                          {@link Invoker#METHOD_TYPE_OF_HANDLES}.
+     * @param beforeEach        The {@link MethodHandle} of the method to be executed before each iteration,
+     *                          of type {@link Invoker#METHOD_TYPE_OF_HANDLES}, or null if no methods has
+     *                          to be executed.
+     * @param afterEach         The {@link MethodHandle} of the method to be executed after each iteration,
+     *                          of type {@link Invoker#METHOD_TYPE_OF_HANDLES}, or null if no methods has
+     *                          to be executed.
+     * @return a new instance of a newly generated class, dedicated to the benchmarked method.
+     * @throws IllegalStateException If the class cannot be generated.
+     */
+    static BenchmarkHarness generate(@NotNull String nameOfBenchmark, @NotNull MethodHandle methodToBenchmark,
+                                     @Nullable MethodHandle beforeEach, @Nullable MethodHandle afterEach) {
+        String internalNameOfGeneratedClass = INTERNAL_NAME_OF_TEMPLATE + "$"
+                + Objects.requireNonNull(nameOfBenchmark) + "$" + COUNTER_OF_GENERATED_CLASSES.incrementAndGet();
+        MethodHandle[] methodHandles = new MethodHandle[3];
+        methodHandles[INDEX_OF_METHOD_TO_BENCHMARK] = Objects.requireNonNull(methodToBenchmark);
+        methodHandles[INDEX_OF_BEFORE_EACH] = beforeEach;
+        methodHandles[INDEX_OF_AFTER_EACH] = afterEach;
+        String nameOfGeneratedClass = internalNameOfGeneratedClass.replace('/', '.');
+        METHOD_HANDLES_OF_CLASSES_TO_INITIALIZE.put(nameOfGeneratedClass, methodHandles);
+        try {
+            Class<?> generatedClass = MethodHandles.lookup()
+                    .defineClass(renameClass(getBytecodeOfTemplate(), internalNameOfGeneratedClass));
+            return (BenchmarkHarness) generatedClass.getDeclaredConstructor().newInstance();
+        } catch (IOException | IllegalAccessException | InstantiationException
+                | NoSuchMethodException | InvocationTargetException e) {
+            throw new IllegalStateException("Unable to generate the harness for " + nameOfBenchmark, e);
+        } finally {
+            METHOD_HANDLES_OF_CLASSES_TO_INITIALIZE.remove(nameOfGeneratedClass);
+        }
+    }
+
+    /**
+     * Method invoked by each generated class during its initialization.
+     *
+     * @param generatedClass The generated class which is initializing.
+     * @return the {@link MethodHandle}s for the given class, to be accessed with the indexes
+     * {@link #INDEX_OF_METHOD_TO_BENCHMARK}, {@link #INDEX_OF_BEFORE_EACH} and {@link #INDEX_OF_AFTER_EACH}.
+     * @throws IllegalStateException If the class was not generated by this class.
+     */
+    static MethodHandle[] takeMethodHandles(@NotNull Class<?> generatedClass) {
+        MethodHandle[] methodHandles = METHOD_HANDLES_OF_CLASSES_TO_INITIALIZE.remove(generatedClass.getName());
+        if (methodHandles == null) {
+            throw new IllegalStateException(generatedClass + " was not generated by " + BenchmarkHarnessGenerator.class);
+        }
+        return methodHandles;
+    }
+
+    /**
+     * @return the bytecode of {@link BenchmarkHarnessTemplate}.
+     * @throws IOException If the bytecode cannot be read.
+     */
+    private static synchronized byte[] getBytecodeOfTemplate() throws IOException {
+        if (bytecodeOfTemplate == null) {
+            try (InputStream inputStream = BenchmarkHarnessTemplate.class.getResourceAsStream(
+                    BenchmarkHarnessTemplate.class.getSimpleName() + ".class")) {
+                if (inputStream == null) {
+                    throw new FileNotFoundException("Bytecode of " + BenchmarkHarnessTemplate.class + " not found.");
+                }
+                ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int readBytes;
+                while ((readBytes = inputStream.read(buffer)) > 0) {
+                    bytecode.write(buffer, 0, readBytes);
+                }
+                bytecodeOfTemplate = bytecode.toByteArray();
+            }
+        }
+        return bytecodeOfTemplate;
+    }
+
+    /**
+     * Renames the class whose bytecode is given, by rewriting the entries of the
+     * constant pool referring to its name. The rest of the class file is copied as is.
+     *
+     * @param bytecode        The bytecode of {@link BenchmarkHarnessTemplate}.
+     * @param newInternalName The new internal name (i.e., with slashes as separators) of the class.
+     * @return the bytecode of the renamed class.
+     * @throws IOException If the bytecode is malformed.
+     */
+    private static byte[] renameClass(byte[] bytecode, @NotNull String newInternalName) throws IOException {
+        final String OLD_DESCRIPTOR = "L" + INTERNAL_NAME_OF_TEMPLATE + ";";
+        final String NEW_DESCRIPTOR = "L" + newInternalName + ";";
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytecode));
+        ByteArrayOutputStream renamedBytecode = new ByteArrayOutputStream(bytecode.length + 256);
+        DataOutputStream out = new DataOutputStream(renamedBytecode);
+
+        out.writeInt(in.readInt());         // magic
+        out.writeShort(in.readUnsignedShort()); // minor version
+        out.writeShort(in.readUnsignedShort()); // major version
+        int constantPoolCount = in.readUnsignedShort();
+        out.writeShort(constantPoolCount);
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            out.writeByte(tag);
+            switch (tag) {
+                case 1:     // CONSTANT_Utf8
+                    String utf8 = in.readUTF();
+                    out.writeUTF(utf8.equals(INTERNAL_NAME_OF_TEMPLATE)
+                            ? newInternalName
+                            : utf8.replace(OLD_DESCRIPTOR, NEW_DESCRIPTOR));
+                    break;
+                case 7:     // CONSTANT_Class
+                case 8:     // CONSTANT_String
+                case 16:    // CONSTANT_MethodType
+                case 19:    // CONSTANT_Module
+                case 20:    // CONSTANT_Package
+                    copyBytes(in, out, 2);
+                    break;
+                case 15:    // CONSTANT_MethodHandle
+                    copyBytes(in, out, 3);
+                    break;
+                case 3:     // CONSTANT_Integer
+                case 4:     // CONSTANT_Float
+                case 9:     // CONSTANT_Fieldref
+                case 10:    // CONSTANT_Methodref
+                case 11:    // CONSTANT_InterfaceMethodref
+                case 12:    // CONSTANT_NameAndType
+                case 17:    // CONSTANT_Dynamic
+                case 18:    // CONSTANT_InvokeDynamic
+                    copyBytes(in, out, 4);
+                    break;
+                case 5:     // CONSTANT_Long
+                case 6:     // CONSTANT_Double
+                    copyBytes(in, out, 8);
+                    i++;    // 8-byte constants take two entries
+                    break;
+                default:
+                    throw new IOException("Unknown tag " + tag + " in the constant pool.");
+            }
+        }
+        copyBytes(in, out, in.available()); // the rest of the class file
+        out.flush();
+        return renamedBytecode.toByteArray();
+    }
+
+    /**
+     * Copies the given number of bytes from the input to the output.
+     *
+     * @param in            The input.
+     * @param out           The output.
+     * @param numberOfBytes The number of bytes to copy.
+     * @throws IOException If I/O errors occur.
+     */
+    private static void copyBytes(DataInputStream in, DataOutputStream out, int numberOfBytes) throws IOException {
+        byte[] bytes = new byte[numberOfBytes];
+        in.readFully(bytes);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,100 @@
+package benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Template of {@link BenchmarkHarness}: this class is never used directly, but its
+ * bytecode is cloned by {@link BenchmarkHarnessGenerator} into a new class for each
+ * benchmarked method.
+ * The {@link MethodHandle}s are held in static final fields, hence they are constants
+ * for the JIT compiler, which can inline the benchmarked method into the loop, while the
+ * {@link Blackhole} is passed to them as argument, so that the instances of the same class
+ * can be used by different threads.
+ * <strong>Note</strong>: this class must not have nested classes nor lambdas, because
+ * only this class is cloned.
+ */
+@SuppressWarnings("unused") // instantiated from its clones
+final class BenchmarkHarnessTemplate extends BenchmarkHarness {
+
+    /**
+     * The {@link MethodHandle} of the benchmarked method.
+     */
+    private static final MethodHandle METHOD_TO_BENCHMARK;
+    /**
+     * The {@link MethodHandle} of the method to be executed before each iteration, or null.
+     */
+    private static final MethodHandle BEFORE_EACH;
+    /**
+     * The {@link MethodHandle} of the method to be executed after each iteration, or null.
+     */
+    private static final MethodHandle AFTER_EACH;
+
+    static {
+        MethodHandle[] methodHandles = BenchmarkHarnessGenerator.takeMethodHandles(MethodHandles.lookup().lookupClass());
+        METHOD_TO_BENCHMARK = methodHandles[BenchmarkHarnessGenerator.INDEX_OF_METHOD_TO_BENCHMARK];
+        BEFORE_EACH = methodHandles[BenchmarkHarnessGenerator.INDEX_OF_BEFORE_EACH];
+        AFTER_EACH = methodHandles[BenchmarkHarnessGenerator.INDEX_OF_AFTER_EACH];
+    }
+
+    @Override
+    BenchmarkHarness copy() {
+        return new BenchmarkHarnessTemplate();  // the clones instantiate themselves
+    }
+
+    @Override
+    void measure(long[] executionTimesInNanoseconds, int fromIndex, int toIndex, int batchSize) throws Throwable {
+        long startTime;
+        long endTime;
+        Object ignored;
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (BEFORE_EACH != null) {
+                ignored = BEFORE_EACH.invokeExact(blackhole);
+            }
+            startTime = System.nanoTime();
+            for (int j = 0; j < batchSize; j++) {
+                ignored = METHOD_TO_BENCHMARK.invokeExact(blackhole);
+            }
+            endTime = System.nanoTime();
+            executionTimesInNanoseconds[i] = endTime - startTime;
+            if (AFTER_EACH != null) {
+                ignored = AFTER_EACH.invokeExact(blackhole);
+            }
+        }
+    }
+
+    @Override
+    long countOperationsUntil(long deadlineInNanoseconds, int batchSize) throws Throwable {
+        long operations = 0;
+        Object ignored;
+        do {
+            if (BEFORE_EACH != null) {
+                ignored = BEFORE_EACH.invokeExact(blackhole);
+            }
+            for (int j = 0; j < batchSize; j++) {
+                ignored = METHOD_TO_BENCHMARK.invokeExact(blackhole);
+            }
+            operations += batchSize;
+            if (AFTER_EACH != null) {
+                ignored = AFTER_EACH.invokeExact(blackhole);
+            }
+        } while (System.nanoTime() < deadlineInNanoseconds);
+        return operations;
+    }
+
+    @Override
+    void execute(long numberOfIterations, int batchSize) throws Throwable {
+        Object ignored;
+        for (long i = 0; i < numberOfIterations; i++) {
+            if (BEFORE_EACH != null) {
+                ignored = BEFORE_EACH.invokeExact(blackhole);
+            }
+            for (int j = 0; j < batchSize; j++) {
+                ignored = METHOD_TO_BENCHMARK.invokeExact(blackhole);
+            }
+            if (AFTER_EACH != null) {
+                ignored = AFTER_EACH.invokeExact(blackhole);
+            }
+        }
+    }
+}
@@ -2,19 +2,26 @@ package benchmark;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import utils.StatisticsUtility;
 import utils.StringUtility;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Class to save the result of a benchmark test.
@@ -35,29 +42,229 @@ public class BenchmarkInstance implements Comparable<BenchmarkInstance> {
      */
     private final Instant testEndedAt;
     /**
-     * Number of warm up iterations, excluded from statistics.
+     * What is measured by this benchmark.
      */
-    private final int warmUpIterationsExcludedFromBenchmarkStatistics;
+    private final BenchmarkMode mode;
     /**
-     * Number of iterations for statistics.
+     * Number of warm up iterations actually executed, excluded from statistics.
      */
-    private final int iterationsOfTest;
+    private final long warmUpIterationsExcludedFromBenchmarkStatistics;
     /**
-     * Number of tear down iterations, excluded from statistics.
+     * Number of iterations actually executed for statistics.
      */
-    private final int tearDownIterationsExcludedFromBenchmarkStatistics;
+    private final long iterationsOfTest;
     /**
-     * Duration of the fastest execution.
+     * Number of tear down iterations actually executed, excluded from statistics.
+     */
+    private final long tearDownIterationsExcludedFromBenchmarkStatistics;
+    /**
+     * Duration of the warm up phase, if bounded by time rather than by the number of iterations, null otherwise.
+     */
+    private final Integer warmUpTimeInMilliseconds;
+    /**
+     * Actual duration of the warm up phase, null in {@link BenchmarkMode#SINGLE_SHOT} mode.
+     */
+    private Double actualDurationOfWarmUpInMilliseconds;
+    /**
+     * True if the execution times reached a steady state before the end of the warm up phase, false if the
+     * maximum duration of the warm up elapsed, null if the warm up was not run {@link Benchmark#UNTIL_STEADY_STATE}.
+     */
+    private Boolean steadyStateReachedDuringWarmUp;
+    /**
+     * Duration of the measurement phase, if bounded by time rather than by the number of iterations, null otherwise.
+     */
+    private final Integer measurementTimeInMilliseconds;
+    /**
+     * Target precision of the measurement, as the half-width of the confidence interval (at confidence level
+     * {@link #confidenceLevel}) of {@link #statisticOfTargetPrecision} relative to its value,
+     * null if the measurement did not target a precision.
+     */
+    private final Double targetRelativeHalfWidthOfConfidenceInterval;
+    /**
+     * The statistic whose precision is targeted, null if the measurement did not target a precision.
+     */
+    private final CentralTendency statisticOfTargetPrecision;
+    /**
+     * Achieved precision of the measurement, as the half-width of the confidence interval of
+     * {@link #statisticOfTargetPrecision} relative to its value, null if the measurement did not target a precision.
+     */
+    private Double achievedRelativeHalfWidthOfConfidenceInterval;
+    /**
+     * Reason for which the measurement stopped, null if the measurement did not target a precision.
+     */
+    private StoppingReason reasonForStoppingTheMeasurement;
+    /**
+     * Number of invocations of the tested method timed together in each iteration.
+     * Durations in the report refer to a single invocation.
+     * It can be increased after the warm up (see {@link Benchmark#minimumClockTicksPerIteration()}).
+     */
+    private int batchSize;
+    /**
+     * Duration of the fastest execution (in {@link BenchmarkMode#SINGLE_SHOT} mode, of the fastest first
+     * invocation across forks).
      */
     private final long durationOfFastestExecutionInNanoseconds;
     /**
-     * Duration of the slowest execution.
+     * Duration of the slowest execution (in {@link BenchmarkMode#SINGLE_SHOT} mode, of the slowest first
+     * invocation across forks).
      */
     private final long durationOfSlowestExecutionInNanoseconds;
     /**
-     * Average duration of each execution.
+     * Average duration of each execution (in {@link BenchmarkMode#SINGLE_SHOT} mode, of the first
+     * invocation across forks).
      */
     private final long averageDurationOfEachExecutionInNanoseconds;
+    /**
+     * Number of time windows measured in {@link BenchmarkMode#THROUGHPUT} mode, null in other modes.
+     */
+    private final Integer measurementWindows;
+    /**
+     * Duration of each time window measured in {@link BenchmarkMode#THROUGHPUT} mode, null in other modes.
+     */
+    private final Integer windowDurationInMilliseconds;
+    /**
+     * Average (across time windows) number of executions per second in {@link BenchmarkMode#THROUGHPUT} mode,
+     * null in other modes.
+     */
+    private final Double averageThroughputInOperationsPerSecond;
+    /**
+     * Half-width of the confidence interval (at confidence level {@link #confidenceLevel})
+     * of {@link #averageThroughputInOperationsPerSecond}, computed with the Student's t-distribution
+     * across time windows. Null in other modes or if there are less than two windows.
+     */
+    private final Double errorOfAverageThroughputInOperationsPerSecond;
+    /**
+     * Throughput and latency of each thread and of all of them together, if the method is executed on
+     * multiple threads at once (see {@link Benchmark#threads()}) or in a {@link #group}, null otherwise.
+     * With multiple threads, {@link #averageThroughputInOperationsPerSecond} is the aggregate one and the
+     * other statistics of the duration of each execution refer to the iterations of all threads.
+     */
+    private final ThreadGroupStatistics statisticsOfThreads;
+    /**
+     * Name of the group of methods executed at once with the tested method (see {@link Benchmark#group()}),
+     * null if the tested method is benchmarked alone.
+     */
+    private final String group;
+    /**
+     * Throughput and latency of each thread of the {@link #group} (the threads executing the tested method are
+     * in {@link #statisticsOfThreads}) and of all of them together, null if the tested method is benchmarked alone.
+     */
+    private final ThreadGroupStatistics statisticsOfGroup;
+    /**
+     * True if the threads executing the tested method were virtual threads, false if virtual threads were requested
+     * (see {@link Benchmark#virtualThreads()}) but not supported by the runtime, so that platform threads were used,
+     * null if virtual threads were not requested.
+     */
+    private final Boolean onVirtualThreads;
+    /**
+     * Aggregate throughput of the tested method on as many platform threads as the virtual threads, for comparison,
+     * null if the tested method was not executed on virtual threads.
+     */
+    private final Double throughputOnPlatformThreadsInOperationsPerSecond;
+    /**
+     * Aggregate throughput of the tested method on virtual threads relative to
+     * {@link #throughputOnPlatformThreadsInOperationsPerSecond} (e.g., 2 if twice as many executions per second were
+     * completed), null if the tested method was not executed on virtual threads.
+     */
+    private final Double throughputOnVirtualThreadsRelativeToPlatformThreads;
+    /**
+     * Pinning of the carrier threads by the virtual threads executing the tested method, null if the tested method
+     * was not executed on virtual threads or if pinning events cannot be recorded (see {@link VirtualThreadPinning#canBeRecorded()}).
+     */
+    private final VirtualThreadPinning pinningOfCarrierThreads;
+    /**
+     * Aggregate throughput measured at increasing numbers of threads, with the fit of the models of scalability,
+     * if requested (see {@link Benchmark#SCALABILITY_SWEEP}), null otherwise.
+     */
+    private final ScalabilityAnalysis scalabilityOfThroughput;
+    /**
+     * Number of fresh JVMs in which the method was executed in {@link BenchmarkMode#SINGLE_SHOT} mode,
+     * null in other modes.
+     */
+    private final Integer forks;
+    /**
+     * Number of first invocations individually timed in each fresh JVM in {@link BenchmarkMode#SINGLE_SHOT}
+     * mode, null in other modes.
+     */
+    private final Integer coldInvocationsInEachFork;
+    /**
+     * Average (across forks) duration of each of the first invocations in {@link BenchmarkMode#SINGLE_SHOT}
+     * mode (the i-th element refers to the i-th invocation), null in other modes.
+     */
+    private final List<Long> averageDurationOfEachColdInvocationInNanoseconds;
+    /**
+     * Half-width of the confidence interval (at confidence level {@link #confidenceLevel})
+     * of the average duration of the first invocation in {@link BenchmarkMode#SINGLE_SHOT} mode, computed with
+     * the Student's t-distribution across forks. Null in other modes or if there are less than two forks.
+     */
+    private final Double errorOfAverageDurationOfFirstInvocationInNanoseconds;
+    /**
+     * Probability of each iteration to be timed in {@link BenchmarkMode#SAMPLE_TIME} mode, null in other modes.
+     */
+    private final Double samplingProbability;
+    /**
+     * Number of iterations timed in {@link BenchmarkMode#SAMPLE_TIME} mode, null in other modes.
+     */
+    private final Long timedIterations;
+    /**
+     * Number of timed iterations kept (as a uniform random subset) for statistics in
+     * {@link BenchmarkMode#SAMPLE_TIME} mode, null in other modes.
+     */
+    private final Integer keptTimedIterations;
+    /**
+     * Distribution (percentiles, mean and dispersion) of the duration of each execution, derived from the
+     * timed iterations (only the kept ones, in {@link BenchmarkMode#SAMPLE_TIME} mode) or, in
+     * {@link BenchmarkMode#SINGLE_SHOT} mode, from the first invocation in each fork.
+     * Null in {@link BenchmarkMode#THROUGHPUT} mode, where single executions are not timed.
+     */
+    private final DistributionStatistics distributionOfDurationOfEachExecutionInNanoseconds;
+    /**
+     * Density of the duration of each execution, estimated from the samples of {@link #distributionOfDurationOfEachExecutionInNanoseconds}
+     * or from {@link #histogramOfDurationOfEachIterationInNanoseconds}, telling if the distribution is multimodal (and then
+     * not described by its mean), shown with its histogram in this report.
+     * Null if there are less than {@link KernelDensityEstimate#MINIMUM_NUMBER_OF_DURATIONS} samples or they are not kept.
+     */
+    private final KernelDensityEstimate densityOfDurationOfEachExecutionInNanoseconds;
+    /**
+     * Histogram of the execution time of each iteration (i.e., of a batch of {@link #batchSize} executions)
+     * in {@link BenchmarkMode#LATENCY} mode, if requested (see {@link Benchmark#histogramSignificantDigits()}),
+     * null otherwise.
+     */
+    private final LatencyHistogram histogramOfDurationOfEachIterationInNanoseconds;
+    /**
+     * Streaming statistics of the execution time of each iteration (i.e., of a batch of {@link #batchSize}
+     * executions) in {@link BenchmarkMode#LATENCY} mode, if requested (see {@link Benchmark#streamingStatistics()}),
+     * null otherwise.
+     */
+    private final StreamingStatistics streamingStatisticsOfDurationOfEachIterationInNanoseconds;
+    /**
+     * {@link RawSampleFile} where the execution time of each iteration of the measurement phase has been written
+     * in {@link BenchmarkMode#LATENCY} mode, if requested (see {@link Benchmark#rawSamplesDirectory()}), null otherwise.
+     */
+    private final Path rawSamplesFile;
+    /**
+     * Confidence level of the confidence intervals and of the errors in this report.
+     */
+    private final double confidenceLevel;
+    /**
+     * Average duration of the consumption by a {@link Blackhole} of the value returned by the tested
+     * method (or of an {@link Object}, if the method is void), which is included in the duration of
+     * each execution. The same cost applies to each value explicitly consumed by the tested method.
+     */
+    private final double blackholeOverheadOfEachConsumptionInNanoseconds;
+    /**
+     * The calibration of the clock used for timing.
+     */
+    private final ClockCalibration clockCalibration;
+    /**
+     * Note about the effects of the resolution of the clock on this benchmark (e.g., the batch size
+     * has been increased or the timed invocations lasted too few clock ticks), null if none.
+     */
+    private String noteAboutClockResolution;
+    /**
+     * The {@link InvocationEngine} used to invoke the tested method.
+     */
+    private final InvocationEngine invocationEngine;
     /**
      * Comment to print in the report of this instance.
      */
@@ -80,45 +287,430 @@ public class BenchmarkInstance implements Comparable<BenchmarkInstance> {
      */
     public BenchmarkInstance(Method methodToBenchmark, @Nullable PrintStream out)
             throws InvocationTargetException, IllegalAccessException, ClassNotFoundException, NoSuchMethodException {
+        this(methodToBenchmark, out, ClockCalibration.getLastCalibration());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param methodToBenchmark The method to be benchmarked.
+     * @param out               The {@link PrintStream} where to print the output generated for informative purpose (i.e.,
+     *                          not the output generated by the benchmarked program), or null if the output must not be
+     *                          visible.
+     * @param clockCalibration  The calibration of the clock used for timing.
+     * @throws InvocationTargetException If errors occur when invoking the method.
+     * @throws IllegalAccessException    If errors occur when invoking the method.
+     * @throws ClassNotFoundException    If the class containing the method (including
+     *                                   the methods to be executed before and after
+     *                                   each iteration) is not found.
+     * @throws NoSuchMethodException     If the method (including the methods to be executed
+     *                                   before and after each iteration) is not found.
+     */
+    public BenchmarkInstance(Method methodToBenchmark, @Nullable PrintStream out, @NotNull ClockCalibration clockCalibration)
+            throws InvocationTargetException, IllegalAccessException, ClassNotFoundException, NoSuchMethodException {
+        this(methodToBenchmark, out, clockCalibration, new BenchmarkGroup.Registry());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param methodToBenchmark The method to be benchmarked.
+     * @param out               The {@link PrintStream} where to print the output generated for informative purpose (i.e.,
+     *                          not the output generated by the benchmarked program), or null if the output must not be
+     *                          visible.
+     * @param clockCalibration  The calibration of the clock used for timing.
+     * @param groups            The groups whose runs are shared with the other members benchmarked with the same
+     *                          registry (see {@link Benchmark#group()}).
+     * @throws InvocationTargetException If errors occur when invoking the method.
+     * @throws IllegalAccessException    If errors occur when invoking the method.
+     * @throws ClassNotFoundException    If the class containing the method (including
+     *                                   the methods to be executed before and after
+     *                                   each iteration) is not found.
+     * @throws NoSuchMethodException     If the method (including the methods to be executed
+     *                                   before and after each iteration) is not found.
+     */
+    BenchmarkInstance(Method methodToBenchmark, @Nullable PrintStream out, @NotNull ClockCalibration clockCalibration,
+                      @NotNull BenchmarkGroup.Registry groups)
+            throws InvocationTargetException, IllegalAccessException, ClassNotFoundException, NoSuchMethodException {
         testStartedAt = Instant.now();
         testedMethod = Objects.requireNonNull(methodToBenchmark);
+        this.clockCalibration = Objects.requireNonNull(clockCalibration);
         Benchmark annotationOfMethod = methodToBenchmark.getAnnotation(Benchmark.class);
 
-        warmUpIterationsExcludedFromBenchmarkStatistics = annotationOfMethod.warmUpIterations();
-        iterationsOfTest = annotationOfMethod.iterations();
-        tearDownIterationsExcludedFromBenchmarkStatistics = annotationOfMethod.tearDownIterations();
-        if (warmUpIterationsExcludedFromBenchmarkStatistics < 0
-                || iterationsOfTest < 0
-                || tearDownIterationsExcludedFromBenchmarkStatistics < 0) {
+        mode = annotationOfMethod.mode();
+        if ((annotationOfMethod.warmUpIterations() < 0
+                && annotationOfMethod.warmUpIterations() != Benchmark.UNTIL_STEADY_STATE)
+                || annotationOfMethod.iterations() < 0
+                || annotationOfMethod.tearDownIterations() < 0) {
             throw new IllegalArgumentException("Number of iterations cannot be negative.");
         }
+        if (annotationOfMethod.batchSize() < 0
+                || annotationOfMethod.minimumIterationDurationInMicroseconds() < 0
+                || annotationOfMethod.minimumClockTicksPerIteration() < 0) {
+            throw new IllegalArgumentException("Batch size and minimum iteration duration cannot be negative.");
+        }
+        if (annotationOfMethod.measurementWindows() <= 0 || annotationOfMethod.windowDurationInMilliseconds() <= 0) {
+            throw new IllegalArgumentException("Number and duration of time windows must be positive.");
+        }
+        if ((annotationOfMethod.warmUpTimeInMilliseconds() < 0
+                && annotationOfMethod.warmUpTimeInMilliseconds() != Benchmark.BOUNDED_BY_ITERATIONS)
+                || (annotationOfMethod.measurementTimeInMilliseconds() < 0
+                && annotationOfMethod.measurementTimeInMilliseconds() != Benchmark.BOUNDED_BY_ITERATIONS)) {
+            throw new IllegalArgumentException("Durations of warm up and measurement cannot be negative.");
+        }
+        if (!(annotationOfMethod.steadyStateTolerance() > 0)) {
+            throw new IllegalArgumentException("Tolerance for the steady state must be positive.");
+        }
+        if (!(annotationOfMethod.targetRelativeHalfWidthOfConfidenceInterval() >= 0)
+                || annotationOfMethod.maximumIterations() <= 0
+                || annotationOfMethod.maximumMeasurementTimeInMilliseconds() <= 0) {
+            throw new IllegalArgumentException("Target precision cannot be negative and its limits must be positive.");
+        }
+        if (mode == BenchmarkMode.LATENCY
+                && annotationOfMethod.targetRelativeHalfWidthOfConfidenceInterval() != Benchmark.NO_TARGET_PRECISION) {
+            targetRelativeHalfWidthOfConfidenceInterval = annotationOfMethod.targetRelativeHalfWidthOfConfidenceInterval();
+            statisticOfTargetPrecision = annotationOfMethod.statisticOfTargetPrecision();
+        } else {
+            targetRelativeHalfWidthOfConfidenceInterval = null;
+            statisticOfTargetPrecision = null;
+        }
+        if (!(annotationOfMethod.confidenceLevel() > 0 && annotationOfMethod.confidenceLevel() < 1)
+                || annotationOfMethod.bootstrapResamples() <= 0) {
+            throw new IllegalArgumentException("Confidence level must be in (0, 1) and bootstrap resamples must be positive.");
+        }
+        confidenceLevel = annotationOfMethod.confidenceLevel();
+        if (!(annotationOfMethod.regressionThreshold() >= 0)) {
+            throw new IllegalArgumentException("Regression threshold cannot be negative.");
+        }
+        if (annotationOfMethod.histogramSignificantDigits() < 0
+                || annotationOfMethod.histogramSignificantDigits() > LatencyHistogram.MAXIMUM_SIGNIFICANT_DIGITS
+                || (mode == BenchmarkMode.LATENCY && targetRelativeHalfWidthOfConfidenceInterval != null
+                && annotationOfMethod.histogramSignificantDigits() != Benchmark.NO_HISTOGRAM)) {
+            throw new IllegalArgumentException("Significant digits of the histogram must be in [0, "
+                    + LatencyHistogram.MAXIMUM_SIGNIFICANT_DIGITS + "] and histograms cannot be used with a target precision.");
+        }
+        if (annotationOfMethod.threads() < 0 || annotationOfMethod.maximumThreadsOfScalabilitySweep() < 0
+                || annotationOfMethod.threads() > MultiThreadedRun.MAXIMUM_THREADS
+                || annotationOfMethod.maximumThreadsOfScalabilitySweep() > MultiThreadedRun.MAXIMUM_THREADS) {
+            throw new IllegalArgumentException("Number of threads must be in [0, " + MultiThreadedRun.MAXIMUM_THREADS + "].");
+        }
+        final int THREADS = annotationOfMethod.threads() != Benchmark.SCALABILITY_SWEEP ? annotationOfMethod.threads()
+                : annotationOfMethod.maximumThreadsOfScalabilitySweep() != Benchmark.AVAILABLE_PROCESSORS
+                ? annotationOfMethod.maximumThreadsOfScalabilitySweep() : Runtime.getRuntime().availableProcessors();
+        group = annotationOfMethod.group().equals(Benchmark.NO_GROUP) ? null : annotationOfMethod.group();
+        if (annotationOfMethod.virtualThreads() && (annotationOfMethod.threads() == Benchmark.SCALABILITY_SWEEP || group != null)) {
+            throw new IllegalArgumentException("Virtual threads cannot be used in scalability sweeps and groups.");
+        }
+        onVirtualThreads = annotationOfMethod.virtualThreads() ? VirtualThreads.isSupported() : null;
+        final boolean MULTIPLE_THREADS = annotationOfMethod.threads() != 1 || group != null || annotationOfMethod.virtualThreads();
+        if (MULTIPLE_THREADS && (mode == BenchmarkMode.SINGLE_SHOT || mode == BenchmarkMode.SAMPLE_TIME
+                || annotationOfMethod.warmUpIterations() == Benchmark.UNTIL_STEADY_STATE
+                || targetRelativeHalfWidthOfConfidenceInterval != null || annotationOfMethod.streamingStatistics()
+                || !annotationOfMethod.rawSamplesDirectory().equals(Benchmark.NO_RAW_SAMPLES_FILE))) {
+            throw new IllegalArgumentException("Multiple threads can be used only in " + BenchmarkMode.LATENCY + " and "
+                    + BenchmarkMode.THROUGHPUT + " modes, without warmup until steady state, target precision, "
+                    + "streaming statistics and raw samples files.");
+        }
+        final BenchmarkGroup GROUP = group == null ? null : groups.groupOf(methodToBenchmark);
+        final int FIRST_THREAD = GROUP == null ? 0 : GROUP.getIndexOfFirstThreadOf(methodToBenchmark);
+        final int SIGNIFICANT_DIGITS_OF_HISTOGRAM = annotationOfMethod.histogramSignificantDigits() != Benchmark.NO_HISTOGRAM
+                || !MULTIPLE_THREADS ? annotationOfMethod.histogramSignificantDigits()
+                : annotationOfMethod.virtualThreads() ? MultiThreadedRun.DEFAULT_SIGNIFICANT_DIGITS_ON_VIRTUAL_THREADS
+                : MultiThreadedRun.DEFAULT_SIGNIFICANT_DIGITS;
+        histogramOfDurationOfEachIterationInNanoseconds =
+                mode == BenchmarkMode.LATENCY && SIGNIFICANT_DIGITS_OF_HISTOGRAM != Benchmark.NO_HISTOGRAM
+                        ? new LatencyHistogram(SIGNIFICANT_DIGITS_OF_HISTOGRAM)
+                        : null;
+        if (mode == BenchmarkMode.LATENCY && targetRelativeHalfWidthOfConfidenceInterval != null
+                && (annotationOfMethod.streamingStatistics()
+                || !annotationOfMethod.rawSamplesDirectory().equals(Benchmark.NO_RAW_SAMPLES_FILE))) {
+            throw new IllegalArgumentException("Streaming statistics and raw samples files cannot be used with a target precision.");
+        }
+        rawSamplesFile = mode == BenchmarkMode.LATENCY && !annotationOfMethod.rawSamplesDirectory().equals(Benchmark.NO_RAW_SAMPLES_FILE)
+                ? Paths.get(annotationOfMethod.rawSamplesDirectory(), methodToBenchmark.getDeclaringClass().getName()
+                + "." + methodToBenchmark.getName() + RawSampleFile.FILE_EXTENSION)
+                : null;
+        streamingStatisticsOfDurationOfEachIterationInNanoseconds =
+                mode == BenchmarkMode.LATENCY && (annotationOfMethod.streamingStatistics() || rawSamplesFile != null)
+                        ? new StreamingStatistics() : null;
+        if (annotationOfMethod.forks() <= 0 || annotationOfMethod.coldInvocationsInEachFork() <= 0) {
+            throw new IllegalArgumentException("Number of forks and of cold invocations in each fork must be positive.");
+        }
+        if (!(annotationOfMethod.samplingProbability() > 0 && annotationOfMethod.samplingProbability() <= 1)
+                || annotationOfMethod.reservoirSize() <= 0) {
+            throw new IllegalArgumentException("Sampling probability must be in (0, 1] and reservoir size must be positive.");
+        }
+        samplingProbability = mode == BenchmarkMode.SAMPLE_TIME ? annotationOfMethod.samplingProbability() : null;
+        forks = mode == BenchmarkMode.SINGLE_SHOT ? annotationOfMethod.forks() : null;
+        coldInvocationsInEachFork = mode == BenchmarkMode.SINGLE_SHOT ? annotationOfMethod.coldInvocationsInEachFork() : null;
+        warmUpTimeInMilliseconds = annotationOfMethod.warmUpTimeInMilliseconds() == Benchmark.BOUNDED_BY_ITERATIONS
+                ? null : annotationOfMethod.warmUpTimeInMilliseconds();
+        measurementTimeInMilliseconds = annotationOfMethod.measurementTimeInMilliseconds() == Benchmark.BOUNDED_BY_ITERATIONS
+                ? null : annotationOfMethod.measurementTimeInMilliseconds();
+        windowDurationInMilliseconds = mode == BenchmarkMode.THROUGHPUT ? annotationOfMethod.windowDurationInMilliseconds() : null;
+        if (mode == BenchmarkMode.THROUGHPUT) {
+            measurementWindows = measurementTimeInMilliseconds == null
+                    ? annotationOfMethod.measurementWindows()
+                    : Math.max(1, (measurementTimeInMilliseconds + windowDurationInMilliseconds - 1) / windowDurationInMilliseconds);
+        } else {
+            measurementWindows = null;
+        }
         commentToReport = annotationOfMethod.commentToReport().length() > 0 ? annotationOfMethod.commentToReport() : null;
 
-        @Nullable
-        Method toBeExecutedBeforeEachIteration = getMethodFromName(annotationOfMethod.beforeEach());
-        @Nullable
-        Method toBeExecutedAfterEachIteration = getMethodFromName(annotationOfMethod.afterEach());
+        Invoker invokerOfMethodToBenchmark = Invoker.of(methodToBenchmark, GROUP != null);
+        invocationEngine = invokerOfMethodToBenchmark.getInvocationEngine();
+        BenchmarkHarness harness = GROUP == null && mode != BenchmarkMode.SINGLE_SHOT   // forks generate their own
+                ? generateHarness(invokerOfMethodToBenchmark) : null;
 
-        List<Long> executionTimesInNanos = benchmarkAndGetExecutionTimesForStatistics(
-                methodToBenchmark, toBeExecutedBeforeEachIteration, toBeExecutedAfterEachIteration, out);
+        PrintStream realStdOut = System.out;
+        PrintStream realStdErr = System.err;
+        long[] executionTimesInNanos = null;
+        long[] operationsInEachWindow = null;
+        long[] durationOfEachWindowInNanoseconds = null;
+        long[][] executionTimesOfColdInvocationsInEachFork = null;
+        SampleReservoir sampledExecutionTimesForStatistics = null;
+        MultiThreadedRun multiThreadedRun = null;
+        final int[] THREAD_COUNTS_OF_SWEEP = annotationOfMethod.threads() == Benchmark.SCALABILITY_SWEEP
+                ? ScalabilityAnalysis.getThreadCountsOfSweep(THREADS) : null;
+        final double[] THROUGHPUTS_OF_SWEEP = THREAD_COUNTS_OF_SWEEP == null ? null : new double[THREAD_COUNTS_OF_SWEEP.length];
+        Double throughputOnPlatformThreads = null;
+        VirtualThreadPinning pinning = null;
+        long[] numberOfIterationsInEachPhase;
+        try {
+            System.setOut(new PrintStream(new ByteArrayOutputStream())); // ignore stdout during benchmark
+            System.setErr(new PrintStream(new ByteArrayOutputStream())); // ignore stderr during benchmark
+            if (mode == BenchmarkMode.SINGLE_SHOT) {
+                batchSize = 1;
+            } else {
+                batchSize = annotationOfMethod.batchSize() == Benchmark.AUTOMATIC_BATCH_SIZE
+                        ? chooseBatchSize(harness, 1, Math.max(
+                        annotationOfMethod.minimumIterationDurationInMicroseconds() * 1000L,
+                        getMinimumIterationDurationForClockInNanoseconds(annotationOfMethod)))
+                        : annotationOfMethod.batchSize();
+            }
+            if (GROUP != null) {
+                if (GROUP.getRun() == null) {
+                    GROUP.keepRun(benchmarkOnMultipleThreads(GROUP.generateHarnessOfEachThread(), GROUP.getBatchSizeOfEachThread(),
+                            GROUP.getRoleOfEachThread(), false, methodToBenchmark, annotationOfMethod, SIGNIFICANT_DIGITS_OF_HISTOGRAM, out));
+                }
+                multiThreadedRun = GROUP.getRun();
+            } else if (MULTIPLE_THREADS) {
+                if (THREAD_COUNTS_OF_SWEEP != null) {   // the largest number of threads is measured below, for the report
+                    for (int i = 0; i < THREAD_COUNTS_OF_SWEEP.length - 1; i++) {
+                        THROUGHPUTS_OF_SWEEP[i] = benchmarkOnMultipleThreads(harness, methodToBenchmark,
+                                annotationOfMethod, THREAD_COUNTS_OF_SWEEP[i], false, SIGNIFICANT_DIGITS_OF_HISTOGRAM, null)
+                                .getThreadGroupStatistics().getAggregateThroughputInOperationsPerSecond();
+                    }
+                }
+                if (Boolean.TRUE.equals(onVirtualThreads)) {   // compared with as many platform threads
+                    throughputOnPlatformThreads = benchmarkOnMultipleThreads(harness, methodToBenchmark,
+                            annotationOfMethod, THREADS, false, SIGNIFICANT_DIGITS_OF_HISTOGRAM, null)
+                            .getThreadGroupStatistics().getAggregateThroughputInOperationsPerSecond();
+                    VirtualThreadPinningRecorder pinningRecorder =
+                            VirtualThreadPinning.canBeRecorded() ? new VirtualThreadPinningRecorder() : null;
+                    try {
+                        multiThreadedRun = benchmarkOnMultipleThreads(harness, methodToBenchmark,
+                                annotationOfMethod, THREADS, true, SIGNIFICANT_DIGITS_OF_HISTOGRAM, out);
+                    } finally {
+                        pinning = pinningRecorder == null ? null : pinningRecorder.stop();
+                    }
+                } else {
+                    multiThreadedRun = benchmarkOnMultipleThreads(harness, methodToBenchmark,
+                            annotationOfMethod, THREADS, false, SIGNIFICANT_DIGITS_OF_HISTOGRAM, out);
+                }
+            }
+            if (multiThreadedRun != null) {
+                numberOfIterationsInEachPhase = multiThreadedRun.getIterationsInEachPhase(FIRST_THREAD, FIRST_THREAD + THREADS);
+                if (mode == BenchmarkMode.THROUGHPUT) {
+                    operationsInEachWindow = multiThreadedRun.getOperationsInEachMeasurementStep(FIRST_THREAD, FIRST_THREAD + THREADS);
+                    durationOfEachWindowInNanoseconds = multiThreadedRun.getDurationOfEachMeasurementStepInNanoseconds();
+                } else {
+                    Objects.requireNonNull(histogramOfDurationOfEachIterationInNanoseconds)
+                            .add(multiThreadedRun.getHistogramOfThreads(FIRST_THREAD, FIRST_THREAD + THREADS));
+                }
+            } else {
+                switch (mode) {
+                    case SINGLE_SHOT:
+                        executionTimesOfColdInvocationsInEachFork = benchmarkSingleShot(methodToBenchmark, out);
+                        numberOfIterationsInEachPhase = new long[]{0, (long) forks * coldInvocationsInEachFork, 0};
+                        break;
+                    case THROUGHPUT:
+                        operationsInEachWindow = new long[measurementWindows];
+                        durationOfEachWindowInNanoseconds = new long[measurementWindows];
+                        numberOfIterationsInEachPhase = benchmarkThroughput(harness, methodToBenchmark, annotationOfMethod, out,
+                                operationsInEachWindow, durationOfEachWindowInNanoseconds);
+                        break;
+                    case SAMPLE_TIME:
+                        sampledExecutionTimesForStatistics = new SampleReservoir(annotationOfMethod.reservoirSize(), new SplittableRandom());
+                        numberOfIterationsInEachPhase = benchmarkAndGetExecutionTimesForStatistics(
+                                harness, methodToBenchmark, annotationOfMethod, out, new SampleBuffer(0), sampledExecutionTimesForStatistics);
+                        executionTimesInNanos = sampledExecutionTimesForStatistics.toArray();
+                        break;
+                    case LATENCY:
+                    default:
+                        SampleBuffer executionTimesForStatistics = new SampleBuffer(measurementTimeInMilliseconds != null ? 0
+                                : streamingStatisticsOfDurationOfEachIterationInNanoseconds == null
+                                && histogramOfDurationOfEachIterationInNanoseconds == null && rawSamplesFile == null
+                                ? annotationOfMethod.iterations()
+                                : Math.min(annotationOfMethod.iterations(), SampleBuffer.MAXIMUM_SAMPLES_OF_EACH_STEP_NOT_KEPT));
+                        numberOfIterationsInEachPhase = benchmarkAndGetExecutionTimesForStatistics(
+                                harness, methodToBenchmark, annotationOfMethod, out, executionTimesForStatistics, null);
+                        executionTimesInNanos = executionTimesForStatistics.toArray();
+                        break;
+                }
+            }
+            blackholeOverheadOfEachConsumptionInNanoseconds =
+                    BlackholeOverhead.getAverageOverheadInNanoseconds(methodToBenchmark.getReturnType());
+        } catch (InvocationTargetException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        } finally {
+            System.setOut(realStdOut); // restore stdout
+            System.setErr(realStdErr); // restore stderr
+        }
+        warmUpIterationsExcludedFromBenchmarkStatistics = numberOfIterationsInEachPhase[0];
+        iterationsOfTest = numberOfIterationsInEachPhase[1];
+        tearDownIterationsExcludedFromBenchmarkStatistics = numberOfIterationsInEachPhase[2];
+        if (sampledExecutionTimesForStatistics != null) {
+            timedIterations = sampledExecutionTimesForStatistics.getNumberOfOfferedSamples();
+            keptTimedIterations = sampledExecutionTimesForStatistics.getSize();
+        } else {
+            timedIterations = null;
+            keptTimedIterations = null;
+        }
 
-        durationOfFastestExecutionInNanoseconds = executionTimesInNanos.stream().reduce((a, b) -> a < b ? a : b).orElseThrow(NoSuchElementException::new);
-        durationOfSlowestExecutionInNanoseconds = executionTimesInNanos.stream().reduce((a, b) -> a > b ? a : b).orElseThrow(NoSuchElementException::new);
-        averageDurationOfEachExecutionInNanoseconds = executionTimesInNanos.stream().reduce(Long::sum).orElseThrow(NoSuchElementException::new) / executionTimesInNanos.size();
+        if (mode == BenchmarkMode.SINGLE_SHOT) {
+            final long[][] EXECUTION_TIMES_OF_COLD_INVOCATIONS_IN_EACH_FORK = executionTimesOfColdInvocationsInEachFork;
+            if (Arrays.stream(EXECUTION_TIMES_OF_COLD_INVOCATIONS_IN_EACH_FORK).flatMapToLong(Arrays::stream)
+                    .anyMatch(executionTime -> executionTime < getMinimumIterationDurationForClockInNanoseconds(annotationOfMethod))) {
+                noteAboutClockResolution = "Some invocations lasted less than "
+                        + annotationOfMethod.minimumClockTicksPerIteration() + " clock ticks: their durations are inaccurate.";
+            }
+            double[] durationOfFirstInvocationInEachFork = Arrays.stream(EXECUTION_TIMES_OF_COLD_INVOCATIONS_IN_EACH_FORK)
+                    .mapToDouble(executionTimesInFork -> executionTimesInFork[0])
+                    .toArray();
+            durationOfFastestExecutionInNanoseconds = (long) Arrays.stream(durationOfFirstInvocationInEachFork).min().orElseThrow(NoSuchElementException::new);
+            durationOfSlowestExecutionInNanoseconds = (long) Arrays.stream(durationOfFirstInvocationInEachFork).max().orElseThrow(NoSuchElementException::new);
+            averageDurationOfEachExecutionInNanoseconds = (long) StatisticsUtility.mean(durationOfFirstInvocationInEachFork);
+            distributionOfDurationOfEachExecutionInNanoseconds = new DistributionStatistics(
+                    Arrays.stream(EXECUTION_TIMES_OF_COLD_INVOCATIONS_IN_EACH_FORK)
+                            .mapToLong(executionTimesInFork -> executionTimesInFork[0])
+                            .toArray(), 1, confidenceLevel, annotationOfMethod.bootstrapResamples(), new SplittableRandom());
+            averageDurationOfEachColdInvocationInNanoseconds = IntStream.range(0, coldInvocationsInEachFork)
+                    .mapToObj(i -> (long) Arrays.stream(EXECUTION_TIMES_OF_COLD_INVOCATIONS_IN_EACH_FORK)
+                            .mapToLong(executionTimesInFork -> executionTimesInFork[i])
+                            .average().orElseThrow(NoSuchElementException::new))
+                    .collect(Collectors.toList());
+            errorOfAverageDurationOfFirstInvocationInNanoseconds = forks < 2 ? null
+                    : StatisticsUtility.halfWidthOfConfidenceIntervalForTheMean(durationOfFirstInvocationInEachFork, confidenceLevel);
+            averageThroughputInOperationsPerSecond = null;
+            errorOfAverageThroughputInOperationsPerSecond = null;
+        } else if (mode == BenchmarkMode.THROUGHPUT) {
+            averageDurationOfEachColdInvocationInNanoseconds = null;
+            errorOfAverageDurationOfFirstInvocationInNanoseconds = null;
+            double[] averageDurationOfEachExecutionInEachWindow = new double[measurementWindows];
+            double[] throughputInEachWindow = new double[measurementWindows];
+            for (int i = 0; i < measurementWindows; i++) {
+                averageDurationOfEachExecutionInEachWindow[i] =
+                        (double) durationOfEachWindowInNanoseconds[i] / operationsInEachWindow[i];
+                throughputInEachWindow[i] = 1e9 / averageDurationOfEachExecutionInEachWindow[i];
+            }
+            if (multiThreadedRun != null) {   // the windows give the aggregate throughput, not the duration of each execution
+                final LatencyHistogram HISTOGRAM_OF_ALL_THREADS = multiThreadedRun.getHistogramOfThreads(FIRST_THREAD, FIRST_THREAD + THREADS);
+                durationOfFastestExecutionInNanoseconds = HISTOGRAM_OF_ALL_THREADS.getMinimum() / batchSize;
+                durationOfSlowestExecutionInNanoseconds = HISTOGRAM_OF_ALL_THREADS.getMaximum() / batchSize;
+                averageDurationOfEachExecutionInNanoseconds = (long) (HISTOGRAM_OF_ALL_THREADS.getMean() / batchSize);
+            } else {
+                durationOfFastestExecutionInNanoseconds = (long) Arrays.stream(averageDurationOfEachExecutionInEachWindow).min().orElseThrow(NoSuchElementException::new);
+                durationOfSlowestExecutionInNanoseconds = (long) Arrays.stream(averageDurationOfEachExecutionInEachWindow).max().orElseThrow(NoSuchElementException::new);
+                averageDurationOfEachExecutionInNanoseconds = Arrays.stream(durationOfEachWindowInNanoseconds).sum() / Arrays.stream(operationsInEachWindow).sum();
+            }
+            averageThroughputInOperationsPerSecond = StatisticsUtility.mean(throughputInEachWindow);
+            distributionOfDurationOfEachExecutionInNanoseconds = null;
+            errorOfAverageThroughputInOperationsPerSecond = measurementWindows < 2 ? null
+                    : StatisticsUtility.halfWidthOfConfidenceIntervalForTheMean(throughputInEachWindow, confidenceLevel);
+        } else if (streamingStatisticsOfDurationOfEachIterationInNanoseconds != null) {
+            final StreamingStatistics STATISTICS = streamingStatisticsOfDurationOfEachIterationInNanoseconds;
+            averageDurationOfEachColdInvocationInNanoseconds = null;
+            errorOfAverageDurationOfFirstInvocationInNanoseconds = null;
+            durationOfFastestExecutionInNanoseconds = STATISTICS.getMinimum() / batchSize;
+            durationOfSlowestExecutionInNanoseconds = STATISTICS.getMaximum() / batchSize;
+            averageDurationOfEachExecutionInNanoseconds = (long) (STATISTICS.getMean() / batchSize);
+            distributionOfDurationOfEachExecutionInNanoseconds = new DistributionStatistics(
+                    STATISTICS, histogramOfDurationOfEachIterationInNanoseconds, batchSize, confidenceLevel);
+            averageThroughputInOperationsPerSecond = null;
+            errorOfAverageThroughputInOperationsPerSecond = null;
+        } else if (histogramOfDurationOfEachIterationInNanoseconds != null) {
+            final LatencyHistogram HISTOGRAM = histogramOfDurationOfEachIterationInNanoseconds;
+            averageDurationOfEachColdInvocationInNanoseconds = null;
+            errorOfAverageDurationOfFirstInvocationInNanoseconds = null;
+            durationOfFastestExecutionInNanoseconds = HISTOGRAM.getMinimum() / batchSize;
+            durationOfSlowestExecutionInNanoseconds = HISTOGRAM.getMaximum() / batchSize;
+            averageDurationOfEachExecutionInNanoseconds = (long) (HISTOGRAM.getMean() / batchSize);
+            distributionOfDurationOfEachExecutionInNanoseconds = new DistributionStatistics(HISTOGRAM, batchSize, confidenceLevel);
+            averageThroughputInOperationsPerSecond = null;
+            errorOfAverageThroughputInOperationsPerSecond = null;
+        } else {
+            averageDurationOfEachColdInvocationInNanoseconds = null;
+            errorOfAverageDurationOfFirstInvocationInNanoseconds = null;
+            durationOfFastestExecutionInNanoseconds = Arrays.stream(executionTimesInNanos).min().orElseThrow(NoSuchElementException::new) / batchSize;
+            durationOfSlowestExecutionInNanoseconds = Arrays.stream(executionTimesInNanos).max().orElseThrow(NoSuchElementException::new) / batchSize;
+            averageDurationOfEachExecutionInNanoseconds = Arrays.stream(executionTimesInNanos).reduce(Long::sum).orElseThrow(NoSuchElementException::new) / ((long) executionTimesInNanos.length * batchSize);
+            distributionOfDurationOfEachExecutionInNanoseconds = new DistributionStatistics(
+                    executionTimesInNanos, batchSize, confidenceLevel, annotationOfMethod.bootstrapResamples(), new SplittableRandom());
+            averageThroughputInOperationsPerSecond = null;
+            errorOfAverageThroughputInOperationsPerSecond = null;
+        }
+        statisticsOfThreads = multiThreadedRun == null ? null
+                : multiThreadedRun.getThreadGroupStatistics(FIRST_THREAD, FIRST_THREAD + THREADS);
+        statisticsOfGroup = GROUP == null ? null : multiThreadedRun.getThreadGroupStatistics();
+        throughputOnPlatformThreadsInOperationsPerSecond = throughputOnPlatformThreads;
+        throughputOnVirtualThreadsRelativeToPlatformThreads = throughputOnPlatformThreads == null ? null
+                : statisticsOfThreads.getAggregateThroughputInOperationsPerSecond() / throughputOnPlatformThreads;
+        pinningOfCarrierThreads = pinning;
+        if (THREAD_COUNTS_OF_SWEEP != null) {
+            THROUGHPUTS_OF_SWEEP[THROUGHPUTS_OF_SWEEP.length - 1] = statisticsOfThreads.getAggregateThroughputInOperationsPerSecond();
+            scalabilityOfThroughput = new ScalabilityAnalysis(THREAD_COUNTS_OF_SWEEP, THROUGHPUTS_OF_SWEEP);
+        } else {
+            scalabilityOfThroughput = null;
+        }
+        densityOfDurationOfEachExecutionInNanoseconds = estimateDensityOfDurationOfEachExecution();
         testEndedAt = Instant.now();
     }
 
+    /**
+     * @return the density of the duration of each execution (see {@link #densityOfDurationOfEachExecutionInNanoseconds}),
+     * once the statistics are computed, or null if it cannot be estimated.
+     */
+    @Nullable
+    private KernelDensityEstimate estimateDensityOfDurationOfEachExecution() {
+        if (distributionOfDurationOfEachExecutionInNanoseconds == null) {
+            return null;
+        }
+        final double[] SORTED_DURATIONS = distributionOfDurationOfEachExecutionInNanoseconds.getSortedDurationsOfEachExecutionInNanoseconds();
+        final LatencyHistogram HISTOGRAM = histogramOfDurationOfEachIterationInNanoseconds;
+        final double RESOLUTION = clockCalibration.getResolutionInNanoseconds() / (mode == BenchmarkMode.SINGLE_SHOT ? 1 : batchSize);
+        if (SORTED_DURATIONS != null && SORTED_DURATIONS.length >= KernelDensityEstimate.MINIMUM_NUMBER_OF_DURATIONS) {
+            return KernelDensityEstimate.of(SORTED_DURATIONS, RESOLUTION);
+        } else if (SORTED_DURATIONS == null && HISTOGRAM != null
+                && HISTOGRAM.getTotalCount() >= KernelDensityEstimate.MINIMUM_NUMBER_OF_DURATIONS) {
+            return KernelDensityEstimate.of(HISTOGRAM, batchSize, RESOLUTION);
+        }
+        return null;
+    }
+
     /**
      * @param methodName The canonical name of a method, starting with the class name
      *                   and without neither parenthesis nor return type nor parameters.
-     * @return the {@link Method} or null if the input parameter is blank.
-     * The eventually non-null returned method is already made accessible (e.g., in case of
-     * private methods).
+     * @return the {@link Invoker} of the method or null if the input parameter is blank.
+     * The eventually non-null returned invoker is resolved after having made the method
+     * accessible (e.g., in case of private methods).
      * @throws ClassNotFoundException If there are problems with the class name.
      * @throws NoSuchMethodException  If the specified method name is not blank but does not exist.
      */
     @Nullable
-    private Method getMethodFromName(String methodName) throws ClassNotFoundException, NoSuchMethodException {
+    private static Invoker getInvokerFromMethodName(String methodName) throws ClassNotFoundException, NoSuchMethodException {
         @Nullable Method methodToBeInvokedBeforeEachIteration;
         if (methodName.trim().length() > 0) {
             Class<?> classContainingTheMethod = Class.forName(methodName
@@ -126,12 +718,57 @@ public class BenchmarkInstance implements Comparable<BenchmarkInstance> {
             Method method = classContainingTheMethod
                     .getDeclaredMethod(methodName.substring(methodName.lastIndexOf('.') + 1/*method name starts with the character next to the last dot*/));
             method.setAccessible(true);
-            return method;
+            return Invoker.of(method);
         } else {
             return null;
         }
     }
 
+    /**
+     * Generates the {@link BenchmarkHarness} of a method, including the methods to be executed before and
+     * after each iteration, if specified in its {@link Benchmark} annotation.
+     * The harness has its own {@link Blackhole}, which consumes the values returned by the methods and which
+     * is injected in their {@link Blackhole} parameters: other threads must use a {@link BenchmarkHarness#copy()}.
+     *
+     * @param invokerOfMethodToBenchmark The {@link Invoker} of the method to be benchmarked.
+     * @return the {@link BenchmarkHarness}.
+     * @throws ClassNotFoundException If the class containing the methods to be executed
+     *                                before and after each iteration is not found.
+     * @throws NoSuchMethodException  If the methods to be executed before and after each
+     *                                iteration are not found.
+     */
+    static BenchmarkHarness generateHarness(@NotNull Invoker invokerOfMethodToBenchmark)
+            throws ClassNotFoundException, NoSuchMethodException {
+        return generateHarness(invokerOfMethodToBenchmark, Collections.emptyMap());
+    }
+
+    /**
+     * Like {@link #generateHarness(Invoker)}, for a member of a {@link BenchmarkGroup}.
+     *
+     * @param invokerOfMethodToBenchmark The {@link Invoker} of the method to be benchmarked.
+     * @param stateObjects               The state objects shared by the group, injected in the other parameters
+     *                                   of the method to be benchmarked (see {@link Invoker#getMethodHandle(Map)}).
+     * @return the {@link BenchmarkHarness}.
+     * @throws ClassNotFoundException If the class containing the methods to be executed
+     *                                before and after each iteration is not found.
+     * @throws NoSuchMethodException  If the methods to be executed before and after each
+     *                                iteration are not found.
+     */
+    static BenchmarkHarness generateHarness(@NotNull Invoker invokerOfMethodToBenchmark,
+                                            @NotNull Map<Class<?>, Object> stateObjects)
+            throws ClassNotFoundException, NoSuchMethodException {
+        @Nullable Benchmark annotationOfMethod = invokerOfMethodToBenchmark.getMethod().getAnnotation(Benchmark.class);
+        @Nullable
+        Invoker toBeExecutedBeforeEachIteration = annotationOfMethod == null ? null : getInvokerFromMethodName(annotationOfMethod.beforeEach());
+        @Nullable
+        Invoker toBeExecutedAfterEachIteration = annotationOfMethod == null ? null : getInvokerFromMethodName(annotationOfMethod.afterEach());
+        return BenchmarkHarnessGenerator.generate(
+                invokerOfMethodToBenchmark.getMethod().getName(),
+                invokerOfMethodToBenchmark.getMethodHandle(stateObjects),
+                toBeExecutedBeforeEachIteration == null ? null : toBeExecutedBeforeEachIteration.getMethodHandle(),
+                toBeExecutedAfterEachIteration == null ? null : toBeExecutedAfterEachIteration.getMethodHandle());
+    }
+
     @Override
     public String toString() {
         Predicate<Field> fieldWithNonNullValue = field -> {
@@ -156,85 +793,700 @@ public class BenchmarkInstance implements Comparable<BenchmarkInstance> {
                     }
                 })
                 .collect(Collectors.joining(System.lineSeparator() + "\t"))
-                + System.lineSeparator();
+                + System.lineSeparator()
+                + (statisticsOfThreads == null ? ""
+                : "\tStatistics of each thread:" + System.lineSeparator() + "\t\t"
+                + (statisticsOfGroup == null ? statisticsOfThreads : statisticsOfGroup).toTable().replace(System.lineSeparator(), System.lineSeparator() + "\t\t")
+                + System.lineSeparator())
+                + (scalabilityOfThroughput == null ? ""
+                : "\tThroughput against number of threads:" + System.lineSeparator() + "\t\t"
+                + scalabilityOfThroughput.toAsciiPlot().replace(System.lineSeparator(), System.lineSeparator() + "\t\t")
+                + System.lineSeparator())
+                + (densityOfDurationOfEachExecutionInNanoseconds == null ? ""
+                : "\tHistogram of duration of each execution:" + System.lineSeparator() + "\t\t"
+                + densityOfDurationOfEachExecutionInNanoseconds.toAsciiHistogram().replace(System.lineSeparator(), System.lineSeparator() + "\t\t")
+                + System.lineSeparator());
+    }
+
+    /**
+     * Chooses the batch size, by doubling it until the duration of an iteration
+     * is at least the given minimum duration.
+     * The duration of an iteration is taken as the minimum over some trials, in order
+     * not to be fooled by one-time costs (e.g., class initialization, linkage).
+     *
+     * @param harness                               The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param initialBatchSize                      The smallest batch size to try.
+     * @param minimumIterationDurationInNanoseconds The minimum duration of each iteration.
+     * @return the chosen batch size.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private static int chooseBatchSize(@NotNull BenchmarkHarness harness, int initialBatchSize,
+                                       long minimumIterationDurationInNanoseconds)
+            throws Throwable {
+        final int MAXIMUM_BATCH_SIZE = 1 << 30;
+        final int NUMBER_OF_TRIALS_FOR_EACH_BATCH_SIZE = 3;
+        long[] executionTimesInNanoseconds = new long[NUMBER_OF_TRIALS_FOR_EACH_BATCH_SIZE];
+        int batchSize = initialBatchSize;
+        while (batchSize < MAXIMUM_BATCH_SIZE) {
+            harness.measure(executionTimesInNanoseconds, 0, NUMBER_OF_TRIALS_FOR_EACH_BATCH_SIZE, batchSize);
+            if (Arrays.stream(executionTimesInNanoseconds).min().orElse(0) >= minimumIterationDurationInNanoseconds) {
+                break;
+            }
+            batchSize = (int) Math.min(MAXIMUM_BATCH_SIZE, 2L * batchSize);
+        }
+        return batchSize;
+    }
+
+    /**
+     * @param annotationOfMethod The {@link Benchmark} annotation of the method.
+     * @return the minimum duration of each timed iteration, according to the resolution of the clock
+     * and to {@link Benchmark#minimumClockTicksPerIteration()}.
+     */
+    private long getMinimumIterationDurationForClockInNanoseconds(@NotNull Benchmark annotationOfMethod) {
+        return (long) Math.ceil(annotationOfMethod.minimumClockTicksPerIteration() * clockCalibration.getResolutionInNanoseconds());
+    }
+
+    /**
+     * Increases the batch size (as with {@link Benchmark#AUTOMATIC_BATCH_SIZE}) if iterations are too short
+     * to be accurately timed with the clock (see {@link Benchmark#minimumClockTicksPerIteration()}).
+     * A note is added to the report if the batch size is changed.
+     *
+     * @param harness                           The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param annotationOfMethod                The {@link Benchmark} annotation of the method.
+     * @param recentExecutionTimesInNanoseconds The execution times of the last iterations (e.g., of the last
+     *                                          warm up iterations): if too few (e.g., a single slow one), some
+     *                                          iterations are timed.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private void adjustBatchSizeToClockResolution(@NotNull BenchmarkHarness harness, @NotNull Benchmark annotationOfMethod,
+                                                  long[] recentExecutionTimesInNanoseconds) throws Throwable {
+        final int MINIMUM_NUMBER_OF_RECENT_EXECUTION_TIMES = 10;
+        final long MINIMUM_ITERATION_DURATION_IN_NANOSECONDS = getMinimumIterationDurationForClockInNanoseconds(annotationOfMethod);
+        if (annotationOfMethod.batchSize() == Benchmark.AUTOMATIC_BATCH_SIZE  // already chosen according to the clock
+                || MINIMUM_ITERATION_DURATION_IN_NANOSECONDS == 0
+                || (recentExecutionTimesInNanoseconds.length >= MINIMUM_NUMBER_OF_RECENT_EXECUTION_TIMES
+                && Arrays.stream(recentExecutionTimesInNanoseconds).min().orElse(0) >= MINIMUM_ITERATION_DURATION_IN_NANOSECONDS)) {
+            return;
+        }
+        final int INITIAL_BATCH_SIZE = batchSize;
+        batchSize = chooseBatchSize(harness, INITIAL_BATCH_SIZE, MINIMUM_ITERATION_DURATION_IN_NANOSECONDS);
+        if (batchSize > INITIAL_BATCH_SIZE) {
+            noteAboutClockResolution = "Batch size increased from " + INITIAL_BATCH_SIZE + " to " + batchSize
+                    + ", because iterations lasted less than " + annotationOfMethod.minimumClockTicksPerIteration()
+                    + " clock ticks.";
+        }
     }
 
     /**
      * Perform the benchmark tests.
+     * The standard output and the standard error are assumed to be already
+     * redirected, if the output of the benchmarked method must be ignored.
      *
-     * @param methodToBenchmark The method to be benchmarked.
-     * @param beforeEach        The method to be executed before each iteration or null if no methods has to be executed.
-     * @param afterEach         The method to be executed after each iteration or null if no methods has to be executed.
-     * @param out               The {@link PrintStream} where to print the output generated for informative purpose (i.e.,
-     *                          not the output generated by the benchmarked program), or null if the output must not be
-     *                          visible.
-     * @return The list of execution times (in nanoseconds) valid for benchmark statistics
-     * (warmup and teardown iterations are excluded)
-     * @throws InvocationTargetException If errors occur when invoking the method.
-     * @throws IllegalAccessException    If errors occur when invoking the method.
+     * @param harness                     The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param methodToBenchmark           The method to be benchmarked.
+     * @param annotationOfMethod          The {@link Benchmark} annotation of the method.
+     * @param out                         The {@link PrintStream} where to print the output generated for informative
+     *                                    purpose (i.e., not the output generated by the benchmarked program), or null
+     *                                    if the output must not be visible.
+     * @param executionTimesForStatistics The {@link SampleBuffer} where to save the execution times (in nanoseconds)
+     *                                    of each iteration valid for benchmark statistics (warmup and teardown
+     *                                    iterations are excluded). Each iteration is a batch of {@link #batchSize}
+     *                                    invocations.
+     * @param sampledExecutionTimesForStatistics The {@link SampleReservoir} where to keep the execution times of the
+     *                                           iterations valid for benchmark statistics which are timed in
+     *                                           {@link BenchmarkMode#SAMPLE_TIME} mode, or null if all the execution
+     *                                           times must be saved in the {@link SampleBuffer}.
+     * @return the number of iterations executed in the warmup, in the measurement and in the teardown phase.
+     * @throws Throwable If errors occur when invoking the method.
      */
-    private List<Long> benchmarkAndGetExecutionTimesForStatistics(
-            @NotNull Method methodToBenchmark, @Nullable Method beforeEach,
-            @Nullable Method afterEach, @Nullable PrintStream out)
-            throws InvocationTargetException, IllegalAccessException {
+    private long[] benchmarkAndGetExecutionTimesForStatistics(
+            @NotNull BenchmarkHarness harness, @NotNull Method methodToBenchmark, @NotNull Benchmark annotationOfMethod,
+            @Nullable PrintStream out, @NotNull SampleBuffer executionTimesForStatistics,
+            @Nullable SampleReservoir sampledExecutionTimesForStatistics)
+            throws Throwable {
 
-        PrintStream realStdOut = System.out;
-        PrintStream realStdErr = System.err;
-        PrintStream fakeStdOut = new PrintStream(new ByteArrayOutputStream());
-        PrintStream fakeStdErr = new PrintStream(new ByteArrayOutputStream());
+        final boolean WARM_UP_UNTIL_STEADY_STATE = annotationOfMethod.warmUpIterations() == Benchmark.UNTIL_STEADY_STATE;
+        ProgressPrinter progress = new ProgressPrinter(out, methodToBenchmark,
+                warmUpTimeInMilliseconds == null && measurementTimeInMilliseconds == null && !WARM_UP_UNTIL_STEADY_STATE
+                        ? new double[]{   // phases weighted by number of iterations
+                        annotationOfMethod.warmUpIterations(),
+                        annotationOfMethod.iterations(),
+                        annotationOfMethod.tearDownIterations()}
+                        : new double[]{   // the duration of iterations is unknown: non-empty phases equally weighted
+                        annotationOfMethod.warmUpIterations() != 0 || warmUpTimeInMilliseconds != null ? 1 : 0,
+                        1,
+                        annotationOfMethod.tearDownIterations() > 0 ? 1 : 0});
+        SampleBuffer executionTimesOfExcludedIterations = new SampleBuffer(   // overwritten at each step
+                getSizeOfStepsNotKept(annotationOfMethod));
+        long[] numberOfIterationsInEachPhase = new long[3];
+        try {
+            final long START_TIME_OF_WARM_UP = System.nanoTime();
+            numberOfIterationsInEachPhase[0] = WARM_UP_UNTIL_STEADY_STATE
+                    ? runIterationsUntilSteadyState(harness, executionTimesOfExcludedIterations, annotationOfMethod, progress)
+                    : runIterations(harness, executionTimesOfExcludedIterations, false,
+                    annotationOfMethod.warmUpIterations(), warmUpTimeInMilliseconds, progress, null);
+            actualDurationOfWarmUpInMilliseconds = (System.nanoTime() - START_TIME_OF_WARM_UP) / 1e6;
+            adjustBatchSizeToClockResolution(harness, annotationOfMethod, executionTimesOfExcludedIterations.toArray());
+            progress.nextPhase();
+            final long START_TIME_OF_MEASUREMENT = System.nanoTime();
+            if (rawSamplesFile != null) {
+                Files.createDirectories(rawSamplesFile.toAbsolutePath().getParent());
+            }
+            try (RawSampleWriter rawSampleWriter = rawSamplesFile == null ? null : RawSampleWriter.create(rawSamplesFile, batchSize)) {
+                final LongConsumer RECORDER_OF_EXECUTION_TIMES = getRecorderOfExecutionTimesForStatistics(rawSampleWriter);
+                numberOfIterationsInEachPhase[1] = sampledExecutionTimesForStatistics == null
+                        ? runIterations(harness, executionTimesForStatistics, RECORDER_OF_EXECUTION_TIMES == null,
+                        annotationOfMethod.iterations(), measurementTimeInMilliseconds, progress, RECORDER_OF_EXECUTION_TIMES)
+                        : runSampledIterations(harness, sampledExecutionTimesForStatistics,
+                        annotationOfMethod.iterations(), measurementTimeInMilliseconds, progress);
+            }
+            if (sampledExecutionTimesForStatistics == null && targetRelativeHalfWidthOfConfidenceInterval != null) {
+                numberOfIterationsInEachPhase[1] += runIterationsUntilTargetPrecision(harness, executionTimesForStatistics,
+                        annotationOfMethod, START_TIME_OF_MEASUREMENT, progress);
+            }
+            progress.nextPhase();
+            numberOfIterationsInEachPhase[2] = runIterations(harness, executionTimesOfExcludedIterations, false,
+                    annotationOfMethod.tearDownIterations(), null, progress, null);
+        } finally {
+            progress.end();
+        }
+        return numberOfIterationsInEachPhase;
+    }
 
-        if (out != null) {
-            out.println("\t - Method: " + methodToBenchmark);
-            out.print("\t\t\tProgress: ");
+    /**
+     * @param annotationOfMethod The {@link Benchmark} annotation of the method.
+     * @return the largest number of iterations of the steps of the warmup and of the teardown, whose execution
+     * times are not kept (see {@link #runIterations(BenchmarkHarness, SampleBuffer, boolean, int, Integer,
+     * ProgressPrinter, LongConsumer)}).
+     */
+    private static int getSizeOfStepsNotKept(@NotNull Benchmark annotationOfMethod) {
+        return Math.min(SampleBuffer.MAXIMUM_SAMPLES_OF_EACH_STEP_NOT_KEPT,
+                Math.max(annotationOfMethod.warmUpIterations(), annotationOfMethod.tearDownIterations()));
+    }
+
+    /**
+     * @param rawSampleWriter The writer of the {@link #rawSamplesFile}, or null.
+     * @return the consumer of the execution times of the iterations of the measurement phase when they are not
+     * kept, i.e., the {@link #streamingStatisticsOfDurationOfEachIterationInNanoseconds}, the
+     * {@link #histogramOfDurationOfEachIterationInNanoseconds} and the given writer (those which are not null),
+     * or null if the execution times are kept.
+     */
+    @Nullable
+    private LongConsumer getRecorderOfExecutionTimesForStatistics(@Nullable RawSampleWriter rawSampleWriter) {
+        final StreamingStatistics STATISTICS = streamingStatisticsOfDurationOfEachIterationInNanoseconds;
+        final LatencyHistogram HISTOGRAM = histogramOfDurationOfEachIterationInNanoseconds;
+        LongConsumer recorder = STATISTICS == null ? null : STATISTICS::record;
+        if (HISTOGRAM != null) {
+            recorder = recorder == null ? HISTOGRAM::record : recorder.andThen(HISTOGRAM::record);
+        }
+        if (rawSampleWriter != null) {
+            recorder = recorder == null ? rawSampleWriter::append : recorder.andThen(rawSampleWriter::append);
         }
+        return recorder;
+    }
 
-        List<Long> executionTimesInNanoseconds = new ArrayList<>();
-        long startTime;
-        long endTime;
+    /**
+     * Runs the iterations of a phase of the benchmark, either a given number of iterations or as many
+     * iterations as fit in a given duration.
+     * Iterations are run in steps (small enough to print the progress and, in phases bounded by time,
+     * to check the time elapsed): the {@link SampleBuffer} only grows between steps, never while timing.
+     *
+     * @param harness                    The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param executionTimes             The {@link SampleBuffer} where to save the execution times of the iterations.
+     * @param keepExecutionTimes         False if the execution times can be overwritten by the next step (e.g.,
+     *                                   during warmup), true if they must be kept.
+     * @param numberOfIterations         The number of iterations to run, ignored if a duration is given.
+     * @param durationInMilliseconds     The duration of the phase, or null if the phase is bounded by the number
+     *                                   of iterations.
+     * @param progress                   The {@link ProgressPrinter} of the benchmark, in the phase to run.
+     * @param recorder                   The consumer (e.g., a {@link LatencyHistogram}) of the execution times of the
+     *                                   iterations after each step, or null. If given, or if the execution times
+     *                                   are not kept, steps are bounded to
+     *                                   {@link SampleBuffer#MAXIMUM_SAMPLES_OF_EACH_STEP_NOT_KEPT} iterations.
+     * @return the number of iterations executed.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private long runIterations(@NotNull BenchmarkHarness harness, @NotNull SampleBuffer executionTimes,
+                               boolean keepExecutionTimes, int numberOfIterations,
+                               @Nullable Integer durationInMilliseconds, @NotNull ProgressPrinter progress,
+                               @Nullable LongConsumer recorder)
+            throws Throwable {
+        final boolean BOUNDED_STEPS = recorder != null || !keepExecutionTimes;  // the memory must not grow with the iterations
+        if (durationInMilliseconds == null) {
+            final int ITERATIONS_PER_STEP = Math.min(
+                    BOUNDED_STEPS ? SampleBuffer.MAXIMUM_SAMPLES_OF_EACH_STEP_NOT_KEPT : Integer.MAX_VALUE,
+                    progress.isVisible()
+                            ? Math.max(1, (int) (numberOfIterations * ProgressPrinter.EPSILON_PERCENTAGE / 100))
+                            : Math.max(1, numberOfIterations));  // no progress to print: one single step
+            for (int i = 0; i < numberOfIterations; i += ITERATIONS_PER_STEP) {
+                progress.update((double) i / numberOfIterations);
+                measureStep(harness, executionTimes, keepExecutionTimes, Math.min(ITERATIONS_PER_STEP, numberOfIterations - i), recorder);
+            }
+            return numberOfIterations;
+        } else {
+            final int MAXIMUM_ITERATIONS_PER_STEP = BOUNDED_STEPS ? SampleBuffer.MAXIMUM_SAMPLES_OF_EACH_STEP_NOT_KEPT : 1 << 20;
+            final long DURATION_IN_NANOSECONDS = durationInMilliseconds * 1_000_000L;
+            final double TARGET_DURATION_OF_EACH_STEP_IN_NANOSECONDS =
+                    Math.max(1, DURATION_IN_NANOSECONDS * ProgressPrinter.EPSILON_PERCENTAGE / 100);
+            long numberOfExecutedIterations = 0;
+            int iterationsPerStep = 1;
+            final long START_TIME = System.nanoTime();
+            for (long now = START_TIME, elapsed = 0; elapsed < DURATION_IN_NANOSECONDS; elapsed = now - START_TIME) {
+                progress.update((double) elapsed / DURATION_IN_NANOSECONDS);
+                measureStep(harness, executionTimes, keepExecutionTimes, iterationsPerStep, recorder);
+                numberOfExecutedIterations += iterationsPerStep;
+                long endOfStep = System.nanoTime();
+                double durationOfEachIterationInNanoseconds = Math.max(1, endOfStep - now) / (double) iterationsPerStep;
+                now = endOfStep;
+                iterationsPerStep = (int) Math.max(1, Math.min(
+                        Math.min(2L * iterationsPerStep, MAXIMUM_ITERATIONS_PER_STEP),  // grow gradually
+                        Math.min(TARGET_DURATION_OF_EACH_STEP_IN_NANOSECONDS, START_TIME + DURATION_IN_NANOSECONDS - now)
+                                / durationOfEachIterationInNanoseconds));
+            }
+            return numberOfExecutedIterations;
+        }
+    }
 
-        final int TOT_NUM_OF_ITERATIONS =
-                warmUpIterationsExcludedFromBenchmarkStatistics
-                        + iterationsOfTest
-                        + tearDownIterationsExcludedFromBenchmarkStatistics;
+    /**
+     * Runs the iterations of the warmup phase until the execution times reach a steady state or the maximum
+     * duration of the warmup elapses.
+     * Iterations are run in windows, lengthened until each window lasts long enough for the JIT compiler to
+     * make progress in the meanwhile: the steady state is reached when the median execution time of
+     * {@code CONSECUTIVE_STEADY_WINDOWS} consecutive windows differs from the one of the previous window by at
+     * most {@link Benchmark#steadyStateTolerance()} (relative) or by a clock tick.
+     * The median is not affected by occasional outliers (e.g., garbage collections), while a compilation
+     * shifts all the following execution times.
+     *
+     * @param harness            The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param executionTimes     The {@link SampleBuffer} where to save the execution times of the iterations
+     *                           (overwritten at each window).
+     * @param annotationOfMethod The {@link Benchmark} annotation of the method.
+     * @param progress           The {@link ProgressPrinter} of the benchmark, in the warmup phase.
+     * @return the number of iterations executed.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private long runIterationsUntilSteadyState(@NotNull BenchmarkHarness harness, @NotNull SampleBuffer executionTimes,
+                                               @NotNull Benchmark annotationOfMethod, @NotNull ProgressPrinter progress)
+            throws Throwable {
+        final int CONSECUTIVE_STEADY_WINDOWS = 3;
+        final long MINIMUM_WINDOW_DURATION_IN_NANOSECONDS = 10_000_000L;
+        final long MAXIMUM_DURATION_IN_NANOSECONDS = (warmUpTimeInMilliseconds == null
+                ? Benchmark.DEFAULT_MAXIMUM_WARM_UP_TIME_IN_MILLISECONDS : warmUpTimeInMilliseconds) * 1_000_000L;
+        final double CLOCK_RESOLUTION_IN_NANOSECONDS = clockCalibration.getResolutionInNanoseconds();
+        long numberOfExecutedIterations = 0;
+        int iterationsPerWindow = 1;
+        int consecutiveSteadyWindows = 0;
+        double medianOfPreviousWindow = Double.NaN;
+        steadyStateReachedDuringWarmUp = false;
+        final long START_TIME = System.nanoTime();
+        for (long now = START_TIME; now - START_TIME < MAXIMUM_DURATION_IN_NANOSECONDS; ) {
+            progress.update((double) (now - START_TIME) / MAXIMUM_DURATION_IN_NANOSECONDS);
+            measureStep(harness, executionTimes, false, iterationsPerWindow, null);
+            numberOfExecutedIterations += iterationsPerWindow;
+            long endOfWindow = System.nanoTime();
+            long durationOfWindow = endOfWindow - now;
+            now = endOfWindow;
+            if (durationOfWindow < MINIMUM_WINDOW_DURATION_IN_NANOSECONDS
+                    && iterationsPerWindow < SampleBuffer.MAXIMUM_SAMPLES_OF_EACH_STEP_NOT_KEPT) {
+                iterationsPerWindow *= 2;
+                medianOfPreviousWindow = Double.NaN;    // only windows of the same length are compared
+                consecutiveSteadyWindows = 0;
+                continue;
+            }
+            long[] sortedExecutionTimesInNanoseconds = executionTimes.toArray();
+            Arrays.sort(sortedExecutionTimesInNanoseconds);
+            double medianOfWindow = StatisticsUtility.median(sortedExecutionTimesInNanoseconds);
+            consecutiveSteadyWindows = Math.abs(medianOfWindow - medianOfPreviousWindow) <= Math.max(
+                    annotationOfMethod.steadyStateTolerance() * medianOfPreviousWindow, CLOCK_RESOLUTION_IN_NANOSECONDS)
+                    ? consecutiveSteadyWindows + 1 : 0;
+            medianOfPreviousWindow = medianOfWindow;
+            if (consecutiveSteadyWindows >= CONSECUTIVE_STEADY_WINDOWS) {
+                steadyStateReachedDuringWarmUp = true;
+                break;
+            }
+        }
+        return numberOfExecutedIterations;
+    }
 
-        double oldPrintedPercentage = -1;
-        final double EPSILON_PERCENTAGE = 0.05;
-        try {
-            for (int i = 0; i < TOT_NUM_OF_ITERATIONS; i++) {
+    /**
+     * Runs more iterations of the measurement phase until the target precision (see
+     * {@link Benchmark#targetRelativeHalfWidthOfConfidenceInterval()}) is reached or the limits
+     * on the number of iterations or on the duration are reached.
+     * The number of iterations is increased geometrically, in order to amortize the cost of
+     * computing the precision after each step, and each step is expected to end before the
+     * maximum duration.
+     *
+     * @param harness                The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param executionTimes         The {@link SampleBuffer} with the execution times of the iterations
+     *                               already measured, where to save the execution times of the new ones.
+     * @param annotationOfMethod     The {@link Benchmark} annotation of the method.
+     * @param startTimeOfMeasurement The value of {@link System#nanoTime()} when the measurement phase started.
+     * @param progress               The {@link ProgressPrinter} of the benchmark, in the measurement phase.
+     * @return the number of additional iterations executed.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private long runIterationsUntilTargetPrecision(@NotNull BenchmarkHarness harness, @NotNull SampleBuffer executionTimes,
+                                                   @NotNull Benchmark annotationOfMethod, long startTimeOfMeasurement,
+                                                   @NotNull ProgressPrinter progress) throws Throwable {
+        final double GROWTH_OF_EACH_STEP = 0.25;
+        final long MAXIMUM_DURATION_IN_NANOSECONDS = annotationOfMethod.maximumMeasurementTimeInMilliseconds() * 1_000_000L;
+        long numberOfAdditionalIterations = 0;
+        while (true) {
+            achievedRelativeHalfWidthOfConfidenceInterval = getRelativeHalfWidthOfConfidenceInterval(executionTimes.toArray());
+            final long ELAPSED_TIME_IN_NANOSECONDS = System.nanoTime() - startTimeOfMeasurement;
+            if (achievedRelativeHalfWidthOfConfidenceInterval <= targetRelativeHalfWidthOfConfidenceInterval) {
+                reasonForStoppingTheMeasurement = StoppingReason.TARGET_PRECISION_REACHED;
+                break;
+            }
+            if (executionTimes.size() >= annotationOfMethod.maximumIterations()) {
+                reasonForStoppingTheMeasurement = StoppingReason.MAXIMUM_ITERATIONS_REACHED;
+                break;
+            }
+            if (ELAPSED_TIME_IN_NANOSECONDS >= MAXIMUM_DURATION_IN_NANOSECONDS) {
+                reasonForStoppingTheMeasurement = StoppingReason.MAXIMUM_TIME_REACHED;
+                break;
+            }
+            double iterationsFittingInRemainingTime = executionTimes.size() == 0
+                    ? Double.POSITIVE_INFINITY
+                    : (MAXIMUM_DURATION_IN_NANOSECONDS - ELAPSED_TIME_IN_NANOSECONDS)
+                    / ((double) ELAPSED_TIME_IN_NANOSECONDS / executionTimes.size());
+            int numberOfIterationsOfStep = (int) Math.max(1, Math.min(iterationsFittingInRemainingTime, Math.min(
+                    executionTimes.size() * GROWTH_OF_EACH_STEP + 1,
+                    annotationOfMethod.maximumIterations() - executionTimes.size())));
+            numberOfAdditionalIterations += runIterations(harness, executionTimes, true, numberOfIterationsOfStep, null, progress, null);
+        }
+        return numberOfAdditionalIterations;
+    }
+
+    /**
+     * @param executionTimesInNanoseconds The execution times of the iterations.
+     * @return the half-width of the confidence interval (at confidence level {@link #confidenceLevel})
+     * of {@link #statisticOfTargetPrecision} relative to its value, or {@link Double#NaN} if there are less than
+     * two execution times.
+     */
+    private double getRelativeHalfWidthOfConfidenceInterval(long[] executionTimesInNanoseconds) {
+        if (statisticOfTargetPrecision == CentralTendency.MEDIAN) {
+            long[] sortedExecutionTimesInNanoseconds = executionTimesInNanoseconds.clone();
+            Arrays.sort(sortedExecutionTimesInNanoseconds);
+            return sortedExecutionTimesInNanoseconds.length < 2 ? Double.NaN
+                    : StatisticsUtility.halfWidthOfConfidenceIntervalForTheMedian(sortedExecutionTimesInNanoseconds, confidenceLevel)
+                    / StatisticsUtility.percentile(sortedExecutionTimesInNanoseconds, 50);
+        } else {
+            double[] executionTimes = Arrays.stream(executionTimesInNanoseconds).asDoubleStream().toArray();
+            return StatisticsUtility.halfWidthOfConfidenceIntervalForTheMean(executionTimes, confidenceLevel)
+                    / StatisticsUtility.mean(executionTimes);
+        }
+    }
 
-                double currentPercentage = (double) i / TOT_NUM_OF_ITERATIONS * 100;
-                if (out != null && currentPercentage - oldPrintedPercentage > EPSILON_PERCENTAGE) {
-                    out.print(Math.round(currentPercentage * 100) / 100d /*two decimals*/ + "%  ");
-                    oldPrintedPercentage = currentPercentage;
+    /**
+     * Runs the iterations of the measurement phase in {@link BenchmarkMode#SAMPLE_TIME} mode, either a given
+     * number of iterations or as many iterations as fit in a given duration: each iteration is timed with
+     * probability {@link #samplingProbability}, hence the number of iterations executed without timing between
+     * two timed ones follows a geometric distribution.
+     * In phases bounded by time, the iterations not to be timed are executed in chunks, so that the phase
+     * does not overrun its duration even if the sampling probability is small (if no iterations have been
+     * timed when the duration elapses, one more iteration is timed).
+     *
+     * @param harness                The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param sampledExecutionTimes  The {@link SampleReservoir} where to offer the execution times of the timed
+     *                               iterations.
+     * @param numberOfIterations     The number of iterations to run, ignored if a duration is given.
+     * @param durationInMilliseconds The duration of the phase, or null if the phase is bounded by the number
+     *                               of iterations.
+     * @param progress               The {@link ProgressPrinter} of the benchmark, in the phase to run.
+     * @return the number of iterations executed (timed or not).
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private long runSampledIterations(@NotNull BenchmarkHarness harness, @NotNull SampleReservoir sampledExecutionTimes,
+                                      int numberOfIterations, @Nullable Integer durationInMilliseconds,
+                                      @NotNull ProgressPrinter progress) throws Throwable {
+        final double LOGARITHM_OF_PROBABILITY_OF_NOT_BEING_TIMED = Math.log1p(-samplingProbability);
+        final long DURATION_IN_NANOSECONDS = durationInMilliseconds == null ? -1 : durationInMilliseconds * 1_000_000L;
+        SplittableRandom random = new SplittableRandom();
+        long[] executionTimeInNanoseconds = new long[1];
+        long numberOfExecutedIterations = 0;
+        final long START_TIME = System.nanoTime();
+        while (durationInMilliseconds == null
+                ? numberOfExecutedIterations < numberOfIterations
+                : System.nanoTime() - START_TIME < DURATION_IN_NANOSECONDS) {
+            progress.update(durationInMilliseconds == null
+                    ? (double) numberOfExecutedIterations / numberOfIterations
+                    : (double) (System.nanoTime() - START_TIME) / DURATION_IN_NANOSECONDS);
+            long iterationsNotToBeTimed = samplingProbability >= 1 ? 0 : (long) Math.min(Long.MAX_VALUE / 2,
+                    Math.floor(Math.log(1 - random.nextDouble()) / LOGARITHM_OF_PROBABILITY_OF_NOT_BEING_TIMED));
+            if (durationInMilliseconds == null && iterationsNotToBeTimed >= numberOfIterations - numberOfExecutedIterations) {
+                harness.execute(numberOfIterations - numberOfExecutedIterations, batchSize);
+                numberOfExecutedIterations = numberOfIterations;
+            } else {
+                if (durationInMilliseconds == null) {
+                    harness.execute(iterationsNotToBeTimed, batchSize);
+                } else {
+                    final long EXECUTED_ITERATIONS_NOT_TO_BE_TIMED =
+                            executeUntil(harness, iterationsNotToBeTimed, START_TIME + DURATION_IN_NANOSECONDS);
+                    if (EXECUTED_ITERATIONS_NOT_TO_BE_TIMED < iterationsNotToBeTimed   // the phase ended before the next sample
+                            && sampledExecutionTimes.getNumberOfOfferedSamples() > 0) {     // at least one is needed
+                        numberOfExecutedIterations += EXECUTED_ITERATIONS_NOT_TO_BE_TIMED;
+                        break;
+                    }
+                    iterationsNotToBeTimed = EXECUTED_ITERATIONS_NOT_TO_BE_TIMED;
                 }
+                harness.measure(executionTimeInNanoseconds, 0, 1, batchSize);
+                sampledExecutionTimes.offer(executionTimeInNanoseconds[0]);
+                numberOfExecutedIterations += iterationsNotToBeTimed + 1;
+            }
+        }
+        return numberOfExecutedIterations;
+    }
 
-                System.setOut(fakeStdOut); // ignore stdout during benchmark
-                System.setErr(fakeStdErr); // ignore stderr during benchmark
+    /**
+     * Executes the given number of iterations without timing them, in chunks (lengthened gradually, while
+     * they fit before the deadline), until all of them are executed or the deadline elapses.
+     *
+     * @param harness               The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param numberOfIterations    The number of iterations to execute.
+     * @param deadlineInNanoseconds The value of {@link System#nanoTime()} after which no more chunks are started.
+     * @return the number of iterations executed.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private long executeUntil(@NotNull BenchmarkHarness harness, long numberOfIterations, long deadlineInNanoseconds)
+            throws Throwable {
+        long numberOfExecutedIterations = 0;
+        long iterationsPerChunk = 1;
+        for (long now = System.nanoTime();
+             numberOfExecutedIterations < numberOfIterations && now - deadlineInNanoseconds < 0; ) {
+            final long ITERATIONS_OF_CHUNK = Math.min(iterationsPerChunk, numberOfIterations - numberOfExecutedIterations);
+            harness.execute(ITERATIONS_OF_CHUNK, batchSize);
+            numberOfExecutedIterations += ITERATIONS_OF_CHUNK;
+            long endOfChunk = System.nanoTime();
+            double durationOfEachIterationInNanoseconds = Math.max(1, endOfChunk - now) / (double) ITERATIONS_OF_CHUNK;
+            now = endOfChunk;
+            iterationsPerChunk = (long) Math.max(1, Math.min(
+                    2.0 * ITERATIONS_OF_CHUNK,  // grow gradually
+                    (deadlineInNanoseconds - now) / durationOfEachIterationInNanoseconds));
+        }
+        return numberOfExecutedIterations;
+    }
 
-                if (beforeEach != null) {
-                    beforeEach.invoke(null);
-                }
-                startTime = System.nanoTime();
-                methodToBenchmark.invoke(null);
-                endTime = System.nanoTime();
-                executionTimesInNanoseconds.add(endTime - startTime);
-                if (afterEach != null) {
-                    afterEach.invoke(null);
-                }
+    /**
+     * Measures a step of iterations.
+     *
+     * @param harness            The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param executionTimes     The {@link SampleBuffer} where to save the execution times of the iterations.
+     * @param keepExecutionTimes False if the execution times of the previous steps can be overwritten.
+     * @param numberOfIterations The number of iterations of the step.
+     * @param recorder           The consumer (e.g., a {@link LatencyHistogram}) of the execution times of the
+     *                           iterations after the step, or null.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private void measureStep(@NotNull BenchmarkHarness harness, @NotNull SampleBuffer executionTimes,
+                             boolean keepExecutionTimes, int numberOfIterations,
+                             @Nullable LongConsumer recorder) throws Throwable {
+        if (!keepExecutionTimes) {
+            executionTimes.clear();
+        }
+        long[] executionTimesInNanoseconds = executionTimes.reserve(numberOfIterations);
+        harness.measure(executionTimesInNanoseconds,
+                executionTimes.size(), executionTimes.size() + numberOfIterations, batchSize);
+        if (recorder != null) {
+            for (int i = executionTimes.size(); i < executionTimes.size() + numberOfIterations; i++) {
+                recorder.accept(executionTimesInNanoseconds[i]);
+            }
+        }
+        executionTimes.commit(numberOfIterations);
+    }
 
-                System.setOut(realStdOut); // restore stdout
-                System.setErr(realStdErr); // restore stderr
+    /**
+     * Perform the benchmark tests in {@link BenchmarkMode#THROUGHPUT} mode: warm up and teardown
+     * iterations are executed as in {@link BenchmarkMode#LATENCY} mode, respectively before and after
+     * the measured time windows, unless the warm up is bounded by time, in which case the operations
+     * are counted as in the time windows.
+     * The standard output and the standard error are assumed to be already
+     * redirected, if the output of the benchmarked method must be ignored.
+     *
+     * @param harness                           The {@link BenchmarkHarness} of the method to be benchmarked.
+     * @param methodToBenchmark                 The method to be benchmarked.
+     * @param annotationOfMethod                The {@link Benchmark} annotation of the method.
+     * @param out                               The {@link PrintStream} where to print the output generated for
+     *                                          informative purpose (i.e., not the output generated by the benchmarked
+     *                                          program), or null if the output must not be visible.
+     * @param operationsInEachWindow            The array where to save the number of executions completed in each
+     *                                          time window (its length is the number of windows).
+     * @param durationOfEachWindowInNanoseconds The array where to save the actual duration of each time window.
+     * @return the number of iterations executed in the warmup, in the measurement and in the teardown phase.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private long[] benchmarkThroughput(
+            @NotNull BenchmarkHarness harness, @NotNull Method methodToBenchmark, @NotNull Benchmark annotationOfMethod,
+            @Nullable PrintStream out, long[] operationsInEachWindow, long[] durationOfEachWindowInNanoseconds)
+            throws Throwable {
+
+        ProgressPrinter progress = new ProgressPrinter(out, methodToBenchmark,
+                annotationOfMethod.warmUpIterations() != 0 || warmUpTimeInMilliseconds != null ? 1 : 0,
+                operationsInEachWindow.length,
+                annotationOfMethod.tearDownIterations() > 0 ? 1 : 0);
+        final long WINDOW_DURATION_IN_NANOSECONDS = windowDurationInMilliseconds * 1_000_000L;
+        SampleBuffer executionTimesOfExcludedIterations = new SampleBuffer(   // overwritten at each step
+                getSizeOfStepsNotKept(annotationOfMethod));
+        long[] numberOfIterationsInEachPhase = new long[3];
+        try {
+            final long START_TIME_OF_WARM_UP = System.nanoTime();
+            if (annotationOfMethod.warmUpIterations() == Benchmark.UNTIL_STEADY_STATE) {
+                numberOfIterationsInEachPhase[0] = runIterationsUntilSteadyState(
+                        harness, executionTimesOfExcludedIterations, annotationOfMethod, progress);
+            } else if (warmUpTimeInMilliseconds == null) {
+                numberOfIterationsInEachPhase[0] = runIterations(harness, executionTimesOfExcludedIterations, false,
+                        annotationOfMethod.warmUpIterations(), null, progress, null);
+            } else {
+                final long WARM_UP_DURATION_IN_NANOSECONDS = warmUpTimeInMilliseconds * 1_000_000L;
+                final long STEP_DURATION_IN_NANOSECONDS = Math.max(1,
+                        (long) (WARM_UP_DURATION_IN_NANOSECONDS * ProgressPrinter.EPSILON_PERCENTAGE / 100));
+                final long START_TIME = System.nanoTime();
+                long operationsDuringWarmUp = 0;
+                for (long now = START_TIME; now - START_TIME < WARM_UP_DURATION_IN_NANOSECONDS; now = System.nanoTime()) {
+                    progress.update((double) (now - START_TIME) / WARM_UP_DURATION_IN_NANOSECONDS);
+                    operationsDuringWarmUp += harness.countOperationsUntil(Math.min(
+                            START_TIME + WARM_UP_DURATION_IN_NANOSECONDS, now + STEP_DURATION_IN_NANOSECONDS), batchSize);
+                }
+                numberOfIterationsInEachPhase[0] = operationsDuringWarmUp / batchSize;
+            }
+            actualDurationOfWarmUpInMilliseconds = (System.nanoTime() - START_TIME_OF_WARM_UP) / 1e6;
+            progress.nextPhase();
+            for (int i = 0; i < operationsInEachWindow.length; i++) {
+                progress.update((double) i / operationsInEachWindow.length);
+                long startTime = System.nanoTime();
+                operationsInEachWindow[i] = harness.countOperationsUntil(startTime + WINDOW_DURATION_IN_NANOSECONDS, batchSize);
+                durationOfEachWindowInNanoseconds[i] = System.nanoTime() - startTime;
             }
+            numberOfIterationsInEachPhase[1] = Arrays.stream(operationsInEachWindow).sum() / batchSize;
+            progress.nextPhase();
+            numberOfIterationsInEachPhase[2] = runIterations(harness, executionTimesOfExcludedIterations, false,
+                    annotationOfMethod.tearDownIterations(), null, progress, null);
         } finally {
-            System.setOut(realStdOut); // restore stdout
-            System.setErr(realStdErr); // restore stderr
-            if (out != null) {
-                out.println(System.lineSeparator());
+            progress.end();
+        }
+        return numberOfIterationsInEachPhase;
+    }
+
+    /**
+     * Perform the benchmark tests on multiple threads at once (see {@link MultiThreadedRun}):
+     * in {@link BenchmarkMode#THROUGHPUT} mode each time window is a measurement step, while in
+     * {@link BenchmarkMode#LATENCY} mode the measurement is a single step, bounded by
+     * {@link #measurementTimeInMilliseconds} or by the iterations of the fastest thread.
+     *
+     * @param harness            The {@link BenchmarkHarness} of the method to be benchmarked, used by the first
+     *                           thread, while each other thread uses a {@link BenchmarkHarness#copy()}.
+     * @param methodToBenchmark  The method to be benchmarked.
+     * @param annotationOfMethod The {@link Benchmark} annotation of the method.
+     * @param threads            The number of threads.
+     * @param onVirtualThreads   True if the threads have to be virtual threads.
+     * @param significantDigits  The number of significant digits of the histograms of the execution times.
+     * @param out                The {@link PrintStream} where to print the output generated for informative
+     *                           purpose (i.e., not the output generated by the benchmarked program), or null
+     *                           if the output must not be visible.
+     * @return the completed run.
+     * @throws Throwable If errors occur when invoking the method.
+     */
+    private MultiThreadedRun benchmarkOnMultipleThreads(
+            @NotNull BenchmarkHarness harness, @NotNull Method methodToBenchmark,
+            @NotNull Benchmark annotationOfMethod, int threads, boolean onVirtualThreads, int significantDigits,
+            @Nullable PrintStream out)
+            throws Throwable {
+
+        List<BenchmarkHarness> harnessOfEachThread = new ArrayList<>();
+        harnessOfEachThread.add(harness);
+        for (int i = 1; i < threads; i++) {
+            harnessOfEachThread.add(harness.copy());
+        }
+        final int[] BATCH_SIZE_OF_EACH_THREAD = new int[threads];
+        Arrays.fill(BATCH_SIZE_OF_EACH_THREAD, batchSize);
+        return benchmarkOnMultipleThreads(harnessOfEachThread, BATCH_SIZE_OF_EACH_THREAD, new String[threads], onVirtualThreads,
+                methodToBenchmark, annotationOfMethod, significantDigits, out);
+    }
+
+    /**
+     * Perform the benchmark tests on multiple threads at once, like
+     * {@link #benchmarkOnMultipleThreads(BenchmarkHarness, Method, Benchmark, int, boolean, int, PrintStream)},
+     * with the given {@link BenchmarkHarness} of each thread (e.g., of the members of a {@link BenchmarkGroup}).
+     *
+     * @param harnessOfEachThread   The {@link BenchmarkHarness} of each thread.
+     * @param batchSizeOfEachThread The number of invocations of the benchmarked method in each iteration, for each thread.
+     * @param roleOfEachThread      The name of the method executed by each thread, if they execute the members of a
+     *                              group, null otherwise.
+     * @param onVirtualThreads      True if the threads have to be virtual threads.
+     * @param methodToBenchmark     The method to be benchmarked.
+     * @param annotationOfMethod    The {@link Benchmark} annotation of the method.
+     * @param significantDigits     The number of significant digits of the histograms of the execution times.
+     * @param out                   The {@link PrintStream} where to print the output generated for informative
+     *                              purpose (i.e., not the output generated by the benchmarked program), or null
+     *                              if the output must not be visible.
+     * @return the completed run.
+     * @throws Throwable If errors occur when invoking the methods.
+     */
+    private MultiThreadedRun benchmarkOnMultipleThreads(
+            @NotNull List<BenchmarkHarness> harnessOfEachThread, @NotNull int[] batchSizeOfEachThread,
+            @NotNull String[] roleOfEachThread, boolean onVirtualThreads, @NotNull Method methodToBenchmark, @NotNull Benchmark annotationOfMethod,
+            int significantDigits, @Nullable PrintStream out)
+            throws Throwable {
+
+        final int MEASUREMENT_STEPS = mode == BenchmarkMode.THROUGHPUT ? measurementWindows : 1;
+        final Long DURATION_OF_EACH_STEP_IN_NANOSECONDS = mode == BenchmarkMode.THROUGHPUT
+                ? Long.valueOf(windowDurationInMilliseconds * 1_000_000L)
+                : measurementTimeInMilliseconds == null ? null : measurementTimeInMilliseconds * 1_000_000L;
+        ProgressPrinter progress = new ProgressPrinter(out, methodToBenchmark,
+                annotationOfMethod.warmUpIterations() != 0 || warmUpTimeInMilliseconds != null ? 1 : 0,
+                MEASUREMENT_STEPS,
+                annotationOfMethod.tearDownIterations() > 0 ? 1 : 0);
+        MultiThreadedRun multiThreadedRun = new MultiThreadedRun(harnessOfEachThread, batchSizeOfEachThread, roleOfEachThread, onVirtualThreads,
+                annotationOfMethod.warmUpIterations(), warmUpTimeInMilliseconds == null ? null : warmUpTimeInMilliseconds * 1_000_000L,
+                MEASUREMENT_STEPS, DURATION_OF_EACH_STEP_IN_NANOSECONDS,
+                DURATION_OF_EACH_STEP_IN_NANOSECONDS == null ? Math.max(1, annotationOfMethod.iterations()) : Long.MAX_VALUE,
+                annotationOfMethod.tearDownIterations(), significantDigits, progress);
+        try {
+            multiThreadedRun.run();
+        } finally {
+            progress.end();
+        }
+        return multiThreadedRun;
+    }
+
+    /**
+     * Perform the benchmark tests in {@link BenchmarkMode#SINGLE_SHOT} mode: the first invocations of the
+     * method are individually timed in {@link #forks} fresh JVMs, one after the other.
+     *
+     * @param methodToBenchmark The method to be benchmarked.
+     * @param out               The {@link PrintStream} where to print the output generated for informative purpose (i.e.,
+     *                          not the output generated by the benchmarked program), or null if the output must not be
+     *                          visible.
+     * @return the execution times (in nanoseconds) of the first invocations (second index) in each fork (first index).
+     * @throws IOException           If errors occur when running a fresh JVM.
+     * @throws InterruptedException  If interrupted while waiting for a fresh JVM.
+     * @throws IllegalStateException If the benchmark fails in a fresh JVM.
+     */
+    private long[][] benchmarkSingleShot(@NotNull Method methodToBenchmark, @Nullable PrintStream out)
+            throws IOException, InterruptedException {
+
+        ProgressPrinter progress = new ProgressPrinter(out, methodToBenchmark, 1);
+        List<String> command = ForkedJvm.getCommand(SingleShotFork.class, methodToBenchmark.getDeclaringClass().getModule(),
+                methodToBenchmark.getDeclaringClass().getName(), methodToBenchmark.getName(),
+                String.valueOf(methodToBenchmark.getParameterCount()), String.valueOf(coldInvocationsInEachFork));
+        long[][] executionTimesOfColdInvocationsInEachFork = new long[forks][];
+        try {
+            for (int i = 0; i < forks; i++) {
+                progress.update((double) i / forks);
+                List<String> outputLines = ForkedJvm.runAndGetOutputLines(command);
+                executionTimesOfColdInvocationsInEachFork[i] = outputLines.stream()
+                        .filter(line -> line.startsWith(SingleShotFork.PREFIX_OF_RESULT))
+                        .findAny()
+                        .map(line -> Arrays.stream(line.substring(SingleShotFork.PREFIX_OF_RESULT.length()).split(" "))
+                                .mapToLong(Long::parseLong)
+                                .toArray())
+                        .orElseThrow(() -> new IllegalStateException("Benchmark failed in a fresh JVM:"
+                                + System.lineSeparator() + String.join(System.lineSeparator(), outputLines)));
             }
+        } finally {
+            progress.end();
         }
-        return executionTimesInNanoseconds.subList(
-                warmUpIterationsExcludedFromBenchmarkStatistics,
-                warmUpIterationsExcludedFromBenchmarkStatistics + iterationsOfTest);
+        return executionTimesOfColdInvocationsInEachFork;
     }
 
     /**
@@ -246,6 +1498,309 @@ public class BenchmarkInstance implements Comparable<BenchmarkInstance> {
         return testedMethod;
     }
 
+    /**
+     * Getter for {@link #mode}.
+     *
+     * @return the current {@link #mode}.
+     */
+    public BenchmarkMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Getter for {@link #averageThroughputInOperationsPerSecond}.
+     *
+     * @return the current {@link #averageThroughputInOperationsPerSecond}.
+     */
+    @Nullable
+    public Double getAverageThroughputInOperationsPerSecond() {
+        return averageThroughputInOperationsPerSecond;
+    }
+
+    /**
+     * Getter for {@link #errorOfAverageThroughputInOperationsPerSecond}.
+     *
+     * @return the current {@link #errorOfAverageThroughputInOperationsPerSecond}.
+     */
+    @Nullable
+    public Double getErrorOfAverageThroughputInOperationsPerSecond() {
+        return errorOfAverageThroughputInOperationsPerSecond;
+    }
+
+    /**
+     * Getter for {@link #warmUpIterationsExcludedFromBenchmarkStatistics}.
+     *
+     * @return the current {@link #warmUpIterationsExcludedFromBenchmarkStatistics}.
+     */
+    public long getWarmUpIterationsExcludedFromBenchmarkStatistics() {
+        return warmUpIterationsExcludedFromBenchmarkStatistics;
+    }
+
+    /**
+     * Getter for {@link #iterationsOfTest}.
+     *
+     * @return the current {@link #iterationsOfTest}.
+     */
+    public long getIterationsOfTest() {
+        return iterationsOfTest;
+    }
+
+    /**
+     * Getter for {@link #averageDurationOfEachExecutionInNanoseconds}.
+     *
+     * @return the current {@link #averageDurationOfEachExecutionInNanoseconds}.
+     */
+    public long getAverageDurationOfEachExecutionInNanoseconds() {
+        return averageDurationOfEachExecutionInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #averageDurationOfEachColdInvocationInNanoseconds}.
+     *
+     * @return the current {@link #averageDurationOfEachColdInvocationInNanoseconds}.
+     */
+    @Nullable
+    public List<Long> getAverageDurationOfEachColdInvocationInNanoseconds() {
+        return averageDurationOfEachColdInvocationInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #timedIterations}.
+     *
+     * @return the current {@link #timedIterations}.
+     */
+    @Nullable
+    public Long getTimedIterations() {
+        return timedIterations;
+    }
+
+    /**
+     * Getter for {@link #keptTimedIterations}.
+     *
+     * @return the current {@link #keptTimedIterations}.
+     */
+    @Nullable
+    public Integer getKeptTimedIterations() {
+        return keptTimedIterations;
+    }
+
+    /**
+     * Getter for {@link #distributionOfDurationOfEachExecutionInNanoseconds}.
+     *
+     * @return the current {@link #distributionOfDurationOfEachExecutionInNanoseconds}.
+     */
+    @Nullable
+    public DistributionStatistics getDistributionOfDurationOfEachExecutionInNanoseconds() {
+        return distributionOfDurationOfEachExecutionInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #densityOfDurationOfEachExecutionInNanoseconds}.
+     *
+     * @return the current {@link #densityOfDurationOfEachExecutionInNanoseconds}.
+     */
+    @Nullable
+    public KernelDensityEstimate getDensityOfDurationOfEachExecutionInNanoseconds() {
+        return densityOfDurationOfEachExecutionInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #statisticsOfThreads}.
+     *
+     * @return the current {@link #statisticsOfThreads}.
+     */
+    public ThreadGroupStatistics getStatisticsOfThreads() {
+        return statisticsOfThreads;
+    }
+
+    /**
+     * Getter for {@link #group}.
+     *
+     * @return the current {@link #group}.
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Getter for {@link #statisticsOfGroup}.
+     *
+     * @return the current {@link #statisticsOfGroup}.
+     */
+    public ThreadGroupStatistics getStatisticsOfGroup() {
+        return statisticsOfGroup;
+    }
+
+    /**
+     * Getter for {@link #onVirtualThreads}.
+     *
+     * @return the current {@link #onVirtualThreads}.
+     */
+    public Boolean getOnVirtualThreads() {
+        return onVirtualThreads;
+    }
+
+    /**
+     * Getter for {@link #throughputOnPlatformThreadsInOperationsPerSecond}.
+     *
+     * @return the current {@link #throughputOnPlatformThreadsInOperationsPerSecond}.
+     */
+    public Double getThroughputOnPlatformThreadsInOperationsPerSecond() {
+        return throughputOnPlatformThreadsInOperationsPerSecond;
+    }
+
+    /**
+     * Getter for {@link #throughputOnVirtualThreadsRelativeToPlatformThreads}.
+     *
+     * @return the current {@link #throughputOnVirtualThreadsRelativeToPlatformThreads}.
+     */
+    public Double getThroughputOnVirtualThreadsRelativeToPlatformThreads() {
+        return throughputOnVirtualThreadsRelativeToPlatformThreads;
+    }
+
+    /**
+     * Getter for {@link #pinningOfCarrierThreads}.
+     *
+     * @return the current {@link #pinningOfCarrierThreads}.
+     */
+    public VirtualThreadPinning getPinningOfCarrierThreads() {
+        return pinningOfCarrierThreads;
+    }
+
+    /**
+     * Getter for {@link #scalabilityOfThroughput}.
+     *
+     * @return the current {@link #scalabilityOfThroughput}.
+     */
+    public ScalabilityAnalysis getScalabilityOfThroughput() {
+        return scalabilityOfThroughput;
+    }
+
+    /**
+     * Getter for {@link #confidenceLevel}.
+     *
+     * @return the current {@link #confidenceLevel}.
+     */
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /**
+     * Getter for {@link #histogramOfDurationOfEachIterationInNanoseconds}.
+     *
+     * @return the current {@link #histogramOfDurationOfEachIterationInNanoseconds}.
+     */
+    @Nullable
+    public LatencyHistogram getHistogramOfDurationOfEachIterationInNanoseconds() {
+        return histogramOfDurationOfEachIterationInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #streamingStatisticsOfDurationOfEachIterationInNanoseconds}.
+     *
+     * @return the current {@link #streamingStatisticsOfDurationOfEachIterationInNanoseconds}.
+     */
+    @Nullable
+    public StreamingStatistics getStreamingStatisticsOfDurationOfEachIterationInNanoseconds() {
+        return streamingStatisticsOfDurationOfEachIterationInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #rawSamplesFile}.
+     *
+     * @return the current {@link #rawSamplesFile}.
+     */
+    @Nullable
+    public Path getRawSamplesFile() {
+        return rawSamplesFile;
+    }
+
+    /**
+     * Getter for {@link #achievedRelativeHalfWidthOfConfidenceInterval}.
+     *
+     * @return the current {@link #achievedRelativeHalfWidthOfConfidenceInterval}.
+     */
+    @Nullable
+    public Double getAchievedRelativeHalfWidthOfConfidenceInterval() {
+        return achievedRelativeHalfWidthOfConfidenceInterval;
+    }
+
+    /**
+     * Getter for {@link #reasonForStoppingTheMeasurement}.
+     *
+     * @return the current {@link #reasonForStoppingTheMeasurement}.
+     */
+    @Nullable
+    public StoppingReason getReasonForStoppingTheMeasurement() {
+        return reasonForStoppingTheMeasurement;
+    }
+
+    /**
+     * Getter for {@link #actualDurationOfWarmUpInMilliseconds}.
+     *
+     * @return the current {@link #actualDurationOfWarmUpInMilliseconds}.
+     */
+    @Nullable
+    public Double getActualDurationOfWarmUpInMilliseconds() {
+        return actualDurationOfWarmUpInMilliseconds;
+    }
+
+    /**
+     * Getter for {@link #steadyStateReachedDuringWarmUp}.
+     *
+     * @return the current {@link #steadyStateReachedDuringWarmUp}.
+     */
+    @Nullable
+    public Boolean getSteadyStateReachedDuringWarmUp() {
+        return steadyStateReachedDuringWarmUp;
+    }
+
+    /**
+     * Getter for {@link #batchSize}.
+     *
+     * @return the current {@link #batchSize}.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Getter for {@link #blackholeOverheadOfEachConsumptionInNanoseconds}.
+     *
+     * @return the current {@link #blackholeOverheadOfEachConsumptionInNanoseconds}.
+     */
+    public double getBlackholeOverheadOfEachConsumptionInNanoseconds() {
+        return blackholeOverheadOfEachConsumptionInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #clockCalibration}.
+     *
+     * @return the current {@link #clockCalibration}.
+     */
+    public ClockCalibration getClockCalibration() {
+        return clockCalibration;
+    }
+
+    /**
+     * Getter for {@link #noteAboutClockResolution}.
+     *
+     * @return the current {@link #noteAboutClockResolution}.
+     */
+    @Nullable
+    public String getNoteAboutClockResolution() {
+        return noteAboutClockResolution;
+    }
+
+    /**
+     * Getter for {@link #invocationEngine}.
+     *
+     * @return the current {@link #invocationEngine}.
+     */
+    public InvocationEngine getInvocationEngine() {
+        return invocationEngine;
+    }
+
     @Override
     public int compareTo(BenchmarkInstance o) {
         return testedMethod.toString().compareTo(o.testedMethod.toString());
@@ -0,0 +1,39 @@
+package benchmark;
+
+/**
+ * Enumeration of what is measured by a benchmark.
+ */
+public enum BenchmarkMode {
+
+    /**
+     * The duration of each iteration is measured and the report shows the duration of the
+     * fastest, of the slowest and the average duration of each execution of the method.
+     */
+    LATENCY,
+
+    /**
+     * The method is executed back-to-back for a fixed time window (see
+     * {@link Benchmark#windowDurationInMilliseconds()}) and the completed operations are
+     * counted: this is repeated for {@link Benchmark#measurementWindows()} windows and the
+     * report shows the average throughput (operations per second) with its error bounds.
+     */
+    THROUGHPUT,
+
+    /**
+     * The first invocations (see {@link Benchmark#coldInvocationsInEachFork()}) of the method are
+     * individually timed in a fresh JVM, hence including class loading and initialization, interpretation
+     * and just-in-time compilation: this is repeated in {@link Benchmark#forks()} JVMs and the report shows
+     * the duration of the fastest, of the slowest and the average duration of the first invocation (with its
+     * error bounds), and the average duration of each of the first invocations.
+     * Warmup and teardown iterations are not executed.
+     */
+    SINGLE_SHOT,
+
+    /**
+     * The iterations are executed as in {@link #LATENCY} mode, but each iteration is timed only with
+     * probability {@link Benchmark#samplingProbability()} and at most {@link Benchmark#reservoirSize()} timed
+     * iterations (a uniform random subset of them) are kept, hence the used memory does not depend on the
+     * number of iterations. The report shows the distribution of the kept durations.
+     */
+    SAMPLE_TIME
+}
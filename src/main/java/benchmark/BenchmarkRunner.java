@@ -5,12 +5,15 @@ import org.jetbrains.annotations.NotNull;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -36,13 +39,43 @@ public class BenchmarkRunner {
      * The error message showed when trying to benchmark a method with parameters.
      */
     private static final String ERROR_MESSAGE_IF_TRYING_TO_BENCHMARK_METHOD_WITH_PARAM =
-            "Methods with parameters are not allowed for benchmarking.";
+            "Methods with parameters (except for Blackhole parameters) are not allowed for benchmarking.";
     /**
      * The error message showed when there are problems with the methods to be executed
      * before/after each iteration.
      */
     private static final String ERROR_MESSAGE_IF_PROBLEMS_WITH_METHODS_TO_BE_EXECUTED_BEFORE_OR_AFTER_EACH_ITERATION =
             "Problems with methods to be executed before or after each iteration.";
+    /**
+     * Option of {@link #main(String[])} followed by the path of the file where the results are saved as {@link Baseline}.
+     */
+    public static final String OPTION_TO_SAVE_BASELINE = "--save-baseline";
+    /**
+     * Option of {@link #main(String[])} followed by the path of the file of the {@link Baseline} against which
+     * the results are checked.
+     */
+    public static final String OPTION_TO_CHECK_AGAINST_BASELINE = "--check-against-baseline";
+    /**
+     * Option of {@link #main(String[])} followed by the number of worker JVMs benchmarking the classes in
+     * parallel (see {@link ParallelSuite}), which is limited to the number of physical cores.
+     * The results of all the workers are merged into a single report.
+     */
+    public static final String OPTION_OF_PARALLEL_WORKERS = "--workers";
+    /**
+     * Exit status of {@link #main(String[])} if a benchmark regressed with respect to the baseline
+     * by more than its threshold (see {@link RegressionCheck}).
+     */
+    public static final int EXIT_STATUS_IF_REGRESSION = 3;
+    /**
+     * Exit status of {@link #main(String[])} if the arguments are invalid, if the baseline cannot be read or written
+     * or if a worker JVM failed (see {@link #OPTION_OF_PARALLEL_WORKERS}).
+     */
+    public static final int EXIT_STATUS_IF_ERROR = 2;
+    /**
+     * The usage of {@link #main(String[])}.
+     */
+    private static final String USAGE = "Arguments: [" + OPTION_TO_CHECK_AGAINST_BASELINE + " <baseline file>] ["
+            + OPTION_TO_SAVE_BASELINE + " <baseline file>] [" + OPTION_OF_PARALLEL_WORKERS + " <number of workers>]";
     /**
      * Flag set to true if the progress of benchmarking must be printed
      * to {@link System#out}, false otherwise. Default value is false.
@@ -52,6 +85,10 @@ public class BenchmarkRunner {
      * List of benchmark results.
      */
     private List<BenchmarkInstance> results = new ArrayList<>();    // initialized to empty list
+    /**
+     * List of the comparisons between the benchmarked methods (see {@link Benchmark#comparedWith()}).
+     */
+    private List<BenchmarkComparison> comparisons = new ArrayList<>();    // initialized to empty list
     /**
      * {@link Instant} at which this test started (not created, but started).
      */
@@ -60,6 +97,10 @@ public class BenchmarkRunner {
      * {@link Instant} at which this test ended.
      */
     private Instant endTimeOfTests;   // null if test is not ended
+    /**
+     * The calibration of the clock used for timing, performed when this test started.
+     */
+    private ClockCalibration clockCalibration;   // null if test is not started
 
     /**
      * Default constructor. Progress of benchmarking will not be printed
@@ -80,6 +121,78 @@ public class BenchmarkRunner {
         this.printProgress = printProgress;
     }
 
+    /**
+     * Benchmarks all methods in the project annotated with {@link Benchmark} and prints the results,
+     * eventually checking them against a baseline (see {@link #OPTION_TO_CHECK_AGAINST_BASELINE}) and saving
+     * them as baseline (see {@link #OPTION_TO_SAVE_BASELINE}), e.g., to run benchmarks in a build pipeline.
+     * The process exits with status {@link #EXIT_STATUS_IF_REGRESSION} if a benchmark regressed,
+     * with {@link #EXIT_STATUS_IF_ERROR} in case of errors and with 0 otherwise.
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Implementation of {@link #main(String[])}, without exiting.
+     *
+     * @param args Command line arguments.
+     * @return the exit status.
+     */
+    static int run(@NotNull String[] args) {
+        Path fileOfBaselineToCheck = null;
+        Path fileOfBaselineToSave = null;
+        int numberOfWorkers = 1;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 < args.length && args[i].equals(OPTION_TO_CHECK_AGAINST_BASELINE)) {
+                fileOfBaselineToCheck = Paths.get(args[++i]);
+            } else if (i + 1 < args.length && args[i].equals(OPTION_TO_SAVE_BASELINE)) {
+                fileOfBaselineToSave = Paths.get(args[++i]);
+            } else if (i + 1 < args.length && args[i].equals(OPTION_OF_PARALLEL_WORKERS) && args[i + 1].matches("[1-9][0-9]{0,8}")) {
+                numberOfWorkers = Integer.parseInt(args[++i]);
+            } else {
+                System.err.println("Invalid argument: " + args[i] + System.lineSeparator() + USAGE);
+                return EXIT_STATUS_IF_ERROR;
+            }
+        }
+        try {
+            final Baseline BASELINE_TO_CHECK = fileOfBaselineToCheck == null ? null : Baseline.load(fileOfBaselineToCheck);  // before running the benchmarks
+            final Baseline RESULTS;
+            final boolean WORKERS_FAILED;
+            if (numberOfWorkers > 1) {
+                ParallelSuite parallelSuite = ParallelSuite.run(getAllClassNames(), numberOfWorkers);
+                System.out.println(parallelSuite);
+                RESULTS = parallelSuite.getBaseline();
+                WORKERS_FAILED = !parallelSuite.getErrorOfEachFailedClass().isEmpty();
+            } else {
+                BenchmarkRunner benchmarkRunner = new BenchmarkRunner();
+                benchmarkRunner.benchmarkAllAnnotatedMethodsAndGetListOfResults();
+                System.out.println(benchmarkRunner);
+                RESULTS = Baseline.of(benchmarkRunner.results);
+                WORKERS_FAILED = false;
+            }
+            if (fileOfBaselineToSave != null) {
+                RESULTS.save(fileOfBaselineToSave);
+            }
+            if (BASELINE_TO_CHECK != null) {
+                RegressionReport regressionReport = BASELINE_TO_CHECK.check(RESULTS);
+                System.out.println(regressionReport);
+                if (regressionReport.hasRegressions()) {
+                    return EXIT_STATUS_IF_REGRESSION;
+                }
+            }
+            return WORKERS_FAILED ? EXIT_STATUS_IF_ERROR : 0;
+        } catch (IOException e) {
+            logSevereInLoggerOfThisClass(e);
+            return EXIT_STATUS_IF_ERROR;
+        } catch (InterruptedException e) {
+            logSevereInLoggerOfThisClass(e);
+            Thread.currentThread().interrupt();
+            return EXIT_STATUS_IF_ERROR;
+        }
+    }
+
     /**
      * Log as {@link Level#SEVERE} the given {@link Throwable} in the {@link Logger} of this class.
      *
@@ -112,7 +225,7 @@ public class BenchmarkRunner {
      *
      * @return The classes
      */
-    private static List<String> getAllClassNames() {
+    static List<String> getAllClassNames() {
         List<String> classNames = new ArrayList<>();
         for (File directory : Objects.requireNonNull(getRootDirectoryOfProject().listFiles())) {
             try {
@@ -203,7 +316,16 @@ public class BenchmarkRunner {
         if (!isTestEnded()) {
             throw new IllegalStateException("Test not ended.");
         }
-        Duration duration = Duration.between(startTimeOfTests, endTimeOfTests);
+        return formatDuration(startTimeOfTests, endTimeOfTests);
+    }
+
+    /**
+     * @param start The start of a time interval.
+     * @param end   The end of the time interval.
+     * @return the duration of the given interval, formatted as HH:mm:ss.SSS.
+     */
+    static String formatDuration(@NotNull Instant start, @NotNull Instant end) {
+        Duration duration = Duration.between(start, end);
         long totalDurationInMilliseconds = duration.toMillis();
 
         // conversion to HH mm ss millis
@@ -213,10 +335,10 @@ public class BenchmarkRunner {
         long remainingMillis = totalDurationInMilliseconds;
         final long HOURS = (long) (remainingMillis / HOURS_TO_MILLIS_FACTOR);
         remainingMillis -= HOURS * HOURS_TO_MILLIS_FACTOR;
-        final long MINUTES = (long) (totalDurationInMilliseconds / MINUTES_TO_MILLIS_FACTOR);
+        final long MINUTES = (long) (remainingMillis / MINUTES_TO_MILLIS_FACTOR);
         remainingMillis -= MINUTES * MINUTES_TO_MILLIS_FACTOR;
         final long SECONDS = (long) (remainingMillis / SECONDS_TO_MILLIS_FACTOR);
-        remainingMillis -= SECONDS * MINUTES_TO_MILLIS_FACTOR;
+        remainingMillis -= SECONDS * SECONDS_TO_MILLIS_FACTOR;
         final long MILLIS = remainingMillis;
         return HOURS + ":" + MINUTES + ":" + SECONDS + "." + MILLIS + "\t(HH:mm:ss.SSS)";
     }
@@ -233,6 +355,7 @@ public class BenchmarkRunner {
                                 "Test started at:\t" + startTimeOfTests + System.lineSeparator() +
                                 "Test ended at:\t\t" + endTimeOfTests + System.lineSeparator() +
                                 "Test duration:\t\t" + getTestDuration() + System.lineSeparator() +
+                                "Clock:\t\t\t" + clockCalibration + System.lineSeparator() +
                                 System.lineSeparator() +
                                 "Benchmarked method" + (results.size() > 1 ? "s" : "") + ": " + System.lineSeparator() +
                                 IntStream.range(0, results.size())
@@ -242,7 +365,14 @@ public class BenchmarkRunner {
                                 IntStream.range(0, results.size())
                                         .sequential()
                                         .mapToObj(i -> System.lineSeparator() + (i + 1) + ") " + results.get(i).toString())
-                                        .collect(Collectors.joining(System.lineSeparator())) :
+                                        .collect(Collectors.joining(System.lineSeparator())) +
+                                (comparisons.isEmpty() ? "" :
+                                        System.lineSeparator() +
+                                                "-----------------------------------------------------------------------------------" + System.lineSeparator() +
+                                                "COMPARISONS" + System.lineSeparator() +
+                                                comparisons.stream()
+                                                        .map(comparison -> "\t" + comparison)
+                                                        .collect(Collectors.joining(System.lineSeparator())) + System.lineSeparator()) :
                         "No test performed.");
     }
 
@@ -253,8 +383,21 @@ public class BenchmarkRunner {
      */
     @SuppressWarnings("UnusedReturnValue") // return value might be useful (the method is not used anymore, because results are printed with toString method)
     public List<BenchmarkInstance> benchmarkAllAnnotatedMethodsAndGetListOfResults() {
+        return benchmarkAnnotatedMethodsOf(getAllClassNames());
+    }
+
+    /**
+     * Benchmarks the methods annotated with {@link Benchmark} of the given classes (e.g., the ones
+     * assigned to a worker of a {@link ParallelSuite}).
+     *
+     * @param classNames The names of the classes.
+     * @return The list with results.
+     */
+    List<BenchmarkInstance> benchmarkAnnotatedMethodsOf(@NotNull List<String> classNames) {
         startTimeOfTests = Instant.now();
-        results = getAllClassNames()
+        clockCalibration = ClockCalibration.calibrate();
+        final BenchmarkGroup.Registry GROUPS = new BenchmarkGroup.Registry();
+        results = classNames
                 .stream().sequential()
                 .peek(className -> System.out.println(
                         System.lineSeparator() + System.lineSeparator()
@@ -276,7 +419,7 @@ public class BenchmarkRunner {
                     StringBuilder eventuallyErrorMessage = new StringBuilder();
                     try {
                         try {
-                            return new BenchmarkInstance(method, printProgress ? System.out : null);
+                            return new BenchmarkInstance(method, printProgress ? System.out : null, clockCalibration, GROUPS);
                         } catch (NullPointerException e) {
                             eventuallyThrown = e;
                             eventuallyErrorMessage.append(ERROR_MESSAGE_IF_TRYING_TO_BENCHMARK_NOT_STATIC_METHOD);
@@ -305,6 +448,7 @@ public class BenchmarkRunner {
                 .filter(Objects::nonNull)
                 .sorted()
                 .collect(Collectors.toList());
+        comparisons = compareMethodsAsRequested(results);
         endTimeOfTests = Instant.now();
         if (printProgress) {
             System.out.println(System.lineSeparator() + System.lineSeparator());
@@ -312,4 +456,51 @@ public class BenchmarkRunner {
         return results;
     }
 
+    /**
+     * Compares the benchmarked methods with the ones given in {@link Benchmark#comparedWith()}.
+     * Requested comparisons with methods which have not been benchmarked are logged and skipped.
+     *
+     * @param results The results of the benchmarks.
+     * @return the comparisons, in the order of the results.
+     */
+    private static List<BenchmarkComparison> compareMethodsAsRequested(@NotNull List<BenchmarkInstance> results) {
+        List<BenchmarkComparison> comparisons = new ArrayList<>();
+        for (BenchmarkInstance contender : results) {
+            final String NAME_OF_BASELINE = contender.getTestedMethod().getAnnotation(Benchmark.class).comparedWith().trim();
+            if (NAME_OF_BASELINE.isEmpty()) {
+                continue;
+            }
+            Optional<BenchmarkInstance> baseline = results.stream()
+                    .filter(result -> (result.getTestedMethod().getDeclaringClass().getName()
+                            + "." + result.getTestedMethod().getName()).equals(NAME_OF_BASELINE))
+                    .findFirst();
+            try {
+                comparisons.add(BenchmarkComparison.compare(
+                        baseline.orElseThrow(() -> new IllegalArgumentException(NAME_OF_BASELINE + " has not been benchmarked.")),
+                        contender));
+            } catch (IllegalArgumentException e) {
+                LOGGER_OF_THIS_CLASS.log(Level.WARNING, "Cannot compare " + contender.getTestedMethod()
+                        + " with " + NAME_OF_BASELINE + ": " + e.getMessage());
+            }
+        }
+        return comparisons;
+    }
+
+    /**
+     * Getter for {@link #comparisons}.
+     *
+     * @return the current {@link #comparisons}, empty if the test is not started.
+     */
+    public List<BenchmarkComparison> getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * Getter for {@link #clockCalibration}.
+     *
+     * @return the current {@link #clockCalibration}, or null if the test is not started.
+     */
+    public ClockCalibration getClockCalibration() {
+        return clockCalibration;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Summary of the durations of the executions of a benchmarked method, sufficient to statistically
+ * compare it with the durations measured by a later benchmark of the same method (see {@link Baseline}).
+ */
+public final class BenchmarkSummary {
+
+    /**
+     * Name of the benchmarked method, made of the binary name of its class and of the method name,
+     * separated by a dot (as in {@link Benchmark#comparedWith()}).
+     */
+    private final String nameOfBenchmark;
+    /**
+     * Number of samples from which the statistics are computed.
+     */
+    private final long numberOfSamples;
+    /**
+     * Mean duration of each execution.
+     */
+    private final double meanInNanoseconds;
+    /**
+     * Sample standard deviation of the duration of each execution.
+     */
+    private final double standardDeviationInNanoseconds;
+    /**
+     * Median duration of each execution.
+     */
+    private final double medianInNanoseconds;
+    /**
+     * Duration of each execution in each sample, sorted in ascending order, or null if the samples
+     * are not kept by the benchmark (e.g., if the durations are recorded in a histogram).
+     */
+    private final double[] sortedDurationsInNanoseconds;
+
+    /**
+     * Constructor.
+     *
+     * @param nameOfBenchmark                The name of the benchmarked method.
+     * @param numberOfSamples                The number of samples.
+     * @param meanInNanoseconds              The mean duration of each execution.
+     * @param standardDeviationInNanoseconds The standard deviation of the duration of each execution.
+     * @param medianInNanoseconds            The median duration of each execution.
+     * @param sortedDurationsInNanoseconds   The sorted durations of each execution, or null.
+     */
+    BenchmarkSummary(@NotNull String nameOfBenchmark, long numberOfSamples, double meanInNanoseconds,
+                     double standardDeviationInNanoseconds, double medianInNanoseconds,
+                     @Nullable double[] sortedDurationsInNanoseconds) {
+        this.nameOfBenchmark = Objects.requireNonNull(nameOfBenchmark);
+        this.numberOfSamples = numberOfSamples;
+        this.meanInNanoseconds = meanInNanoseconds;
+        this.standardDeviationInNanoseconds = standardDeviationInNanoseconds;
+        this.medianInNanoseconds = medianInNanoseconds;
+        this.sortedDurationsInNanoseconds = sortedDurationsInNanoseconds;
+    }
+
+    /**
+     * Summarizes the result of a benchmark.
+     *
+     * @param benchmarkInstance The result of the benchmark.
+     * @return the summary.
+     * @throws IllegalArgumentException If the benchmark does not time the executions (i.e., in
+     *                                  {@link BenchmarkMode#THROUGHPUT} mode).
+     */
+    public static BenchmarkSummary of(@NotNull BenchmarkInstance benchmarkInstance) {
+        final DistributionStatistics DISTRIBUTION = benchmarkInstance.getDistributionOfDurationOfEachExecutionInNanoseconds();
+        if (DISTRIBUTION == null) {
+            throw new IllegalArgumentException("Only benchmarks which time the executions can be summarized.");
+        }
+        return new BenchmarkSummary(nameOf(benchmarkInstance.getTestedMethod()), DISTRIBUTION.getNumberOfSamples(),
+                DISTRIBUTION.getMeanInNanoseconds(), DISTRIBUTION.getStandardDeviationInNanoseconds(),
+                DISTRIBUTION.getMedianInNanoseconds(), DISTRIBUTION.getSortedDurationsOfEachExecutionInNanoseconds());
+    }
+
+    /**
+     * @param method A benchmarked method.
+     * @return the name identifying the benchmark of the given method (see {@link #nameOfBenchmark}).
+     */
+    static String nameOf(@NotNull Method method) {
+        return method.getDeclaringClass().getName() + "." + method.getName();
+    }
+
+    /**
+     * @param nameOfBenchmark The name identifying a benchmark (see {@link #nameOfBenchmark}).
+     * @return the method annotated with {@link Benchmark} identified by the given name, null if not found.
+     */
+    @Nullable
+    static Method methodOf(@NotNull String nameOfBenchmark) {
+        final int INDEX_OF_SEPARATOR = nameOfBenchmark.lastIndexOf('.');
+        if (INDEX_OF_SEPARATOR < 0) {
+            return null;
+        }
+        try {
+            return Arrays.stream(Class.forName(nameOfBenchmark.substring(0, INDEX_OF_SEPARATOR), false,
+                            BenchmarkSummary.class.getClassLoader()).getDeclaredMethods())
+                    .filter(method -> method.getName().equals(nameOfBenchmark.substring(INDEX_OF_SEPARATOR + 1)))
+                    .filter(method -> method.isAnnotationPresent(Benchmark.class))
+                    .findFirst()
+                    .orElse(null);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Getter for {@link #nameOfBenchmark}.
+     *
+     * @return the current {@link #nameOfBenchmark}.
+     */
+    public String getNameOfBenchmark() {
+        return nameOfBenchmark;
+    }
+
+    /**
+     * Getter for {@link #numberOfSamples}.
+     *
+     * @return the current {@link #numberOfSamples}.
+     */
+    public long getNumberOfSamples() {
+        return numberOfSamples;
+    }
+
+    /**
+     * Getter for {@link #meanInNanoseconds}.
+     *
+     * @return the current {@link #meanInNanoseconds}.
+     */
+    public double getMeanInNanoseconds() {
+        return meanInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #standardDeviationInNanoseconds}.
+     *
+     * @return the current {@link #standardDeviationInNanoseconds}.
+     */
+    public double getStandardDeviationInNanoseconds() {
+        return standardDeviationInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #medianInNanoseconds}.
+     *
+     * @return the current {@link #medianInNanoseconds}.
+     */
+    public double getMedianInNanoseconds() {
+        return medianInNanoseconds;
+    }
+
+    /**
+     * @return a copy of {@link #sortedDurationsInNanoseconds}, or null if the samples are not kept.
+     */
+    @Nullable
+    public double[] getSortedDurationsInNanoseconds() {
+        return sortedDurationsInNanoseconds == null ? null : sortedDurationsInNanoseconds.clone();
+    }
+
+    @Override
+    public String toString() {
+        return nameOfBenchmark + ": " + numberOfSamples + " samples, mean " + (float) meanInNanoseconds
+                + " ns, standard deviation " + (float) standardDeviationInNanoseconds
+                + " ns, median " + (float) medianInNanoseconds + " ns"
+                + (sortedDurationsInNanoseconds == null ? "" : " (samples kept)");
+    }
+}
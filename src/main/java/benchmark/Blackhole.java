@@ -0,0 +1,157 @@
+package benchmark;
+
+/**
+ * Sink for values computed by benchmarked methods, which prevents the JIT compiler
+ * from eliminating the computation of such values as dead code.
+ * The value returned by a benchmarked method is automatically consumed by a
+ * {@link Blackhole}; moreover, a benchmarked method can declare parameters of type
+ * {@link Blackhole} (and no other parameters): an instance is injected by the
+ * framework and can be used to explicitly consume intermediate values.
+ * The cost of each consumption is measured and reported in the benchmark report.
+ * <p/>
+ * The consumption is based on comparisons with volatile fields whose values are
+ * unknown to the compiler (hence the compiler cannot prove that the consumed value
+ * is unused), but which never make the comparisons succeed.
+ * Instances are not thread-safe: each thread must use its own instance.
+ */
+@SuppressWarnings("unused") // fields read to consume values
+public final class Blackhole {
+
+    /**
+     * Error message if a consumption detects an impossible state.
+     */
+    private static final String ERROR_MESSAGE_IF_IMPOSSIBLE_STATE = "This should never happen.";
+
+    // Values compared with consumed primitives: the two values of each pair are different.
+    private volatile byte byte1 = 1, byte2 = 2;
+    private volatile boolean boolean1 = false, boolean2 = true;
+    private volatile char char1 = 'A', char2 = 'B';
+    private volatile short short1 = 1, short2 = 2;
+    private volatile int int1 = 1, int2 = 2;
+    private volatile long long1 = 1, long2 = 2;
+    private volatile float float1 = 1, float2 = 2;
+    private volatile double double1 = 1, double2 = 2;
+
+    /**
+     * Pseudo-random state used to decide when to store a consumed {@link Object}.
+     */
+    private int pseudoRandomState = (int) System.nanoTime();
+    /**
+     * Mask applied to {@link #pseudoRandomState}: consumed objects are stored
+     * only when the masked state is zero, hence less and less frequently.
+     */
+    private int maskOfPseudoRandomState = 1;
+    /**
+     * Last stored {@link Object}.
+     */
+    private Object storedObject;
+
+    /**
+     * Constructor. Instances are usually created by the framework and injected in the
+     * {@link Blackhole} parameters of the benchmarked methods.
+     */
+    public Blackhole() {
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(Object value) {
+        int pseudoRandomState = this.pseudoRandomState = this.pseudoRandomState * 1664525 + 1013904223;
+        int mask = maskOfPseudoRandomState;
+        if ((pseudoRandomState & mask) == 0) {
+            storedObject = value;   // the value escapes: its computation cannot be eliminated
+            maskOfPseudoRandomState = (mask << 1) + 1;
+        }
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(byte value) {
+        if ((value ^ byte1) == (value ^ byte2)) {
+            throw new IllegalStateException(ERROR_MESSAGE_IF_IMPOSSIBLE_STATE);
+        }
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(boolean value) {
+        if ((value ^ boolean1) == (value ^ boolean2)) {
+            throw new IllegalStateException(ERROR_MESSAGE_IF_IMPOSSIBLE_STATE);
+        }
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(char value) {
+        if ((value ^ char1) == (value ^ char2)) {
+            throw new IllegalStateException(ERROR_MESSAGE_IF_IMPOSSIBLE_STATE);
+        }
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(short value) {
+        if ((value ^ short1) == (value ^ short2)) {
+            throw new IllegalStateException(ERROR_MESSAGE_IF_IMPOSSIBLE_STATE);
+        }
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(int value) {
+        if ((value ^ int1) == (value ^ int2)) {
+            throw new IllegalStateException(ERROR_MESSAGE_IF_IMPOSSIBLE_STATE);
+        }
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(long value) {
+        if ((value ^ long1) == (value ^ long2)) {
+            throw new IllegalStateException(ERROR_MESSAGE_IF_IMPOSSIBLE_STATE);
+        }
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(float value) {
+        if (value == float1 & value == float2) {    // non-short-circuit: both volatile fields are always read
+            throw new IllegalStateException(ERROR_MESSAGE_IF_IMPOSSIBLE_STATE);
+        }
+    }
+
+    /**
+     * Consumes the given value.
+     *
+     * @param value The value to consume.
+     */
+    public void consume(double value) {
+        if (value == double1 & value == double2) {  // non-short-circuit: both volatile fields are always read
+            throw new IllegalStateException(ERROR_MESSAGE_IF_IMPOSSIBLE_STATE);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class to measure the overhead introduced by {@link Blackhole}s, i.e., the average
+ * duration of the consumption of a value.
+ * Measurements are performed once for each type of consumed values and then cached.
+ */
+final class BlackholeOverhead {
+
+    /**
+     * Number of warm up iterations performed by each measurement.
+     */
+    private static final int WARM_UP_ITERATIONS = 10_000;
+    /**
+     * Number of rounds of each measurement: in each round, the loop with consumptions and
+     * the loop without consumptions are alternately measured.
+     */
+    private static final int ROUNDS = 5;
+    /**
+     * Number of iterations performed by each round.
+     */
+    private static final int ITERATIONS = 200;
+    /**
+     * Number of consumptions in each iteration.
+     */
+    private static final int BATCH_SIZE = 1000;
+    /**
+     * Cache of measured overheads (in nanoseconds), by type of consumed values.
+     */
+    private static final Map<Class<?>, Double> AVERAGE_OVERHEAD_IN_NANOSECONDS_BY_TYPE = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor: this class only has static methods.
+     */
+    private BlackholeOverhead() {
+    }
+
+    /**
+     * @param typeOfValues The type of the values to be consumed, i.e., the return type of a benchmarked
+     *                     method. If void, the cost of consuming an {@link Object} (as it could be done
+     *                     explicitly by a benchmarked method) is returned.
+     * @return the average duration (in nanoseconds) of the consumption of a value of the given type.
+     * @throws Throwable If errors occur during the measurement.
+     */
+    static double getAverageOverheadInNanoseconds(@NotNull Class<?> typeOfValues) throws Throwable {
+        Class<?> type = typeOfValues == void.class ? Object.class : typeOfValues;
+        Double overhead = AVERAGE_OVERHEAD_IN_NANOSECONDS_BY_TYPE.get(type);
+        if (overhead == null) {
+            overhead = measureAverageOverheadInNanoseconds(type);
+            AVERAGE_OVERHEAD_IN_NANOSECONDS_BY_TYPE.put(type, overhead);
+        }
+        return overhead;
+    }
+
+    /**
+     * Measures the overhead of consuming values of the given type, as the difference between the duration
+     * of a loop consuming a constant value and the duration of the same loop doing nothing.
+     * The fastest iteration of each loop is taken, because the overhead is a lower bound of the
+     * duration of any benchmarked method.
+     *
+     * @param typeOfValues The type of the values to be consumed (not void).
+     * @return the average duration (in nanoseconds) of the consumption of a value of the given type.
+     * @throws Throwable If errors occur during the measurement.
+     */
+    private static double measureAverageOverheadInNanoseconds(@NotNull Class<?> typeOfValues) throws Throwable {
+        BenchmarkHarness loopWithoutConsumption = BenchmarkHarnessGenerator.generate(
+                "blackholeOverheadBaseline", MethodHandles.empty(Invoker.METHOD_TYPE_OF_HANDLES), null, null);
+        BenchmarkHarness loopWithConsumption = BenchmarkHarnessGenerator.generate(
+                "blackholeOverhead",
+                MethodHandles
+                        .collectArguments(
+                                Invoker.getConsumerOf(typeOfValues),
+                                1, MethodHandles.zero(typeOfValues))
+                        .asType(Invoker.METHOD_TYPE_OF_HANDLES),
+                null, null);
+
+        long[] executionTimesInNanoseconds = new long[Math.max(WARM_UP_ITERATIONS, ITERATIONS)];
+        loopWithoutConsumption.measure(executionTimesInNanoseconds, 0, WARM_UP_ITERATIONS, BATCH_SIZE);
+        loopWithConsumption.measure(executionTimesInNanoseconds, 0, WARM_UP_ITERATIONS, BATCH_SIZE);
+        long fastestIterationWithoutConsumption = Long.MAX_VALUE;
+        long fastestIterationWithConsumption = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            fastestIterationWithoutConsumption = Math.min(fastestIterationWithoutConsumption,
+                    measureFastestIterationInNanoseconds(loopWithoutConsumption, executionTimesInNanoseconds));
+            fastestIterationWithConsumption = Math.min(fastestIterationWithConsumption,
+                    measureFastestIterationInNanoseconds(loopWithConsumption, executionTimesInNanoseconds));
+        }
+        return Math.max(0, fastestIterationWithConsumption - fastestIterationWithoutConsumption) / (double) BATCH_SIZE;
+    }
+
+    /**
+     * @param harness                     The {@link BenchmarkHarness} to measure.
+     * @param executionTimesInNanoseconds The array to use for saving execution times.
+     * @return the duration of the fastest iteration of a round.
+     * @throws Throwable If errors occur during the measurement.
+     */
+    private static long measureFastestIterationInNanoseconds(
+            @NotNull BenchmarkHarness harness, long[] executionTimesInNanoseconds) throws Throwable {
+        harness.measure(executionTimesInNanoseconds, 0, ITERATIONS, BATCH_SIZE);
+        return Arrays.stream(executionTimesInNanoseconds, 0, ITERATIONS).min().orElse(0);
+    }
+}
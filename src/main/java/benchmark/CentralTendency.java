@@ -0,0 +1,17 @@
+package benchmark;
+
+/**
+ * Enumeration of the measures of central tendency of the durations of iterations.
+ */
+public enum CentralTendency {
+
+    /**
+     * The arithmetic mean, whose confidence interval is computed with the Student's t-distribution.
+     */
+    MEAN,
+
+    /**
+     * The median, whose confidence interval is distribution-free (i.e., bounded by order statistics).
+     */
+    MEDIAN
+}
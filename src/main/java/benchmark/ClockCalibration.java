@@ -0,0 +1,121 @@
+package benchmark;
+
+/**
+ * Class to save the calibration of the clock used for timing (i.e., {@link System#nanoTime()})
+ * on the current host: its latency (i.e., the cost of reading it) and its granularity (i.e.,
+ * the smallest observable difference between two readings).
+ * Durations which last just a few clock ticks cannot be measured accurately.
+ */
+public final class ClockCalibration {
+
+    /**
+     * Number of consecutive readings of the clock timed together to measure the latency.
+     */
+    private static final int READINGS_PER_LATENCY_TRIAL = 10_000;
+    /**
+     * Number of trials to measure the latency: the fastest one is taken.
+     */
+    private static final int LATENCY_TRIALS = 50;
+    /**
+     * Number of trials to measure the granularity: the smallest difference is taken.
+     */
+    private static final int GRANULARITY_TRIALS = 1000;
+    /**
+     * The last performed calibration, or null if no calibrations have been performed.
+     */
+    private static volatile ClockCalibration lastCalibration = null;
+
+    /**
+     * Average duration of a reading of the clock.
+     */
+    private final double latencyInNanoseconds;
+    /**
+     * Smallest observed difference between two consecutive different readings of the clock
+     * (if the clock is finer than its latency, this is about the latency).
+     */
+    private final long granularityInNanoseconds;
+
+    /**
+     * Constructor.
+     *
+     * @param latencyInNanoseconds     The average duration of a reading of the clock.
+     * @param granularityInNanoseconds The smallest observed difference between two consecutive
+     *                                 different readings of the clock.
+     */
+    private ClockCalibration(double latencyInNanoseconds, long granularityInNanoseconds) {
+        this.latencyInNanoseconds = latencyInNanoseconds;
+        this.granularityInNanoseconds = granularityInNanoseconds;
+    }
+
+    /**
+     * Measures the latency and the granularity of the clock.
+     * The calibration takes a few milliseconds.
+     *
+     * @return the new calibration.
+     */
+    public static ClockCalibration calibrate() {
+        long fastestLatencyTrialInNanoseconds = Long.MAX_VALUE;
+        for (int trial = 0; trial < LATENCY_TRIALS; trial++) {
+            long startTime = System.nanoTime();
+            for (int i = 0; i < READINGS_PER_LATENCY_TRIAL; i++) {
+                System.nanoTime();  // readings of the clock are never eliminated by the JIT compiler
+            }
+            long endTime = System.nanoTime();
+            fastestLatencyTrialInNanoseconds = Math.min(fastestLatencyTrialInNanoseconds, endTime - startTime);
+        }
+        long smallestDifferenceInNanoseconds = Long.MAX_VALUE;
+        for (int trial = 0; trial < GRANULARITY_TRIALS; trial++) {
+            long firstReading = System.nanoTime();
+            long nextReading;
+            do {
+                nextReading = System.nanoTime();
+            } while (nextReading == firstReading);
+            smallestDifferenceInNanoseconds = Math.min(smallestDifferenceInNanoseconds, nextReading - firstReading);
+        }
+        ClockCalibration calibration = new ClockCalibration(
+                (double) fastestLatencyTrialInNanoseconds / READINGS_PER_LATENCY_TRIAL,
+                smallestDifferenceInNanoseconds);
+        lastCalibration = calibration;
+        return calibration;
+    }
+
+    /**
+     * @return the last performed calibration, or a new one if no calibrations have been performed yet.
+     */
+    public static ClockCalibration getLastCalibration() {
+        ClockCalibration calibration = lastCalibration;
+        return calibration == null ? calibrate() : calibration;
+    }
+
+    /**
+     * Getter for {@link #latencyInNanoseconds}.
+     *
+     * @return the current {@link #latencyInNanoseconds}.
+     */
+    public double getLatencyInNanoseconds() {
+        return latencyInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #granularityInNanoseconds}.
+     *
+     * @return the current {@link #granularityInNanoseconds}.
+     */
+    public long getGranularityInNanoseconds() {
+        return granularityInNanoseconds;
+    }
+
+    /**
+     * @return the duration of a clock tick, i.e., the greatest between the latency and the granularity
+     * of the clock: durations cannot be measured with a better resolution.
+     */
+    public double getResolutionInNanoseconds() {
+        return Math.max(latencyInNanoseconds, granularityInNanoseconds);
+    }
+
+    @Override
+    public String toString() {
+        return "latency " + Math.round(latencyInNanoseconds * 1000) / 1000d + " ns, granularity "
+                + granularityInNanoseconds + " ns";
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+/**
+ * Confidence interval of a statistic, at a given confidence level.
+ */
+public final class ConfidenceInterval {
+
+    /**
+     * Lower bound of the interval.
+     */
+    private final double lowerBound;
+    /**
+     * Upper bound of the interval.
+     */
+    private final double upperBound;
+    /**
+     * Confidence level of the interval, in the open interval (0, 1).
+     */
+    private final double confidenceLevel;
+
+    /**
+     * Constructor.
+     *
+     * @param lowerBound      The lower bound of the interval.
+     * @param upperBound      The upper bound of the interval.
+     * @param confidenceLevel The confidence level of the interval, in the open interval (0, 1).
+     */
+    ConfidenceInterval(double lowerBound, double upperBound, double confidenceLevel) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.confidenceLevel = confidenceLevel;
+    }
+
+    /**
+     * Getter for {@link #lowerBound}.
+     *
+     * @return the current {@link #lowerBound}.
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Getter for {@link #upperBound}.
+     *
+     * @return the current {@link #upperBound}.
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Getter for {@link #confidenceLevel}.
+     *
+     * @return the current {@link #confidenceLevel}.
+     */
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /**
+     * @return half the width of this interval.
+     */
+    public double getHalfWidth() {
+        return (upperBound - lowerBound) / 2;
+    }
+
+    /**
+     * @param value A value.
+     * @return true if the given value is in this interval (bounds included).
+     */
+    public boolean contains(double value) {
+        return lowerBound <= value && value <= upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + Math.round(lowerBound * 1000) / 1000d + ", " + Math.round(upperBound * 1000) / 1000d + "]";
+    }
+}
@@ -0,0 +1,162 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class to find the physical cores available to the current process and to pin processes to
+ * disjoint sets of logical CPUs (see {@link ParallelSuite}).
+ * The topology is read from the files of the Linux kernel: the logical CPUs allowed to the process (which
+ * reflect the affinity mask and the cpuset of the cgroup, if any) are grouped by physical core, so that the
+ * hardware threads of the same core (e.g., with Hyper-Threading) are never given to different processes.
+ */
+final class CpuTopology {
+
+    /**
+     * The file with the status of the current process, including the list of the allowed logical CPUs.
+     */
+    private static final Path STATUS_OF_CURRENT_PROCESS = Paths.get("/proc/self/status");
+    /**
+     * The key of the line of {@link #STATUS_OF_CURRENT_PROCESS} with the list of the allowed logical CPUs.
+     */
+    private static final String KEY_OF_ALLOWED_CPUS = "Cpus_allowed_list:";
+    /**
+     * The directory with the description of the logical CPUs.
+     */
+    private static final Path DIRECTORY_OF_CPUS = Paths.get("/sys/devices/system/cpu");
+    /**
+     * The command to run a process on a given set of logical CPUs.
+     */
+    static final String TASKSET = "taskset";
+
+    /**
+     * Private constructor: this class only has static methods.
+     */
+    private CpuTopology() {
+    }
+
+    /**
+     * @return the logical CPUs of each physical core available to the current process, empty if the
+     * topology cannot be read (e.g., if the operating system is not Linux).
+     */
+    static List<List<Integer>> getLogicalCpusOfEachPhysicalCore() {
+        try {
+            final String ALLOWED_CPUS = Files.readAllLines(STATUS_OF_CURRENT_PROCESS, StandardCharsets.UTF_8).stream()
+                    .filter(line -> line.startsWith(KEY_OF_ALLOWED_CPUS))
+                    .map(line -> line.substring(KEY_OF_ALLOWED_CPUS.length()))
+                    .findFirst()
+                    .orElseThrow(() -> new IOException("Allowed CPUs not found."));
+            Map<String, List<Integer>> logicalCpusByPhysicalCore = new LinkedHashMap<>();
+            for (int cpu : parseListOfCpus(ALLOWED_CPUS)) {
+                final Path TOPOLOGY = DIRECTORY_OF_CPUS.resolve("cpu" + cpu).resolve("topology");
+                logicalCpusByPhysicalCore.computeIfAbsent(readFirstLine(TOPOLOGY.resolve("physical_package_id"))
+                                + ":" + readFirstLine(TOPOLOGY.resolve("core_id")), physicalCore -> new ArrayList<>())
+                        .add(cpu);
+            }
+            return new ArrayList<>(logicalCpusByPhysicalCore.values());
+        } catch (IOException | IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * @param file A file.
+     * @return the first line of the given file, trimmed.
+     * @throws IOException If the file cannot be read or is empty.
+     */
+    private static String readFirstLine(@NotNull Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .findFirst()
+                .orElseThrow(() -> new IOException(file + " is empty."))
+                .trim();
+    }
+
+    /**
+     * @param listOfCpus A list of logical CPUs in the format of the Linux kernel and of {@link #TASKSET},
+     *                   i.e., comma-separated numbers and ranges of numbers (e.g., {@code 0-3,8,10-11}).
+     * @return the logical CPUs of the given list, in the given order.
+     * @throws IllegalArgumentException If the list is not valid.
+     */
+    static List<Integer> parseListOfCpus(@NotNull String listOfCpus) {
+        List<Integer> cpus = new ArrayList<>();
+        for (String item : Objects.requireNonNull(listOfCpus).trim().split(",")) {
+            if (item.trim().isEmpty()) {
+                continue;
+            }
+            final String[] BOUNDS = item.trim().split("-");
+            if (BOUNDS.length > 2) {
+                throw new IllegalArgumentException("Invalid range of CPUs: " + item);
+            }
+            final int FIRST = Integer.parseInt(BOUNDS[0].trim());
+            final int LAST = Integer.parseInt(BOUNDS[BOUNDS.length - 1].trim());
+            if (FIRST > LAST) {
+                throw new IllegalArgumentException("Invalid range of CPUs: " + item);
+            }
+            for (int cpu = FIRST; cpu <= LAST; cpu++) {
+                cpus.add(cpu);
+            }
+        }
+        return cpus;
+    }
+
+    /**
+     * @param cpus Logical CPUs.
+     * @return the list of the given CPUs in the format accepted by {@link #TASKSET}.
+     */
+    static String formatListOfCpus(@NotNull Collection<Integer> cpus) {
+        return cpus.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Splits the given physical cores into disjoint sets of consecutive cores (which are more likely to
+     * share caches), whose sizes differ by at most one core.
+     *
+     * @param logicalCpusOfEachPhysicalCore The logical CPUs of each physical core
+     *                                      (see {@link #getLogicalCpusOfEachPhysicalCore()}).
+     * @param numberOfSets                  The number of sets, not greater than the number of physical cores.
+     * @return the sorted logical CPUs of each set.
+     * @throws IllegalArgumentException If the number of sets is not positive or greater than the number of cores.
+     */
+    static List<List<Integer>> splitIntoDisjointSets(@NotNull List<List<Integer>> logicalCpusOfEachPhysicalCore,
+                                                     int numberOfSets) {
+        final int CORES = logicalCpusOfEachPhysicalCore.size();
+        if (numberOfSets < 1 || numberOfSets > CORES) {
+            throw new IllegalArgumentException("Cannot split " + CORES + " physical cores into " + numberOfSets + " sets.");
+        }
+        List<List<Integer>> sets = new ArrayList<>();
+        for (int i = 0; i < numberOfSets; i++) {
+            sets.add(logicalCpusOfEachPhysicalCore.subList(i * CORES / numberOfSets, (i + 1) * CORES / numberOfSets)
+                    .stream()
+                    .flatMap(List::stream)
+                    .sorted()
+                    .collect(Collectors.toList()));
+        }
+        return sets;
+    }
+
+    /**
+     * @return true if {@link #TASKSET} can be executed (it is found in one of the directories of the
+     * {@code PATH} environment variable).
+     */
+    static boolean isTasksetAvailable() {
+        final String PATH = System.getenv("PATH");
+        return PATH != null && Arrays.stream(PATH.split(File.pathSeparator))
+                .filter(directory -> !directory.isEmpty())
+                .anyMatch(directory -> Files.isExecutable(Paths.get(directory, TASKSET)));
+    }
+}
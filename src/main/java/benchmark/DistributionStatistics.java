@@ -0,0 +1,478 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import utils.StatisticsUtility;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Statistics describing the distribution of the duration of each execution of a
+ * benchmarked method: besides the extreme values and the mean, which are sensitive
+ * to outliers, the median, the high percentiles and robust measures of dispersion.
+ * All the durations are in nanoseconds.
+ * Statistics which cannot be computed from the available data (e.g., quantiles of durations
+ * accumulated in {@link StreamingStatistics} without a histogram) are {@link Double#NaN}.
+ */
+public final class DistributionStatistics {
+
+    /**
+     * Number of samples from which the statistics are computed.
+     */
+    private final long numberOfSamples;
+    /**
+     * Minimum duration.
+     */
+    private final double minimumInNanoseconds;
+    /**
+     * Median duration.
+     */
+    private final double medianInNanoseconds;
+    /**
+     * 90th percentile of the durations (nearest-rank method).
+     */
+    private final double percentile90InNanoseconds;
+    /**
+     * 99th percentile of the durations (nearest-rank method).
+     */
+    private final double percentile99InNanoseconds;
+    /**
+     * 99.9th percentile of the durations (nearest-rank method).
+     */
+    private final double percentile99_9InNanoseconds;
+    /**
+     * 99.99th percentile of the durations (nearest-rank method).
+     */
+    private final double percentile99_99InNanoseconds;
+    /**
+     * Maximum duration.
+     */
+    private final double maximumInNanoseconds;
+    /**
+     * Arithmetic mean of the durations (not truncated).
+     */
+    private final double meanInNanoseconds;
+    /**
+     * Sample standard deviation of the durations, {@link Double#NaN} if there are less than two samples.
+     */
+    private final double standardDeviationInNanoseconds;
+    /**
+     * Ratio between the standard deviation and the mean of the durations.
+     */
+    private final double coefficientOfVariation;
+    /**
+     * Median of the absolute deviations of the durations from their median.
+     */
+    private final double medianAbsoluteDeviationInNanoseconds;
+    /**
+     * Confidence interval of the mean, computed with the Student's t-distribution, or null if there
+     * are less than two samples.
+     */
+    private final ConfidenceInterval confidenceIntervalOfMeanInNanoseconds;
+    /**
+     * Confidence interval of the median, computed with the bootstrap, or null if there are less than
+     * two samples or if the statistics are computed from a {@link LatencyHistogram} or from
+     * {@link StreamingStatistics}.
+     */
+    private final ConfidenceInterval confidenceIntervalOfMedianInNanoseconds;
+    /**
+     * Confidence interval of the 90th percentile, computed as {@link #confidenceIntervalOfMedianInNanoseconds}.
+     */
+    private final ConfidenceInterval confidenceIntervalOfPercentile90InNanoseconds;
+    /**
+     * Confidence interval of the 99th percentile, computed as {@link #confidenceIntervalOfMedianInNanoseconds}.
+     */
+    private final ConfidenceInterval confidenceIntervalOfPercentile99InNanoseconds;
+    /**
+     * Confidence interval of the 99.9th percentile, computed as {@link #confidenceIntervalOfMedianInNanoseconds}.
+     */
+    private final ConfidenceInterval confidenceIntervalOfPercentile99_9InNanoseconds;
+    /**
+     * Confidence interval of the 99.99th percentile, computed as {@link #confidenceIntervalOfMedianInNanoseconds}.
+     */
+    private final ConfidenceInterval confidenceIntervalOfPercentile99_99InNanoseconds;
+    /**
+     * The samples from which the statistics are computed, sorted, kept for the comparisons with other
+     * distributions (see {@link BenchmarkComparison}), or null if the statistics are computed from a
+     * {@link LatencyHistogram} or from {@link StreamingStatistics}.
+     */
+    private final long[] sortedSamplesInNanoseconds;
+    /**
+     * Number of executions timed together in each sample (i.e., the batch size).
+     */
+    private final int numberOfExecutionsInEachSample;
+
+    /**
+     * Constructor.
+     * The samples are not copied: sorting and the extraction of the quantiles work on the given
+     * primitive array, hence the cost is dominated by sorting (the bootstrap takes constant time for
+     * each resample, see {@link StatisticsUtility#bootstrapConfidenceIntervalsOfPercentiles}).
+     *
+     * @param executionTimesInNanoseconds     The samples, each one being the duration of the given number of
+     *                                        consecutive executions. <strong>The array is sorted in place</strong>.
+     * @param numberOfExecutionsInEachSample  The number of executions timed together in each sample (i.e., the
+     *                                        batch size), by which the samples are divided.
+     * @param confidenceLevel                 The confidence level of the confidence intervals.
+     * @param numberOfBootstrapResamples      The number of bootstrap resamples used for the confidence intervals
+     *                                        of the percentiles.
+     * @param random                          The source of randomness of the bootstrap.
+     * @throws IllegalArgumentException If no samples are given or the number of executions is not positive.
+     */
+    DistributionStatistics(@NotNull long[] executionTimesInNanoseconds, int numberOfExecutionsInEachSample,
+                           double confidenceLevel, int numberOfBootstrapResamples, @NotNull SplittableRandom random) {
+        if (executionTimesInNanoseconds.length == 0 || numberOfExecutionsInEachSample <= 0) {
+            throw new IllegalArgumentException("Samples must be given and the number of executions in each one must be positive.");
+        }
+        Arrays.sort(executionTimesInNanoseconds);
+        final long[] SORTED = executionTimesInNanoseconds;
+        final double BATCH_SIZE = numberOfExecutionsInEachSample;
+        numberOfSamples = SORTED.length;
+        minimumInNanoseconds = SORTED[0] / BATCH_SIZE;
+        medianInNanoseconds = StatisticsUtility.median(SORTED) / BATCH_SIZE;
+        percentile90InNanoseconds = StatisticsUtility.percentile(SORTED, 90) / BATCH_SIZE;
+        percentile99InNanoseconds = StatisticsUtility.percentile(SORTED, 99) / BATCH_SIZE;
+        percentile99_9InNanoseconds = StatisticsUtility.percentile(SORTED, 99.9) / BATCH_SIZE;
+        percentile99_99InNanoseconds = StatisticsUtility.percentile(SORTED, 99.99) / BATCH_SIZE;
+        maximumInNanoseconds = SORTED[SORTED.length - 1] / BATCH_SIZE;
+        meanInNanoseconds = StatisticsUtility.mean(SORTED) / BATCH_SIZE;
+        standardDeviationInNanoseconds = StatisticsUtility.sampleStandardDeviation(SORTED) / BATCH_SIZE;
+        coefficientOfVariation = standardDeviationInNanoseconds / meanInNanoseconds;
+        medianAbsoluteDeviationInNanoseconds = StatisticsUtility.medianAbsoluteDeviation(SORTED) / BATCH_SIZE;
+        confidenceIntervalOfMeanInNanoseconds = getConfidenceIntervalOfMean(confidenceLevel);
+        double[][] confidenceIntervalsOfPercentiles = StatisticsUtility.bootstrapConfidenceIntervalsOfPercentiles(
+                SORTED, new double[]{50, 90, 99, 99.9, 99.99}, confidenceLevel, numberOfBootstrapResamples, random);
+        ConfidenceInterval[] confidenceIntervals = new ConfidenceInterval[5];
+        for (int i = 0; i < confidenceIntervals.length && confidenceIntervalsOfPercentiles != null; i++) {
+            confidenceIntervals[i] = new ConfidenceInterval(confidenceIntervalsOfPercentiles[i][0] / BATCH_SIZE,
+                    confidenceIntervalsOfPercentiles[i][1] / BATCH_SIZE, confidenceLevel);
+        }
+        confidenceIntervalOfMedianInNanoseconds = confidenceIntervals[0];
+        confidenceIntervalOfPercentile90InNanoseconds = confidenceIntervals[1];
+        confidenceIntervalOfPercentile99InNanoseconds = confidenceIntervals[2];
+        confidenceIntervalOfPercentile99_9InNanoseconds = confidenceIntervals[3];
+        confidenceIntervalOfPercentile99_99InNanoseconds = confidenceIntervals[4];
+        sortedSamplesInNanoseconds = SORTED;
+        this.numberOfExecutionsInEachSample = numberOfExecutionsInEachSample;
+    }
+
+    /**
+     * Constructor.
+     * The statistics are computed from the given histogram: the minimum, the maximum, the mean and
+     * the standard deviation are exact, while the quantiles and the median absolute deviation are
+     * approximated within the precision of the histogram.
+     *
+     * @param histogramOfExecutionTimesInNanoseconds The histogram of the samples, each one being the duration of
+     *                                               the given number of consecutive executions.
+     * @param numberOfExecutionsInEachSample         The number of executions timed together in each sample (i.e.,
+     *                                               the batch size), by which the samples are divided.
+     * @param confidenceLevel                        The confidence level of the confidence interval of the mean
+     *                                               (the ones of the percentiles are not computed).
+     * @throws IllegalArgumentException If no samples have been recorded or the number of executions is not positive.
+     */
+    DistributionStatistics(@NotNull LatencyHistogram histogramOfExecutionTimesInNanoseconds, int numberOfExecutionsInEachSample,
+                           double confidenceLevel) {
+        final LatencyHistogram HISTOGRAM = histogramOfExecutionTimesInNanoseconds;
+        if (HISTOGRAM.getTotalCount() == 0 || numberOfExecutionsInEachSample <= 0) {
+            throw new IllegalArgumentException("Samples must be given and the number of executions in each one must be positive.");
+        }
+        final double BATCH_SIZE = numberOfExecutionsInEachSample;
+        numberOfSamples = HISTOGRAM.getTotalCount();
+        minimumInNanoseconds = HISTOGRAM.getMinimum() / BATCH_SIZE;
+        medianInNanoseconds = HISTOGRAM.getValueAtPercentile(50) / BATCH_SIZE;
+        percentile90InNanoseconds = HISTOGRAM.getValueAtPercentile(90) / BATCH_SIZE;
+        percentile99InNanoseconds = HISTOGRAM.getValueAtPercentile(99) / BATCH_SIZE;
+        percentile99_9InNanoseconds = HISTOGRAM.getValueAtPercentile(99.9) / BATCH_SIZE;
+        percentile99_99InNanoseconds = HISTOGRAM.getValueAtPercentile(99.99) / BATCH_SIZE;
+        maximumInNanoseconds = HISTOGRAM.getMaximum() / BATCH_SIZE;
+        meanInNanoseconds = HISTOGRAM.getMean() / BATCH_SIZE;
+        standardDeviationInNanoseconds = HISTOGRAM.getStandardDeviation() / BATCH_SIZE;
+        coefficientOfVariation = standardDeviationInNanoseconds / meanInNanoseconds;
+        medianAbsoluteDeviationInNanoseconds = HISTOGRAM.getMedianAbsoluteDeviation() / BATCH_SIZE;
+        confidenceIntervalOfMeanInNanoseconds = getConfidenceIntervalOfMean(confidenceLevel);
+        confidenceIntervalOfMedianInNanoseconds = null;
+        confidenceIntervalOfPercentile90InNanoseconds = null;
+        confidenceIntervalOfPercentile99InNanoseconds = null;
+        confidenceIntervalOfPercentile99_9InNanoseconds = null;
+        confidenceIntervalOfPercentile99_99InNanoseconds = null;
+        sortedSamplesInNanoseconds = null;
+        this.numberOfExecutionsInEachSample = numberOfExecutionsInEachSample;
+    }
+
+    /**
+     * Constructor.
+     * The statistics are computed from the given accumulator and, if given, from the histogram of the same
+     * samples: the minimum, the maximum, the mean and the standard deviation are exact (the latter two are
+     * taken from the accumulator, which is more precise), while the quantiles and the median absolute
+     * deviation are approximated within the precision of the histogram, or are {@link Double#NaN}
+     * without a histogram.
+     *
+     * @param streamingStatisticsOfExecutionTimesInNanoseconds The accumulator of the samples, each one being the
+     *                                                         duration of the given number of consecutive executions.
+     * @param histogramOfExecutionTimesInNanoseconds           The histogram of the same samples, or null.
+     * @param numberOfExecutionsInEachSample                   The number of executions timed together in each sample
+     *                                                         (i.e., the batch size), by which the samples are divided.
+     * @param confidenceLevel                                  The confidence level of the confidence interval of the
+     *                                                         mean (the ones of the percentiles are not computed).
+     * @throws IllegalArgumentException If no samples have been recorded or the number of executions is not positive.
+     */
+    DistributionStatistics(@NotNull StreamingStatistics streamingStatisticsOfExecutionTimesInNanoseconds,
+                           @Nullable LatencyHistogram histogramOfExecutionTimesInNanoseconds,
+                           int numberOfExecutionsInEachSample, double confidenceLevel) {
+        final StreamingStatistics STATISTICS = streamingStatisticsOfExecutionTimesInNanoseconds;
+        final LatencyHistogram HISTOGRAM = histogramOfExecutionTimesInNanoseconds;
+        if (STATISTICS.getCount() == 0 || numberOfExecutionsInEachSample <= 0) {
+            throw new IllegalArgumentException("Samples must be given and the number of executions in each one must be positive.");
+        }
+        final double BATCH_SIZE = numberOfExecutionsInEachSample;
+        numberOfSamples = STATISTICS.getCount();
+        minimumInNanoseconds = STATISTICS.getMinimum() / BATCH_SIZE;
+        medianInNanoseconds = HISTOGRAM == null ? Double.NaN : HISTOGRAM.getValueAtPercentile(50) / BATCH_SIZE;
+        percentile90InNanoseconds = HISTOGRAM == null ? Double.NaN : HISTOGRAM.getValueAtPercentile(90) / BATCH_SIZE;
+        percentile99InNanoseconds = HISTOGRAM == null ? Double.NaN : HISTOGRAM.getValueAtPercentile(99) / BATCH_SIZE;
+        percentile99_9InNanoseconds = HISTOGRAM == null ? Double.NaN : HISTOGRAM.getValueAtPercentile(99.9) / BATCH_SIZE;
+        percentile99_99InNanoseconds = HISTOGRAM == null ? Double.NaN : HISTOGRAM.getValueAtPercentile(99.99) / BATCH_SIZE;
+        maximumInNanoseconds = STATISTICS.getMaximum() / BATCH_SIZE;
+        meanInNanoseconds = STATISTICS.getMean() / BATCH_SIZE;
+        standardDeviationInNanoseconds = STATISTICS.getStandardDeviation() / BATCH_SIZE;
+        coefficientOfVariation = standardDeviationInNanoseconds / meanInNanoseconds;
+        medianAbsoluteDeviationInNanoseconds = HISTOGRAM == null ? Double.NaN : HISTOGRAM.getMedianAbsoluteDeviation() / BATCH_SIZE;
+        confidenceIntervalOfMeanInNanoseconds = getConfidenceIntervalOfMean(confidenceLevel);
+        confidenceIntervalOfMedianInNanoseconds = null;
+        confidenceIntervalOfPercentile90InNanoseconds = null;
+        confidenceIntervalOfPercentile99InNanoseconds = null;
+        confidenceIntervalOfPercentile99_9InNanoseconds = null;
+        confidenceIntervalOfPercentile99_99InNanoseconds = null;
+        sortedSamplesInNanoseconds = null;
+        this.numberOfExecutionsInEachSample = numberOfExecutionsInEachSample;
+    }
+
+    /**
+     * @param confidenceLevel The confidence level.
+     * @return the confidence interval of {@link #meanInNanoseconds} (once {@link #standardDeviationInNanoseconds}
+     * and {@link #numberOfSamples} are set), or null if there are less than two samples.
+     */
+    @Nullable
+    private ConfidenceInterval getConfidenceIntervalOfMean(double confidenceLevel) {
+        if (numberOfSamples < 2) {
+            return null;
+        }
+        final double HALF_WIDTH = StatisticsUtility.halfWidthOfConfidenceIntervalForTheMean(
+                standardDeviationInNanoseconds, numberOfSamples, confidenceLevel);
+        return new ConfidenceInterval(meanInNanoseconds - HALF_WIDTH, meanInNanoseconds + HALF_WIDTH, confidenceLevel);
+    }
+
+    /**
+     * @return the duration of each execution in each sample (i.e., each sample divided by
+     * {@link #numberOfExecutionsInEachSample}), sorted in ascending order, or null if the samples are not kept
+     * (see {@link #sortedSamplesInNanoseconds}).
+     */
+    @Nullable
+    double[] getSortedDurationsOfEachExecutionInNanoseconds() {
+        if (sortedSamplesInNanoseconds == null) {
+            return null;
+        }
+        final double BATCH_SIZE = numberOfExecutionsInEachSample;
+        return Arrays.stream(sortedSamplesInNanoseconds).mapToDouble(sample -> sample / BATCH_SIZE).toArray();
+    }
+
+    /**
+     * Getter for {@link #numberOfSamples}.
+     *
+     * @return the current {@link #numberOfSamples}.
+     */
+    public long getNumberOfSamples() {
+        return numberOfSamples;
+    }
+
+    /**
+     * Getter for {@link #minimumInNanoseconds}.
+     *
+     * @return the current {@link #minimumInNanoseconds}.
+     */
+    public double getMinimumInNanoseconds() {
+        return minimumInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #medianInNanoseconds}.
+     *
+     * @return the current {@link #medianInNanoseconds}.
+     */
+    public double getMedianInNanoseconds() {
+        return medianInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #percentile90InNanoseconds}.
+     *
+     * @return the current {@link #percentile90InNanoseconds}.
+     */
+    public double getPercentile90InNanoseconds() {
+        return percentile90InNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #percentile99InNanoseconds}.
+     *
+     * @return the current {@link #percentile99InNanoseconds}.
+     */
+    public double getPercentile99InNanoseconds() {
+        return percentile99InNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #percentile99_9InNanoseconds}.
+     *
+     * @return the current {@link #percentile99_9InNanoseconds}.
+     */
+    public double getPercentile99_9InNanoseconds() {
+        return percentile99_9InNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #percentile99_99InNanoseconds}.
+     *
+     * @return the current {@link #percentile99_99InNanoseconds}.
+     */
+    public double getPercentile99_99InNanoseconds() {
+        return percentile99_99InNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #maximumInNanoseconds}.
+     *
+     * @return the current {@link #maximumInNanoseconds}.
+     */
+    public double getMaximumInNanoseconds() {
+        return maximumInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #meanInNanoseconds}.
+     *
+     * @return the current {@link #meanInNanoseconds}.
+     */
+    public double getMeanInNanoseconds() {
+        return meanInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #standardDeviationInNanoseconds}.
+     *
+     * @return the current {@link #standardDeviationInNanoseconds}.
+     */
+    public double getStandardDeviationInNanoseconds() {
+        return standardDeviationInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #coefficientOfVariation}.
+     *
+     * @return the current {@link #coefficientOfVariation}.
+     */
+    public double getCoefficientOfVariation() {
+        return coefficientOfVariation;
+    }
+
+    /**
+     * Getter for {@link #medianAbsoluteDeviationInNanoseconds}.
+     *
+     * @return the current {@link #medianAbsoluteDeviationInNanoseconds}.
+     */
+    public double getMedianAbsoluteDeviationInNanoseconds() {
+        return medianAbsoluteDeviationInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #confidenceIntervalOfMeanInNanoseconds}.
+     *
+     * @return the current {@link #confidenceIntervalOfMeanInNanoseconds}.
+     */
+    @Nullable
+    public ConfidenceInterval getConfidenceIntervalOfMeanInNanoseconds() {
+        return confidenceIntervalOfMeanInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #confidenceIntervalOfMedianInNanoseconds}.
+     *
+     * @return the current {@link #confidenceIntervalOfMedianInNanoseconds}.
+     */
+    @Nullable
+    public ConfidenceInterval getConfidenceIntervalOfMedianInNanoseconds() {
+        return confidenceIntervalOfMedianInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #confidenceIntervalOfPercentile90InNanoseconds}.
+     *
+     * @return the current {@link #confidenceIntervalOfPercentile90InNanoseconds}.
+     */
+    @Nullable
+    public ConfidenceInterval getConfidenceIntervalOfPercentile90InNanoseconds() {
+        return confidenceIntervalOfPercentile90InNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #confidenceIntervalOfPercentile99InNanoseconds}.
+     *
+     * @return the current {@link #confidenceIntervalOfPercentile99InNanoseconds}.
+     */
+    @Nullable
+    public ConfidenceInterval getConfidenceIntervalOfPercentile99InNanoseconds() {
+        return confidenceIntervalOfPercentile99InNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #confidenceIntervalOfPercentile99_9InNanoseconds}.
+     *
+     * @return the current {@link #confidenceIntervalOfPercentile99_9InNanoseconds}.
+     */
+    @Nullable
+    public ConfidenceInterval getConfidenceIntervalOfPercentile99_9InNanoseconds() {
+        return confidenceIntervalOfPercentile99_9InNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #confidenceIntervalOfPercentile99_99InNanoseconds}.
+     *
+     * @return the current {@link #confidenceIntervalOfPercentile99_99InNanoseconds}.
+     */
+    @Nullable
+    public ConfidenceInterval getConfidenceIntervalOfPercentile99_99InNanoseconds() {
+        return confidenceIntervalOfPercentile99_99InNanoseconds;
+    }
+
+    /**
+     * @param value A value.
+     * @return the given value, rounded to three decimal places (not-a-number values are kept).
+     */
+    private static double round(double value) {
+        return Double.isNaN(value) ? value : Math.round(value * 1000) / 1000d;
+    }
+
+    /**
+     * @param confidenceInterval A confidence interval, or null.
+     * @return the given confidence interval preceded by a space, or an empty string if it is null.
+     */
+    private static String toStringOrEmpty(@Nullable ConfidenceInterval confidenceInterval) {
+        return confidenceInterval == null ? "" : " " + confidenceInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "{min=" + round(minimumInNanoseconds)
+                + ", p50=" + round(medianInNanoseconds) + toStringOrEmpty(confidenceIntervalOfMedianInNanoseconds)
+                + ", p90=" + round(percentile90InNanoseconds) + toStringOrEmpty(confidenceIntervalOfPercentile90InNanoseconds)
+                + ", p99=" + round(percentile99InNanoseconds) + toStringOrEmpty(confidenceIntervalOfPercentile99InNanoseconds)
+                + ", p99.9=" + round(percentile99_9InNanoseconds) + toStringOrEmpty(confidenceIntervalOfPercentile99_9InNanoseconds)
+                + ", p99.99=" + round(percentile99_99InNanoseconds) + toStringOrEmpty(confidenceIntervalOfPercentile99_99InNanoseconds)
+                + ", max=" + round(maximumInNanoseconds)
+                + ", mean=" + round(meanInNanoseconds) + toStringOrEmpty(confidenceIntervalOfMeanInNanoseconds)
+                + ", stddev=" + round(standardDeviationInNanoseconds)
+                + ", cv=" + round(coefficientOfVariation)
+                + ", mad=" + round(medianAbsoluteDeviationInNanoseconds)
+                + ", samples=" + numberOfSamples + "}";
+    }
+}
@@ -0,0 +1,108 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class to run a main class in a new JVM, with the same configuration
+ * (i.e., JVM options, module path and class path) as the current JVM.
+ */
+final class ForkedJvm {
+
+    /**
+     * Prefixes of the JVM options of the current JVM which must not be passed to the new JVMs
+     * (e.g., debugging agents, which would try to listen on the same port).
+     */
+    private static final List<String> PREFIXES_OF_OPTIONS_NOT_TO_BE_INHERITED =
+            Arrays.asList("-agentlib:jdwp", "-Xrunjdwp", "-Xdebug");
+
+    /**
+     * Private constructor: this class only has static methods.
+     */
+    private ForkedJvm() {
+    }
+
+    /**
+     * @param mainClass            The class whose main method has to be run in the new JVM.
+     * @param additionalModule     The module which must be resolved in the new JVM (e.g., the module
+     *                             containing the method to benchmark). Unnamed modules are ignored.
+     * @param argumentsOfMainClass The arguments to be passed to the main method.
+     * @return the command to run the given class in a new JVM.
+     */
+    static List<String> getCommand(@NotNull Class<?> mainClass, @NotNull Module additionalModule,
+                                   @NotNull String... argumentsOfMainClass) {
+        return getCommand(mainClass, additionalModule, Collections.emptyList(), argumentsOfMainClass);
+    }
+
+    /**
+     * @param mainClass            The class whose main method has to be run in the new JVM.
+     * @param additionalModule     The module which must be resolved in the new JVM (e.g., the module
+     *                             containing the method to benchmark). Unnamed modules are ignored.
+     * @param additionalOptions    The JVM options to be added to the ones of the current JVM (which
+     *                             they override, if they are the same).
+     * @param argumentsOfMainClass The arguments to be passed to the main method.
+     * @return the command to run the given class in a new JVM.
+     */
+    static List<String> getCommand(@NotNull Class<?> mainClass, @NotNull Module additionalModule,
+                                   @NotNull List<String> additionalOptions, @NotNull String... argumentsOfMainClass) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()  // include the module path, if any
+                .filter(option -> PREFIXES_OF_OPTIONS_NOT_TO_BE_INHERITED.stream().noneMatch(option::startsWith))
+                .forEach(command::add);
+        command.addAll(additionalOptions);
+        String classPath = System.getProperty("java.class.path");
+        if (classPath != null && classPath.length() > 0) {
+            command.add("-cp");
+            command.add(classPath);
+        }
+        if (additionalModule.isNamed() && additionalModule != mainClass.getModule()) {
+            command.add("--add-modules=" + additionalModule.getName());
+        }
+        if (mainClass.getModule().isNamed()) {
+            command.add("-m");
+            command.add(mainClass.getModule().getName() + "/" + mainClass.getName());
+        } else {
+            command.add(mainClass.getName());
+        }
+        command.addAll(Arrays.asList(argumentsOfMainClass));
+        return command;
+    }
+
+    /**
+     * Runs the given command and waits for its termination.
+     *
+     * @param command The command to run (see {@link #getCommand(Class, Module, String...)}).
+     * @return the lines printed by the process on its standard output and standard error.
+     * @throws IOException          If I/O errors occur.
+     * @throws InterruptedException If interrupted while waiting for the process.
+     */
+    static List<String> runAndGetOutputLines(@NotNull List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(Objects.requireNonNull(command))
+                .redirectErrorStream(true)
+                .redirectInput(ProcessBuilder.Redirect.PIPE)
+                .start();
+        process.getOutputStream().close();
+        List<String> outputLines;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), Charset.defaultCharset()))) {
+            outputLines = reader.lines().collect(Collectors.toList());
+        } finally {
+            process.destroy();
+        }
+        process.waitFor();
+        return outputLines;
+    }
+}
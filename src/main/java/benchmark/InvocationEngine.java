@@ -0,0 +1,24 @@
+package benchmark;
+
+/**
+ * Enumeration of the strategies which can be used to invoke a benchmarked
+ * method (and the methods to be executed before and after each iteration).
+ */
+public enum InvocationEngine {
+
+    /**
+     * The method is resolved once into a {@link java.lang.invoke.MethodHandle},
+     * adapted to take no arguments and to return an {@link Object}, which is
+     * then invoked with {@link java.lang.invoke.MethodHandle#invokeExact(Object...)}.
+     * Neither argument arrays nor access checks are involved at invocation time,
+     * hence the JIT compiler can inline the call.
+     */
+    METHOD_HANDLE,
+
+    /**
+     * The method is invoked with {@link java.lang.reflect.Method#invoke(Object, Object...)}.
+     * This is the fallback used when a {@link java.lang.invoke.MethodHandle} cannot be
+     * obtained for the method.
+     */
+    REFLECTION
+}
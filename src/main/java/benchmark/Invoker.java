@@ -0,0 +1,189 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Invoker of a static method, resolved once into a {@link MethodHandle} and then
+ * invoked many times (e.g., in the measurement loop).
+ * The method can only declare parameters of type {@link Blackhole} and, if it is a member of a group of
+ * benchmarks (see {@link Benchmark#group()}), parameters for the state objects shared by the group.
+ */
+final class Invoker {
+
+    /**
+     * The {@link MethodType} of the {@link MethodHandle}s provided by instances of this class, which
+     * take the {@link Blackhole} to use, so that the same handle can be invoked by many threads, each
+     * one with its own {@link Blackhole}.
+     */
+    static final MethodType METHOD_TYPE_OF_HANDLES = MethodType.methodType(Object.class, Blackhole.class);
+
+    /**
+     * The method invoked by this instance.
+     */
+    private final Method method;
+    /**
+     * The {@link InvocationEngine} used by this instance.
+     */
+    private final InvocationEngine invocationEngine;
+    /**
+     * The {@link MethodHandle} invoking the method, with the same parameters as the method.
+     */
+    private final MethodHandle methodHandleWithParameters;
+
+    /**
+     * Constructor.
+     *
+     * @param method                     The method invoked by this instance.
+     * @param invocationEngine           The {@link InvocationEngine} used by this instance.
+     * @param methodHandleWithParameters The {@link MethodHandle} invoking the method, with the
+     *                                   same parameters as the method.
+     */
+    private Invoker(@NotNull Method method, @NotNull InvocationEngine invocationEngine,
+                    @NotNull MethodHandle methodHandleWithParameters) {
+        this.method = Objects.requireNonNull(method);
+        this.invocationEngine = Objects.requireNonNull(invocationEngine);
+        this.methodHandleWithParameters = Objects.requireNonNull(methodHandleWithParameters);
+    }
+
+    /**
+     * Resolves the given method into an {@link Invoker}, preferring
+     * {@link InvocationEngine#METHOD_HANDLE} and falling back to
+     * {@link InvocationEngine#REFLECTION} if a direct {@link MethodHandle}
+     * cannot be obtained.
+     * Invalid methods are signaled with the same exceptions which would be
+     * thrown by {@link Method#invoke(Object, Object...)} with a null target
+     * and arguments not matching the parameters.
+     *
+     * @param method The method to be resolved.
+     * @return the {@link Invoker} for the given method.
+     * @throws NullPointerException     If the method is not static.
+     * @throws IllegalArgumentException If the method takes parameters which are not {@link Blackhole}s.
+     */
+    static Invoker of(@NotNull Method method) {
+        return of(method, false);
+    }
+
+    /**
+     * Like {@link #of(Method)}, but the method can take parameters for state objects, if allowed.
+     *
+     * @param method                 The method to be resolved.
+     * @param stateParametersAllowed True if the method can take parameters, other than {@link Blackhole}s,
+     *                               for state objects (see {@link #getMethodHandle(Map)}).
+     * @return the {@link Invoker} for the given method.
+     * @throws NullPointerException     If the method is not static.
+     * @throws IllegalArgumentException If the method takes parameters which are not {@link Blackhole}s
+     *                                  and state parameters are not allowed.
+     */
+    static Invoker of(@NotNull Method method, boolean stateParametersAllowed) {
+        if (!Modifier.isStatic(Objects.requireNonNull(method).getModifiers())) {
+            throw new NullPointerException("Method " + method + " is not static.");
+        }
+        if (!stateParametersAllowed
+                && Arrays.stream(method.getParameterTypes()).anyMatch(parameterType -> parameterType != Blackhole.class)) {
+            throw new IllegalArgumentException("Method " + method + " takes parameters which are not "
+                    + Blackhole.class.getSimpleName() + "s.");
+        }
+        try {
+            return new Invoker(method, InvocationEngine.METHOD_HANDLE,
+                    MethodHandles.lookup().unreflect(method));  // access checks are performed only here, once
+        } catch (IllegalAccessException e) {
+            try {
+                return new Invoker(method, InvocationEngine.REFLECTION,
+                        MethodHandles.insertArguments(
+                                        MethodHandles.lookup()
+                                                .findVirtual(Method.class, "invoke",
+                                                        MethodType.methodType(Object.class, Object.class, Object[].class))
+                                                .bindTo(method),
+                                        0, (Object) null)
+                                .asCollector(Object[].class, method.getParameterCount())
+                                .asType(MethodType.methodType(Object.class, method.getParameterTypes())));
+            } catch (NoSuchMethodException | IllegalAccessException shouldNeverHappen) {
+                throw new IllegalStateException(shouldNeverHappen);
+            }
+        }
+    }
+
+    /**
+     * @return the {@link MethodHandle} invoking the method, of type {@link #METHOD_TYPE_OF_HANDLES}.
+     * The {@link Blackhole} given as argument to the handle consumes the value returned by the method
+     * (with a method accepting the exact return type, hence primitive values are not boxed) and it is
+     * passed as argument to the {@link Blackhole} parameters of the method, if any; then the handle
+     * returns null.
+     * If the {@link InvocationEngine} is {@link InvocationEngine#REFLECTION}, exceptions thrown by
+     * the method are wrapped in {@link java.lang.reflect.InvocationTargetException}s.
+     */
+    MethodHandle getMethodHandle() {
+        return getMethodHandle(Collections.emptyMap());
+    }
+
+    /**
+     * Like {@link #getMethodHandle()}, but the parameters of the method which are not
+     * {@link Blackhole}s are bound to the state object of their type.
+     *
+     * @param stateObjects The state object of each type of the other parameters of the method.
+     * @return the {@link MethodHandle} invoking the method, of type {@link #METHOD_TYPE_OF_HANDLES}.
+     * @throws IllegalArgumentException If no state objects are given for the type of a parameter.
+     */
+    MethodHandle getMethodHandle(@NotNull Map<Class<?>, Object> stateObjects) {
+        MethodHandle methodHandle = methodHandleWithParameters;
+        Class<?> returnType = methodHandle.type().returnType();
+        methodHandle = returnType == void.class
+                ? MethodHandles.dropArguments(methodHandle, 0, Blackhole.class)
+                : MethodHandles.collectArguments(getConsumerOf(returnType), 1, methodHandle);
+        // now the first parameter is the Blackhole consuming the returned value, followed by the parameters of the method
+        for (int i = methodHandle.type().parameterCount() - 1; i > 0; i--) {
+            final Class<?> PARAMETER_TYPE = methodHandle.type().parameterType(i);
+            if (PARAMETER_TYPE != Blackhole.class) {
+                final Object STATE_OBJECT = stateObjects.get(PARAMETER_TYPE);
+                if (STATE_OBJECT == null) {
+                    throw new IllegalArgumentException("No state object of type " + PARAMETER_TYPE.getName() + " for " + method + ".");
+                }
+                methodHandle = MethodHandles.insertArguments(methodHandle, i, STATE_OBJECT);
+            }
+        }
+        return MethodHandles.permuteArguments(  // the same Blackhole for all the remaining parameters
+                        methodHandle, MethodType.methodType(void.class, Blackhole.class),
+                        new int[methodHandle.type().parameterCount()])
+                .asType(METHOD_TYPE_OF_HANDLES);    // returns null
+    }
+
+    /**
+     * @param typeOfValues The type of the values to be consumed.
+     * @return the {@link MethodHandle} of type {@code (Blackhole, typeOfValues)void} which consumes
+     * the values of the given type with the given {@link Blackhole}.
+     */
+    static MethodHandle getConsumerOf(@NotNull Class<?> typeOfValues) {
+        try {
+            return MethodHandles.lookup()
+                    .findVirtual(Blackhole.class, "consume", MethodType.methodType(
+                            void.class, typeOfValues.isPrimitive() ? typeOfValues : Object.class))
+                    .asType(MethodType.methodType(void.class, Blackhole.class, typeOfValues));
+        } catch (NoSuchMethodException | IllegalAccessException shouldNeverHappen) {
+            throw new IllegalStateException(shouldNeverHappen);
+        }
+    }
+
+    /**
+     * @return the {@link InvocationEngine} used by this instance.
+     */
+    InvocationEngine getInvocationEngine() {
+        return invocationEngine;
+    }
+
+    /**
+     * @return the method invoked by this instance.
+     */
+    Method getMethod() {
+        return method;
+    }
+}
@@ -0,0 +1,396 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Gaussian kernel density estimate of the durations of the executions of a benchmarked method, used to
+ * detect multimodal distributions (e.g., because of JIT compilation tiers, garbage collections or
+ * different code paths), which are not described by a single mean, median or standard deviation.
+ * <p/>
+ * The density is estimated on a grid of {@link #NUMBER_OF_POINTS_OF_THE_GRID} points between the
+ * {@link #TAIL_PROBABILITY} and the 1 - {@link #TAIL_PROBABILITY} quantiles (the durations are first
+ * binned on the grid, hence the cost is linear in the number of durations), with the bandwidth given
+ * by the robust Silverman's rule of thumb, but not narrower than the resolution of the durations (i.e., the
+ * resolution of the clock, divided by the number of executions timed together), which would create spurious modes.
+ * The local maxima of the density are modes only if they are at least {@link #MINIMUM_RELATIVE_DISTANCE_OF_MODES}
+ * apart (closer modes, e.g., created by the jitter of the clock, do not make the mean misleading), if they are
+ * separated by a dip of the density of at least 1 - {@link #MAXIMUM_RELATIVE_DENSITY_AT_DIP} of the lower peak
+ * and if they gather at least {@link #MINIMUM_PROBABILITY_OF_MODE} of the durations: otherwise they are merged
+ * with the adjacent mode.
+ */
+public final class KernelDensityEstimate {
+
+    /**
+     * Minimum number of durations from which the density is estimated.
+     */
+    static final int MINIMUM_NUMBER_OF_DURATIONS = 30;
+    /**
+     * Number of points of the grid on which the density is estimated.
+     */
+    private static final int NUMBER_OF_POINTS_OF_THE_GRID = 512;
+    /**
+     * Probability of each tail of the distribution which is excluded from the estimate (and shown
+     * apart in the histogram), because a few outliers would squeeze the rest of the distribution.
+     */
+    private static final double TAIL_PROBABILITY = 0.005;
+    /**
+     * Minimum distance between two modes, relative to the lower one.
+     */
+    private static final double MINIMUM_RELATIVE_DISTANCE_OF_MODES = 0.1;
+    /**
+     * Maximum density at the dip between two modes, relative to the lower of their peaks.
+     */
+    private static final double MAXIMUM_RELATIVE_DENSITY_AT_DIP = 0.75;
+    /**
+     * Minimum fraction of the durations gathered by each mode.
+     */
+    private static final double MINIMUM_PROBABILITY_OF_MODE = 0.05;
+    /**
+     * Number of rows of the ASCII histogram (see {@link #toAsciiHistogram()}), besides the tails.
+     */
+    private static final int NUMBER_OF_ROWS_OF_HISTOGRAM = 20;
+    /**
+     * Number of characters of the longest bar of the ASCII histogram.
+     */
+    private static final int MAXIMUM_LENGTH_OF_BARS = 50;
+
+    /**
+     * Lower bound of the range of the estimate, i.e., the {@link #TAIL_PROBABILITY} quantile of the durations.
+     */
+    private final double lowerBoundInNanoseconds;
+    /**
+     * Upper bound of the range of the estimate, i.e., the 1 - {@link #TAIL_PROBABILITY} quantile of the durations.
+     */
+    private final double upperBoundInNanoseconds;
+    /**
+     * Bandwidth of the Gaussian kernel (i.e., its standard deviation).
+     */
+    private final double bandwidthInNanoseconds;
+    /**
+     * Locations of the modes, in ascending order.
+     */
+    private final double[] modesInNanoseconds;
+    /**
+     * Fraction of the durations in the range of the estimate gathered by each mode.
+     */
+    private final double[] probabilitiesOfModes;
+    /**
+     * Number of durations in each row of the histogram, i.e., in each of the intervals of equal width
+     * in which the range of the estimate is divided.
+     */
+    private final long[] countsOfRowsOfHistogram;
+    /**
+     * Number of durations below the range of the estimate.
+     */
+    private final long countBelowRange;
+    /**
+     * Number of durations above the range of the estimate.
+     */
+    private final long countAboveRange;
+
+    /**
+     * Constructor.
+     *
+     * @param distinctDurationsInNanoseconds The distinct durations, in ascending order.
+     * @param counts                         The number of occurrences of each duration.
+     * @param resolutionInNanoseconds        The resolution of the durations.
+     */
+    private KernelDensityEstimate(@NotNull double[] distinctDurationsInNanoseconds, @NotNull long[] counts,
+                                  double resolutionInNanoseconds) {
+        final double[] DURATIONS = distinctDurationsInNanoseconds;
+        final long TOTAL_COUNT = Arrays.stream(counts).sum();
+        lowerBoundInNanoseconds = quantile(DURATIONS, counts, TOTAL_COUNT, TAIL_PROBABILITY);
+        upperBoundInNanoseconds = quantile(DURATIONS, counts, TOTAL_COUNT, 1 - TAIL_PROBABILITY);
+        final double ROW_WIDTH = (upperBoundInNanoseconds - lowerBoundInNanoseconds) / NUMBER_OF_ROWS_OF_HISTOGRAM;
+        final double GRID_STEP = (upperBoundInNanoseconds - lowerBoundInNanoseconds) / (NUMBER_OF_POINTS_OF_THE_GRID - 1);
+        countsOfRowsOfHistogram = new long[NUMBER_OF_ROWS_OF_HISTOGRAM];
+        double[] binnedCounts = new double[NUMBER_OF_POINTS_OF_THE_GRID];
+        long countInRange = 0, countBelow = 0, countAbove = 0;
+        double sum = 0, sumOfSquares = 0;
+        double smallestDifference = Double.POSITIVE_INFINITY;   // between the durations in the range
+        for (int i = 0; i < DURATIONS.length; i++) {
+            if (DURATIONS[i] < lowerBoundInNanoseconds) {
+                countBelow += counts[i];
+            } else if (DURATIONS[i] > upperBoundInNanoseconds) {
+                countAbove += counts[i];
+            } else {
+                countInRange += counts[i];
+                sum += counts[i] * DURATIONS[i];
+                sumOfSquares += counts[i] * DURATIONS[i] * DURATIONS[i];
+                if (i > 0 && DURATIONS[i - 1] >= lowerBoundInNanoseconds) {
+                    smallestDifference = Math.min(smallestDifference, DURATIONS[i] - DURATIONS[i - 1]);
+                }
+                if (ROW_WIDTH > 0) {
+                    countsOfRowsOfHistogram[Math.min(NUMBER_OF_ROWS_OF_HISTOGRAM - 1,
+                            (int) ((DURATIONS[i] - lowerBoundInNanoseconds) / ROW_WIDTH))] += counts[i];
+                    final double POSITION_ON_GRID = (DURATIONS[i] - lowerBoundInNanoseconds) / GRID_STEP;
+                    final int INDEX_ON_GRID = Math.min(NUMBER_OF_POINTS_OF_THE_GRID - 2, (int) POSITION_ON_GRID);
+                    final double FRACTION_TO_NEXT_POINT = POSITION_ON_GRID - INDEX_ON_GRID;
+                    binnedCounts[INDEX_ON_GRID] += counts[i] * (1 - FRACTION_TO_NEXT_POINT);
+                    binnedCounts[INDEX_ON_GRID + 1] += counts[i] * FRACTION_TO_NEXT_POINT;
+                } else {
+                    countsOfRowsOfHistogram[0] += counts[i];
+                }
+            }
+        }
+        countBelowRange = countBelow;
+        countAboveRange = countAbove;
+        if (ROW_WIDTH == 0) {   // all the durations in the range are equal
+            bandwidthInNanoseconds = 0;
+            modesInNanoseconds = new double[]{lowerBoundInNanoseconds};
+            probabilitiesOfModes = new double[]{1};
+            return;
+        }
+
+        final double MEAN = sum / countInRange;
+        final double STANDARD_DEVIATION = Math.sqrt(Math.max(0, (sumOfSquares - countInRange * MEAN * MEAN) / (countInRange - 1)));
+        final double INTERQUARTILE_RANGE = quantile(DURATIONS, counts, TOTAL_COUNT, 0.75) - quantile(DURATIONS, counts, TOTAL_COUNT, 0.25);
+        final double SPREAD = INTERQUARTILE_RANGE > 0 ? Math.min(STANDARD_DEVIATION, INTERQUARTILE_RANGE / 1.34) : STANDARD_DEVIATION;
+        bandwidthInNanoseconds = Math.max(Math.max(0.9 * SPREAD * Math.pow(countInRange, -0.2), GRID_STEP),
+                Math.max(smallestDifference, resolutionInNanoseconds));
+        final double[] DENSITY = new double[NUMBER_OF_POINTS_OF_THE_GRID];
+        final double BANDWIDTH_IN_GRID_STEPS = bandwidthInNanoseconds / GRID_STEP;
+        final int HALF_WIDTH_OF_KERNEL = (int) Math.ceil(4 * BANDWIDTH_IN_GRID_STEPS);
+        final double[] KERNEL = IntStream.rangeClosed(0, Math.min(HALF_WIDTH_OF_KERNEL, NUMBER_OF_POINTS_OF_THE_GRID))
+                .mapToDouble(distance -> Math.exp(-0.5 * Math.pow(distance / BANDWIDTH_IN_GRID_STEPS, 2)))
+                .toArray();
+        for (int source = 0; source < NUMBER_OF_POINTS_OF_THE_GRID; source++) {
+            if (binnedCounts[source] == 0) {
+                continue;
+            }
+            for (int target = Math.max(0, source - KERNEL.length + 1);
+                 target < Math.min(NUMBER_OF_POINTS_OF_THE_GRID, source + KERNEL.length); target++) {
+                DENSITY[target] += binnedCounts[source] * KERNEL[Math.abs(target - source)];
+            }
+        }
+
+        List<Integer> peaks = IntStream.range(0, NUMBER_OF_POINTS_OF_THE_GRID)
+                .filter(i -> (i == 0 || DENSITY[i] > DENSITY[i - 1])
+                        && (i == NUMBER_OF_POINTS_OF_THE_GRID - 1 || DENSITY[i] >= DENSITY[i + 1]))
+                .boxed()
+                .collect(Collectors.toCollection(ArrayList::new));
+        final double TOTAL_DENSITY = Arrays.stream(DENSITY).sum();
+        double[] probabilities;
+        while (true) {
+            final int[] DIPS = new int[peaks.size() - 1];   // index of the minimum density between consecutive peaks
+            for (int i = 0; i < DIPS.length; i++) {
+                DIPS[i] = peaks.get(i);
+                for (int j = peaks.get(i); j <= peaks.get(i + 1); j++) {
+                    DIPS[i] = DENSITY[j] < DENSITY[DIPS[i]] ? j : DIPS[i];
+                }
+            }
+            probabilities = new double[peaks.size()];
+            for (int i = 0; i < peaks.size(); i++) {
+                probabilities[i] = Arrays.stream(DENSITY, i == 0 ? 0 : DIPS[i - 1], i == DIPS.length ? NUMBER_OF_POINTS_OF_THE_GRID : DIPS[i])
+                        .sum() / TOTAL_DENSITY;
+            }
+            int closestModes = -1;      // the ones with the smallest relative distance
+            double smallestRelativeDistance = MINIMUM_RELATIVE_DISTANCE_OF_MODES;
+            for (int i = 0; i < DIPS.length; i++) {
+                final double LOWER_MODE = lowerBoundInNanoseconds + peaks.get(i) * GRID_STEP;
+                final double RELATIVE_DISTANCE = (peaks.get(i + 1) - peaks.get(i)) * GRID_STEP / LOWER_MODE;
+                if (RELATIVE_DISTANCE < smallestRelativeDistance) {
+                    smallestRelativeDistance = RELATIVE_DISTANCE;
+                    closestModes = i;
+                }
+            }
+            int shallowestDip = -1;     // the one with the highest density relative to the lower adjacent peak
+            double highestRelativeDensityAtDip = MAXIMUM_RELATIVE_DENSITY_AT_DIP;
+            for (int i = 0; i < DIPS.length; i++) {
+                final double RELATIVE_DENSITY_AT_DIP = DENSITY[DIPS[i]] / Math.min(DENSITY[peaks.get(i)], DENSITY[peaks.get(i + 1)]);
+                if (RELATIVE_DENSITY_AT_DIP > highestRelativeDensityAtDip) {
+                    highestRelativeDensityAtDip = RELATIVE_DENSITY_AT_DIP;
+                    shallowestDip = i;
+                }
+            }
+            int leastProbableMode = 0;
+            for (int i = 1; i < probabilities.length; i++) {
+                leastProbableMode = probabilities[i] < probabilities[leastProbableMode] ? i : leastProbableMode;
+            }
+            final int PEAKS_TO_MERGE = closestModes >= 0 ? closestModes : shallowestDip;
+            if (PEAKS_TO_MERGE >= 0) {  // the lower peak is merged with the higher one
+                peaks.remove(DENSITY[peaks.get(PEAKS_TO_MERGE)] < DENSITY[peaks.get(PEAKS_TO_MERGE + 1)]
+                        ? PEAKS_TO_MERGE : PEAKS_TO_MERGE + 1);
+            } else if (peaks.size() > 1 && probabilities[leastProbableMode] < MINIMUM_PROBABILITY_OF_MODE) {
+                peaks.remove(leastProbableMode);
+            } else {
+                break;
+            }
+        }
+        modesInNanoseconds = peaks.stream().mapToDouble(i -> lowerBoundInNanoseconds + i * GRID_STEP).toArray();
+        probabilitiesOfModes = probabilities;
+    }
+
+    /**
+     * Estimates the density of the durations of each execution.
+     *
+     * @param sortedDurationsInNanoseconds The durations, sorted in ascending order.
+     * @param resolutionInNanoseconds      The resolution of the durations (e.g., the resolution of the clock,
+     *                                     divided by the number of executions timed together), or zero if unknown.
+     * @return the estimate.
+     * @throws IllegalArgumentException If there are less than {@link #MINIMUM_NUMBER_OF_DURATIONS} durations.
+     */
+    public static KernelDensityEstimate of(@NotNull double[] sortedDurationsInNanoseconds, double resolutionInNanoseconds) {
+        final double[] SORTED = sortedDurationsInNanoseconds;
+        if (SORTED.length < MINIMUM_NUMBER_OF_DURATIONS) {
+            throw new IllegalArgumentException("At least " + MINIMUM_NUMBER_OF_DURATIONS + " durations are needed.");
+        }
+        final int NUMBER_OF_DISTINCT_DURATIONS = (int) IntStream.range(0, SORTED.length)
+                .filter(i -> i == 0 || SORTED[i] != SORTED[i - 1])
+                .count();
+        double[] distinctDurations = new double[NUMBER_OF_DISTINCT_DURATIONS];
+        long[] counts = new long[NUMBER_OF_DISTINCT_DURATIONS];
+        for (int i = 0, j = -1; i < SORTED.length; i++) {
+            if (i == 0 || SORTED[i] != SORTED[i - 1]) {
+                distinctDurations[++j] = SORTED[i];
+            }
+            counts[j]++;
+        }
+        return new KernelDensityEstimate(distinctDurations, counts, resolutionInNanoseconds);
+    }
+
+    /**
+     * Estimates the density of the durations of each execution from a histogram of the samples
+     * (each sub-bucket is represented by its central value).
+     *
+     * @param histogramOfSamplesInNanoseconds The histogram of the samples, each one being the duration
+     *                                        of the given number of consecutive executions.
+     * @param numberOfExecutionsInEachSample  The number of executions timed together in each sample.
+     * @param resolutionInNanoseconds         The resolution of the durations of each execution (e.g., the resolution
+     *                                        of the clock, divided by the number of executions timed together),
+     *                                        or zero if unknown.
+     * @return the estimate.
+     * @throws IllegalArgumentException If there are less than {@link #MINIMUM_NUMBER_OF_DURATIONS} samples.
+     */
+    public static KernelDensityEstimate of(@NotNull LatencyHistogram histogramOfSamplesInNanoseconds,
+                                           int numberOfExecutionsInEachSample, double resolutionInNanoseconds) {
+        final LatencyHistogram HISTOGRAM = histogramOfSamplesInNanoseconds;
+        if (HISTOGRAM.getTotalCount() < MINIMUM_NUMBER_OF_DURATIONS) {
+            throw new IllegalArgumentException("At least " + MINIMUM_NUMBER_OF_DURATIONS + " samples are needed.");
+        }
+        final int[] NUMBER_OF_SUB_BUCKETS = {0};
+        HISTOGRAM.forEachNonEmptySubBucket((representativeValue, count) -> NUMBER_OF_SUB_BUCKETS[0]++);
+        double[] distinctDurations = new double[NUMBER_OF_SUB_BUCKETS[0]];
+        long[] counts = new long[NUMBER_OF_SUB_BUCKETS[0]];
+        final int[] INDEX = {0};
+        HISTOGRAM.forEachNonEmptySubBucket((representativeValue, count) -> {
+            distinctDurations[INDEX[0]] = representativeValue / numberOfExecutionsInEachSample;
+            counts[INDEX[0]++] = count;
+        });
+        return new KernelDensityEstimate(distinctDurations, counts, resolutionInNanoseconds);
+    }
+
+    /**
+     * @param sortedValues The distinct values, in ascending order.
+     * @param counts       The number of occurrences of each value.
+     * @param totalCount   The sum of the counts.
+     * @param probability  The probability, in [0, 1].
+     * @return the quantile of the values for the given probability (nearest-rank method).
+     */
+    private static double quantile(@NotNull double[] sortedValues, @NotNull long[] counts, long totalCount, double probability) {
+        final long RANK = Math.max(1, (long) Math.ceil(probability * totalCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < sortedValues.length; i++) {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= RANK) {
+                return sortedValues[i];
+            }
+        }
+        return sortedValues[sortedValues.length - 1];
+    }
+
+    /**
+     * @return true if the distribution has more than one mode.
+     */
+    public boolean isMultimodal() {
+        return modesInNanoseconds.length > 1;
+    }
+
+    /**
+     * @return the locations of the modes, in ascending order.
+     */
+    public double[] getModesInNanoseconds() {
+        return modesInNanoseconds.clone();
+    }
+
+    /**
+     * @return the fraction of the durations (in the range of the estimate) gathered by each mode,
+     * in the order of {@link #getModesInNanoseconds()}.
+     */
+    public double[] getProbabilitiesOfModes() {
+        return probabilitiesOfModes.clone();
+    }
+
+    /**
+     * Getter for {@link #bandwidthInNanoseconds}.
+     *
+     * @return the current {@link #bandwidthInNanoseconds}.
+     */
+    public double getBandwidthInNanoseconds() {
+        return bandwidthInNanoseconds;
+    }
+
+    /**
+     * @param durationInNanoseconds A duration.
+     * @return the given duration, rounded to one decimal below 100 ns and to an integer otherwise.
+     */
+    private static String format(double durationInNanoseconds) {
+        return durationInNanoseconds < 100
+                ? String.valueOf(Math.round(durationInNanoseconds * 10) / 10d)
+                : String.valueOf(Math.round(durationInNanoseconds));
+    }
+
+    /**
+     * @return the histogram of the durations in the range of the estimate (in rows of equal width), with
+     * the number of durations below and above the range, as multiline text; the rows with a mode are marked.
+     */
+    public String toAsciiHistogram() {
+        final double ROW_WIDTH = (upperBoundInNanoseconds - lowerBoundInNanoseconds) / NUMBER_OF_ROWS_OF_HISTOGRAM;
+        final int NUMBER_OF_ROWS = ROW_WIDTH == 0 ? 1 : NUMBER_OF_ROWS_OF_HISTOGRAM;
+        final long MAXIMUM_COUNT = Arrays.stream(countsOfRowsOfHistogram).max().orElse(1);
+        List<String> labels = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        if (countBelowRange > 0) {
+            labels.add("< " + format(lowerBoundInNanoseconds));
+            lines.add(" | " + countBelowRange);
+        }
+        for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+            final double LOWER = lowerBoundInNanoseconds + i * ROW_WIDTH;
+            final double UPPER = LOWER + ROW_WIDTH;
+            final boolean WITH_MODE = Arrays.stream(modesInNanoseconds)
+                    .anyMatch(mode -> mode >= LOWER && (mode < UPPER || UPPER == upperBoundInNanoseconds));
+            final int LENGTH_OF_BAR = (int) Math.round((double) countsOfRowsOfHistogram[i] / MAXIMUM_COUNT * MAXIMUM_LENGTH_OF_BARS);
+            final char[] BAR = new char[LENGTH_OF_BAR];
+            Arrays.fill(BAR, '#');
+            labels.add(ROW_WIDTH == 0 ? format(LOWER)
+                    : "[" + format(LOWER) + ", " + format(UPPER) + (i == NUMBER_OF_ROWS - 1 ? "]" : ")"));
+            lines.add(" | " + new String(BAR) + " " + countsOfRowsOfHistogram[i] + (WITH_MODE ? "\t<- mode" : ""));
+        }
+        if (countAboveRange > 0) {
+            labels.add("> " + format(upperBoundInNanoseconds));
+            lines.add(" | " + countAboveRange);
+        }
+        final int WIDTH_OF_LABELS = labels.stream().mapToInt(String::length).max().orElse(0);
+        return IntStream.range(0, labels.size())
+                .mapToObj(i -> String.format("%" + WIDTH_OF_LABELS + "s ns", labels.get(i)) + lines.get(i))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @Override
+    public String toString() {
+        final String MODES = IntStream.range(0, modesInNanoseconds.length)
+                .mapToObj(i -> "~" + format(modesInNanoseconds[i]) + " ns"
+                        + (isMultimodal() ? " (" + Math.round(probabilitiesOfModes[i] * 100) + "%)" : ""))
+                .collect(Collectors.joining(", "));
+        return isMultimodal()
+                ? "MULTIMODAL, " + modesInNanoseconds.length + " modes at " + MODES
+                + ": the mean and the other summary statistics do not describe any of them"
+                : "unimodal, mode at " + MODES;
+    }
+}
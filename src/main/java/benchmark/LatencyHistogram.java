@@ -0,0 +1,461 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative values (e.g., durations in nanoseconds) with log-linear buckets
+ * (as in HdrHistogram): values are grouped in buckets whose width grows with the magnitude
+ * of the values, so that each value is recorded with the given number of significant decimal
+ * digits, from 1 up to the highest trackable value.
+ * <p/>
+ * The memory used depends only on the precision and on the range of values, not on the number
+ * of recorded values; recording a value takes constant time and does not allocate.
+ * The minimum, the maximum, the sum and the sum of squares of the recorded values are kept
+ * exactly, while the quantiles are approximated within the precision of the buckets.
+ * Histograms with the same configuration can be merged (e.g., histograms recorded by different
+ * threads or in different JVMs) and encoded in a compact binary form (see {@link #encode()}).
+ * Instances are not thread-safe: each thread must record in its own histogram.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Default highest trackable value: one hour, in nanoseconds.
+     */
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = 3_600_000_000_000L;
+    /**
+     * Maximum number of significant decimal digits.
+     */
+    public static final int MAXIMUM_SIGNIFICANT_DIGITS = 5;
+    /**
+     * Version of the format produced by {@link #encode()}.
+     */
+    private static final byte VERSION_OF_ENCODING = 1;
+
+    /**
+     * Number of significant decimal digits of the recorded values.
+     */
+    private final int significantDigits;
+    /**
+     * Highest value which can be recorded: greater values are recorded as this value.
+     */
+    private final long highestTrackableValue;
+    /**
+     * Base-2 logarithm of {@link #subBucketCount}.
+     */
+    private final int subBucketCountMagnitude;
+    /**
+     * Number of sub-buckets in each bucket: values in the first bucket are recorded
+     * exactly, values in each next bucket with half the resolution of the previous one.
+     */
+    private final int subBucketCount;
+    /**
+     * Number of leading zeros of the values in the first bucket, used to find the bucket of a value.
+     */
+    private final int leadingZeroCountBase;
+    /**
+     * Number of recorded values in each sub-bucket (only the upper half of the sub-buckets of each
+     * bucket after the first one is used, because the lower half overlaps with the previous bucket).
+     */
+    private final long[] counts;
+    /**
+     * Number of recorded values.
+     */
+    private long totalCount = 0;
+    /**
+     * Smallest recorded value.
+     */
+    private long minimum = Long.MAX_VALUE;
+    /**
+     * Greatest recorded value.
+     */
+    private long maximum = 0;
+    /**
+     * Sum of the recorded values.
+     */
+    private long sum = 0;
+    /**
+     * Sum of the squares of the recorded values.
+     */
+    private double sumOfSquares = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param highestTrackableValue The highest value which can be recorded (at least 2).
+     * @param significantDigits     The number of significant decimal digits of the recorded values,
+     *                              from 1 to {@link #MAXIMUM_SIGNIFICANT_DIGITS}.
+     * @throws IllegalArgumentException If the parameters are out of their ranges.
+     */
+    public LatencyHistogram(long highestTrackableValue, int significantDigits) {
+        if (significantDigits < 1 || significantDigits > MAXIMUM_SIGNIFICANT_DIGITS || highestTrackableValue < 2) {
+            throw new IllegalArgumentException("Significant digits must be in [1, " + MAXIMUM_SIGNIFICANT_DIGITS
+                    + "] and the highest trackable value must be at least 2.");
+        }
+        this.significantDigits = significantDigits;
+        this.highestTrackableValue = highestTrackableValue;
+        final long LARGEST_VALUE_WITH_SINGLE_UNIT_RESOLUTION = 2 * (long) Math.pow(10, significantDigits);
+        subBucketCountMagnitude = 64 - Long.numberOfLeadingZeros(LARGEST_VALUE_WITH_SINGLE_UNIT_RESOLUTION - 1);
+        subBucketCount = 1 << subBucketCountMagnitude;
+        leadingZeroCountBase = 64 - subBucketCountMagnitude;
+        int numberOfBuckets = 1;
+        long smallestUntrackableValue = subBucketCount;
+        while (smallestUntrackableValue <= highestTrackableValue && smallestUntrackableValue <= Long.MAX_VALUE / 2) {
+            smallestUntrackableValue <<= 1;
+            numberOfBuckets++;
+        }
+        if (smallestUntrackableValue <= highestTrackableValue) {
+            numberOfBuckets++;  // values up to Long.MAX_VALUE
+        }
+        counts = new long[(numberOfBuckets + 1) * (subBucketCount / 2)];
+    }
+
+    /**
+     * Constructor with the {@link #DEFAULT_HIGHEST_TRACKABLE_VALUE}.
+     *
+     * @param significantDigits The number of significant decimal digits of the recorded values,
+     *                          from 1 to {@link #MAXIMUM_SIGNIFICANT_DIGITS}.
+     * @throws IllegalArgumentException If the number of significant digits is out of its range.
+     */
+    public LatencyHistogram(int significantDigits) {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE, significantDigits);
+    }
+
+    /**
+     * Records a value in constant time, without allocating.
+     * Negative values are recorded as zero and values greater than the highest trackable value
+     * are recorded as the highest trackable value.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        final long VALUE_IN_RANGE = Math.max(0, Math.min(value, highestTrackableValue));
+        counts[getIndexOf(VALUE_IN_RANGE)]++;
+        totalCount++;
+        minimum = Math.min(minimum, VALUE_IN_RANGE);
+        maximum = Math.max(maximum, VALUE_IN_RANGE);
+        sum += VALUE_IN_RANGE;
+        sumOfSquares += (double) VALUE_IN_RANGE * VALUE_IN_RANGE;
+    }
+
+    /**
+     * Adds all the values recorded in the given histogram to this one.
+     *
+     * @param other The histogram to add.
+     * @throws IllegalArgumentException If the given histogram has a different configuration.
+     */
+    public void add(@NotNull LatencyHistogram other) {
+        if (other.significantDigits != significantDigits || other.highestTrackableValue != highestTrackableValue) {
+            throw new IllegalArgumentException("Histograms with different configurations cannot be merged.");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        if (other.totalCount > 0) {
+            totalCount += other.totalCount;
+            minimum = Math.min(minimum, other.minimum);
+            maximum = Math.max(maximum, other.maximum);
+            sum += other.sum;
+            sumOfSquares += other.sumOfSquares;
+        }
+    }
+
+    /**
+     * Removes all the recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        minimum = Long.MAX_VALUE;
+        maximum = 0;
+        sum = 0;
+        sumOfSquares = 0;
+    }
+
+    /**
+     * @param value A value in the range of this histogram.
+     * @return the index in {@link #counts} of the sub-bucket of the given value.
+     */
+    private int getIndexOf(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | (subBucketCount - 1));
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return (bucketIndex << (subBucketCountMagnitude - 1)) + subBucketIndex;
+    }
+
+    /**
+     * @param index An index of {@link #counts}.
+     * @return the lowest value recorded in the sub-bucket at the given index.
+     */
+    private long getLowestValueAt(int index) {
+        int bucketIndex = (index >> (subBucketCountMagnitude - 1)) - 1;
+        int subBucketIndex = (index & (subBucketCount / 2 - 1)) + subBucketCount / 2;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketCount / 2;
+            bucketIndex = 0;
+        }
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    /**
+     * @param index An index of {@link #counts}.
+     * @return the number of distinct values recorded in the sub-bucket at the given index.
+     */
+    private long getWidthOfSubBucketAt(int index) {
+        return 1L << Math.max(0, (index >> (subBucketCountMagnitude - 1)) - 1);
+    }
+
+    /**
+     * @param index An index of {@link #counts}.
+     * @return the value in the middle of the sub-bucket at the given index, which represents
+     * the values recorded in the sub-bucket.
+     */
+    private double getRepresentativeValueAt(int index) {
+        return getLowestValueAt(index) + (getWidthOfSubBucketAt(index) - 1) / 2d;
+    }
+
+    /**
+     * @return the number of recorded values.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the smallest recorded value, or 0 if no values have been recorded.
+     */
+    public long getMinimum() {
+        return totalCount == 0 ? 0 : minimum;
+    }
+
+    /**
+     * @return the greatest recorded value, or 0 if no values have been recorded.
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * @return the arithmetic mean of the recorded values (exact, not affected by the precision of the
+     * buckets), or {@link Double#NaN} if no values have been recorded.
+     */
+    public double getMean() {
+        return totalCount == 0 ? Double.NaN : (double) sum / totalCount;
+    }
+
+    /**
+     * @return the sample standard deviation of the recorded values, or {@link Double#NaN} if less than
+     * two values have been recorded.
+     */
+    public double getStandardDeviation() {
+        if (totalCount < 2) {
+            return Double.NaN;
+        }
+        final double MEAN = getMean();
+        return Math.sqrt(Math.max(0, (sumOfSquares - totalCount * MEAN * MEAN) / (totalCount - 1)));
+    }
+
+    /**
+     * @param percentile The percentile, in [0, 100].
+     * @return the given percentile of the recorded values (nearest-rank method), i.e., the highest
+     * value of the sub-bucket where the percentile falls (but not more than the maximum).
+     * @throws IllegalArgumentException If no values have been recorded or the percentile is not in [0, 100].
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            throw new IllegalArgumentException("No values recorded.");
+        }
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100].");
+        }
+        final long RANK = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= RANK) {
+                return Math.max(minimum, Math.min(maximum, getLowestValueAt(i) + getWidthOfSubBucketAt(i) - 1));
+            }
+        }
+        return maximum;
+    }
+
+    /**
+     * Computes the median absolute deviation by merging the sub-buckets below and above the median
+     * (each sub-bucket is represented by its central value), hence in time proportional to the
+     * number of sub-buckets.
+     *
+     * @return the median of the absolute deviations of the recorded values from their median,
+     * approximated within the precision of the buckets, or {@link Double#NaN} if no values have
+     * been recorded.
+     */
+    public double getMedianAbsoluteDeviation() {
+        if (totalCount == 0) {
+            return Double.NaN;
+        }
+        final long RANK_OF_MEDIAN = Math.max(1, (totalCount + 1) / 2);
+        int indexOfMedian = 0;
+        for (long cumulativeCount = counts[0]; cumulativeCount < RANK_OF_MEDIAN; ) {
+            cumulativeCount += counts[++indexOfMedian];
+        }
+        final double MEDIAN = getRepresentativeValueAt(indexOfMedian);
+        int indexBelow = indexOfMedian;         // deviations grow towards the first sub-bucket
+        int indexAbove = indexOfMedian + 1;     // deviations grow towards the last sub-bucket
+        long remainingCountBelow = counts[indexBelow];
+        long cumulativeCount = 0;
+        while (true) {
+            while (remainingCountBelow == 0 && indexBelow > 0) {
+                remainingCountBelow = counts[--indexBelow];
+            }
+            while (indexAbove < counts.length && counts[indexAbove] == 0) {
+                indexAbove++;
+            }
+            double deviationBelow = remainingCountBelow == 0 ? Double.POSITIVE_INFINITY : MEDIAN - getRepresentativeValueAt(indexBelow);
+            double deviationAbove = indexAbove >= counts.length ? Double.POSITIVE_INFINITY : getRepresentativeValueAt(indexAbove) - MEDIAN;
+            if (deviationBelow <= deviationAbove) {
+                cumulativeCount += remainingCountBelow;
+                remainingCountBelow = 0;
+                if (cumulativeCount >= RANK_OF_MEDIAN) {
+                    return deviationBelow;
+                }
+            } else {
+                cumulativeCount += counts[indexAbove++];
+                if (cumulativeCount >= RANK_OF_MEDIAN) {
+                    return deviationAbove;
+                }
+            }
+        }
+    }
+
+    /**
+     * Consumer of the non-empty sub-buckets of a histogram (see {@link #forEachNonEmptySubBucket(SubBucketConsumer)}).
+     */
+    interface SubBucketConsumer {
+        /**
+         * @param representativeValue The value in the middle of the sub-bucket.
+         * @param count               The number of values recorded in the sub-bucket.
+         */
+        void accept(double representativeValue, long count);
+    }
+
+    /**
+     * Gives each non-empty sub-bucket (represented by its central value) to the given consumer,
+     * in ascending order of values.
+     *
+     * @param consumer The consumer of the sub-buckets.
+     */
+    void forEachNonEmptySubBucket(@NotNull SubBucketConsumer consumer) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                consumer.accept(getRepresentativeValueAt(i), counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Encodes this histogram in a compact binary form: the configuration and the exact statistics,
+     * followed by the counts of the sub-buckets up to the last non-empty one, as variable-length
+     * integers (runs of empty sub-buckets are encoded as their negated length).
+     *
+     * @return the encoded histogram, which can be decoded with {@link #decode(byte[])}.
+     */
+    public byte[] encode() {
+        int lastNonEmptyIndex = counts.length - 1;
+        while (lastNonEmptyIndex >= 0 && counts[lastNonEmptyIndex] == 0) {
+            lastNonEmptyIndex--;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 1 + 8 * 6 + 10 * (lastNonEmptyIndex + 1));
+        buffer.put(VERSION_OF_ENCODING)
+                .put((byte) significantDigits)
+                .putLong(highestTrackableValue)
+                .putLong(totalCount)
+                .putLong(minimum)
+                .putLong(maximum)
+                .putLong(sum)
+                .putDouble(sumOfSquares);
+        for (int i = 0; i <= lastNonEmptyIndex; ) {
+            if (counts[i] == 0) {
+                int lengthOfRunOfEmptySubBuckets = 0;
+                while (counts[i] == 0) {
+                    lengthOfRunOfEmptySubBuckets++;
+                    i++;
+                }
+                putVariableLengthLong(buffer, -lengthOfRunOfEmptySubBuckets);
+            } else {
+                putVariableLengthLong(buffer, counts[i++]);
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * @param encodedHistogram A histogram encoded with {@link #encode()}.
+     * @return the decoded histogram.
+     * @throws IllegalArgumentException If the given bytes are not a valid encoded histogram.
+     */
+    public static LatencyHistogram decode(@NotNull byte[] encodedHistogram) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(encodedHistogram);
+            if (buffer.get() != VERSION_OF_ENCODING) {
+                throw new IllegalArgumentException("Unknown encoding of histogram.");
+            }
+            final int SIGNIFICANT_DIGITS = buffer.get();
+            LatencyHistogram histogram = new LatencyHistogram(buffer.getLong(), SIGNIFICANT_DIGITS);
+            histogram.totalCount = buffer.getLong();
+            histogram.minimum = buffer.getLong();
+            histogram.maximum = buffer.getLong();
+            histogram.sum = buffer.getLong();
+            histogram.sumOfSquares = buffer.getDouble();
+            for (int i = 0; buffer.hasRemaining(); ) {
+                long value = getVariableLengthLong(buffer);
+                if (value < 0) {
+                    i -= value;     // run of empty sub-buckets
+                } else {
+                    histogram.counts[i++] = value;
+                }
+            }
+            return histogram;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid encoded histogram.", e);
+        }
+    }
+
+    /**
+     * Writes a signed value as a variable-length integer (ZigZag and LEB128 encodings):
+     * small absolute values take few bytes.
+     *
+     * @param buffer The buffer where to write.
+     * @param value  The value to write.
+     */
+    private static void putVariableLengthLong(@NotNull ByteBuffer buffer, long value) {
+        long zigZagEncodedValue = (value << 1) ^ (value >> 63);
+        while ((zigZagEncodedValue & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigZagEncodedValue & 0x7F) | 0x80));
+            zigZagEncodedValue >>>= 7;
+        }
+        buffer.put((byte) zigZagEncodedValue);
+    }
+
+    /**
+     * @param buffer The buffer from which to read.
+     * @return the signed value read, written with {@link #putVariableLengthLong(ByteBuffer, long)}.
+     */
+    private static long getVariableLengthLong(@NotNull ByteBuffer buffer) {
+        long zigZagEncodedValue = 0;
+        int shift = 0;
+        byte readByte;
+        do {
+            readByte = buffer.get();
+            zigZagEncodedValue |= (long) (readByte & 0x7F) << shift;
+            shift += 7;
+        } while ((readByte & 0x80) != 0 && shift < 64);
+        return (zigZagEncodedValue >>> 1) ^ -(zigZagEncodedValue & 1);
+    }
+
+    @Override
+    public String toString() {
+        return totalCount + " values recorded with " + significantDigits + " significant digits in "
+                + counts.length + " sub-buckets";
+    }
+}
@@ -0,0 +1,398 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Execution of a benchmarked method on several threads at once (see {@link Benchmark#threads()}), or of
+ * the methods of a {@link BenchmarkGroup}, each on its own threads.
+ * Each thread has its own {@link BenchmarkHarness} (hence its own {@link Blackhole}) and runs the
+ * same phases: warmup, one or more measurement steps (e.g., the time windows in
+ * {@link BenchmarkMode#THROUGHPUT} mode) and teardown. All threads start each step together, behind
+ * a barrier, and stop it together: when the shared deadline of the step expires or, if the step is
+ * bounded by iterations, as soon as a thread completes them (at the end of their current iteration),
+ * so that the measurements are taken only while all threads are executing.
+ * During the measurement, each iteration is timed and recorded in a {@link LatencyHistogram} of its
+ * thread, so that no state is shared by the threads, apart from the end of the step.
+ */
+final class MultiThreadedRun {
+
+    /**
+     * Number of significant digits of the histograms of the execution times of each thread, if
+     * none is requested (see {@link Benchmark#histogramSignificantDigits()}).
+     */
+    static final int DEFAULT_SIGNIFICANT_DIGITS = 3;
+    /**
+     * Number of significant digits of the histograms of the execution times of each thread, if
+     * none is requested and the threads are virtual (see {@link Benchmark#virtualThreads()}).
+     */
+    static final int DEFAULT_SIGNIFICANT_DIGITS_ON_VIRTUAL_THREADS = 1;
+    /**
+     * The largest number of threads of a run, i.e., the largest number of parties of a {@link Phaser}.
+     */
+    static final int MAXIMUM_THREADS = 65535;
+
+    /**
+     * The {@link BenchmarkHarness} used by each thread.
+     */
+    private final List<BenchmarkHarness> harnessOfEachThread;
+    /**
+     * The number of invocations of the benchmarked method in each iteration, for each thread.
+     */
+    private final int[] batchSizeOfEachThread;
+    /**
+     * The name of the method executed by each thread, if they execute the members of a group, null otherwise.
+     */
+    private final String[] roleOfEachThread;
+    /**
+     * True if the threads are virtual threads (see {@link VirtualThreads}), false if they are platform threads.
+     */
+    private final boolean onVirtualThreads;
+    /**
+     * The number of warmup iterations of each thread, ignored if {@link #warmUpTimeInNanoseconds} is not null.
+     */
+    private final long warmUpIterations;
+    /**
+     * The duration of the warmup, or null if it is bounded by {@link #warmUpIterations}.
+     */
+    @Nullable
+    private final Long warmUpTimeInNanoseconds;
+    /**
+     * The duration of each measurement step, or null if it is bounded by {@link #maximumIterationsInEachStep}.
+     */
+    @Nullable
+    private final Long durationOfEachMeasurementStepInNanoseconds;
+    /**
+     * The maximum number of iterations of each thread in each measurement step (at least one is executed).
+     */
+    private final long maximumIterationsInEachStep;
+    /**
+     * The number of teardown iterations of each thread.
+     */
+    private final long tearDownIterations;
+    /**
+     * The number of significant digits of the histograms of the execution times.
+     */
+    private final int significantDigits;
+    /**
+     * Where to print the progress.
+     */
+    private final ProgressPrinter progress;
+    /**
+     * Barrier at the start and at the end of each step (warmup, measurement steps, teardown): the
+     * phases 2s and 2s+1 of the {@link Phaser} are respectively the start and the end of the s-th step.
+     * It is terminated if a thread fails, to release the others.
+     */
+    private final Phaser barrier;
+    /**
+     * The value of {@link System#nanoTime()} at the start of the current step.
+     */
+    private volatile long startOfCurrentStepInNanoseconds;
+    /**
+     * The value of {@link System#nanoTime()} after which the current step ends, meaningful only if
+     * the step is bounded by time.
+     */
+    private volatile long deadlineOfCurrentStepInNanoseconds;
+    /**
+     * Flag set by the first thread which completes the current step, to stop the others.
+     */
+    private volatile boolean currentStepEnded;
+    /**
+     * The first error thrown by a thread, if any.
+     */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    /**
+     * The number of iterations executed by each thread (first index) in the warmup, in the measurement
+     * and in the teardown phase (second index).
+     */
+    private final long[][] iterationsOfEachThreadInEachPhase;
+    /**
+     * The number of iterations executed by each thread (first index) in each measurement step (second index).
+     */
+    private final long[][] iterationsOfEachThreadInEachStep;
+    /**
+     * The duration of the measurement for each thread, from the start of each measurement step to the end
+     * of the last iteration of the thread, summed across steps.
+     */
+    private final long[] durationOfMeasurementOfEachThreadInNanoseconds;
+    /**
+     * The actual duration of each measurement step, from its start to the end of the last thread.
+     */
+    private final long[] actualDurationOfEachMeasurementStepInNanoseconds;
+    /**
+     * The histogram of the execution time of each iteration in the measurement steps, for each thread.
+     */
+    private final LatencyHistogram[] histogramOfEachThread;
+
+    /**
+     * Constructor.
+     *
+     * @param harnessOfEachThread             The {@link BenchmarkHarness} used by each thread.
+     * @param batchSizeOfEachThread           The number of invocations of the benchmarked method in each iteration,
+     *                                        for each thread.
+     * @param roleOfEachThread                The name of the method executed by each thread, if they execute the
+     *                                        members of a group, null otherwise.
+     * @param onVirtualThreads                True if the threads have to be virtual threads.
+     * @param warmUpIterations                The number of warmup iterations of each thread.
+     * @param warmUpTimeInNanoseconds         The duration of the warmup, or null if it is bounded by iterations.
+     * @param measurementSteps                The number of measurement steps.
+     * @param durationOfEachStepInNanoseconds The duration of each measurement step, or null if it is bounded by iterations.
+     * @param maximumIterationsInEachStep     The maximum number of iterations of each thread in each measurement step.
+     * @param tearDownIterations              The number of teardown iterations of each thread.
+     * @param significantDigits               The number of significant digits of the histograms of the execution times.
+     * @param progress                        Where to print the progress, with a phase for the warmup,
+     *                                        for the measurement and for the teardown.
+     */
+    MultiThreadedRun(@NotNull List<BenchmarkHarness> harnessOfEachThread, @NotNull int[] batchSizeOfEachThread,
+                     @NotNull String[] roleOfEachThread, boolean onVirtualThreads,
+                     long warmUpIterations, @Nullable Long warmUpTimeInNanoseconds,
+                     int measurementSteps, @Nullable Long durationOfEachStepInNanoseconds, long maximumIterationsInEachStep,
+                     long tearDownIterations, int significantDigits, @NotNull ProgressPrinter progress) {
+        if (batchSizeOfEachThread.length != harnessOfEachThread.size() || roleOfEachThread.length != harnessOfEachThread.size()) {
+            throw new IllegalArgumentException("A batch size and a role are needed for each thread.");
+        }
+        if (harnessOfEachThread.size() > MAXIMUM_THREADS) {
+            throw new IllegalArgumentException("At most " + MAXIMUM_THREADS + " threads can run at once.");
+        }
+        this.harnessOfEachThread = new ArrayList<>(harnessOfEachThread);
+        this.batchSizeOfEachThread = batchSizeOfEachThread.clone();
+        this.roleOfEachThread = roleOfEachThread.clone();
+        this.onVirtualThreads = onVirtualThreads;
+        this.warmUpIterations = warmUpIterations;
+        this.warmUpTimeInNanoseconds = warmUpTimeInNanoseconds;
+        this.durationOfEachMeasurementStepInNanoseconds = durationOfEachStepInNanoseconds;
+        this.maximumIterationsInEachStep = maximumIterationsInEachStep;
+        this.tearDownIterations = tearDownIterations;
+        this.significantDigits = significantDigits;
+        this.progress = progress;
+        final int THREADS = harnessOfEachThread.size();
+        iterationsOfEachThreadInEachPhase = new long[THREADS][3];
+        iterationsOfEachThreadInEachStep = new long[THREADS][measurementSteps];
+        durationOfMeasurementOfEachThreadInNanoseconds = new long[THREADS];
+        actualDurationOfEachMeasurementStepInNanoseconds = new long[measurementSteps];
+        histogramOfEachThread = new LatencyHistogram[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            histogramOfEachThread[i] = new LatencyHistogram(significantDigits);
+        }
+        barrier = new Phaser(THREADS) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                final long NOW = System.nanoTime();
+                final int STEP = phase / 2;   // 0 for the warmup, then the measurement steps, then the teardown
+                final int MEASUREMENT_STEPS = actualDurationOfEachMeasurementStepInNanoseconds.length;
+                if (phase % 2 == 0) {
+                    final Long DURATION = STEP == 0 ? warmUpTimeInNanoseconds
+                            : STEP <= MEASUREMENT_STEPS ? durationOfEachMeasurementStepInNanoseconds : null;
+                    startOfCurrentStepInNanoseconds = NOW;
+                    deadlineOfCurrentStepInNanoseconds = DURATION == null ? NOW : NOW + DURATION;
+                    currentStepEnded = false;
+                } else {
+                    if (STEP >= 1 && STEP <= MEASUREMENT_STEPS) {
+                        actualDurationOfEachMeasurementStepInNanoseconds[STEP - 1] = NOW - startOfCurrentStepInNanoseconds;
+                        progress.update((double) STEP / MEASUREMENT_STEPS);
+                    }
+                    if (STEP == 0 || STEP == MEASUREMENT_STEPS) {
+                        progress.nextPhase();
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Runs the benchmark on all threads and waits for them to complete.
+     * Virtual threads are started by a virtual-thread-per-task executor, each running a thread as a task.
+     *
+     * @throws Throwable The first error thrown by the executed methods in any thread.
+     */
+    void run() throws Throwable {
+        if (onVirtualThreads) {
+            ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            try {
+                for (int i = 0; i < harnessOfEachThread.size(); i++) {
+                    final int INDEX_OF_THREAD = i;
+                    executor.execute(() -> runThread(INDEX_OF_THREAD));
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } else {
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < harnessOfEachThread.size(); i++) {
+                final int INDEX_OF_THREAD = i;
+                threads.add(new Thread(() -> runThread(INDEX_OF_THREAD), "benchmark-thread-" + i));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Executes all the phases of the benchmark in the current thread.
+     *
+     * @param indexOfThread The index of the current thread.
+     */
+    private void runThread(int indexOfThread) {
+        final BenchmarkHarness HARNESS = harnessOfEachThread.get(indexOfThread);
+        final LatencyHistogram HISTOGRAM = histogramOfEachThread[indexOfThread];
+        final int BATCH_SIZE = batchSizeOfEachThread[indexOfThread];
+        final long[] EXECUTION_TIME_IN_NANOSECONDS = new long[1];
+        try {
+            awaitOtherThreads();
+            if (warmUpTimeInNanoseconds == null) {
+                HARNESS.execute(warmUpIterations, BATCH_SIZE);
+                iterationsOfEachThreadInEachPhase[indexOfThread][0] = warmUpIterations;
+            } else {
+                iterationsOfEachThreadInEachPhase[indexOfThread][0] =
+                        HARNESS.countOperationsUntil(deadlineOfCurrentStepInNanoseconds, BATCH_SIZE) / BATCH_SIZE;
+            }
+            awaitOtherThreads();
+            for (int step = 0; step < actualDurationOfEachMeasurementStepInNanoseconds.length; step++) {
+                awaitOtherThreads();
+                long iterations = 0;
+                do {
+                    HARNESS.measure(EXECUTION_TIME_IN_NANOSECONDS, 0, 1, BATCH_SIZE);
+                    HISTOGRAM.record(EXECUTION_TIME_IN_NANOSECONDS[0]);
+                    iterations++;
+                    if (iterations >= maximumIterationsInEachStep || (durationOfEachMeasurementStepInNanoseconds != null
+                            && System.nanoTime() - deadlineOfCurrentStepInNanoseconds >= 0)) {
+                        currentStepEnded = true;    // the other threads stop at the end of their current iteration
+                    }
+                } while (!currentStepEnded);
+                durationOfMeasurementOfEachThreadInNanoseconds[indexOfThread] += System.nanoTime() - startOfCurrentStepInNanoseconds;
+                iterationsOfEachThreadInEachStep[indexOfThread][step] = iterations;
+                iterationsOfEachThreadInEachPhase[indexOfThread][1] += iterations;
+                awaitOtherThreads();
+            }
+            awaitOtherThreads();
+            HARNESS.execute(tearDownIterations, BATCH_SIZE);
+            iterationsOfEachThreadInEachPhase[indexOfThread][2] = tearDownIterations;
+            awaitOtherThreads();
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+            barrier.forceTermination();
+        }
+    }
+
+    /**
+     * @return the number of iterations executed by all threads in the warmup, in the measurement and in the
+     * teardown phase.
+     */
+    long[] getIterationsInEachPhase() {
+        return getIterationsInEachPhase(0, harnessOfEachThread.size());
+    }
+
+    /**
+     * @param fromThread The index of the first thread (inclusive).
+     * @param toThread   The index of the last thread (exclusive).
+     * @return the number of iterations executed by the given threads in the warmup, in the measurement and in the
+     * teardown phase.
+     */
+    long[] getIterationsInEachPhase(int fromThread, int toThread) {
+        long[] iterationsInEachPhase = new long[3];
+        for (int thread = fromThread; thread < toThread; thread++) {
+            for (int i = 0; i < iterationsInEachPhase.length; i++) {
+                iterationsInEachPhase[i] += iterationsOfEachThreadInEachPhase[thread][i];
+            }
+        }
+        return iterationsInEachPhase;
+    }
+
+    /**
+     * @return the number of invocations of the benchmarked method completed by all threads in each measurement step.
+     */
+    long[] getOperationsInEachMeasurementStep() {
+        return getOperationsInEachMeasurementStep(0, harnessOfEachThread.size());
+    }
+
+    /**
+     * @param fromThread The index of the first thread (inclusive).
+     * @param toThread   The index of the last thread (exclusive).
+     * @return the number of invocations of the benchmarked methods completed by the given threads in each measurement step.
+     */
+    long[] getOperationsInEachMeasurementStep(int fromThread, int toThread) {
+        long[] operationsInEachStep = new long[actualDurationOfEachMeasurementStepInNanoseconds.length];
+        for (int thread = fromThread; thread < toThread; thread++) {
+            for (int i = 0; i < operationsInEachStep.length; i++) {
+                operationsInEachStep[i] += iterationsOfEachThreadInEachStep[thread][i] * batchSizeOfEachThread[thread];
+            }
+        }
+        return operationsInEachStep;
+    }
+
+    /**
+     * @return the actual duration of each measurement step, from its start to the end of the last thread.
+     */
+    long[] getDurationOfEachMeasurementStepInNanoseconds() {
+        return actualDurationOfEachMeasurementStepInNanoseconds.clone();
+    }
+
+    /**
+     * @return the execution times of each iteration of all threads in the measurement steps.
+     */
+    LatencyHistogram getHistogramOfAllThreads() {
+        return getHistogramOfThreads(0, histogramOfEachThread.length);
+    }
+
+    /**
+     * @param fromThread The index of the first thread (inclusive).
+     * @param toThread   The index of the last thread (exclusive).
+     * @return the execution times of each iteration of the given threads in the measurement steps.
+     */
+    LatencyHistogram getHistogramOfThreads(int fromThread, int toThread) {
+        LatencyHistogram histogramOfThreads = new LatencyHistogram(significantDigits);
+        Arrays.stream(histogramOfEachThread, fromThread, toThread).forEach(histogramOfThreads::add);
+        return histogramOfThreads;
+    }
+
+    /**
+     * @return the throughput and the latency of each thread and of all of them together.
+     */
+    ThreadGroupStatistics getThreadGroupStatistics() {
+        return getThreadGroupStatistics(0, histogramOfEachThread.length);
+    }
+
+    /**
+     * @param fromThread The index of the first thread (inclusive).
+     * @param toThread   The index of the last thread (exclusive).
+     * @return the throughput and the latency of each of the given threads and of all of them together.
+     */
+    ThreadGroupStatistics getThreadGroupStatistics(int fromThread, int toThread) {
+        List<ThreadStatistics> statisticsOfEachThread = new ArrayList<>();
+        for (int i = fromThread; i < toThread; i++) {
+            statisticsOfEachThread.add(new ThreadStatistics(i, roleOfEachThread[i],
+                    iterationsOfEachThreadInEachPhase[i][1] * batchSizeOfEachThread[i],
+                    durationOfMeasurementOfEachThreadInNanoseconds[i], batchSizeOfEachThread[i], histogramOfEachThread[i]));
+        }
+        return new ThreadGroupStatistics(statisticsOfEachThread,
+                Arrays.stream(getOperationsInEachMeasurementStep(fromThread, toThread)).sum() * 1e9
+                        / Arrays.stream(actualDurationOfEachMeasurementStepInNanoseconds).sum());
+    }
+
+    /**
+     * Waits for all the threads to reach the start or the end of the current step.
+     *
+     * @throws CancellationException If another thread failed.
+     */
+    private void awaitOtherThreads() {
+        if (barrier.arriveAndAwaitAdvance() < 0) {
+            throw new CancellationException("Another thread failed.");
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Run of the benchmarks of many classes spread across worker JVMs running in parallel, to shorten
+ * the run of large suites (see {@link BenchmarkRunner#OPTION_OF_PARALLEL_WORKERS}).
+ * Each class is benchmarked in a new JVM (see {@link SuiteWorker}), started by the first idle worker, so
+ * that the benchmarks of a class (e.g., the members of a {@link Benchmark#group()} and the methods compared
+ * with {@link Benchmark#comparedWith()}) run in the same JVM, and the results are merged into a single report.
+ * Co-running benchmarks compete for the shared resources of the machine and can distort each other's results,
+ * hence:
+ * <ul>
+ *     <li>the workers are at most as many as the physical cores available to this process (or its available
+ *     processors, if fewer, e.g., because of the CPU quota of a container), so that each one has a core;</li>
+ *     <li>if the topology of the CPUs is known and {@link CpuTopology#TASKSET} is available, each worker is
+ *     pinned to a disjoint set of whole physical cores (i.e., with all their hardware threads), otherwise
+ *     the workers are scheduled by the operating system (and a warning is logged);</li>
+ *     <li>each worker JVM sizes its own threads (e.g., of the garbage collector) on its share of the
+ *     processors (with {@code -XX:ActiveProcessorCount});</li>
+ *     <li>the classes with benchmarks running on more threads (see {@link Benchmark#threads()},
+ *     {@link Benchmark#group()} and {@link Benchmark#virtualThreads()}) are benchmarked after the others,
+ *     one at a time, on all the processors.</li>
+ * </ul>
+ * Workers still share the last-level caches and the memory bandwidth: benchmarks sensitive to them should
+ * be run sequentially.
+ */
+final class ParallelSuite {
+
+    /**
+     * The {@link Logger} of current class.
+     */
+    private static final Logger LOGGER_OF_THIS_CLASS = Logger.getLogger(ParallelSuite.class.getCanonicalName());
+    /**
+     * The JVM option followed by the number of processors the JVM has to use.
+     */
+    private static final String OPTION_OF_ACTIVE_PROCESSORS = "-XX:ActiveProcessorCount=";
+
+    /**
+     * The number of workers requested.
+     */
+    private final int requestedWorkers;
+    /**
+     * The number of physical cores available to this process (or of its available processors, if fewer).
+     */
+    private final int numberOfPhysicalCores;
+    /**
+     * The logical CPUs to which each worker is pinned, empty if the workers are not pinned.
+     */
+    private final List<List<Integer>> cpusOfEachWorker;
+    /**
+     * The number of processors used by each worker JVM.
+     */
+    private final int processorsOfEachWorker;
+    /**
+     * The classes benchmarked by the workers in parallel.
+     */
+    private final List<String> classesRunInParallel;
+    /**
+     * The classes with multi-threaded benchmarks, benchmarked one at a time on all the processors.
+     */
+    private final List<String> classesRunAlone;
+    /**
+     * The run of each class, by name of the class.
+     */
+    private final Map<String, RunOfClass> runOfEachClass = new ConcurrentHashMap<>();
+    /**
+     * {@link Instant} at which the run of the suite started.
+     */
+    private Instant startTime;
+    /**
+     * {@link Instant} at which the run of the suite ended.
+     */
+    private Instant endTime;
+
+    /**
+     * Constructor.
+     *
+     * @param classNames       The names of the classes to benchmark.
+     * @param requestedWorkers The number of workers requested.
+     */
+    private ParallelSuite(@NotNull List<String> classNames, int requestedWorkers) {
+        this.requestedWorkers = requestedWorkers;
+        classesRunAlone = classNames.stream().filter(ParallelSuite::hasMultiThreadedBenchmarks).collect(Collectors.toList());
+        classesRunInParallel = classNames.stream().filter(className -> !classesRunAlone.contains(className)).collect(Collectors.toList());
+        final List<List<Integer>> LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE = CpuTopology.getLogicalCpusOfEachPhysicalCore();
+        final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
+        numberOfPhysicalCores = LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE.isEmpty()
+                ? AVAILABLE_PROCESSORS : Math.min(LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE.size(), AVAILABLE_PROCESSORS);
+        final int WORKERS = Math.max(1, Math.min(Math.min(requestedWorkers, numberOfPhysicalCores), classesRunInParallel.size()));
+        if (WORKERS < requestedWorkers) {
+            LOGGER_OF_THIS_CLASS.log(Level.WARNING, "Parallel workers limited to " + WORKERS + " (requested: " + requestedWorkers
+                    + ", physical cores: " + numberOfPhysicalCores + ", classes to benchmark in parallel: "
+                    + classesRunInParallel.size() + ").");
+        }
+        if (WORKERS > 1 && !LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE.isEmpty() && CpuTopology.isTasksetAvailable()) {
+            cpusOfEachWorker = CpuTopology.splitIntoDisjointSets(LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE, WORKERS);
+            processorsOfEachWorker = Math.max(1, Math.min(AVAILABLE_PROCESSORS / WORKERS,
+                    cpusOfEachWorker.stream().mapToInt(List::size).min().orElse(1)));
+        } else {
+            if (WORKERS > 1) {
+                LOGGER_OF_THIS_CLASS.log(Level.WARNING, "Parallel workers not pinned to disjoint CPUs: "
+                        + (LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE.isEmpty() ? "topology of the CPUs unknown." : CpuTopology.TASKSET + " not found."));
+            }
+            cpusOfEachWorker = Collections.nCopies(WORKERS, Collections.emptyList());
+            processorsOfEachWorker = Math.max(1, AVAILABLE_PROCESSORS / WORKERS);
+        }
+    }
+
+    /**
+     * Benchmarks the annotated methods of the given classes with worker JVMs running in parallel.
+     *
+     * @param classNames       The names of the classes to benchmark.
+     * @param requestedWorkers The number of workers requested, which is limited as described in {@link ParallelSuite}.
+     * @return the completed run.
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    static ParallelSuite run(@NotNull List<String> classNames, int requestedWorkers) throws InterruptedException {
+        ParallelSuite parallelSuite = new ParallelSuite(Objects.requireNonNull(classNames), requestedWorkers);
+        parallelSuite.run();
+        return parallelSuite;
+    }
+
+    /**
+     * Runs the workers: first the ones benchmarking {@link #classesRunInParallel}, then {@link #classesRunAlone}.
+     *
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    private void run() throws InterruptedException {
+        startTime = Instant.now();
+        final Queue<String> CLASSES_TO_BENCHMARK = new ConcurrentLinkedQueue<>(classesRunInParallel);
+        ExecutorService executor = Executors.newFixedThreadPool(getNumberOfWorkers());
+        try {
+            for (int i = 0; i < getNumberOfWorkers(); i++) {
+                final int INDEX_OF_WORKER = i;
+                executor.execute(() -> {
+                    for (String className = CLASSES_TO_BENCHMARK.poll(); className != null; className = CLASSES_TO_BENCHMARK.poll()) {
+                        benchmarkClass(className, INDEX_OF_WORKER, cpusOfEachWorker.get(INDEX_OF_WORKER), processorsOfEachWorker);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        for (String className : classesRunAlone) {
+            benchmarkClass(className, null, Collections.emptyList(), 0);
+        }
+        endTime = Instant.now();
+    }
+
+    /**
+     * @param className The name of a class.
+     * @return true if the class has benchmarks running on more threads, which must not co-run with other workers.
+     */
+    private static boolean hasMultiThreadedBenchmarks(@NotNull String className) {
+        try {
+            return Arrays.stream(Class.forName(className, false, ParallelSuite.class.getClassLoader()).getDeclaredMethods())
+                    .map(method -> method.getAnnotation(Benchmark.class))
+                    .filter(Objects::nonNull)
+                    .anyMatch(annotation -> annotation.threads() != 1 || !annotation.group().equals(Benchmark.NO_GROUP)
+                            || annotation.virtualThreads());
+        } catch (ClassNotFoundException e) {
+            return false;   // the error is reported by the worker
+        }
+    }
+
+    /**
+     * Benchmarks the given class in a new worker JVM, waits for its termination and prints the output
+     * of the worker which is not part of the results (e.g., the progress of benchmarking).
+     *
+     * @param className      The name of the class to benchmark.
+     * @param indexOfWorker  The index of the worker, or null if the class is benchmarked alone.
+     * @param cpus           The logical CPUs to which the worker JVM has to be pinned, empty if it must not be pinned.
+     * @param processors     The number of processors the worker JVM has to use, or 0 if not limited.
+     */
+    private void benchmarkClass(@NotNull String className, @Nullable Integer indexOfWorker,
+                                @NotNull List<Integer> cpus, int processors) {
+        RunOfClass runOfClass = new RunOfClass(indexOfWorker);
+        Path fileOfBaseline = null;
+        try {
+            fileOfBaseline = Files.createTempFile("baseline-of-worker", ".txt");
+            Module moduleOfClass;
+            try {
+                moduleOfClass = Class.forName(className, false, ParallelSuite.class.getClassLoader()).getModule();
+            } catch (ClassNotFoundException e) {
+                moduleOfClass = ParallelSuite.class.getModule();
+            }
+            List<String> command = ForkedJvm.getCommand(SuiteWorker.class, moduleOfClass,
+                    processors > 0 ? Collections.singletonList(OPTION_OF_ACTIVE_PROCESSORS + processors) : Collections.emptyList(),
+                    fileOfBaseline.toString(), className);
+            if (!cpus.isEmpty()) {
+                command.addAll(0, Arrays.asList(CpuTopology.TASKSET, "-c", CpuTopology.formatListOfCpus(cpus)));
+            }
+            runOfClass.parse(ForkedJvm.runAndGetOutputLines(command));
+            if (runOfClass.error == null) {
+                runOfClass.baseline = Baseline.load(fileOfBaseline);
+            }
+        } catch (IOException | RuntimeException e) {   // e.g., if the worker JVM cannot be started
+            runOfClass.error = e.toString();
+        } catch (InterruptedException e) {
+            runOfClass.error = e.toString();
+            Thread.currentThread().interrupt();
+        } finally {
+            runOfClass.endTime = Instant.now();
+            if (fileOfBaseline != null) {
+                try {
+                    Files.deleteIfExists(fileOfBaseline);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        runOfEachClass.put(className, runOfClass);
+        synchronized (System.out) {
+            runOfClass.otherOutputLines.forEach(System.out::println);
+            if (runOfClass.error != null) {
+                System.err.println("Error of the worker benchmarking class " + className + ": " + runOfClass.error);
+            }
+        }
+    }
+
+    /**
+     * @return the runs of the classes which have been benchmarked, in the order of the given classes.
+     */
+    private List<Map.Entry<String, RunOfClass>> getRunOfEachClass() {
+        return Stream.concat(classesRunInParallel.stream(), classesRunAlone.stream())
+                .filter(runOfEachClass::containsKey)
+                .map(className -> new AbstractMap.SimpleImmutableEntry<>(className, runOfEachClass.get(className)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the report of each benchmarked method, by benchmarked method, sorted as the results
+     * of {@link BenchmarkRunner}.
+     */
+    private List<Map.Entry<String, String>> getReportOfEachMethod() {
+        return getRunOfEachClass().stream()
+                .flatMap(runOfClass -> runOfClass.getValue().reportOfEachMethod.entrySet().stream())
+                .sorted(Map.Entry.comparingByKey())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the number of worker JVMs running in parallel.
+     */
+    int getNumberOfWorkers() {
+        return cpusOfEachWorker.size();
+    }
+
+    /**
+     * Getter for {@link #cpusOfEachWorker}.
+     *
+     * @return the current {@link #cpusOfEachWorker}.
+     */
+    List<List<Integer>> getCpusOfEachWorker() {
+        return cpusOfEachWorker;
+    }
+
+    /**
+     * Getter for {@link #classesRunAlone}.
+     *
+     * @return the current {@link #classesRunAlone}.
+     */
+    List<String> getClassesRunAlone() {
+        return classesRunAlone;
+    }
+
+    /**
+     * @return the benchmarked methods, sorted as the results of {@link BenchmarkRunner}.
+     */
+    List<String> getBenchmarkedMethods() {
+        return getReportOfEachMethod().stream().map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the error of each class whose worker failed, by name of the class.
+     */
+    Map<String, String> getErrorOfEachFailedClass() {
+        Map<String, String> errorOfEachFailedClass = new LinkedHashMap<>();
+        getRunOfEachClass().stream()
+                .filter(runOfClass -> runOfClass.getValue().error != null)
+                .forEach(runOfClass -> errorOfEachFailedClass.put(runOfClass.getKey(), runOfClass.getValue().error));
+        return errorOfEachFailedClass;
+    }
+
+    /**
+     * @return the results of all the workers merged as {@link Baseline}.
+     */
+    Baseline getBaseline() {
+        return Baseline.merge(getRunOfEachClass().stream()
+                .map(runOfClass -> runOfClass.getValue().baseline)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public String toString() {
+        final List<Map.Entry<String, String>> REPORT_OF_EACH_METHOD = getReportOfEachMethod();
+        final List<Map.Entry<String, RunOfClass>> RUN_OF_EACH_CLASS = getRunOfEachClass();
+        final List<String> COMPARISONS = RUN_OF_EACH_CLASS.stream()
+                .flatMap(runOfClass -> runOfClass.getValue().comparisons.stream())
+                .collect(Collectors.toList());
+        final Map<String, String> ERROR_OF_EACH_FAILED_CLASS = getErrorOfEachFailedClass();
+        return "===================================================================================" + System.lineSeparator() +
+                "====================             BENCHMARK SUMMARY             ====================" + System.lineSeparator() +
+                "===================================================================================" + System.lineSeparator() +
+                System.lineSeparator() +
+                REPORT_OF_EACH_METHOD.size() + " methods benchmarked by " + getNumberOfWorkers() + " worker JVM"
+                + (getNumberOfWorkers() == 1 ? "" : "s") + " in parallel"
+                + " (requested: " + requestedWorkers + ", physical cores: " + numberOfPhysicalCores + ")" + System.lineSeparator() +
+                System.lineSeparator() +
+                "Test started at:\t" + startTime + System.lineSeparator() +
+                "Test ended at:\t\t" + endTime + System.lineSeparator() +
+                "Test duration:\t\t" + BenchmarkRunner.formatDuration(startTime, endTime) + System.lineSeparator() +
+                System.lineSeparator() +
+                "Workers:" + System.lineSeparator() +
+                IntStream.range(0, getNumberOfWorkers())
+                        .mapToObj(i -> "\tworker " + (i + 1) + ":\t" + (cpusOfEachWorker.get(i).isEmpty()
+                                ? "not pinned, " : "pinned to CPUs " + CpuTopology.formatListOfCpus(cpusOfEachWorker.get(i)) + ", ")
+                                + processorsOfEachWorker + " processor" + (processorsOfEachWorker == 1 ? "" : "s"))
+                        .collect(Collectors.joining(System.lineSeparator())) + System.lineSeparator() +
+                (classesRunAlone.isEmpty() ? "" :
+                        "\talone:\t\tclasses with multi-threaded benchmarks, one at a time after the others, on all the processors"
+                                + System.lineSeparator()) +
+                System.lineSeparator() +
+                "Benchmarked classes:" + System.lineSeparator() +
+                IntStream.range(0, RUN_OF_EACH_CLASS.size())
+                        .mapToObj(i -> "\t" + (i + 1) + ")\t" + RUN_OF_EACH_CLASS.get(i).getKey() + "\t" + RUN_OF_EACH_CLASS.get(i).getValue())
+                        .collect(Collectors.joining(System.lineSeparator())) + System.lineSeparator() +
+                System.lineSeparator() +
+                "Benchmarked method" + (REPORT_OF_EACH_METHOD.size() > 1 ? "s" : "") + ": " + System.lineSeparator() +
+                IntStream.range(0, REPORT_OF_EACH_METHOD.size())
+                        .mapToObj(i -> "\t" + (i + 1) + ")\t" + REPORT_OF_EACH_METHOD.get(i).getKey())
+                        .collect(Collectors.joining(System.lineSeparator())) + System.lineSeparator() + System.lineSeparator() +
+                "-----------------------------------------------------------------------------------" + System.lineSeparator() +
+                IntStream.range(0, REPORT_OF_EACH_METHOD.size())
+                        .mapToObj(i -> System.lineSeparator() + (i + 1) + ") " + REPORT_OF_EACH_METHOD.get(i).getValue())
+                        .collect(Collectors.joining(System.lineSeparator())) +
+                (COMPARISONS.isEmpty() ? "" :
+                        System.lineSeparator() +
+                                "-----------------------------------------------------------------------------------" + System.lineSeparator() +
+                                "COMPARISONS" + System.lineSeparator() +
+                                COMPARISONS.stream()
+                                        .map(comparison -> "\t" + comparison)
+                                        .collect(Collectors.joining(System.lineSeparator())) + System.lineSeparator()) +
+                (ERROR_OF_EACH_FAILED_CLASS.isEmpty() ? "" :
+                        System.lineSeparator() +
+                                "-----------------------------------------------------------------------------------" + System.lineSeparator() +
+                                "FAILED WORKERS" + System.lineSeparator() +
+                                ERROR_OF_EACH_FAILED_CLASS.entrySet().stream()
+                                        .map(error -> "\t" + error.getKey() + ": " + error.getValue())
+                                        .collect(Collectors.joining(System.lineSeparator())) + System.lineSeparator());
+    }
+
+    /**
+     * The run of the benchmarks of a class in a worker JVM, as printed by the {@link SuiteWorker}.
+     */
+    private static final class RunOfClass {
+
+        /**
+         * The index of the worker which benchmarked the class, null if the class was benchmarked alone.
+         */
+        @Nullable
+        private final Integer indexOfWorker;
+        /**
+         * {@link Instant} at which the worker JVM was started.
+         */
+        private final Instant startTime = Instant.now();
+        /**
+         * {@link Instant} at which the worker JVM terminated.
+         */
+        private Instant endTime;
+        /**
+         * The calibration of the clock of the worker JVM, null if not printed.
+         */
+        @Nullable
+        private String clockCalibration;
+        /**
+         * The report of each benchmarked method, by benchmarked method.
+         */
+        private final Map<String, String> reportOfEachMethod = new LinkedHashMap<>();
+        /**
+         * The comparisons between the benchmarked methods.
+         */
+        private final List<String> comparisons = new ArrayList<>();
+        /**
+         * The other lines printed by the worker (e.g., the progress of benchmarking and the errors of invalid methods).
+         */
+        private final List<String> otherOutputLines = new ArrayList<>();
+        /**
+         * The error of the worker, null if the worker succeeded.
+         */
+        @Nullable
+        private String error;
+        /**
+         * The results of the worker, null if the worker failed.
+         */
+        @Nullable
+        private Baseline baseline;
+
+        /**
+         * Constructor.
+         *
+         * @param indexOfWorker The index of the worker which benchmarks the class, null if the class is benchmarked alone.
+         */
+        private RunOfClass(@Nullable Integer indexOfWorker) {
+            this.indexOfWorker = indexOfWorker;
+        }
+
+        /**
+         * Parses the lines printed by the {@link SuiteWorker}.
+         *
+         * @param outputLines The lines printed by the worker.
+         */
+        private void parse(@NotNull List<String> outputLines) {
+            Map<String, String> methodOfEachIndex = new LinkedHashMap<>();
+            Map<String, StringBuilder> reportOfEachIndex = new LinkedHashMap<>();
+            for (String line : outputLines) {
+                if (line.startsWith(SuiteWorker.PREFIX_OF_METHOD) || line.startsWith(SuiteWorker.PREFIX_OF_REPORT)) {
+                    final boolean IS_METHOD = line.startsWith(SuiteWorker.PREFIX_OF_METHOD);
+                    final String INDEX_AND_TEXT = line.substring((IS_METHOD ? SuiteWorker.PREFIX_OF_METHOD : SuiteWorker.PREFIX_OF_REPORT).length());
+                    final int END_OF_INDEX = INDEX_AND_TEXT.indexOf(' ');
+                    final String INDEX = INDEX_AND_TEXT.substring(0, END_OF_INDEX);
+                    final String TEXT = INDEX_AND_TEXT.substring(END_OF_INDEX + 1);
+                    if (IS_METHOD) {
+                        methodOfEachIndex.put(INDEX, TEXT);
+                    } else {
+                        StringBuilder report = reportOfEachIndex.computeIfAbsent(INDEX, index -> new StringBuilder());
+                        report.append(report.length() == 0 ? "" : System.lineSeparator()).append(TEXT);
+                    }
+                } else if (line.startsWith(SuiteWorker.PREFIX_OF_COMPARISON)) {
+                    comparisons.add(line.substring(SuiteWorker.PREFIX_OF_COMPARISON.length()));
+                } else if (line.startsWith(SuiteWorker.PREFIX_OF_CLOCK)) {
+                    clockCalibration = line.substring(SuiteWorker.PREFIX_OF_CLOCK.length());
+                } else if (line.startsWith(SuiteWorker.PREFIX_OF_ERROR)) {
+                    error = line.substring(SuiteWorker.PREFIX_OF_ERROR.length());
+                } else {
+                    otherOutputLines.add(line);
+                }
+            }
+            if (error == null && clockCalibration == null) {    // e.g., the worker JVM could not be started
+                error = "Worker terminated without results" + (otherOutputLines.isEmpty() ? "."
+                        : ": " + otherOutputLines.get(otherOutputLines.size() - 1));
+            }
+            methodOfEachIndex.forEach((index, method) -> reportOfEachMethod.put(method,
+                    reportOfEachIndex.getOrDefault(index, new StringBuilder()).toString()));
+        }
+
+        @Override
+        public String toString() {
+            return (indexOfWorker == null ? "alone" : "worker " + (indexOfWorker + 1)) + "\t"
+                    + BenchmarkRunner.formatDuration(startTime, endTime)
+                    + (clockCalibration == null ? "" : "\tclock: " + clockCalibration);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package benchmark;
+
+/**
+ * Change of the performance of a benchmarked method with respect to a {@link Baseline}.
+ */
+public enum PerformanceChange {
+
+    /**
+     * The method is significantly slower than in the baseline, by more than its {@link Benchmark#regressionThreshold()}.
+     */
+    REGRESSION,
+
+    /**
+     * The method is significantly faster than in the baseline, by more than its {@link Benchmark#regressionThreshold()}.
+     */
+    IMPROVEMENT,
+
+    /**
+     * The difference from the baseline is not statistically significant or does not exceed the threshold.
+     */
+    NO_CHANGE
+}
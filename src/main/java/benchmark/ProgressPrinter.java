@@ -0,0 +1,99 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Class to print the progress of a benchmark, which is made of consecutive phases
+ * (e.g., warmup, measurement, teardown).
+ * The progress is printed as a percentage, in steps of at least {@link #EPSILON_PERCENTAGE}.
+ */
+final class ProgressPrinter {
+
+    /**
+     * Minimum increment (in percentage points) of the progress between two prints.
+     */
+    static final double EPSILON_PERCENTAGE = 0.05;
+
+    /**
+     * The {@link PrintStream} where to print, or null if the progress must not be visible.
+     */
+    @Nullable
+    private final PrintStream out;
+    /**
+     * The fraction of the whole benchmark represented by each phase (they sum up to 1).
+     */
+    private final double[] weightOfEachPhase;
+    /**
+     * The index of the current phase.
+     */
+    private int currentPhase = 0;
+    /**
+     * The last printed percentage, or a negative value if nothing has been printed yet.
+     */
+    private double lastPrintedPercentage = -1;
+
+    /**
+     * Constructor. The header of the progress is printed.
+     *
+     * @param out               The {@link PrintStream} where to print, or null if the progress must not be visible.
+     * @param methodToBenchmark The method under benchmark.
+     * @param weightOfEachPhase The relative weight of each phase (e.g., the number of its iterations).
+     *                          If all weights are zero, phases are equally weighted.
+     */
+    ProgressPrinter(@Nullable PrintStream out, @NotNull Method methodToBenchmark, double... weightOfEachPhase) {
+        this.out = out;
+        final double TOTAL_WEIGHT = Arrays.stream(weightOfEachPhase).sum();
+        this.weightOfEachPhase = Arrays.stream(weightOfEachPhase)
+                .map(weight -> TOTAL_WEIGHT > 0 ? weight / TOTAL_WEIGHT : 1d / weightOfEachPhase.length)
+                .toArray();
+        if (out != null) {
+            out.println("\t - Method: " + methodToBenchmark);
+            out.print("\t\t\tProgress: ");
+        }
+    }
+
+    /**
+     * @return true if the progress is printed, false otherwise.
+     */
+    boolean isVisible() {
+        return out != null;
+    }
+
+    /**
+     * Prints the progress, if it increased enough since the last print.
+     *
+     * @param completedFractionOfCurrentPhase The completed fraction (in [0, 1]) of the current phase.
+     */
+    void update(double completedFractionOfCurrentPhase) {
+        if (out != null) {
+            double completedFraction = Arrays.stream(weightOfEachPhase, 0, currentPhase).sum()
+                    + weightOfEachPhase[currentPhase] * Math.min(1, completedFractionOfCurrentPhase);
+            double currentPercentage = Math.round(completedFraction * 100 * 100) / 100d;  // two decimals
+            if (lastPrintedPercentage < 0 || currentPercentage - lastPrintedPercentage >= EPSILON_PERCENTAGE) {
+                out.print(currentPercentage + "%  ");
+                lastPrintedPercentage = currentPercentage;
+            }
+        }
+    }
+
+    /**
+     * Moves to the next phase.
+     */
+    void nextPhase() {
+        currentPhase = Math.min(currentPhase + 1, weightOfEachPhase.length - 1);
+    }
+
+    /**
+     * Terminates the progress.
+     */
+    void end() {
+        if (out != null) {
+            out.println(System.lineSeparator());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+
+/**
+ * File with the raw execution times (in nanoseconds) of the iterations measured by a benchmark,
+ * in the order in which they were measured (see {@link Benchmark#rawSamplesDirectory()}), which
+ * can be analyzed after the benchmark, e.g., with a different warmup cut or different percentiles.
+ * <p/>
+ * The file starts with a header of {@link #HEADER_SIZE_IN_BYTES} bytes (the magic number
+ * {@link #MAGIC_NUMBER}, the batch size as an int and the number of samples as a long), followed
+ * by the samples as longs; all values are little-endian. Any bytes after the samples (e.g., the unused
+ * part of the last segment mapped by the {@link RawSampleWriter}) are ignored.
+ * The file is read in memory-mapped segments of {@link #SAMPLES_PER_SEGMENT} samples, hence files
+ * much larger than the heap can be analyzed in constant memory.
+ */
+public final class RawSampleFile {
+
+    /**
+     * Extension of the name of the files written by the benchmarks.
+     */
+    public static final String FILE_EXTENSION = ".samples";
+    /**
+     * Number identifying the files of raw samples (and the version of the format).
+     */
+    static final int MAGIC_NUMBER = 0x42534D31;    // "BSM1"
+    /**
+     * Size of the header of the file.
+     */
+    static final int HEADER_SIZE_IN_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    /**
+     * Number of samples in each memory-mapped segment of the file.
+     */
+    static final int SAMPLES_PER_SEGMENT = 1 << 20;
+    /**
+     * Byte order of the values in the file.
+     */
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Path of the file.
+     */
+    private final Path path;
+    /**
+     * Number of executions timed together in each sample (i.e., the batch size).
+     */
+    private final int batchSize;
+    /**
+     * Number of samples in the file.
+     */
+    private final long numberOfSamples;
+
+    /**
+     * Constructor.
+     *
+     * @param path            The path of the file.
+     * @param batchSize       The number of executions timed together in each sample.
+     * @param numberOfSamples The number of samples in the file.
+     */
+    private RawSampleFile(@NotNull Path path, int batchSize, long numberOfSamples) {
+        this.path = path;
+        this.batchSize = batchSize;
+        this.numberOfSamples = numberOfSamples;
+    }
+
+    /**
+     * Opens a file of raw samples, reading its header.
+     *
+     * @param path The path of the file.
+     * @return the opened file.
+     * @throws IOException If the file cannot be read or is not a (complete) file of raw samples.
+     */
+    public static RawSampleFile open(@NotNull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE_IN_BYTES).order(BYTE_ORDER);
+            for (long position = 0; header.hasRemaining(); ) {
+                final int READ_BYTES = channel.read(header, position);
+                if (READ_BYTES < 0) {
+                    break;
+                }
+                position += READ_BYTES;
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE_IN_BYTES || header.getInt() != MAGIC_NUMBER) {
+                throw new IOException(path + " is not a file of raw samples.");
+            }
+            final int BATCH_SIZE = header.getInt();
+            final long NUMBER_OF_SAMPLES = header.getLong();
+            if (BATCH_SIZE <= 0 || NUMBER_OF_SAMPLES < 0
+                    || channel.size() < HEADER_SIZE_IN_BYTES + NUMBER_OF_SAMPLES * Long.BYTES) {
+                throw new IOException(path + " is corrupted or incomplete.");
+            }
+            return new RawSampleFile(path, BATCH_SIZE, NUMBER_OF_SAMPLES);
+        }
+    }
+
+    /**
+     * Gives the samples in the given range to the given consumer, in the order in which they were measured.
+     *
+     * @param firstSample The index of the first sample (inclusive), e.g., to skip further warmup iterations.
+     * @param endSample   The index of the last sample (exclusive).
+     * @param consumer    The consumer of the samples.
+     * @throws IOException               If the file cannot be read.
+     * @throws IndexOutOfBoundsException If the range is not in the file.
+     */
+    public void forEach(long firstSample, long endSample, @NotNull LongConsumer consumer) throws IOException {
+        if (firstSample < 0 || endSample > numberOfSamples || firstSample > endSample) {
+            throw new IndexOutOfBoundsException("Range [" + firstSample + ", " + endSample + ") not in [0, " + numberOfSamples + ").");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (long startOfSegment = firstSample; startOfSegment < endSample; startOfSegment += SAMPLES_PER_SEGMENT) {
+                final int SAMPLES_IN_SEGMENT = (int) Math.min(SAMPLES_PER_SEGMENT, endSample - startOfSegment);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE_IN_BYTES + startOfSegment * Long.BYTES, (long) SAMPLES_IN_SEGMENT * Long.BYTES);
+                segment.order(BYTE_ORDER);
+                for (int i = 0; i < SAMPLES_IN_SEGMENT; i++) {
+                    consumer.accept(segment.getLong());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param firstSample The index of the first sample to consider, e.g., to skip further warmup iterations.
+     * @return the {@link StreamingStatistics} of the samples from the given one to the last one.
+     * @throws IOException If the file cannot be read.
+     */
+    public StreamingStatistics computeStreamingStatistics(long firstSample) throws IOException {
+        StreamingStatistics statistics = new StreamingStatistics();
+        forEach(firstSample, numberOfSamples, statistics::record);
+        return statistics;
+    }
+
+    /**
+     * @param firstSample       The index of the first sample to consider, e.g., to skip further warmup iterations.
+     * @param significantDigits The number of significant digits of the histogram.
+     * @return the {@link LatencyHistogram} of the samples from the given one to the last one, from which any
+     * percentile can be extracted.
+     * @throws IOException If the file cannot be read.
+     */
+    public LatencyHistogram computeHistogram(long firstSample, int significantDigits) throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram(significantDigits);
+        forEach(firstSample, numberOfSamples, histogram::record);
+        return histogram;
+    }
+
+    /**
+     * Computes the statistics of the duration of each execution (i.e., each sample is divided by
+     * the {@link #batchSize}) in a single pass over the file, as they are reported by the benchmark.
+     *
+     * @param firstSample       The index of the first sample to consider, e.g., to skip further warmup iterations.
+     * @param significantDigits The number of significant digits of the histogram from which the quantiles
+     *                          are computed.
+     * @param confidenceLevel   The confidence level of the confidence interval of the mean.
+     * @return the {@link DistributionStatistics} of the samples from the given one to the last one.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If there are no samples from the given one.
+     */
+    public DistributionStatistics computeDistributionStatistics(long firstSample, int significantDigits, double confidenceLevel)
+            throws IOException {
+        StreamingStatistics statistics = new StreamingStatistics();
+        LatencyHistogram histogram = new LatencyHistogram(significantDigits);
+        forEach(firstSample, numberOfSamples, ((LongConsumer) statistics::record).andThen(histogram::record));
+        return new DistributionStatistics(statistics, histogram, batchSize, confidenceLevel);
+    }
+
+    /**
+     * Getter for {@link #path}.
+     *
+     * @return the current {@link #path}.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Getter for {@link #batchSize}.
+     *
+     * @return the current {@link #batchSize}.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Getter for {@link #numberOfSamples}.
+     *
+     * @return the current {@link #numberOfSamples}.
+     */
+    public long getNumberOfSamples() {
+        return numberOfSamples;
+    }
+
+    @Override
+    public String toString() {
+        return numberOfSamples + " samples of batches of " + batchSize + " executions in " + path;
+    }
+}
@@ -0,0 +1,137 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writer of a {@link RawSampleFile}: samples are appended to memory-mapped segments of the file,
+ * mapped one after the other as they are filled, hence the samples never live on the heap and
+ * appending a sample does not allocate (except when a new segment is mapped).
+ * The number of samples is written in the header when the writer is closed: the unused part of the last
+ * segment is left at the end of the file (which is not truncated, since truncating a file while it is
+ * mapped fails on some platforms, e.g., on Windows) and it is ignored by {@link RawSampleFile}.
+ */
+final class RawSampleWriter implements Closeable {
+
+    /**
+     * Size of each memory-mapped segment.
+     */
+    private static final long SEGMENT_SIZE_IN_BYTES = (long) RawSampleFile.SAMPLES_PER_SEGMENT * Long.BYTES;
+
+    /**
+     * Channel of the file.
+     */
+    private final FileChannel channel;
+    /**
+     * Number of executions timed together in each sample.
+     */
+    private final int batchSize;
+    /**
+     * Memory-mapped segment being filled, or null if no segment has been mapped yet.
+     */
+    private MappedByteBuffer segment = null;
+    /**
+     * Number of samples appended.
+     */
+    private long numberOfSamples = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param channel   The channel of the file, whose header has already been written.
+     * @param batchSize The number of executions timed together in each sample.
+     */
+    private RawSampleWriter(@NotNull FileChannel channel, int batchSize) {
+        this.channel = channel;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates (or overwrites) a file of raw samples.
+     *
+     * @param path      The path of the file.
+     * @param batchSize The number of executions timed together in each sample.
+     * @return the writer of the file.
+     * @throws IOException If the file cannot be created.
+     */
+    static RawSampleWriter create(@NotNull Path path, int batchSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            writeHeader(channel, batchSize, 0);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new RawSampleWriter(channel, batchSize);
+    }
+
+    /**
+     * @param channel         The channel of the file.
+     * @param batchSize       The number of executions timed together in each sample.
+     * @param numberOfSamples The number of samples in the file.
+     * @throws IOException If the header cannot be written.
+     */
+    private static void writeHeader(@NotNull FileChannel channel, int batchSize, long numberOfSamples) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RawSampleFile.HEADER_SIZE_IN_BYTES).order(RawSampleFile.BYTE_ORDER)
+                .putInt(RawSampleFile.MAGIC_NUMBER)
+                .putInt(batchSize)
+                .putLong(numberOfSamples);
+        header.flip();
+        for (long position = 0; header.hasRemaining(); ) {
+            position += channel.write(header, position);
+        }
+    }
+
+    /**
+     * Appends a sample, mapping a new segment of the file if the current one is full.
+     *
+     * @param executionTimeInNanoseconds The sample.
+     * @throws UncheckedIOException If a new segment cannot be mapped.
+     */
+    void append(long executionTimeInNanoseconds) {
+        if (segment == null || !segment.hasRemaining()) {
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE,
+                        RawSampleFile.HEADER_SIZE_IN_BYTES + numberOfSamples * Long.BYTES, SEGMENT_SIZE_IN_BYTES);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            segment.order(RawSampleFile.BYTE_ORDER);
+        }
+        segment.putLong(executionTimeInNanoseconds);
+        numberOfSamples++;
+    }
+
+    /**
+     * Getter for {@link #numberOfSamples}.
+     *
+     * @return the current {@link #numberOfSamples}.
+     */
+    long getNumberOfSamples() {
+        return numberOfSamples;
+    }
+
+    /**
+     * Writes the number of samples in the header.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            segment = null;
+            writeHeader(channel, batchSize, numberOfSamples);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import utils.StatisticsUtility;
+
+import java.util.Objects;
+
+/**
+ * Check of a benchmarked method against its {@link Baseline}, with the same tests used by a
+ * {@link BenchmarkComparison}: if the samples are kept both in the baseline and in the current run,
+ * the medians are compared and the significance is given by the Mann-Whitney U test, otherwise the means
+ * are compared and the significance is given by the Welch's t-test.
+ * A significant change is a {@link PerformanceChange#REGRESSION} (or an {@link PerformanceChange#IMPROVEMENT})
+ * only if it exceeds the {@link Benchmark#regressionThreshold()} of the method: small significant
+ * changes are common between runs on the same machine (e.g., because of a different code layout).
+ */
+public final class RegressionCheck {
+
+    /**
+     * The summary of the benchmark in the baseline.
+     */
+    private final BenchmarkSummary baseline;
+    /**
+     * The summary of the benchmark in the current run.
+     */
+    private final BenchmarkSummary current;
+    /**
+     * Change of the compared statistic (median or mean) from the {@link #baseline} to the {@link #current}
+     * run, relative to the former: positive if the method is slower.
+     */
+    private final double relativeChange;
+    /**
+     * True if the medians are compared (with the Mann-Whitney U test), false if the means are compared
+     * (with the Welch's t-test).
+     */
+    private final boolean mediansCompared;
+    /**
+     * Two-sided p-value of the test.
+     */
+    private final double pValue;
+    /**
+     * Maximum relative change which is not considered a regression (or an improvement).
+     */
+    private final double regressionThreshold;
+    /**
+     * Significance level of the test.
+     */
+    private final double significanceLevel;
+    /**
+     * The outcome of the check.
+     */
+    private final PerformanceChange performanceChange;
+
+    /**
+     * Checks the current run of a benchmark against its baseline.
+     *
+     * @param baseline            The summary of the benchmark in the baseline.
+     * @param current             The summary of the benchmark in the current run.
+     * @param regressionThreshold The maximum relative change which is not considered a regression (or an improvement).
+     * @param significanceLevel   The significance level of the test.
+     */
+    RegressionCheck(@NotNull BenchmarkSummary baseline, @NotNull BenchmarkSummary current,
+                    double regressionThreshold, double significanceLevel) {
+        this.baseline = Objects.requireNonNull(baseline);
+        this.current = Objects.requireNonNull(current);
+        this.regressionThreshold = regressionThreshold;
+        this.significanceLevel = significanceLevel;
+        final double[] SORTED_DURATIONS_IN_BASELINE = baseline.getSortedDurationsInNanoseconds();
+        final double[] SORTED_DURATIONS_IN_CURRENT_RUN = current.getSortedDurationsInNanoseconds();
+        mediansCompared = SORTED_DURATIONS_IN_BASELINE != null && SORTED_DURATIONS_IN_CURRENT_RUN != null;
+        if (mediansCompared) {
+            relativeChange = (current.getMedianInNanoseconds() - baseline.getMedianInNanoseconds())
+                    / baseline.getMedianInNanoseconds();
+            pValue = StatisticsUtility.mannWhitneyUTestPValue(SORTED_DURATIONS_IN_BASELINE, SORTED_DURATIONS_IN_CURRENT_RUN);
+        } else {
+            relativeChange = (current.getMeanInNanoseconds() - baseline.getMeanInNanoseconds())
+                    / baseline.getMeanInNanoseconds();
+            pValue = StatisticsUtility.welchTTestPValue(
+                    baseline.getMeanInNanoseconds(), baseline.getStandardDeviationInNanoseconds(), baseline.getNumberOfSamples(),
+                    current.getMeanInNanoseconds(), current.getStandardDeviationInNanoseconds(), current.getNumberOfSamples());
+        }
+        performanceChange = !(pValue < significanceLevel) || Math.abs(relativeChange) <= regressionThreshold
+                ? PerformanceChange.NO_CHANGE
+                : relativeChange > 0 ? PerformanceChange.REGRESSION : PerformanceChange.IMPROVEMENT;
+    }
+
+    /**
+     * Getter for {@link #baseline}.
+     *
+     * @return the current {@link #baseline}.
+     */
+    public BenchmarkSummary getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * Getter for {@link #current}.
+     *
+     * @return the current {@link #current}.
+     */
+    public BenchmarkSummary getCurrent() {
+        return current;
+    }
+
+    /**
+     * Getter for {@link #relativeChange}.
+     *
+     * @return the current {@link #relativeChange}.
+     */
+    public double getRelativeChange() {
+        return relativeChange;
+    }
+
+    /**
+     * Getter for {@link #mediansCompared}.
+     *
+     * @return the current {@link #mediansCompared}.
+     */
+    public boolean isMediansCompared() {
+        return mediansCompared;
+    }
+
+    /**
+     * Getter for {@link #pValue}.
+     *
+     * @return the current {@link #pValue}.
+     */
+    public double getPValue() {
+        return pValue;
+    }
+
+    /**
+     * Getter for {@link #regressionThreshold}.
+     *
+     * @return the current {@link #regressionThreshold}.
+     */
+    public double getRegressionThreshold() {
+        return regressionThreshold;
+    }
+
+    /**
+     * Getter for {@link #significanceLevel}.
+     *
+     * @return the current {@link #significanceLevel}.
+     */
+    public double getSignificanceLevel() {
+        return significanceLevel;
+    }
+
+    /**
+     * Getter for {@link #performanceChange}.
+     *
+     * @return the current {@link #performanceChange}.
+     */
+    public PerformanceChange getPerformanceChange() {
+        return performanceChange;
+    }
+
+    /**
+     * @param fraction A fraction.
+     * @return the given fraction as a percentage, rounded to one decimal.
+     */
+    private static String toPercentage(double fraction) {
+        return Math.round(fraction * 1000) / 10d + "%";
+    }
+
+    @Override
+    public String toString() {
+        return performanceChange + "\t" + baseline.getNameOfBenchmark() + ": "
+                + (mediansCompared ? "median " : "mean ") + toPercentage(Math.abs(relativeChange))
+                + (relativeChange > 0 ? " slower" : " faster") + " than baseline (threshold " + toPercentage(regressionThreshold)
+                + ", " + (mediansCompared ? "Mann-Whitney" : "Welch") + " p=" + (float) pValue + ")";
+    }
+}
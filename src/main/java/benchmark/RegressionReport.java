@@ -0,0 +1,103 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Result of the comparison of a run of benchmarks with a {@link Baseline}: the {@link RegressionCheck}
+ * of each benchmark present in both, and the benchmarks present in only one of them.
+ */
+public final class RegressionReport {
+
+    /**
+     * The checks of the benchmarks present both in the baseline and in the current run.
+     */
+    private final List<RegressionCheck> checks;
+    /**
+     * Names (see {@link BenchmarkSummary#getNameOfBenchmark()}) of the benchmarks of the current run
+     * which are not in the baseline (e.g., new benchmarks).
+     */
+    private final List<String> benchmarksNotInBaseline;
+    /**
+     * Names (see {@link BenchmarkSummary#getNameOfBenchmark()}) of the benchmarks in the baseline
+     * which have not been run (e.g., removed or renamed benchmarks).
+     */
+    private final List<String> benchmarksNotRun;
+
+    /**
+     * Constructor.
+     *
+     * @param checks                  The checks of the benchmarks present both in the baseline and in the current run.
+     * @param benchmarksNotInBaseline The names of the benchmarks of the current run which are not in the baseline.
+     * @param benchmarksNotRun        The names of the benchmarks in the baseline which have not been run.
+     */
+    RegressionReport(@NotNull List<RegressionCheck> checks, @NotNull List<String> benchmarksNotInBaseline,
+                     @NotNull List<String> benchmarksNotRun) {
+        this.checks = Collections.unmodifiableList(checks);
+        this.benchmarksNotInBaseline = Collections.unmodifiableList(benchmarksNotInBaseline);
+        this.benchmarksNotRun = Collections.unmodifiableList(benchmarksNotRun);
+    }
+
+    /**
+     * @param performanceChange A kind of change.
+     * @return the checks with the given outcome.
+     */
+    public List<RegressionCheck> getChecks(@NotNull PerformanceChange performanceChange) {
+        return checks.stream()
+                .filter(check -> check.getPerformanceChange() == performanceChange)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return true if a benchmark regressed by more than its threshold.
+     */
+    public boolean hasRegressions() {
+        return !getChecks(PerformanceChange.REGRESSION).isEmpty();
+    }
+
+    /**
+     * Getter for {@link #checks}.
+     *
+     * @return the current {@link #checks}.
+     */
+    public List<RegressionCheck> getChecks() {
+        return checks;
+    }
+
+    /**
+     * Getter for {@link #benchmarksNotInBaseline}.
+     *
+     * @return the current {@link #benchmarksNotInBaseline}.
+     */
+    public List<String> getBenchmarksNotInBaseline() {
+        return benchmarksNotInBaseline;
+    }
+
+    /**
+     * Getter for {@link #benchmarksNotRun}.
+     *
+     * @return the current {@link #benchmarksNotRun}.
+     */
+    public List<String> getBenchmarksNotRun() {
+        return benchmarksNotRun;
+    }
+
+    @Override
+    public String toString() {
+        final List<RegressionCheck> REGRESSIONS = getChecks(PerformanceChange.REGRESSION);
+        final List<RegressionCheck> IMPROVEMENTS = getChecks(PerformanceChange.IMPROVEMENT);
+        return "COMPARISON WITH BASELINE" + System.lineSeparator() +
+                REGRESSIONS.size() + " regression" + (REGRESSIONS.size() == 1 ? "" : "s") + ", " +
+                IMPROVEMENTS.size() + " improvement" + (IMPROVEMENTS.size() == 1 ? "" : "s") + ", " +
+                (checks.size() - REGRESSIONS.size() - IMPROVEMENTS.size()) + " without changes" + System.lineSeparator() +
+                REGRESSIONS.stream().map(check -> "\t" + check + System.lineSeparator()).collect(Collectors.joining()) +
+                IMPROVEMENTS.stream().map(check -> "\t" + check + System.lineSeparator()).collect(Collectors.joining()) +
+                (benchmarksNotInBaseline.isEmpty() ? ""
+                        : "Not in baseline:\t" + String.join(", ", benchmarksNotInBaseline) + System.lineSeparator()) +
+                (benchmarksNotRun.isEmpty() ? ""
+                        : "Not run:\t\t" + String.join(", ", benchmarksNotRun) + System.lineSeparator());
+    }
+}
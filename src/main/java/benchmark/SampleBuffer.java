@@ -0,0 +1,89 @@
+package benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of primitive samples (e.g., execution times in nanoseconds).
+ * The buffer is filled by a {@link BenchmarkHarness} writing directly in the backing array:
+ * space must be reserved before each measurement (see {@link #reserve(int)}), so that
+ * the array never grows while timing.
+ * The initial capacity should be computed from the planned number of iterations, so that the
+ * array never grows at all when the number of iterations is known in advance.
+ */
+final class SampleBuffer {
+
+    /**
+     * Maximum number of samples measured in each step when the samples of a step are not kept after
+     * the step (e.g., when they are recorded in a {@link LatencyHistogram}), so that the buffer
+     * stays small however many iterations are run.
+     */
+    static final int MAXIMUM_SAMPLES_OF_EACH_STEP_NOT_KEPT = 1 << 16;
+
+    /**
+     * The backing array, whose first {@link #size} elements are the samples.
+     */
+    private long[] samples;
+    /**
+     * The number of samples in this buffer.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapacity The initial number of samples which can be saved without growing.
+     */
+    SampleBuffer(int initialCapacity) {
+        samples = new long[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Ensures that the given number of samples can be appended to this buffer.
+     *
+     * @param numberOfSamples The number of samples to be appended.
+     * @return the backing array, where samples have to be written starting from the index {@link #size()}.
+     * @throws OutOfMemoryError If the buffer would be larger than the maximum length of an array.
+     */
+    long[] reserve(int numberOfSamples) {
+        long requiredCapacity = (long) size + numberOfSamples;
+        if (requiredCapacity > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Too many samples: " + requiredCapacity);
+        }
+        if (requiredCapacity > samples.length) {
+            samples = Arrays.copyOf(samples, (int) Math.min(Integer.MAX_VALUE - 8,
+                    Math.max(requiredCapacity, 2L * samples.length)));
+        }
+        return samples;
+    }
+
+    /**
+     * Marks as samples the given number of elements of the backing array following the current
+     * ones, after that they have been written.
+     *
+     * @param numberOfSamples The number of samples written.
+     */
+    void commit(int numberOfSamples) {
+        size += numberOfSamples;
+    }
+
+    /**
+     * Removes all the samples (the capacity is not changed).
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return the number of samples in this buffer.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of the samples in this buffer.
+     */
+    long[] toArray() {
+        return Arrays.copyOf(samples, size);
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Fixed-size reservoir of samples (e.g., execution times in nanoseconds): after that
+ * any number of samples has been offered, the reservoir contains a uniform random
+ * subset of them (reservoir sampling, "Algorithm R"), hence the used memory does not
+ * depend on the number of offered samples.
+ */
+final class SampleReservoir {
+
+    /**
+     * The samples kept in the reservoir (only the first {@link #getSize()} are valid).
+     */
+    private final long[] samples;
+    /**
+     * The source of randomness.
+     */
+    private final SplittableRandom random;
+    /**
+     * The number of samples offered to the reservoir.
+     */
+    private long numberOfOfferedSamples = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The maximum number of samples kept in the reservoir.
+     * @param random   The source of randomness.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    SampleReservoir(int capacity, SplittableRandom random) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of the reservoir must be positive.");
+        }
+        this.samples = new long[capacity];
+        this.random = random;
+    }
+
+    /**
+     * Offers a sample to the reservoir, which keeps it with probability equal to
+     * the capacity divided by the number of offered samples (replacing a random one).
+     * This method does not allocate.
+     *
+     * @param sample The offered sample.
+     */
+    void offer(long sample) {
+        if (numberOfOfferedSamples < samples.length) {
+            samples[(int) numberOfOfferedSamples] = sample;
+        } else {
+            long index = random.nextLong(numberOfOfferedSamples + 1);
+            if (index < samples.length) {
+                samples[(int) index] = sample;
+            }
+        }
+        numberOfOfferedSamples++;
+    }
+
+    /**
+     * @return the number of samples offered to the reservoir.
+     */
+    long getNumberOfOfferedSamples() {
+        return numberOfOfferedSamples;
+    }
+
+    /**
+     * @return the number of samples kept in the reservoir.
+     */
+    int getSize() {
+        return (int) Math.min(numberOfOfferedSamples, samples.length);
+    }
+
+    /**
+     * @return a copy of the samples kept in the reservoir.
+     */
+    long[] toArray() {
+        return Arrays.copyOf(samples, getSize());
+    }
+}
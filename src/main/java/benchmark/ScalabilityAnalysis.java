@@ -0,0 +1,329 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Scalability of a benchmarked method, from its aggregate throughput measured at increasing numbers of
+ * threads (see {@link Benchmark#SCALABILITY_SWEEP}), with the fit of two models of the throughput X(N) at N threads:
+ * <ul>
+ *     <li>Amdahl's law: X(N) = X(1)*N / (1 + sigma*(N-1)), where sigma is the serial fraction of the work, which
+ *     bounds the speedup to 1/sigma;</li>
+ *     <li>the Universal Scalability Law (USL): X(N) = X(1)*N / (1 + sigma*(N-1) + kappa*N*(N-1)), where sigma is the
+ *     contention (e.g., waiting for locks) and kappa is the coherency delay (e.g., cache lines bouncing across
+ *     cores), which makes the throughput peak at N* = sqrt((1-sigma)/kappa) threads and then decrease.</li>
+ * </ul>
+ * Both models are fitted by least squares after the linearization N/C(N) - 1 = sigma*(N-1) + kappa*N*(N-1), where
+ * C(N) = X(N)/X(1) is the relative capacity, with sigma in [0, 1] and kappa non-negative.
+ */
+public final class ScalabilityAnalysis {
+
+    /**
+     * Minimum number of thread counts to fit Amdahl's law.
+     */
+    static final int MINIMUM_THREAD_COUNTS_FOR_AMDAHL = 2;
+    /**
+     * Minimum number of thread counts to fit the Universal Scalability Law.
+     */
+    static final int MINIMUM_THREAD_COUNTS_FOR_USL = 3;
+    /**
+     * Width (in characters) of the longest bar of {@link #toAsciiPlot()}.
+     */
+    private static final int WIDTH_OF_PLOT = 50;
+
+    /**
+     * The measured numbers of threads, in ascending order, starting from 1.
+     */
+    private final int[] threadCounts;
+    /**
+     * The aggregate throughput (executions per second of all threads together) measured at each
+     * number of threads in {@link #threadCounts}.
+     */
+    private final double[] throughputsInOperationsPerSecond;
+    /**
+     * The serial fraction sigma of Amdahl's law, null if there are less than {@link #MINIMUM_THREAD_COUNTS_FOR_AMDAHL}
+     * thread counts.
+     */
+    @Nullable
+    private final Double serialFraction;
+    /**
+     * The coefficient of determination of the fit of Amdahl's law to the throughputs, null if not fitted.
+     */
+    @Nullable
+    private final Double coefficientOfDeterminationOfAmdahl;
+    /**
+     * The contention coefficient sigma of the Universal Scalability Law, null if there are less than
+     * {@link #MINIMUM_THREAD_COUNTS_FOR_USL} thread counts.
+     */
+    @Nullable
+    private final Double contentionCoefficient;
+    /**
+     * The coherency coefficient kappa of the Universal Scalability Law, null if not fitted.
+     */
+    @Nullable
+    private final Double coherencyCoefficient;
+    /**
+     * The coefficient of determination of the fit of the Universal Scalability Law to the throughputs, null if not fitted.
+     */
+    @Nullable
+    private final Double coefficientOfDeterminationOfUsl;
+
+    /**
+     * Constructor. The models are fitted.
+     *
+     * @param threadCounts                     The measured numbers of threads, in ascending order, starting from 1.
+     * @param throughputsInOperationsPerSecond The aggregate throughput measured at each number of threads.
+     * @throws IllegalArgumentException If the arrays have different lengths, the first number of threads is not 1,
+     *                                  the numbers of threads are not ascending or the throughputs are not positive.
+     */
+    public ScalabilityAnalysis(@NotNull int[] threadCounts, @NotNull double[] throughputsInOperationsPerSecond) {
+        if (threadCounts.length == 0 || threadCounts.length != throughputsInOperationsPerSecond.length || threadCounts[0] != 1
+                || Arrays.stream(throughputsInOperationsPerSecond).anyMatch(throughput -> !(throughput > 0))) {
+            throw new IllegalArgumentException("The throughput must be positive and measured at 1 thread and more.");
+        }
+        for (int i = 1; i < threadCounts.length; i++) {
+            if (threadCounts[i] <= threadCounts[i - 1]) {
+                throw new IllegalArgumentException("The numbers of threads must be ascending.");
+            }
+        }
+        this.threadCounts = threadCounts.clone();
+        this.throughputsInOperationsPerSecond = throughputsInOperationsPerSecond.clone();
+
+        // Linearization: y = N/C(N) - 1 = sigma*x + kappa*x*(x+1), with x = N-1
+        final int POINTS = threadCounts.length;
+        double[] x = new double[POINTS];
+        double[] y = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            x[i] = threadCounts[i] - 1;
+            y[i] = threadCounts[i] * throughputsInOperationsPerSecond[0] / throughputsInOperationsPerSecond[i] - 1;
+        }
+        if (POINTS >= MINIMUM_THREAD_COUNTS_FOR_AMDAHL) {
+            serialFraction = Math.min(1, fitThroughOrigin(x, y));
+            coefficientOfDeterminationOfAmdahl = coefficientOfDetermination(serialFraction, 0);
+        } else {
+            serialFraction = null;
+            coefficientOfDeterminationOfAmdahl = null;
+        }
+        if (POINTS >= MINIMUM_THREAD_COUNTS_FOR_USL) {
+            double[] xTimesXPlus1 = Arrays.stream(x).map(value -> value * (value + 1)).toArray();
+            double sumXX = 0, sumXZ = 0, sumZZ = 0, sumXY = 0, sumZY = 0;  // with z = x(x+1)
+            for (int i = 0; i < POINTS; i++) {
+                sumXX += x[i] * x[i];
+                sumXZ += x[i] * xTimesXPlus1[i];
+                sumZZ += xTimesXPlus1[i] * xTimesXPlus1[i];
+                sumXY += x[i] * y[i];
+                sumZY += xTimesXPlus1[i] * y[i];
+            }
+            final double DETERMINANT = sumXX * sumZZ - sumXZ * sumXZ;
+            double sigma = DETERMINANT > 0 ? (sumXY * sumZZ - sumZY * sumXZ) / DETERMINANT : -1;
+            double kappa = DETERMINANT > 0 ? (sumZY * sumXX - sumXY * sumXZ) / DETERMINANT : -1;
+            if (kappa < 0) {            // no coherency delay: Amdahl's law
+                sigma = Math.min(1, fitThroughOrigin(x, y));
+                kappa = 0;
+            } else if (sigma < 0 || sigma > 1) {
+                sigma = sigma < 0 ? 0 : 1;
+                final double SIGMA = sigma;
+                kappa = fitThroughOrigin(xTimesXPlus1, IntStream.range(0, POINTS).mapToDouble(i -> y[i] - SIGMA * x[i]).toArray());
+            }
+            contentionCoefficient = sigma;
+            coherencyCoefficient = kappa;
+            coefficientOfDeterminationOfUsl = coefficientOfDetermination(sigma, kappa);
+        } else {
+            contentionCoefficient = null;
+            coherencyCoefficient = null;
+            coefficientOfDeterminationOfUsl = null;
+        }
+    }
+
+    /**
+     * @param maximumThreads The largest number of threads.
+     * @return the numbers of threads of a {@link Benchmark#SCALABILITY_SWEEP}: the powers of 2 less than the given
+     * maximum, followed by the maximum.
+     */
+    static int[] getThreadCountsOfSweep(int maximumThreads) {
+        return IntStream.concat(
+                        IntStream.iterate(1, threads -> threads * 2).limit(32).filter(threads -> threads > 0 && threads < maximumThreads),
+                        IntStream.of(maximumThreads))
+                .toArray();
+    }
+
+    /**
+     * @param x The values of the independent variable.
+     * @param y The values of the dependent variable.
+     * @return the non-negative slope of the least-squares line through the origin.
+     */
+    private static double fitThroughOrigin(@NotNull double[] x, @NotNull double[] y) {
+        double sumXX = 0;
+        double sumXY = 0;
+        for (int i = 0; i < x.length; i++) {
+            sumXX += x[i] * x[i];
+            sumXY += x[i] * y[i];
+        }
+        return sumXX > 0 ? Math.max(0, sumXY / sumXX) : 0;
+    }
+
+    /**
+     * @param sigma The contention coefficient (or the serial fraction of Amdahl's law).
+     * @param kappa The coherency coefficient (zero for Amdahl's law).
+     * @return the coefficient of determination of the model with the given coefficients on the measured throughputs.
+     */
+    private double coefficientOfDetermination(double sigma, double kappa) {
+        final double MEAN = Arrays.stream(throughputsInOperationsPerSecond).average().orElse(0);
+        double residualSumOfSquares = 0;
+        double totalSumOfSquares = 0;
+        for (int i = 0; i < threadCounts.length; i++) {
+            final double RESIDUAL = throughputsInOperationsPerSecond[i] - predictThroughput(threadCounts[i], sigma, kappa);
+            residualSumOfSquares += RESIDUAL * RESIDUAL;
+            totalSumOfSquares += (throughputsInOperationsPerSecond[i] - MEAN) * (throughputsInOperationsPerSecond[i] - MEAN);
+        }
+        return totalSumOfSquares > 0 ? 1 - residualSumOfSquares / totalSumOfSquares : 1;
+    }
+
+    /**
+     * @param threads The number of threads.
+     * @param sigma   The contention coefficient (or the serial fraction of Amdahl's law).
+     * @param kappa   The coherency coefficient (zero for Amdahl's law).
+     * @return the throughput predicted by the model with the given coefficients.
+     */
+    private double predictThroughput(double threads, double sigma, double kappa) {
+        return throughputsInOperationsPerSecond[0] * threads / (1 + sigma * (threads - 1) + kappa * threads * (threads - 1));
+    }
+
+    /**
+     * @param threads A number of threads.
+     * @return the aggregate throughput predicted by the Universal Scalability Law (or by Amdahl's law, if the former
+     * is not fitted) at the given number of threads, or null if no models are fitted.
+     */
+    @Nullable
+    public Double predictThroughputInOperationsPerSecond(double threads) {
+        if (contentionCoefficient != null && coherencyCoefficient != null) {
+            return predictThroughput(threads, contentionCoefficient, coherencyCoefficient);
+        } else if (serialFraction != null) {
+            return predictThroughput(threads, serialFraction, 0);
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of threads at which the Universal Scalability Law predicts the peak of the throughput,
+     * sqrt((1-sigma)/kappa) (at least 1), or null if the law is not fitted or there is no coherency delay (hence the throughput grows,
+     * with diminishing returns, up to X(1)/sigma).
+     */
+    @Nullable
+    public Double getPredictedPeakConcurrency() {
+        return contentionCoefficient == null || coherencyCoefficient == null || coherencyCoefficient == 0 ? null
+                : Math.max(1, Math.sqrt((1 - contentionCoefficient) / coherencyCoefficient));
+    }
+
+    /**
+     * @return a copy of {@link #threadCounts}.
+     */
+    public int[] getThreadCounts() {
+        return threadCounts.clone();
+    }
+
+    /**
+     * @return a copy of {@link #throughputsInOperationsPerSecond}.
+     */
+    public double[] getThroughputsInOperationsPerSecond() {
+        return throughputsInOperationsPerSecond.clone();
+    }
+
+    /**
+     * Getter for {@link #serialFraction}.
+     *
+     * @return the current {@link #serialFraction}.
+     */
+    @Nullable
+    public Double getSerialFraction() {
+        return serialFraction;
+    }
+
+    /**
+     * Getter for {@link #coefficientOfDeterminationOfAmdahl}.
+     *
+     * @return the current {@link #coefficientOfDeterminationOfAmdahl}.
+     */
+    @Nullable
+    public Double getCoefficientOfDeterminationOfAmdahl() {
+        return coefficientOfDeterminationOfAmdahl;
+    }
+
+    /**
+     * Getter for {@link #contentionCoefficient}.
+     *
+     * @return the current {@link #contentionCoefficient}.
+     */
+    @Nullable
+    public Double getContentionCoefficient() {
+        return contentionCoefficient;
+    }
+
+    /**
+     * Getter for {@link #coherencyCoefficient}.
+     *
+     * @return the current {@link #coherencyCoefficient}.
+     */
+    @Nullable
+    public Double getCoherencyCoefficient() {
+        return coherencyCoefficient;
+    }
+
+    /**
+     * Getter for {@link #coefficientOfDeterminationOfUsl}.
+     *
+     * @return the current {@link #coefficientOfDeterminationOfUsl}.
+     */
+    @Nullable
+    public Double getCoefficientOfDeterminationOfUsl() {
+        return coefficientOfDeterminationOfUsl;
+    }
+
+    /**
+     * @param value A value.
+     * @return the given value rounded to three decimals.
+     */
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000d;
+    }
+
+    /**
+     * @return a plot of the throughput against the number of threads, one line for each measured number of
+     * threads, with the throughput predicted by the fitted model.
+     */
+    public String toAsciiPlot() {
+        final double MAXIMUM_THROUGHPUT = Arrays.stream(throughputsInOperationsPerSecond).max().orElse(1);
+        final int WIDTH_OF_THREAD_COUNT = String.valueOf(threadCounts[threadCounts.length - 1]).length();
+        StringBuilder plot = new StringBuilder();
+        for (int i = 0; i < threadCounts.length; i++) {
+            final Double PREDICTED_THROUGHPUT = predictThroughputInOperationsPerSecond(threadCounts[i]);
+            char[] bar = new char[(int) Math.round(WIDTH_OF_PLOT * throughputsInOperationsPerSecond[i] / MAXIMUM_THROUGHPUT)];
+            Arrays.fill(bar, '#');
+            plot.append(i > 0 ? System.lineSeparator() : "")
+                    .append(String.format("%" + WIDTH_OF_THREAD_COUNT + "d", threadCounts[i]))
+                    .append(" thread").append(threadCounts[i] == 1 ? " " : "s").append(" | ")
+                    .append(bar).append(' ').append(Math.round(throughputsInOperationsPerSecond[i])).append(" ops/s")
+                    .append(PREDICTED_THROUGHPUT == null ? "" : "\t(fit: " + Math.round(PREDICTED_THROUGHPUT) + ")");
+        }
+        return plot.toString();
+    }
+
+    @Override
+    public String toString() {
+        final Double PEAK_CONCURRENCY = getPredictedPeakConcurrency();
+        return threadCounts.length + " thread count" + (threadCounts.length == 1 ? "" : "s") + " measured"
+                + (serialFraction == null ? " (at least " + MINIMUM_THREAD_COUNTS_FOR_AMDAHL + " are needed to fit the models)"
+                : "; Amdahl's law: serial fraction " + round(serialFraction)
+                + (serialFraction > 0 ? " (maximum speedup " + round(1 / serialFraction) + "x)" : "")
+                + ", R^2=" + round(coefficientOfDeterminationOfAmdahl))
+                + (contentionCoefficient == null ? ""
+                : "; USL: contention " + round(contentionCoefficient) + ", coherency " + coherencyCoefficient.floatValue()
+                + (PEAK_CONCURRENCY == null ? ", no peak"
+                : ", peak at ~" + Math.round(PEAK_CONCURRENCY) + " threads ("
+                + Math.round(predictThroughputInOperationsPerSecond(PEAK_CONCURRENCY)) + " ops/s)")
+                + ", R^2=" + round(coefficientOfDeterminationOfUsl));
+    }
+}
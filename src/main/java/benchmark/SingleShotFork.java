@@ -0,0 +1,152 @@
+package benchmark;
+
+import utils.StringUtility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Main class run in each fresh JVM in {@link BenchmarkMode#SINGLE_SHOT} mode: the first invocations of
+ * the method to benchmark are individually timed and their durations are printed on the standard output,
+ * in a line starting with {@link #PREFIX_OF_RESULT} (or {@link #PREFIX_OF_ERROR}, in case of errors).
+ * The output of the benchmarked method is ignored.
+ */
+final class SingleShotFork {
+
+    /**
+     * Prefix of the line with the durations (in nanoseconds, separated by spaces) of the timed invocations.
+     */
+    static final String PREFIX_OF_RESULT = "SINGLE_SHOT_RESULT ";
+    /**
+     * Prefix of the line with the description of the error, if any.
+     */
+    static final String PREFIX_OF_ERROR = "SINGLE_SHOT_ERROR ";
+
+    /**
+     * Private constructor: this class only has static methods.
+     */
+    private SingleShotFork() {
+    }
+
+    /**
+     * @param args The canonical name of the class declaring the method to benchmark, the name of the
+     *             method, the number of its parameters and the number of invocations to time.
+     */
+    public static void main(String[] args) {
+        PrintStream realStdOut = System.out;
+        int exitStatus = 0;
+        try {
+            System.setOut(new PrintStream(new ByteArrayOutputStream())); // ignore stdout during benchmark
+            System.setErr(new PrintStream(new ByteArrayOutputStream())); // ignore stderr during benchmark
+            final int NUMBER_OF_PARAMETERS = Integer.parseInt(args[2]);
+            final int NUMBER_OF_INVOCATIONS = Integer.parseInt(args[3]);
+            Method methodToBenchmark = Arrays.stream(
+                            Class.forName(args[0], false, SingleShotFork.class.getClassLoader()).getDeclaredMethods())
+                    .filter(method -> method.getName().equals(args[1]) && method.getParameterCount() == NUMBER_OF_PARAMETERS)
+                    .findAny()
+                    .orElseThrow(() -> new NoSuchMethodException(args[0] + "." + args[1]));
+            methodToBenchmark.setAccessible(true);
+
+            // the invocation path (e.g., the linkage of method handles) is prepared with a method with the
+            // same return type, so that only the costs specific to the benchmarked method are measured
+            long[] executionTimesInNanoseconds = new long[Math.max(1, NUMBER_OF_INVOCATIONS)];
+            BenchmarkInstance.generateHarness(Invoker.of(getMethodReturning(methodToBenchmark.getReturnType())))
+                    .measure(executionTimesInNanoseconds, 0, 1, 1);
+
+            BenchmarkInstance.generateHarness(Invoker.of(methodToBenchmark))
+                    .measure(executionTimesInNanoseconds, 0, NUMBER_OF_INVOCATIONS, 1);
+            realStdOut.println(PREFIX_OF_RESULT + Arrays.stream(executionTimesInNanoseconds, 0, NUMBER_OF_INVOCATIONS)
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.joining(" ")));
+        } catch (Throwable e) {
+            realStdOut.println(PREFIX_OF_ERROR + e);
+            exitStatus = 1;
+        }
+        realStdOut.flush();
+        System.exit(exitStatus);    // threads eventually started by the benchmarked method are not waited
+    }
+
+    /**
+     * @param returnType The return type of the method to benchmark.
+     * @return one of the methods of this class doing nothing and returning the given type (or
+     * {@link Object}, if the given type is a reference type).
+     * @throws NoSuchMethodException Never.
+     */
+    private static Method getMethodReturning(Class<?> returnType) throws NoSuchMethodException {
+        return SingleShotFork.class.getDeclaredMethod("return" + (returnType.isPrimitive()
+                ? StringUtility.toUpperCaseOnlyTheFirstChar(returnType.getName())
+                : "Object"));
+    }
+
+    /**
+     * Method doing nothing.
+     */
+    static void returnVoid() {
+    }
+
+    /**
+     * @return a constant.
+     */
+    static boolean returnBoolean() {
+        return false;
+    }
+
+    /**
+     * @return a constant.
+     */
+    static byte returnByte() {
+        return 0;
+    }
+
+    /**
+     * @return a constant.
+     */
+    static char returnChar() {
+        return 0;
+    }
+
+    /**
+     * @return a constant.
+     */
+    static short returnShort() {
+        return 0;
+    }
+
+    /**
+     * @return a constant.
+     */
+    static int returnInt() {
+        return 0;
+    }
+
+    /**
+     * @return a constant.
+     */
+    static long returnLong() {
+        return 0;
+    }
+
+    /**
+     * @return a constant.
+     */
+    static float returnFloat() {
+        return 0;
+    }
+
+    /**
+     * @return a constant.
+     */
+    static double returnDouble() {
+        return 0;
+    }
+
+    /**
+     * @return a constant.
+     */
+    static Object returnObject() {
+        return null;
+    }
+}
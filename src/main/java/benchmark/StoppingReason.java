@@ -0,0 +1,25 @@
+package benchmark;
+
+/**
+ * Enumeration of the reasons for which the measurement phase of a benchmark with a target
+ * precision (see {@link Benchmark#targetRelativeHalfWidthOfConfidenceInterval()}) stopped.
+ */
+public enum StoppingReason {
+
+    /**
+     * The confidence interval became narrow enough.
+     */
+    TARGET_PRECISION_REACHED,
+
+    /**
+     * The maximum number of iterations (see {@link Benchmark#maximumIterations()}) has been executed
+     * before reaching the target precision.
+     */
+    MAXIMUM_ITERATIONS_REACHED,
+
+    /**
+     * The maximum duration (see {@link Benchmark#maximumMeasurementTimeInMilliseconds()}) elapsed
+     * before reaching the target precision.
+     */
+    MAXIMUM_TIME_REACHED
+}
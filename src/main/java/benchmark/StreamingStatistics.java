@@ -0,0 +1,138 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Accumulator of the count, the extreme values, the mean and the variance of a stream of values
+ * (e.g., durations in nanoseconds), which keeps no values: memory is constant and recording a value
+ * takes constant time and does not allocate.
+ * <p/>
+ * The mean and the variance are updated with the Welford's algorithm, which, unlike the sum of
+ * squares, does not lose precision when the standard deviation is small with respect to the mean
+ * (as for the durations of long runs of a method).
+ * Accumulators can be merged (e.g., accumulators of different threads).
+ * Instances are not thread-safe: each thread must record in its own accumulator.
+ */
+public final class StreamingStatistics {
+
+    /**
+     * Number of recorded values.
+     */
+    private long count = 0;
+    /**
+     * Smallest recorded value.
+     */
+    private long minimum = Long.MAX_VALUE;
+    /**
+     * Greatest recorded value.
+     */
+    private long maximum = Long.MIN_VALUE;
+    /**
+     * Arithmetic mean of the recorded values.
+     */
+    private double mean = 0;
+    /**
+     * Sum of the squared deviations of the recorded values from their {@link #mean}.
+     */
+    private double sumOfSquaredDeviations = 0;
+
+    /**
+     * Constructor: creates an accumulator without recorded values.
+     */
+    public StreamingStatistics() {
+    }
+
+    /**
+     * Records a value in constant time, without allocating.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        count++;
+        minimum = Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+        final double DEVIATION_FROM_PREVIOUS_MEAN = value - mean;
+        mean += DEVIATION_FROM_PREVIOUS_MEAN / count;
+        sumOfSquaredDeviations += DEVIATION_FROM_PREVIOUS_MEAN * (value - mean);
+    }
+
+    /**
+     * Adds all the values recorded in the given accumulator to this one (with the pairwise update
+     * of Chan et al.).
+     *
+     * @param other The accumulator to add.
+     */
+    public void add(@NotNull StreamingStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        final long TOTAL_COUNT = count + other.count;
+        final double DIFFERENCE_OF_MEANS = other.mean - mean;
+        mean += DIFFERENCE_OF_MEANS * other.count / TOTAL_COUNT;
+        sumOfSquaredDeviations += other.sumOfSquaredDeviations
+                + DIFFERENCE_OF_MEANS * DIFFERENCE_OF_MEANS * ((double) count * other.count / TOTAL_COUNT);
+        count = TOTAL_COUNT;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+    }
+
+    /**
+     * Removes all the recorded values.
+     */
+    public void reset() {
+        count = 0;
+        minimum = Long.MAX_VALUE;
+        maximum = Long.MIN_VALUE;
+        mean = 0;
+        sumOfSquaredDeviations = 0;
+    }
+
+    /**
+     * @return the number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the smallest recorded value, or 0 if no values have been recorded.
+     */
+    public long getMinimum() {
+        return count == 0 ? 0 : minimum;
+    }
+
+    /**
+     * @return the greatest recorded value, or 0 if no values have been recorded.
+     */
+    public long getMaximum() {
+        return count == 0 ? 0 : maximum;
+    }
+
+    /**
+     * @return the arithmetic mean of the recorded values, or {@link Double#NaN} if no values have been recorded.
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * @return the sample variance of the recorded values, or {@link Double#NaN} if less than two values
+     * have been recorded.
+     */
+    public double getVariance() {
+        return count < 2 ? Double.NaN : Math.max(0, sumOfSquaredDeviations) / (count - 1);
+    }
+
+    /**
+     * @return the sample standard deviation of the recorded values, or {@link Double#NaN} if less than
+     * two values have been recorded.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return count + " values recorded, mean " + getMean() + ", standard deviation " + getStandardDeviation();
+    }
+}
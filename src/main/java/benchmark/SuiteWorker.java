@@ -0,0 +1,71 @@
+package benchmark;
+
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Main class run in each worker JVM of a {@link ParallelSuite}: the annotated methods of the given classes
+ * are benchmarked and the results are printed on the standard output, in lines starting with the prefixes
+ * defined in this class (or {@link #PREFIX_OF_ERROR}, in case of errors), and saved as {@link Baseline}.
+ * Any other line (e.g., the progress of benchmarking and the errors of invalid methods) is printed as is.
+ */
+final class SuiteWorker {
+
+    /**
+     * Prefix of the line with the index of a result and the benchmarked method.
+     */
+    static final String PREFIX_OF_METHOD = "SUITE_WORKER_METHOD ";
+    /**
+     * Prefix of each line of the report of a result, followed by the index of the result.
+     */
+    static final String PREFIX_OF_REPORT = "SUITE_WORKER_REPORT ";
+    /**
+     * Prefix of the line with a comparison between benchmarked methods (see {@link Benchmark#comparedWith()}).
+     */
+    static final String PREFIX_OF_COMPARISON = "SUITE_WORKER_COMPARISON ";
+    /**
+     * Prefix of the line with the calibration of the clock of the worker.
+     */
+    static final String PREFIX_OF_CLOCK = "SUITE_WORKER_CLOCK ";
+    /**
+     * Prefix of the line with the description of the error, if any.
+     */
+    static final String PREFIX_OF_ERROR = "SUITE_WORKER_ERROR ";
+
+    /**
+     * Private constructor: this class only has static methods.
+     */
+    private SuiteWorker() {
+    }
+
+    /**
+     * @param args The path of the file where the results are saved as {@link Baseline}, followed by
+     *             the canonical names of the classes to benchmark.
+     */
+    public static void main(String[] args) {
+        final PrintStream OUTPUT = System.out;
+        System.setErr(OUTPUT);   // lines printed on both streams must not be interleaved
+        int exitStatus = 0;
+        try {
+            BenchmarkRunner benchmarkRunner = new BenchmarkRunner();
+            List<BenchmarkInstance> results =
+                    benchmarkRunner.benchmarkAnnotatedMethodsOf(Arrays.asList(args).subList(1, args.length));
+            OUTPUT.println(PREFIX_OF_CLOCK + benchmarkRunner.getClockCalibration());
+            for (int i = 0; i < results.size(); i++) {
+                OUTPUT.println(PREFIX_OF_METHOD + i + " " + results.get(i).getTestedMethod());
+                for (String line : results.get(i).toString().split("\\r?\\n")) {
+                    OUTPUT.println(PREFIX_OF_REPORT + i + " " + line);
+                }
+            }
+            benchmarkRunner.getComparisons().forEach(comparison -> OUTPUT.println(PREFIX_OF_COMPARISON + comparison));
+            Baseline.of(results).save(Paths.get(args[0]));
+        } catch (Throwable e) {
+            OUTPUT.println(PREFIX_OF_ERROR + e);
+            exitStatus = 1;
+        }
+        OUTPUT.flush();
+        System.exit(exitStatus);    // threads eventually started by the benchmarked methods are not waited
+    }
+}
@@ -0,0 +1,129 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput of the threads executing a benchmarked method at once (see {@link Benchmark#threads()}):
+ * in total, for each thread (see {@link ThreadStatistics}) and how fairly it is distributed across them.
+ */
+public final class ThreadGroupStatistics {
+
+    /**
+     * Maximum number of threads listed by {@link #toTable()}: with more threads (e.g., thousands of virtual
+     * threads), only the ones with the lowest and the highest throughput are listed.
+     */
+    static final int MAXIMUM_ROWS_OF_TABLE = 16;
+
+    /**
+     * The statistics of each thread, by index of the thread.
+     */
+    private final List<ThreadStatistics> statisticsOfEachThread;
+    /**
+     * Number of executions per second completed by all threads together.
+     */
+    private final double aggregateThroughputInOperationsPerSecond;
+    /**
+     * Jain's fairness index of the throughput of each thread, i.e., (sum of x)^2 / (n * sum of x^2), where x is the throughput
+     * of each of the n threads: it is 1 if all threads completed the same number of executions per second,
+     * while it is 1/n if a single thread completed all the executions (i.e., the other threads starved).
+     */
+    private final double fairnessIndex;
+
+    /**
+     * Constructor.
+     *
+     * @param statisticsOfEachThread                   The statistics of each thread, by index of the thread.
+     * @param aggregateThroughputInOperationsPerSecond The number of executions per second completed by all threads together.
+     * @throws IllegalArgumentException If no statistics are given.
+     */
+    ThreadGroupStatistics(@NotNull List<ThreadStatistics> statisticsOfEachThread, double aggregateThroughputInOperationsPerSecond) {
+        if (statisticsOfEachThread.isEmpty()) {
+            throw new IllegalArgumentException("Statistics of at least one thread are needed.");
+        }
+        this.statisticsOfEachThread = Collections.unmodifiableList(new ArrayList<>(statisticsOfEachThread));
+        this.aggregateThroughputInOperationsPerSecond = aggregateThroughputInOperationsPerSecond;
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (ThreadStatistics statisticsOfThread : statisticsOfEachThread) {
+            final double THROUGHPUT = statisticsOfThread.getThroughputInOperationsPerSecond();
+            sum += THROUGHPUT;
+            sumOfSquares += THROUGHPUT * THROUGHPUT;
+        }
+        this.fairnessIndex = sumOfSquares > 0 ? sum * sum / (statisticsOfEachThread.size() * sumOfSquares) : 1;
+    }
+
+    /**
+     * @return the number of threads.
+     */
+    public int getNumberOfThreads() {
+        return statisticsOfEachThread.size();
+    }
+
+    /**
+     * Getter for {@link #statisticsOfEachThread}.
+     *
+     * @return the current {@link #statisticsOfEachThread}.
+     */
+    public List<ThreadStatistics> getStatisticsOfEachThread() {
+        return statisticsOfEachThread;
+    }
+
+    /**
+     * Getter for {@link #aggregateThroughputInOperationsPerSecond}.
+     *
+     * @return the current {@link #aggregateThroughputInOperationsPerSecond}.
+     */
+    public double getAggregateThroughputInOperationsPerSecond() {
+        return aggregateThroughputInOperationsPerSecond;
+    }
+
+    /**
+     * Getter for {@link #fairnessIndex}.
+     *
+     * @return the current {@link #fairnessIndex}.
+     */
+    public double getFairnessIndex() {
+        return fairnessIndex;
+    }
+
+    /**
+     * @return the statistics of each thread, one per line, or, with more than {@link #MAXIMUM_ROWS_OF_TABLE}
+     * threads, of the ones with the lowest and the highest throughput.
+     */
+    public String toTable() {
+        if (statisticsOfEachThread.size() <= MAXIMUM_ROWS_OF_TABLE) {
+            return statisticsOfEachThread.stream()
+                    .map(ThreadStatistics::toString)
+                    .collect(Collectors.joining(System.lineSeparator()));
+        }
+        final List<ThreadStatistics> SORTED_BY_THROUGHPUT = statisticsOfEachThread.stream()
+                .sorted(Comparator.comparingDouble(ThreadStatistics::getThroughputInOperationsPerSecond))
+                .collect(Collectors.toList());
+        final int ROWS_AT_EACH_END = MAXIMUM_ROWS_OF_TABLE / 2;
+        return SORTED_BY_THROUGHPUT.subList(0, ROWS_AT_EACH_END).stream()
+                .map(ThreadStatistics::toString)
+                .collect(Collectors.joining(System.lineSeparator()))
+                + System.lineSeparator() + "... " + (SORTED_BY_THROUGHPUT.size() - 2 * ROWS_AT_EACH_END)
+                + " other threads, sorted by throughput ..." + System.lineSeparator()
+                + SORTED_BY_THROUGHPUT.subList(SORTED_BY_THROUGHPUT.size() - ROWS_AT_EACH_END, SORTED_BY_THROUGHPUT.size()).stream()
+                .map(ThreadStatistics::toString)
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @Override
+    public String toString() {
+        return getNumberOfThreads() + " threads, " + Math.round(aggregateThroughputInOperationsPerSecond) + " ops/s in total, "
+                + "fairness index " + Math.round(fairnessIndex * 1000) / 1000d
+                + " (throughput of each thread from "
+                + Math.round(statisticsOfEachThread.stream().mapToDouble(ThreadStatistics::getThroughputInOperationsPerSecond).min().orElse(0))
+                + " to "
+                + Math.round(statisticsOfEachThread.stream().mapToDouble(ThreadStatistics::getThroughputInOperationsPerSecond).max().orElse(0))
+                + " ops/s)";
+    }
+}
@@ -0,0 +1,139 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Throughput and latency of one of the threads executing a benchmarked method at once
+ * (see {@link Benchmark#threads()}), over the measurement phase.
+ */
+public final class ThreadStatistics {
+
+    /**
+     * Index of the thread, from 0.
+     */
+    private final int indexOfThread;
+    /**
+     * Name of the method executed by the thread if it is a member of a group (see {@link Benchmark#group()}),
+     * null otherwise.
+     */
+    @Nullable
+    private final String role;
+    /**
+     * Number of executions of the method completed by the thread during the measurement.
+     */
+    private final long executions;
+    /**
+     * Duration of the measurement for the thread, from the synchronized start to the end of its
+     * last iteration (summed across time windows).
+     */
+    private final long durationOfMeasurementInNanoseconds;
+    /**
+     * Number of executions of the method in each iteration.
+     */
+    private final int batchSize;
+    /**
+     * Histogram of the execution time of each iteration of the thread.
+     */
+    private final LatencyHistogram histogramOfDurationOfEachIterationInNanoseconds;
+
+    /**
+     * Constructor.
+     *
+     * @param indexOfThread                                   The index of the thread, from 0.
+     * @param role                                            The name of the method executed by the thread, if it is
+     *                                                        a member of a group, null otherwise.
+     * @param executions                                      The number of executions completed by the thread.
+     * @param durationOfMeasurementInNanoseconds              The duration of the measurement for the thread.
+     * @param batchSize                                       The number of executions in each iteration.
+     * @param histogramOfDurationOfEachIterationInNanoseconds The histogram of the execution time of each iteration.
+     */
+    ThreadStatistics(int indexOfThread, @Nullable String role, long executions, long durationOfMeasurementInNanoseconds, int batchSize,
+                     @NotNull LatencyHistogram histogramOfDurationOfEachIterationInNanoseconds) {
+        this.indexOfThread = indexOfThread;
+        this.role = role;
+        this.executions = executions;
+        this.durationOfMeasurementInNanoseconds = durationOfMeasurementInNanoseconds;
+        this.batchSize = batchSize;
+        this.histogramOfDurationOfEachIterationInNanoseconds = Objects.requireNonNull(histogramOfDurationOfEachIterationInNanoseconds);
+    }
+
+    /**
+     * @return the number of executions per second completed by the thread.
+     */
+    public double getThroughputInOperationsPerSecond() {
+        return executions * 1e9 / durationOfMeasurementInNanoseconds;
+    }
+
+    /**
+     * @return the average duration of each execution of the method in the thread.
+     */
+    public double getMeanDurationOfEachExecutionInNanoseconds() {
+        return histogramOfDurationOfEachIterationInNanoseconds.getMean() / batchSize;
+    }
+
+    /**
+     * @param percentile The percentile, in [0, 100].
+     * @return the given percentile of the duration of each execution of the method in the thread.
+     */
+    public double getDurationOfEachExecutionAtPercentileInNanoseconds(double percentile) {
+        return (double) histogramOfDurationOfEachIterationInNanoseconds.getValueAtPercentile(percentile) / batchSize;
+    }
+
+    /**
+     * Getter for {@link #indexOfThread}.
+     *
+     * @return the current {@link #indexOfThread}.
+     */
+    public int getIndexOfThread() {
+        return indexOfThread;
+    }
+
+    /**
+     * Getter for {@link #role}.
+     *
+     * @return the current {@link #role}.
+     */
+    @Nullable
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Getter for {@link #executions}.
+     *
+     * @return the current {@link #executions}.
+     */
+    public long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * Getter for {@link #durationOfMeasurementInNanoseconds}.
+     *
+     * @return the current {@link #durationOfMeasurementInNanoseconds}.
+     */
+    public long getDurationOfMeasurementInNanoseconds() {
+        return durationOfMeasurementInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #histogramOfDurationOfEachIterationInNanoseconds}.
+     *
+     * @return the current {@link #histogramOfDurationOfEachIterationInNanoseconds}.
+     */
+    public LatencyHistogram getHistogramOfDurationOfEachIterationInNanoseconds() {
+        return histogramOfDurationOfEachIterationInNanoseconds;
+    }
+
+    @Override
+    public String toString() {
+        return "thread " + indexOfThread + (role == null ? "" : " (" + role + ")") + ": " + executions + " executions, "
+                + Math.round(getThroughputInOperationsPerSecond()) + " ops/s, duration of each execution "
+                + "{p50=" + getDurationOfEachExecutionAtPercentileInNanoseconds(50)
+                + ", p99=" + getDurationOfEachExecutionAtPercentileInNanoseconds(99)
+                + ", mean=" + Math.round(getMeanDurationOfEachExecutionInNanoseconds() * 1000) / 1000d + "} ns";
+    }
+}
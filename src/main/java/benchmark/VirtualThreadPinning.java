@@ -0,0 +1,112 @@
+package benchmark;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Pinning of the carrier threads by the virtual threads executing a benchmarked method (see
+ * {@link Benchmark#virtualThreads()}): a virtual thread which blocks while pinned (e.g., inside a
+ * {@code synchronized} block) cannot unmount and blocks its carrier thread too, limiting the concurrency.
+ * The pinning events are recorded by the JDK Flight Recorder (see {@link VirtualThreadPinningRecorder}).
+ */
+public final class VirtualThreadPinning {
+
+    /**
+     * Name of the event of the JDK Flight Recorder emitted when a virtual thread blocks while pinned.
+     */
+    static final String NAME_OF_EVENT = "jdk.VirtualThreadPinned";
+    /**
+     * Name of the module of the JDK Flight Recorder, which is optional for this project.
+     */
+    private static final String NAME_OF_MODULE_OF_FLIGHT_RECORDER = "jdk.jfr";
+
+    /**
+     * Number of pinning events.
+     */
+    private final long events;
+    /**
+     * Total duration of the pinning events.
+     */
+    private final long totalDurationInNanoseconds;
+    /**
+     * Duration of the longest pinning event.
+     */
+    private final long longestDurationInNanoseconds;
+    /**
+     * The frame of the benchmarked code (i.e., the first frame outside of the JDK) where most pinning
+     * events occurred, null if there are no events or their stack traces are not available.
+     */
+    @Nullable
+    private final String mostFrequentSite;
+
+    /**
+     * Constructor.
+     *
+     * @param events                       The number of pinning events.
+     * @param totalDurationInNanoseconds   The total duration of the pinning events.
+     * @param longestDurationInNanoseconds The duration of the longest pinning event.
+     * @param mostFrequentSite             The frame of the benchmarked code where most pinning events occurred, if known.
+     */
+    VirtualThreadPinning(long events, long totalDurationInNanoseconds, long longestDurationInNanoseconds,
+                         @Nullable String mostFrequentSite) {
+        this.events = events;
+        this.totalDurationInNanoseconds = totalDurationInNanoseconds;
+        this.longestDurationInNanoseconds = longestDurationInNanoseconds;
+        this.mostFrequentSite = mostFrequentSite;
+    }
+
+    /**
+     * @return true if pinning events can be recorded, i.e., if the runtime supports virtual threads
+     * and the JDK Flight Recorder is available (it may have to be added with {@code --add-modules jdk.jfr}).
+     */
+    static boolean canBeRecorded() {
+        return VirtualThreads.isSupported()
+                && ModuleLayer.boot().findModule(NAME_OF_MODULE_OF_FLIGHT_RECORDER).isPresent();
+    }
+
+    /**
+     * Getter for {@link #events}.
+     *
+     * @return the current {@link #events}.
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Getter for {@link #totalDurationInNanoseconds}.
+     *
+     * @return the current {@link #totalDurationInNanoseconds}.
+     */
+    public long getTotalDurationInNanoseconds() {
+        return totalDurationInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #longestDurationInNanoseconds}.
+     *
+     * @return the current {@link #longestDurationInNanoseconds}.
+     */
+    public long getLongestDurationInNanoseconds() {
+        return longestDurationInNanoseconds;
+    }
+
+    /**
+     * Getter for {@link #mostFrequentSite}.
+     *
+     * @return the current {@link #mostFrequentSite}.
+     */
+    @Nullable
+    public String getMostFrequentSite() {
+        return mostFrequentSite;
+    }
+
+    @Override
+    public String toString() {
+        if (events == 0) {
+            return "no pinning of carrier threads";
+        }
+        return events + " pinning events of carrier threads, " + Math.round(totalDurationInNanoseconds / 1e3) / 1e3
+                + " ms in total, longest " + Math.round(longestDurationInNanoseconds / 1e3) / 1e3 + " ms"
+                + (mostFrequentSite == null ? "" : ", mostly at " + mostFrequentSite);
+    }
+}
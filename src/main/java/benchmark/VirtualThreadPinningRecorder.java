@@ -0,0 +1,143 @@
+package benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recording of the pinning events of virtual threads (see {@link VirtualThreadPinning}) with the
+ * JDK Flight Recorder, from the creation of an instance until {@link #stop()}.
+ * The JDK Flight Recorder is not part of the Java 9 platform for which this project is compiled, hence
+ * its API is accessed by reflection (as {@link VirtualThreads}): this class must be used only if
+ * {@link VirtualThreadPinning#canBeRecorded()}.
+ */
+final class VirtualThreadPinningRecorder {
+
+    /**
+     * Package of the API to control the recordings.
+     */
+    private static final String PACKAGE_OF_RECORDINGS = "jdk.jfr.";
+    /**
+     * Package of the API to read the recorded events.
+     */
+    private static final String PACKAGE_OF_RECORDED_EVENTS = "jdk.jfr.consumer.";
+
+    /**
+     * The recording of the JDK Flight Recorder (an instance of {@code jdk.jfr.Recording}).
+     */
+    private final Object recording;
+
+    /**
+     * Constructor: starts the recording of all pinning events, whatever their duration.
+     *
+     * @throws ReflectiveOperationException If the JDK Flight Recorder is not available.
+     */
+    VirtualThreadPinningRecorder() throws ReflectiveOperationException {
+        recording = Class.forName(PACKAGE_OF_RECORDINGS + "Recording").getConstructor().newInstance();
+        Object eventSettings = invoke(PACKAGE_OF_RECORDINGS + "Recording", "enable", recording, VirtualThreadPinning.NAME_OF_EVENT);
+        eventSettings = invoke(PACKAGE_OF_RECORDINGS + "EventSettings", "withThreshold", eventSettings, Duration.ZERO);
+        invoke(PACKAGE_OF_RECORDINGS + "EventSettings", "withStackTrace", eventSettings);
+        invoke(PACKAGE_OF_RECORDINGS + "Recording", "start", recording);
+    }
+
+    /**
+     * Invokes a public method of the JDK Flight Recorder.
+     *
+     * @param nameOfClass  The name of the public class declaring the method (the runtime class of the target
+     *                     may be an internal class, whose methods cannot be accessed).
+     * @param nameOfMethod The name of the method.
+     * @param target       The target of the invocation, or null if the method is static.
+     * @param arguments    The arguments of the method, whose types must be the types of the parameters.
+     * @return the value returned by the method.
+     * @throws ReflectiveOperationException If the method cannot be invoked, or it throws an exception
+     *                                      (see {@link InvocationTargetException}).
+     */
+    private static Object invoke(@NotNull String nameOfClass, @NotNull String nameOfMethod, @Nullable Object target,
+                                 @NotNull Object... arguments) throws ReflectiveOperationException {
+        Class<?>[] typesOfParameters = new Class<?>[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            typesOfParameters[i] = arguments[i] instanceof Path ? Path.class : arguments[i].getClass();
+        }
+        Method method = Class.forName(nameOfClass).getMethod(nameOfMethod, typesOfParameters);
+        return method.invoke(target, arguments);
+    }
+
+    /**
+     * Stops the recording.
+     *
+     * @return the pinning events recorded since the creation of this instance.
+     * @throws IOException                  If the recording cannot be read.
+     * @throws ReflectiveOperationException If the JDK Flight Recorder cannot be accessed.
+     */
+    VirtualThreadPinning stop() throws IOException, ReflectiveOperationException {
+        Path recordingFile = Files.createTempFile("pinning-of-virtual-threads", ".jfr");
+        try {
+            invoke(PACKAGE_OF_RECORDINGS + "Recording", "stop", recording);
+            invoke(PACKAGE_OF_RECORDINGS + "Recording", "dump", recording, recordingFile);
+            long events = 0;
+            long totalDurationInNanoseconds = 0;
+            long longestDurationInNanoseconds = 0;
+            Map<String, Integer> eventsBySite = new HashMap<>();
+            for (Object event : (List<?>) invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordingFile", "readAllEvents", null, recordingFile)) {
+                final long DURATION_IN_NANOSECONDS =
+                        ((Duration) invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedEvent", "getDuration", event)).toNanos();
+                events++;
+                totalDurationInNanoseconds += DURATION_IN_NANOSECONDS;
+                longestDurationInNanoseconds = Math.max(longestDurationInNanoseconds, DURATION_IN_NANOSECONDS);
+                final String SITE = getSiteInBenchmarkedCode(event);
+                if (SITE != null) {
+                    eventsBySite.merge(SITE, 1, Integer::sum);
+                }
+            }
+            return new VirtualThreadPinning(events, totalDurationInNanoseconds, longestDurationInNanoseconds,
+                    eventsBySite.entrySet().stream()
+                            .max(Map.Entry.comparingByValue())
+                            .map(Map.Entry::getKey)
+                            .orElse(null));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        } finally {
+            invoke(PACKAGE_OF_RECORDINGS + "Recording", "close", recording);
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    /**
+     * @param event A recorded pinning event.
+     * @return the first frame of the stack trace of the event outside of the JDK (i.e., in the benchmarked code),
+     * as class, method and line, or null if the stack trace is not available or has only frames of the JDK.
+     * @throws ReflectiveOperationException If the JDK Flight Recorder cannot be accessed.
+     */
+    @Nullable
+    private static String getSiteInBenchmarkedCode(@NotNull Object event) throws ReflectiveOperationException {
+        final Object STACK_TRACE = invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedEvent", "getStackTrace", event);
+        if (STACK_TRACE == null) {
+            return null;
+        }
+        for (Object frame : (List<?>) invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedStackTrace", "getFrames", STACK_TRACE)) {
+            if (!(Boolean) invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedFrame", "isJavaFrame", frame)) {
+                continue;
+            }
+            final Object METHOD = invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedFrame", "getMethod", frame);
+            final String NAME_OF_CLASS = (String) invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedClass", "getName",
+                    invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedMethod", "getType", METHOD));
+            if (!NAME_OF_CLASS.matches("(java|jdk|sun)\\..*")) {
+                return NAME_OF_CLASS + "." + invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedMethod", "getName", METHOD)
+                        + "(line " + invoke(PACKAGE_OF_RECORDED_EVENTS + "RecordedFrame", "getLineNumber", frame) + ")";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,70 @@
+package benchmark;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to the virtual threads of the runtime (see {@link Benchmark#virtualThreads()}), available from Java 21:
+ * since this project is compiled for Java 9, they are looked up when this class is initialized and, if the
+ * runtime does not support them, benchmarks fall back to platform threads.
+ */
+final class VirtualThreads {
+
+    /**
+     * Handle of {@code Executors.newVirtualThreadPerTaskExecutor()}, null if the runtime does not support
+     * virtual threads (e.g., before Java 21, or in Java 19 and 20 without preview features).
+     */
+    @Nullable
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookUpNewVirtualThreadPerTaskExecutor();
+
+    /**
+     * Private constructor: this class only has static methods.
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return the handle of {@code Executors.newVirtualThreadPerTaskExecutor()}, if an executor can be created
+     * with it, null otherwise.
+     */
+    @Nullable
+    private static MethodHandle lookUpNewVirtualThreadPerTaskExecutor() {
+        try {
+            MethodHandle newVirtualThreadPerTaskExecutor = MethodHandles.publicLookup().findStatic(
+                    Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            ((ExecutorService) newVirtualThreadPerTaskExecutor.invokeExact()).shutdown();  // fails if preview features are disabled
+            return newVirtualThreadPerTaskExecutor;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the runtime supports virtual threads.
+     */
+    static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return a new {@link ExecutorService} which starts a new virtual thread for each task.
+     * @throws UnsupportedOperationException If the runtime does not support virtual threads.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this runtime.");
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package examples;
 
 import benchmark.Benchmark;
+import benchmark.BenchmarkMode;
+import benchmark.Blackhole;
 import benchmark.BenchmarkRunner;
+import benchmark.CentralTendency;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Class to show how to use the Benchmark framework proposed by this project.
@@ -19,6 +28,11 @@ public class Main {
      */
     private static int counterAfterEachForExamples = 0;
 
+    /**
+     * Map shared by the threads executing {@link #incrementCounterInMapSharedByThreads()}.
+     */
+    private static final Map<Integer, Integer> MAP_SHARED_BY_THREADS = new ConcurrentHashMap<>();
+
     /**
      * Main methods used to show how to use this benchmarking framework.
      *
@@ -135,4 +149,204 @@ public class Main {
     static void sumFirst10PositiveIntegersWithSpecifiedNumberOfIterationsWithAComment() { // NOTE: must be static method without parameters.
         sumFirst10PositiveIntegers();
     }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but each iteration times a batch of
+     * 100 invocations, to amortize the cost of reading the clock.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(batchSize = 100)
+    static int sumFirst10PositiveIntegersWithBatchesOf100Invocations() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but the batch size is automatically chosen,
+     * such that each iteration lasts at least 50 microseconds.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(batchSize = Benchmark.AUTOMATIC_BATCH_SIZE, minimumIterationDurationInMicroseconds = 50)
+    static int sumFirst10PositiveIntegersWithAutomaticBatchSize() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Sample method to be benchmarked which computes the sums 1, 1+2, ..., 1+2+...+10:
+     * all the partial sums are explicitly consumed by the injected {@link Blackhole},
+     * so that their computation cannot be eliminated.
+     *
+     * @param blackhole The {@link Blackhole} injected by the framework.
+     */
+    @Benchmark
+    static void partialSumsOfFirst10PositiveIntegers(Blackhole blackhole) { // NOTE: static method with only Blackhole parameters.
+        int sum = 0;
+        for (int i = 1; i <= 10; i++) {
+            sum += i;
+            blackhole.consume(sum);
+        }
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but the throughput (operations per second)
+     * is measured over 5 time windows of 20 milliseconds each.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, measurementWindows = 5, windowDurationInMilliseconds = 20, batchSize = 100)
+    static int sumFirst10PositiveIntegersInThroughputMode() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but warmup and measurement are bounded
+     * by time (respectively, 20 and 50 milliseconds) rather than by number of iterations.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(warmUpTimeInMilliseconds = 20, measurementTimeInMilliseconds = 50, tearDownIterations = 0, batchSize = 100)
+    static int sumFirst10PositiveIntegersWithTimeBoundedPhases() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but the first 3 invocations are
+     * timed in 2 fresh JVMs, in order to measure the cold-start latency.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(mode = BenchmarkMode.SINGLE_SHOT, forks = 2, coldInvocationsInEachFork = 3)
+    static int sumFirst10PositiveIntegersInSingleShotMode() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but only 1% of 100000 iterations
+     * are timed and at most 500 of the timed ones are kept for statistics.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(mode = BenchmarkMode.SAMPLE_TIME, iterations = 100_000, samplingProbability = 0.01, reservoirSize = 500)
+    static int sumFirst10PositiveIntegersInSampleTimeMode() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but iterations are measured until the
+     * confidence interval of the median is within 2% of the median (at most for 100 milliseconds).
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(targetRelativeHalfWidthOfConfidenceInterval = 0.02, statisticOfTargetPrecision = CentralTendency.MEDIAN,
+            maximumMeasurementTimeInMilliseconds = 100)
+    static int sumFirst10PositiveIntegersWithTargetPrecision() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but the warmup lasts until the
+     * execution times stop changing (at most 1 second), instead of a fixed number of iterations.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(warmUpIterations = Benchmark.UNTIL_STEADY_STATE, warmUpTimeInMilliseconds = 1000)
+    static int sumFirst10PositiveIntegersWarmedUpUntilSteadyState() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but the execution times measured for 100 milliseconds
+     * are only accumulated in streaming statistics and in a histogram, so the used memory does not depend
+     * on the duration of the measurement.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(measurementTimeInMilliseconds = 100, streamingStatistics = true, histogramSignificantDigits = 3)
+    static int sumFirst10PositiveIntegersWithStreamingStatistics() { // NOTE: must be static method without parameters.
+        return sumFirst10PositiveIntegers();
+    }
+
+    /**
+     * Like {@link #sumFirst10PositiveIntegers()}, but the sum is computed with the Gauss formula
+     * and the durations of its executions are statistically compared with the ones of
+     * {@link #sumFirst10PositiveIntegers()}.
+     *
+     * @return the result of the sum 1+2+...+10
+     */
+    @Benchmark(comparedWith = "examples.Main.sumFirst10PositiveIntegers")
+    static int sumFirst10PositiveIntegersWithGaussFormula() { // NOTE: must be static method without parameters.
+        final int N = 10;
+        return N * (N + 1) / 2;
+    }
+
+    /**
+     * Increments a counter in a {@link ConcurrentHashMap} shared by 4 threads executing this method
+     * at once for 100 milliseconds, to measure the throughput and the latency under contention.
+     *
+     * @return the incremented counter.
+     */
+    @Benchmark(threads = 4, measurementTimeInMilliseconds = 100, batchSize = 10)
+    static int incrementCounterInMapSharedByThreads() { // NOTE: must be static method without parameters.
+        return MAP_SHARED_BY_THREADS.merge(0, 1, Integer::sum);
+    }
+
+    /**
+     * Like {@link #incrementCounterInMapSharedByThreads()}, but the throughput is measured at 1, 2, 4, ...
+     * threads, up to the number of available processors, to show how it scales with the number of threads.
+     *
+     * @return the incremented counter.
+     */
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, threads = Benchmark.SCALABILITY_SWEEP)
+    static int incrementCounterInMapSharedByThreadsWithScalabilitySweep() { // NOTE: must be static method without parameters.
+        return MAP_SHARED_BY_THREADS.merge(0, 1, Integer::sum);
+    }
+
+    /**
+     * Blocks for 1 millisecond on each of 100 virtual threads, with the carrier thread pinned by the
+     * {@code synchronized} block (which the benchmark report shows), to compare with as many platform threads.
+     */
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, threads = 100, virtualThreads = true,
+            warmUpIterations = 10, tearDownIterations = 10, measurementWindows = 5)
+    static void blockInSynchronizedBlockOnVirtualThreads() { // NOTE: must be static method without parameters.
+        synchronized (new Object()) {
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    /**
+     * Bounded queue shared by {@link #offerToQueue(QueueSharedByProducersAndConsumers)} and
+     * {@link #pollFromQueue(QueueSharedByProducersAndConsumers)}: a new instance is created
+     * for each run of their group.
+     */
+    static class QueueSharedByProducersAndConsumers {
+        /**
+         * The queue.
+         */
+        private final BlockingQueue<Integer> queue = new ArrayBlockingQueue<>(1024);
+    }
+
+    /**
+     * Producer of the group "queue": 3 threads offer elements to the queue shared with the consumer
+     * {@link #pollFromQueue(QueueSharedByProducersAndConsumers)}, at the same time.
+     *
+     * @param sharedQueue The queue shared by the group.
+     * @return true if the element was added, false if the queue was full.
+     */
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, group = "queue", threads = 3, batchSize = 10)
+    static boolean offerToQueue(QueueSharedByProducersAndConsumers sharedQueue) {  // NOTE: must not block (e.g., with put)
+        return sharedQueue.queue.offer(42);
+    }
+
+    /**
+     * Consumer of the group "queue": a single thread polls elements from the queue filled by
+     * {@link #offerToQueue(QueueSharedByProducersAndConsumers)}.
+     *
+     * @param sharedQueue The queue shared by the group.
+     * @return the polled element, or null if the queue was empty.
+     */
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, group = "queue", batchSize = 10)
+    static Integer pollFromQueue(QueueSharedByProducersAndConsumers sharedQueue) {  // NOTE: must not block (e.g., with take)
+        return sharedQueue.queue.poll();
+    }
 }
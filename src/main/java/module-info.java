@@ -1,6 +1,7 @@
 /** Module-info. */
 open module benchmark {
     requires java.logging;
+    requires java.management;
     requires org.jetbrains.annotations;
     exports benchmark;
 }
\ No newline at end of file
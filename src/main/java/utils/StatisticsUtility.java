@@ -0,0 +1,541 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Utility class for statistical computations.
+ */
+public class StatisticsUtility {
+
+    /**
+     * Maximum number of iterations for iterative numerical methods.
+     */
+    private static final int MAX_ITERATIONS = 300;
+
+    /**
+     * Relative precision of iterative numerical methods.
+     */
+    private static final double EPSILON = 1e-14;
+
+    /**
+     * @param values The values.
+     * @return the arithmetic mean of the given values, or {@link Double#NaN} if no values are given.
+     */
+    public static double mean(double[] values) {
+        return Arrays.stream(values).average().orElse(Double.NaN);
+    }
+
+    /**
+     * @param values The values.
+     * @return the sample standard deviation (i.e., with Bessel's correction) of the given values,
+     * or {@link Double#NaN} if less than two values are given.
+     */
+    public static double sampleStandardDeviation(double[] values) {
+        if (values.length < 2) {
+            return Double.NaN;
+        }
+        final double MEAN = mean(values);
+        double sumOfSquaredDeviations = 0;
+        for (double value : values) {
+            sumOfSquaredDeviations += (value - MEAN) * (value - MEAN);
+        }
+        return Math.sqrt(sumOfSquaredDeviations / (values.length - 1));
+    }
+
+    /**
+     * @param values The values.
+     * @return the arithmetic mean of the given values, or {@link Double#NaN} if no values are given.
+     */
+    public static double mean(long[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    /**
+     * @param values The values.
+     * @return the sample standard deviation (i.e., with Bessel's correction) of the given values,
+     * or {@link Double#NaN} if less than two values are given.
+     */
+    public static double sampleStandardDeviation(long[] values) {
+        if (values.length < 2) {
+            return Double.NaN;
+        }
+        final double MEAN = mean(values);
+        double sumOfSquaredDeviations = 0;
+        for (long value : values) {
+            sumOfSquaredDeviations += (value - MEAN) * (value - MEAN);
+        }
+        return Math.sqrt(sumOfSquaredDeviations / (values.length - 1));
+    }
+
+    /**
+     * @param sortedValues The values, sorted in ascending order.
+     * @return the median of the given values (the mean of the two central values, if the
+     * number of values is even), or {@link Double#NaN} if no values are given.
+     */
+    public static double median(long[] sortedValues) {
+        final int N = sortedValues.length;
+        if (N == 0) {
+            return Double.NaN;
+        }
+        return N % 2 == 1 ? sortedValues[N / 2] : (sortedValues[N / 2 - 1] + (double) sortedValues[N / 2]) / 2;
+    }
+
+    /**
+     * Computes the median absolute deviation without sorting the deviations: the deviations of the
+     * values below and above the median are two sorted sequences, which are merged up to their center.
+     *
+     * @param sortedValues The values, sorted in ascending order.
+     * @return the median of the absolute deviations of the given values from their median,
+     * or {@link Double#NaN} if no values are given.
+     */
+    public static double medianAbsoluteDeviation(long[] sortedValues) {
+        final int N = sortedValues.length;
+        if (N == 0) {
+            return Double.NaN;
+        }
+        final double MEDIAN = median(sortedValues);
+        int indexAbove = N / 2;     // index of the first value not less than the median
+        while (indexAbove > 0 && sortedValues[indexAbove - 1] >= MEDIAN) {
+            indexAbove--;
+        }
+        int indexBelow = indexAbove - 1;
+        double previousDeviation = 0;
+        double deviation = 0;
+        for (int rank = 0; rank <= N / 2; rank++) {
+            previousDeviation = deviation;
+            if (indexAbove >= N || (indexBelow >= 0 && MEDIAN - sortedValues[indexBelow] <= sortedValues[indexAbove] - MEDIAN)) {
+                deviation = MEDIAN - sortedValues[indexBelow--];
+            } else {
+                deviation = sortedValues[indexAbove++] - MEDIAN;
+            }
+        }
+        return N % 2 == 1 ? deviation : (previousDeviation + deviation) / 2;
+    }
+
+    /**
+     * @param values          The values.
+     * @param confidenceLevel The confidence level (e.g., 0.99), in the open interval (0, 1).
+     * @return the half-width of the confidence interval for the mean of the given values, computed
+     * with the Student's t-distribution, or {@link Double#NaN} if less than two values are given.
+     */
+    public static double halfWidthOfConfidenceIntervalForTheMean(double[] values, double confidenceLevel) {
+        return halfWidthOfConfidenceIntervalForTheMean(sampleStandardDeviation(values), values.length, confidenceLevel);
+    }
+
+    /**
+     * @param sampleStandardDeviation The sample standard deviation of the values.
+     * @param numberOfValues          The number of values.
+     * @param confidenceLevel         The confidence level (e.g., 0.99), in the open interval (0, 1).
+     * @return the half-width of the confidence interval for the mean of values with the given standard
+     * deviation, computed with the Student's t-distribution, or {@link Double#NaN} if less than two
+     * values are given.
+     */
+    public static double halfWidthOfConfidenceIntervalForTheMean(double sampleStandardDeviation, long numberOfValues,
+                                                                 double confidenceLevel) {
+        if (numberOfValues < 2) {
+            return Double.NaN;
+        }
+        return studentTQuantile(1 - (1 - confidenceLevel) / 2, numberOfValues - 1)
+                * sampleStandardDeviation / Math.sqrt(numberOfValues);
+    }
+
+    /**
+     * Computes the confidence intervals of some percentiles with the bootstrap percentile method: the
+     * given values are resampled with replacement many times and the bounds of each interval are the
+     * quantiles of the percentile over the resamples.
+     * Only the needed order statistics of each resample are drawn: the k-th smallest of n indices drawn
+     * uniformly is the integer part of n times the k-th smallest of n uniform variables, which follows
+     * a Beta(k, n-k+1) distribution (and the next order statistics follow, conditionally, scaled Beta
+     * distributions), hence each resample takes constant time, instead of time proportional to the
+     * number of values, with the same distribution as resampling the values.
+     * Resamples are computed in parallel.
+     *
+     * @param sortedValues      The values, sorted in ascending order.
+     * @param percentiles       The percentiles (in [0, 100]), in ascending order.
+     * @param confidenceLevel   The confidence level (e.g., 0.99), in the open interval (0, 1).
+     * @param numberOfResamples The number of resamples (positive).
+     * @param random            The source of randomness.
+     * @return for each given percentile, the lower and the upper bound of its confidence interval (nearest-rank
+     * method, as in {@link #percentile(long[], double)}), or null if less than two values are given.
+     */
+    public static double[][] bootstrapConfidenceIntervalsOfPercentiles(
+            long[] sortedValues, double[] percentiles, double confidenceLevel, int numberOfResamples, SplittableRandom random) {
+        final int N = sortedValues.length;
+        if (N < 2) {
+            return null;
+        }
+        final int[] RANKS = new int[percentiles.length];
+        for (int j = 0; j < percentiles.length; j++) {
+            RANKS[j] = (int) Math.max(1, Math.min(N, Math.ceil(percentiles[j] / 100 * N)));
+        }
+        final double[][] PERCENTILES_OF_EACH_RESAMPLE = new double[percentiles.length][numberOfResamples];
+        final int NUMBER_OF_TASKS = Math.min(numberOfResamples, Runtime.getRuntime().availableProcessors());
+        final SplittableRandom[] RANDOM_OF_EACH_TASK = new SplittableRandom[NUMBER_OF_TASKS];
+        for (int task = 0; task < NUMBER_OF_TASKS; task++) {
+            RANDOM_OF_EACH_TASK[task] = random.split();
+        }
+        IntStream.range(0, NUMBER_OF_TASKS).parallel().forEach(task -> {
+            for (int resample = task; resample < numberOfResamples; resample += NUMBER_OF_TASKS) {
+                double uniformOrderStatistic = 0;
+                for (int j = 0, previousRank = 0; j < RANKS.length; previousRank = RANKS[j++]) {
+                    if (RANKS[j] > previousRank) {
+                        uniformOrderStatistic += (1 - uniformOrderStatistic)
+                                * nextBeta(RANDOM_OF_EACH_TASK[task], RANKS[j] - previousRank, N - RANKS[j] + 1);
+                    }
+                    PERCENTILES_OF_EACH_RESAMPLE[j][resample] =
+                            sortedValues[Math.min(N - 1, (int) (uniformOrderStatistic * N))];
+                }
+            }
+        });
+        final double[][] CONFIDENCE_INTERVALS = new double[percentiles.length][];
+        for (int j = 0; j < percentiles.length; j++) {
+            double[] sortedPercentilesOfResamples = PERCENTILES_OF_EACH_RESAMPLE[j];
+            Arrays.sort(sortedPercentilesOfResamples);
+            CONFIDENCE_INTERVALS[j] = new double[]{
+                    sortedPercentilesOfResamples[(int) Math.floor((1 - confidenceLevel) / 2 * (numberOfResamples - 1))],
+                    sortedPercentilesOfResamples[(int) Math.ceil((1 + confidenceLevel) / 2 * (numberOfResamples - 1))]};
+        }
+        return CONFIDENCE_INTERVALS;
+    }
+
+    /**
+     * @param random The source of randomness.
+     * @param alpha  The first shape parameter (positive).
+     * @param beta   The second shape parameter (positive).
+     * @return a random variable with Beta distribution with the given parameters.
+     */
+    private static double nextBeta(SplittableRandom random, double alpha, double beta) {
+        double x = nextGamma(random, alpha);
+        return x / (x + nextGamma(random, beta));
+    }
+
+    /**
+     * @param random The source of randomness.
+     * @param shape  The shape parameter (positive).
+     * @return a random variable with Gamma distribution with the given shape and unit scale
+     * (Marsaglia and Tsang's method).
+     */
+    private static double nextGamma(SplittableRandom random, double shape) {
+        if (shape < 1) {
+            return nextGamma(random, shape + 1) * Math.pow(random.nextDouble(), 1 / shape);
+        }
+        final double D = shape - 1d / 3;
+        final double C = 1 / Math.sqrt(9 * D);
+        while (true) {
+            double x;
+            double v;
+            do {
+                x = nextStandardNormal(random);
+                v = 1 + C * x;
+            } while (v <= 0);
+            v = v * v * v;
+            double u = random.nextDouble();
+            if (u < 1 - 0.0331 * x * x * x * x || Math.log(u) < 0.5 * x * x + D * (1 - v + Math.log(v))) {
+                return D * v;
+            }
+        }
+    }
+
+    /**
+     * @param random The source of randomness.
+     * @return a random variable with standard normal distribution (Marsaglia's polar method).
+     */
+    private static double nextStandardNormal(SplittableRandom random) {
+        double x;
+        double y;
+        double squaredRadius;
+        do {
+            x = 2 * random.nextDouble() - 1;
+            y = 2 * random.nextDouble() - 1;
+            squaredRadius = x * x + y * y;
+        } while (squaredRadius >= 1 || squaredRadius == 0);
+        return x * Math.sqrt(-2 * Math.log(squaredRadius) / squaredRadius);
+    }
+
+    /**
+     * @param sortedValues    The values, sorted in ascending order.
+     * @param confidenceLevel The confidence level (e.g., 0.99), in the open interval (0, 1).
+     * @return the half-width of the distribution-free confidence interval for the median of the given values,
+     * whose bounds are the order statistics at ranks n/2 &#177; z&#8730;n/2 (where z is the quantile of the
+     * Student's t-distribution, which approximates the normal one), or {@link Double#NaN} if less than
+     * two values are given.
+     */
+    public static double halfWidthOfConfidenceIntervalForTheMedian(long[] sortedValues, double confidenceLevel) {
+        final int N = sortedValues.length;
+        if (N < 2) {
+            return Double.NaN;
+        }
+        final double HALF_WIDTH_IN_RANKS = studentTQuantile(1 - (1 - confidenceLevel) / 2, N - 1) * Math.sqrt(N) / 2;
+        int lowerRank = (int) Math.max(1, Math.floor(N / 2d - HALF_WIDTH_IN_RANKS));
+        int upperRank = (int) Math.min(N, Math.ceil(N / 2d + 1 + HALF_WIDTH_IN_RANKS));
+        return (sortedValues[upperRank - 1] - sortedValues[lowerRank - 1]) / 2d;
+    }
+
+    /**
+     * @param sortedValues The values, sorted in ascending order.
+     * @param percentile   The percentile, in [0, 100].
+     * @return the given percentile of the values (nearest-rank method, i.e., the smallest value
+     * such that at least the given percentage of values is less than or equal to it).
+     * @throws IllegalArgumentException If no values are given or the percentile is not in [0, 100].
+     */
+    public static long percentile(long[] sortedValues, double percentile) {
+        if (sortedValues.length == 0) {
+            throw new IllegalArgumentException("No values given.");
+        }
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100].");
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedValues.length);
+        return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, rank - 1))];
+    }
+
+    /**
+     * @param x The argument (positive).
+     * @return the natural logarithm of the gamma function at the given argument
+     * (Lanczos approximation).
+     */
+    public static double lnGamma(double x) {
+        final double[] COEFFICIENTS = {
+                76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : COEFFICIENTS) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    /**
+     * @param x The argument, in [0, 1].
+     * @param a The first shape parameter (positive).
+     * @param b The second shape parameter (positive).
+     * @return the regularized incomplete beta function I<sub>x</sub>(a, b).
+     */
+    public static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        double factor = Math.exp(lnGamma(a + b) - lnGamma(a) - lnGamma(b)
+                + a * Math.log(x) + b * Math.log(1 - x));
+        if (x < (a + 1) / (a + b + 2)) {    // the continued fraction converges rapidly
+            return factor * incompleteBetaContinuedFraction(x, a, b) / a;
+        } else {
+            return 1 - factor * incompleteBetaContinuedFraction(1 - x, b, a) / b;
+        }
+    }
+
+    /**
+     * Evaluates the continued fraction for the incomplete beta function
+     * (modified Lentz's method).
+     *
+     * @param x The argument, in (0, 1).
+     * @param a The first shape parameter (positive).
+     * @param b The second shape parameter (positive).
+     * @return the value of the continued fraction.
+     */
+    private static double incompleteBetaContinuedFraction(double x, double a, double b) {
+        final double TINY = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < TINY ? TINY : d);
+        double result = d;
+        for (int m = 1; m <= MAX_ITERATIONS; m++) {
+            int m2 = 2 * m;
+            double coefficient = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 + coefficient * d;
+            d = 1 / (Math.abs(d) < TINY ? TINY : d);
+            c = 1 + coefficient / c;
+            c = Math.abs(c) < TINY ? TINY : c;
+            result *= d * c;
+            coefficient = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 + coefficient * d;
+            d = 1 / (Math.abs(d) < TINY ? TINY : d);
+            c = 1 + coefficient / c;
+            c = Math.abs(c) < TINY ? TINY : c;
+            double delta = d * c;
+            result *= delta;
+            if (Math.abs(delta - 1) < EPSILON) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param t                The value.
+     * @param degreesOfFreedom The degrees of freedom (positive).
+     * @return the cumulative distribution function of the Student's t-distribution at the given value.
+     */
+    public static double studentTCumulativeDistribution(double t, double degreesOfFreedom) {
+        double tailProbability = 0.5 * regularizedIncompleteBeta(
+                degreesOfFreedom / (degreesOfFreedom + t * t), degreesOfFreedom / 2, 0.5);
+        return t > 0 ? 1 - tailProbability : tailProbability;
+    }
+
+    /**
+     * @param z The value.
+     * @return the cumulative distribution function of the standard normal distribution at the given value.
+     */
+    public static double standardNormalCumulativeDistribution(double z) {
+        return complementaryErrorFunction(-z / Math.sqrt(2)) / 2;
+    }
+
+    /**
+     * @param x The argument.
+     * @return the complementary error function at the given argument (Chebyshev approximation,
+     * with relative error less than 1.2e-7).
+     */
+    private static double complementaryErrorFunction(double x) {
+        final double[] COEFFICIENTS = {
+                -1.26551223, 1.00002368, 0.37409196, 0.09678418, -0.18628806,
+                0.27886807, -1.13520398, 1.48851587, -0.82215223, 0.17087277};
+        final double ABSOLUTE_VALUE = Math.abs(x);
+        final double T = 1 / (1 + ABSOLUTE_VALUE / 2);
+        double polynomial = 0;
+        for (int i = COEFFICIENTS.length - 1; i >= 0; i--) {
+            polynomial = COEFFICIENTS[i] + T * polynomial;
+        }
+        final double RESULT = T * Math.exp(-ABSOLUTE_VALUE * ABSOLUTE_VALUE + polynomial);
+        return x >= 0 ? RESULT : 2 - RESULT;
+    }
+
+    /**
+     * @param standardDeviation1 The sample standard deviation of the first sample.
+     * @param numberOfValues1    The size of the first sample.
+     * @param standardDeviation2 The sample standard deviation of the second sample.
+     * @param numberOfValues2    The size of the second sample.
+     * @return the degrees of freedom of the Welch's t-test (Welch-Satterthwaite equation), or
+     * {@link Double#NaN} if both variances are zero.
+     */
+    public static double welchDegreesOfFreedom(double standardDeviation1, long numberOfValues1,
+                                               double standardDeviation2, long numberOfValues2) {
+        final double SQUARED_STANDARD_ERROR_1 = standardDeviation1 * standardDeviation1 / numberOfValues1;
+        final double SQUARED_STANDARD_ERROR_2 = standardDeviation2 * standardDeviation2 / numberOfValues2;
+        final double SUM = SQUARED_STANDARD_ERROR_1 + SQUARED_STANDARD_ERROR_2;
+        return SUM == 0 ? Double.NaN : SUM * SUM / (
+                SQUARED_STANDARD_ERROR_1 * SQUARED_STANDARD_ERROR_1 / (numberOfValues1 - 1)
+                        + SQUARED_STANDARD_ERROR_2 * SQUARED_STANDARD_ERROR_2 / (numberOfValues2 - 1));
+    }
+
+    /**
+     * Welch's t-test of the null hypothesis that two samples come from distributions with the same mean,
+     * without assuming equal variances.
+     *
+     * @param mean1              The mean of the first sample.
+     * @param standardDeviation1 The sample standard deviation of the first sample.
+     * @param numberOfValues1    The size of the first sample.
+     * @param mean2              The mean of the second sample.
+     * @param standardDeviation2 The sample standard deviation of the second sample.
+     * @param numberOfValues2    The size of the second sample.
+     * @return the two-sided p-value, or {@link Double#NaN} if a sample has less than two values.
+     */
+    public static double welchTTestPValue(double mean1, double standardDeviation1, long numberOfValues1,
+                                          double mean2, double standardDeviation2, long numberOfValues2) {
+        if (numberOfValues1 < 2 || numberOfValues2 < 2) {
+            return Double.NaN;
+        }
+        final double STANDARD_ERROR = Math.sqrt(standardDeviation1 * standardDeviation1 / numberOfValues1
+                + standardDeviation2 * standardDeviation2 / numberOfValues2);
+        if (STANDARD_ERROR == 0) {
+            return mean1 == mean2 ? 1 : 0;
+        }
+        final double T = (mean1 - mean2) / STANDARD_ERROR;
+        final double DEGREES_OF_FREEDOM =
+                welchDegreesOfFreedom(standardDeviation1, numberOfValues1, standardDeviation2, numberOfValues2);
+        // both tails, without the cancellation of 1 - cumulative distribution
+        return regularizedIncompleteBeta(DEGREES_OF_FREEDOM / (DEGREES_OF_FREEDOM + T * T), DEGREES_OF_FREEDOM / 2, 0.5);
+    }
+
+    /**
+     * Mann-Whitney U test of the null hypothesis that a value of the first sample is equally likely to be
+     * greater or less than a value of the second sample: unlike the t-test, it is based on ranks only,
+     * hence it is not affected by outliers.
+     * The rank sum is computed by merging the sorted samples, in linear time, and the p-value with the
+     * normal approximation (with correction for ties and continuity), accurate for samples of more
+     * than about 20 values.
+     *
+     * @param sortedValues1 The first sample, sorted in ascending order.
+     * @param sortedValues2 The second sample, sorted in ascending order.
+     * @return the two-sided p-value, or {@link Double#NaN} if a sample is empty.
+     */
+    public static double mannWhitneyUTestPValue(double[] sortedValues1, double[] sortedValues2) {
+        final double N1 = sortedValues1.length;
+        final double N2 = sortedValues2.length;
+        final double N = N1 + N2;
+        if (N1 == 0 || N2 == 0) {
+            return Double.NaN;
+        }
+        double rankSum1 = 0;
+        double sumOfCubedTies = 0;  // sum of (t^3 - t) over the groups of t tied values
+        long numberOfRankedValues = 0;
+        for (int i = 0, j = 0; i < sortedValues1.length || j < sortedValues2.length; ) {
+            final double VALUE = j == sortedValues2.length
+                    || (i < sortedValues1.length && sortedValues1[i] <= sortedValues2[j])
+                    ? sortedValues1[i] : sortedValues2[j];
+            long tiedValues1 = 0;
+            long tiedValues2 = 0;
+            for (; i < sortedValues1.length && sortedValues1[i] == VALUE; i++) {
+                tiedValues1++;
+            }
+            for (; j < sortedValues2.length && sortedValues2[j] == VALUE; j++) {
+                tiedValues2++;
+            }
+            final double TIED_VALUES = tiedValues1 + tiedValues2;
+            rankSum1 += tiedValues1 * (numberOfRankedValues + (TIED_VALUES + 1) / 2);
+            sumOfCubedTies += TIED_VALUES * TIED_VALUES * TIED_VALUES - TIED_VALUES;
+            numberOfRankedValues += tiedValues1 + tiedValues2;
+        }
+        final double U1 = rankSum1 - N1 * (N1 + 1) / 2;
+        final double VARIANCE = N1 * N2 / 12 * (N + 1 - sumOfCubedTies / (N * (N - 1)));
+        if (VARIANCE <= 0) {
+            return 1;   // all values tied
+        }
+        final double Z = Math.max(0, Math.abs(U1 - N1 * N2 / 2) - 0.5) / Math.sqrt(VARIANCE);
+        return complementaryErrorFunction(Z / Math.sqrt(2));
+    }
+
+    /**
+     * @param probability      The probability, in the open interval (0, 1).
+     * @param degreesOfFreedom The degrees of freedom (positive).
+     * @return the quantile of the Student's t-distribution for the given probability
+     * (found by bisection of the cumulative distribution function).
+     */
+    public static double studentTQuantile(double probability, double degreesOfFreedom) {
+        if (probability <= 0 || probability >= 1) {
+            throw new IllegalArgumentException("Probability must be in (0, 1).");
+        }
+        if (probability < 0.5) {
+            return -studentTQuantile(1 - probability, degreesOfFreedom);
+        }
+        double lowerBound = 0;
+        double upperBound = 1;
+        while (studentTCumulativeDistribution(upperBound, degreesOfFreedom) < probability) {
+            lowerBound = upperBound;
+            upperBound *= 2;
+        }
+        for (int i = 0; i < MAX_ITERATIONS && upperBound - lowerBound > EPSILON * upperBound; i++) {
+            double middle = (lowerBound + upperBound) / 2;
+            if (studentTCumulativeDistribution(middle, degreesOfFreedom) < probability) {
+                lowerBound = middle;
+            } else {
+                upperBound = middle;
+            }
+        }
+        return (lowerBound + upperBound) / 2;
+    }
+}
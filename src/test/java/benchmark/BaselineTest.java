@@ -0,0 +1,125 @@
+package benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaselineTest {
+
+    private static BenchmarkInstance baseline;
+    private static BenchmarkInstance fasterThanBaseline;
+    private static BenchmarkInstance benchmarkInThroughputMode;
+
+    @TempDir
+    Path directory;
+
+    private static BenchmarkInstance benchmark(String nameOfMethod)
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        return new BenchmarkInstance(ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(nameOfMethod), null);
+    }
+
+    @BeforeAll
+    static void benchmarkMethods()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        baseline = benchmark(ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_BASELINE_OF_COMPARISON);
+        fasterThanBaseline = benchmark(ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_FASTER_THAN_BASELINE);
+        benchmarkInThroughputMode = benchmark(ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_IN_THROUGHPUT_MODE);
+    }
+
+    /**
+     * Saves the baseline of the method faster than {@link #baseline} as if it was the baseline of the latter.
+     */
+    private Baseline baselineOfFasterMethodWithNameOfSlowerOne() throws IOException {
+        final Path FILE = directory.resolve("baseline.txt");
+        Baseline.of(Collections.singletonList(fasterThanBaseline)).save(FILE);
+        Files.write(FILE, new String(Files.readAllBytes(FILE), StandardCharsets.UTF_8)
+                .replace(ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_FASTER_THAN_BASELINE,
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_BASELINE_OF_COMPARISON)
+                .getBytes(StandardCharsets.UTF_8));
+        return Baseline.load(FILE);
+    }
+
+    @Test
+    void savedBaselineCanBeLoaded() throws IOException {
+        final Path FILE = directory.resolve("subdirectory").resolve("baseline.txt");
+        Baseline.of(Arrays.asList(baseline, fasterThanBaseline, benchmarkInThroughputMode)).save(FILE);
+        Baseline loaded = Baseline.load(FILE);
+        assertEquals(2, loaded.getSummaries().size());
+        BenchmarkSummary expected = BenchmarkSummary.of(baseline);
+        BenchmarkSummary actual = loaded.getSummaries().get(expected.getNameOfBenchmark());
+        assertEquals(expected.getNumberOfSamples(), actual.getNumberOfSamples());
+        assertEquals(expected.getMeanInNanoseconds(), actual.getMeanInNanoseconds());
+        assertEquals(expected.getStandardDeviationInNanoseconds(), actual.getStandardDeviationInNanoseconds());
+        assertEquals(expected.getMedianInNanoseconds(), actual.getMedianInNanoseconds());
+        assertArrayEquals(expected.getSortedDurationsInNanoseconds(), actual.getSortedDurationsInNanoseconds());
+    }
+
+    @Test
+    void savedSamplesAreBounded() throws IOException {
+        final int SAMPLES = 100 * Baseline.MAXIMUM_SAVED_SAMPLES;
+        final Path FILE = directory.resolve("baseline.txt");
+        Files.write(FILE, Arrays.asList(Baseline.HEADER, "name\t" + SAMPLES + "\t5.5\t1.0\t5.5\t"
+                + IntStream.range(0, SAMPLES).mapToObj(i -> String.valueOf(i % 10 + 1)).collect(Collectors.joining(","))));
+        Baseline.load(FILE).save(FILE);
+        BenchmarkSummary loaded = Baseline.load(FILE).getSummaries().get("name");
+        assertEquals(SAMPLES, loaded.getNumberOfSamples());
+        assertEquals(5.5, loaded.getMeanInNanoseconds());
+        double[] savedDurations = loaded.getSortedDurationsInNanoseconds();
+        assertEquals(Baseline.MAXIMUM_SAVED_SAMPLES, savedDurations.length);
+        for (int duration = 1; duration <= 10; duration++) {  // same distribution
+            final int DURATION = duration;
+            assertEquals(Baseline.MAXIMUM_SAVED_SAMPLES / 10, Arrays.stream(savedDurations).filter(d -> d == DURATION).count());
+        }
+    }
+
+    @Test
+    void noChangesAgainstBaselineOfSameRun() {
+        RegressionReport report = Baseline.of(Arrays.asList(baseline, fasterThanBaseline))
+                .check(Arrays.asList(baseline, fasterThanBaseline, benchmarkInThroughputMode));
+        assertFalse(report.hasRegressions());
+        assertEquals(2, report.getChecks(PerformanceChange.NO_CHANGE).size());
+        assertTrue(report.getBenchmarksNotInBaseline().isEmpty());
+        assertTrue(report.getBenchmarksNotRun().isEmpty());
+    }
+
+    @Test
+    void slowdownBeyondThresholdIsRegression() throws IOException {
+        RegressionReport report = baselineOfFasterMethodWithNameOfSlowerOne().check(Collections.singletonList(baseline));
+        assertTrue(report.hasRegressions(), report.toString());
+        RegressionCheck check = report.getChecks().get(0);
+        assertTrue(check.isMediansCompared());
+        assertTrue(check.getRelativeChange() > Benchmark.DEFAULT_REGRESSION_THRESHOLD, check.toString());
+        assertTrue(report.toString().contains("1 regression,"), report.toString());
+    }
+
+    @Test
+    void benchmarksInOnlyOneOfRunAndBaselineAreReported() throws IOException {
+        RegressionReport report = baselineOfFasterMethodWithNameOfSlowerOne().check(Collections.singletonList(fasterThanBaseline));
+        assertTrue(report.getChecks().isEmpty());
+        assertEquals(Collections.singletonList(BenchmarkSummary.nameOf(fasterThanBaseline.getTestedMethod())),
+                report.getBenchmarksNotInBaseline());
+        assertEquals(Collections.singletonList(BenchmarkSummary.nameOf(baseline.getTestedMethod())),
+                report.getBenchmarksNotRun());
+    }
+
+    @Test
+    void invalidFileIsNotLoaded() throws IOException {
+        final Path FILE = directory.resolve("invalid.txt");
+        Files.write(FILE, Collections.singletonList("not a baseline"));
+        assertThrows(IOException.class, () -> Baseline.load(FILE));
+        Files.write(FILE, Arrays.asList(Baseline.HEADER, "name\t1\tnot a number\t0\t0\t" + Baseline.NO_SAMPLES));
+        assertThrows(IOException.class, () -> Baseline.load(FILE));
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkComparisonTest {
+
+    private static BenchmarkInstance baseline;
+    private static BenchmarkInstance fasterThanBaseline;
+
+    private static BenchmarkInstance benchmark(String nameOfMethod)
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        return new BenchmarkInstance(ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(nameOfMethod), null);
+    }
+
+    @BeforeAll
+    static void benchmarkMethodsToCompare()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        baseline = benchmark(ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_BASELINE_OF_COMPARISON);
+        fasterThanBaseline = benchmark(ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_FASTER_THAN_BASELINE);
+    }
+
+    @Test
+    void fasterMethodSignificantlyFaster() {
+        BenchmarkComparison comparison = BenchmarkComparison.compare(baseline, fasterThanBaseline);
+        assertTrue(comparison.isSignificant(), comparison.toString());
+        assertTrue(comparison.getRelativeDifference() > 0, comparison.toString());
+        assertNotNull(comparison.getPValueOfMannWhitneyUTest());
+        assertTrue(comparison.toString().contains(" faster than "), comparison.toString());
+        assertTrue(BenchmarkComparison.compare(fasterThanBaseline, baseline).toString().contains(" slower than "));
+    }
+
+    @Test
+    void noSignificantDifferenceOfMethodWithItself() {
+        BenchmarkComparison comparison = BenchmarkComparison.compare(baseline, baseline);
+        assertFalse(comparison.isSignificant());
+        assertEquals(0, comparison.getRelativeDifferenceOfMeans());
+        assertTrue(comparison.toString().startsWith("No significant difference"), comparison.toString());
+    }
+
+    @Test
+    void benchmarksInThroughputModeCannotBeCompared()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInThroughputMode =
+                benchmark(ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_IN_THROUGHPUT_MODE);
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkComparison.compare(baseline, benchmarkInThroughputMode));
+    }
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BenchmarkHarnessGeneratorTest {
+
+    private static final String NAME_OF_BENCHMARK = "test";
+
+    private MethodHandle methodHandle;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        methodHandle = Invoker.of(ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_PUBLIC_STATIC_METHOD_WITHOUT_PARAMETERS))
+                .getMethodHandle();
+    }
+
+    @Test
+    void generateDifferentClassForEachHarness() {
+        BenchmarkHarness harness1 = BenchmarkHarnessGenerator.generate(NAME_OF_BENCHMARK, methodHandle, null, null);
+        BenchmarkHarness harness2 = BenchmarkHarnessGenerator.generate(NAME_OF_BENCHMARK, methodHandle, null, null);
+        assertNotEquals(harness1.getClass(), harness2.getClass());
+        assertNotEquals(BenchmarkHarnessTemplate.class, harness1.getClass());
+    }
+
+    @Test
+    void copyHasTheSameClassAndItsOwnBlackhole() {
+        BenchmarkHarness harness = BenchmarkHarnessGenerator.generate(NAME_OF_BENCHMARK, methodHandle, null, null);
+        BenchmarkHarness copy = harness.copy();
+        assertEquals(harness.getClass(), copy.getClass());
+        assertNotSame(harness.blackhole, copy.blackhole);
+    }
+
+    @Test
+    void measureFillsTheGivenRangeOfTheArray() throws Throwable {
+        final int ARRAY_LENGTH = 10;
+        final int FROM_INDEX = 2;
+        final int TO_INDEX = 7;
+        long[] executionTimes = new long[ARRAY_LENGTH];
+        Arrays.fill(executionTimes, -1);
+        BenchmarkHarnessGenerator.generate(NAME_OF_BENCHMARK, methodHandle, null, null).measure(executionTimes, FROM_INDEX, TO_INDEX, 1);
+        for (int i = 0; i < ARRAY_LENGTH; i++) {
+            assertEquals(i >= FROM_INDEX && i < TO_INDEX, executionTimes[i] >= 0);
+        }
+    }
+
+    @Test
+    void measureDoesNotAllocateInEachIteration() throws Throwable {
+        final int NUMBER_OF_ITERATIONS = 1_000_000;
+        final int WARM_UP_ROUNDS = 5;
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Method getThreadAllocatedBytes;
+        try {   // HotSpot-specific extension of ThreadMXBean
+            getThreadAllocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ClassNotFoundException e) {
+            getThreadAllocatedBytes = null;
+        }
+        assumeTrue(getThreadAllocatedBytes != null && getThreadAllocatedBytes.getDeclaringClass().isInstance(threadMXBean));
+        final long THREAD_ID = Thread.currentThread().getId();
+
+        long[] executionTimes = new long[NUMBER_OF_ITERATIONS];
+        BenchmarkHarness harness = BenchmarkHarnessGenerator.generate(NAME_OF_BENCHMARK, methodHandle, null, null);
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {  // one-time allocations (e.g., linkage of method handles)
+            harness.measure(executionTimes, 0, NUMBER_OF_ITERATIONS, 1);
+        }
+        long allocatedBytesBefore = (long) getThreadAllocatedBytes.invoke(threadMXBean, THREAD_ID);
+        harness.measure(executionTimes, 0, NUMBER_OF_ITERATIONS, 1);
+        long allocatedBytesAfter = (long) getThreadAllocatedBytes.invoke(threadMXBean, THREAD_ID);
+        assertTrue(allocatedBytesAfter - allocatedBytesBefore < NUMBER_OF_ITERATIONS,   // less than a byte per iteration
+                "Allocated bytes: " + (allocatedBytesAfter - allocatedBytesBefore));
+    }
+}
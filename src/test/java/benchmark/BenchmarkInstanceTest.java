@@ -4,10 +4,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Objects;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class BenchmarkInstanceTest {
 
@@ -24,11 +31,419 @@ class BenchmarkInstanceTest {
     }
 
     @Test
-    void testToStringToReturnAsMuchLinesAsTheNumberOfClassFieldsPlus2ForHeadings() {
+    void testToStringToReturnAsMuchLinesAsTheNumberOfNonNullClassFieldsPlus2ForHeadings() throws IllegalAccessException {
         final int NUMBER_OF_LINES_OF_HEADING_PROVIDED_BY_TO_STRING_METHOD = 2;
-        assertTrue(Math.abs(
-                BenchmarkInstance.class.getDeclaredFields().length + NUMBER_OF_LINES_OF_HEADING_PROVIDED_BY_TO_STRING_METHOD -
-                        (benchmarkInstance.toString().split(System.lineSeparator()).length + 1)/*last empty string is excluded by .split()*/)
-                <= 1/*There is one more line if the benchmark report has a comment*/);
+        int numberOfFieldsWithNonNullValue = 0;  // fields with null value (e.g., the comment, if not present) are not shown
+        for (Field field : BenchmarkInstance.class.getDeclaredFields()) {
+            field.setAccessible(true);
+            if (field.get(benchmarkInstance) != null) {
+                numberOfFieldsWithNonNullValue++;
+            }
+        }
+        final KernelDensityEstimate DENSITY = benchmarkInstance.getDensityOfDurationOfEachExecutionInNanoseconds();
+        final int NUMBER_OF_LINES_OF_HISTOGRAM_WITH_HEADING = DENSITY == null ? 0   // shown after the fields
+                : 1 + DENSITY.toAsciiHistogram().split(System.lineSeparator()).length;
+        assertEquals(
+                numberOfFieldsWithNonNullValue + NUMBER_OF_LINES_OF_HEADING_PROVIDED_BY_TO_STRING_METHOD
+                        + NUMBER_OF_LINES_OF_HISTOGRAM_WITH_HEADING,
+                benchmarkInstance.toString().split(System.lineSeparator()).length + 1/*last empty string is excluded by .split()*/);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testMethodHandleInvocationEngineUsedForAccessibleMethods() {
+        assertEquals(InvocationEngine.METHOD_HANDLE, benchmarkInstance.getInvocationEngine());
+    }
+
+    @Test
+    void testAutomaticBatchSizeGreaterThanOneForEmptyMethod()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceWithAutomaticBatchSize = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_AUTOMATIC_BATCH_SIZE),
+                null);
+        assertTrue(benchmarkInstanceWithAutomaticBatchSize.getBatchSize() > 1);
+    }
+
+    @Test
+    void testThroughputReportedWithErrorInThroughputMode()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceInThroughputMode = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_IN_THROUGHPUT_MODE),
+                null);
+        assertEquals(BenchmarkMode.THROUGHPUT, benchmarkInstanceInThroughputMode.getMode());
+        assertNotNull(benchmarkInstanceInThroughputMode.getAverageThroughputInOperationsPerSecond());
+        assertTrue(benchmarkInstanceInThroughputMode.getAverageThroughputInOperationsPerSecond() > 0);
+        assertNotNull(benchmarkInstanceInThroughputMode.getErrorOfAverageThroughputInOperationsPerSecond());
+        assertNull(benchmarkInstance.getAverageThroughputInOperationsPerSecond());
+    }
+
+    @Test
+    void testTimeBoundedPhasesLastAtLeastTheGivenDurations()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        long startTime = System.nanoTime();
+        BenchmarkInstance benchmarkInstanceWithTimeBoundedPhases = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_TIME_BOUNDED_PHASES),
+                null);
+        long durationInNanoseconds = System.nanoTime() - startTime;
+        assertTrue(durationInNanoseconds >= 1_000_000L * (
+                ClassWithDummyMethodsForTestingPurposes.WARM_UP_TIME_IN_MILLISECONDS_OF_METHOD_WITH_TIME_BOUNDED_PHASES
+                        + ClassWithDummyMethodsForTestingPurposes.MEASUREMENT_TIME_IN_MILLISECONDS_OF_METHOD_WITH_TIME_BOUNDED_PHASES));
+        assertTrue(benchmarkInstanceWithTimeBoundedPhases.getIterationsOfTest() > Benchmark.DEFAULT_ITERATIONS);
+    }
+
+    @Test
+    void testFirstInvocationsTimedInFreshJvmsInSingleShotMode()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceInSingleShotMode = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_IN_SINGLE_SHOT_MODE),
+                null);
+        assertEquals(BenchmarkMode.SINGLE_SHOT, benchmarkInstanceInSingleShotMode.getMode());
+        assertNotNull(benchmarkInstanceInSingleShotMode.getAverageDurationOfEachColdInvocationInNanoseconds());
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.COLD_INVOCATIONS_IN_EACH_FORK_OF_METHOD_IN_SINGLE_SHOT_MODE,
+                benchmarkInstanceInSingleShotMode.getAverageDurationOfEachColdInvocationInNanoseconds().size());
+        assertTrue(benchmarkInstanceInSingleShotMode.getAverageDurationOfEachExecutionInNanoseconds() > 0);
+        assertNull(benchmarkInstance.getAverageDurationOfEachColdInvocationInNanoseconds());
+    }
+
+    @Test
+    void testSampledExecutionTimesBoundedByReservoirSizeInSampleTimeMode()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceInSampleTimeMode = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_IN_SAMPLE_TIME_MODE),
+                null);
+        assertEquals(BenchmarkMode.SAMPLE_TIME, benchmarkInstanceInSampleTimeMode.getMode());
+        assertEquals(100_000, benchmarkInstanceInSampleTimeMode.getIterationsOfTest());
+        assertNotNull(benchmarkInstanceInSampleTimeMode.getTimedIterations());
+        assertTrue(benchmarkInstanceInSampleTimeMode.getTimedIterations() > ClassWithDummyMethodsForTestingPurposes.RESERVOIR_SIZE_OF_METHOD_IN_SAMPLE_TIME_MODE);
+        assertTrue(benchmarkInstanceInSampleTimeMode.getTimedIterations() < benchmarkInstanceInSampleTimeMode.getIterationsOfTest());
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.RESERVOIR_SIZE_OF_METHOD_IN_SAMPLE_TIME_MODE,
+                benchmarkInstanceInSampleTimeMode.getKeptTimedIterations());
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.RESERVOIR_SIZE_OF_METHOD_IN_SAMPLE_TIME_MODE,
+                benchmarkInstanceInSampleTimeMode.getDistributionOfDurationOfEachExecutionInNanoseconds().getNumberOfSamples());
+        assertNull(benchmarkInstance.getTimedIterations());
+    }
+
+    @Test
+    void testDistributionOfDurationsConsistentWithFastestSlowestAndAverageExecution() {
+        DistributionStatistics distribution = benchmarkInstance.getDistributionOfDurationOfEachExecutionInNanoseconds();
+        assertNotNull(distribution);
+        assertEquals(benchmarkInstance.getIterationsOfTest(), distribution.getNumberOfSamples());
+        assertEquals(benchmarkInstance.getAverageDurationOfEachExecutionInNanoseconds(), distribution.getMeanInNanoseconds(), 1);
+        assertTrue(distribution.getMinimumInNanoseconds() <= distribution.getMedianInNanoseconds());
+        assertTrue(distribution.getMedianInNanoseconds() <= distribution.getPercentile90InNanoseconds());
+        assertTrue(distribution.getPercentile90InNanoseconds() <= distribution.getPercentile99InNanoseconds());
+        assertTrue(distribution.getPercentile99InNanoseconds() <= distribution.getPercentile99_9InNanoseconds());
+        assertTrue(distribution.getPercentile99_9InNanoseconds() <= distribution.getPercentile99_99InNanoseconds());
+        assertTrue(distribution.getPercentile99_99InNanoseconds() <= distribution.getMaximumInNanoseconds());
+        assertTrue(distribution.getMedianAbsoluteDeviationInNanoseconds() >= 0);
+        assertEquals(distribution.getStandardDeviationInNanoseconds() / distribution.getMeanInNanoseconds(),
+                distribution.getCoefficientOfVariation(), 1e-9);
+        assertEquals(Benchmark.DEFAULT_CONFIDENCE_LEVEL, benchmarkInstance.getConfidenceLevel());
+        assertNotNull(distribution.getConfidenceIntervalOfMeanInNanoseconds());
+        assertTrue(distribution.getConfidenceIntervalOfMeanInNanoseconds().contains(distribution.getMeanInNanoseconds()));
+        assertNotNull(distribution.getConfidenceIntervalOfPercentile99InNanoseconds());
+    }
+
+    @Test
+    void testBatchSizeIncreasedIfIterationsLastTooFewClockTicks() {
+        assertTrue(benchmarkInstance.getBatchSize() > 1);
+        assertNotNull(benchmarkInstance.getNoteAboutClockResolution());
+        assertSame(ClockCalibration.getLastCalibration(), benchmarkInstance.getClockCalibration());
+    }
+
+    @Test
+    void testMeasurementStoppedWhenTargetPrecisionIsReached()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceWithTargetPrecision = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_TARGET_PRECISION),
+                null);
+        assertEquals(StoppingReason.TARGET_PRECISION_REACHED, benchmarkInstanceWithTargetPrecision.getReasonForStoppingTheMeasurement());
+        assertNotNull(benchmarkInstanceWithTargetPrecision.getAchievedRelativeHalfWidthOfConfidenceInterval());
+        assertTrue(benchmarkInstanceWithTargetPrecision.getAchievedRelativeHalfWidthOfConfidenceInterval() <= 0.5);
+        assertNull(benchmarkInstance.getReasonForStoppingTheMeasurement());
+    }
+
+    @Test
+    void testMeasurementStoppedAtMaximumIterationsIfTargetPrecisionIsUnreachable()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceWithUnreachableTargetPrecision = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_UNREACHABLE_TARGET_PRECISION),
+                null);
+        assertEquals(StoppingReason.MAXIMUM_ITERATIONS_REACHED,
+                benchmarkInstanceWithUnreachableTargetPrecision.getReasonForStoppingTheMeasurement());
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.MAXIMUM_ITERATIONS_OF_METHOD_WITH_UNREACHABLE_TARGET_PRECISION,
+                benchmarkInstanceWithUnreachableTargetPrecision.getIterationsOfTest());
+    }
+
+    @Test
+    void testExecutionTimesRecordedInHistogramIfRequested()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceWithHistogram = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_HISTOGRAM),
+                null);
+        LatencyHistogram histogram = benchmarkInstanceWithHistogram.getHistogramOfDurationOfEachIterationInNanoseconds();
+        assertNotNull(histogram);
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.ITERATIONS_OF_METHOD_WITH_HISTOGRAM, histogram.getTotalCount());
+        assertEquals(histogram.getTotalCount(),
+                benchmarkInstanceWithHistogram.getDistributionOfDurationOfEachExecutionInNanoseconds().getNumberOfSamples());
+        assertEquals(histogram.getMinimum() / benchmarkInstanceWithHistogram.getBatchSize(),
+                benchmarkInstanceWithHistogram.getDistributionOfDurationOfEachExecutionInNanoseconds().getMinimumInNanoseconds(), 1);
+        assertNull(benchmarkInstance.getHistogramOfDurationOfEachIterationInNanoseconds());
+    }
+
+    @Test
+    void testWarmUpRunUntilSteadyStateIfRequested()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceWarmedUpUntilSteadyState = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WARMED_UP_UNTIL_STEADY_STATE),
+                null);
+        Boolean steadyStateReached = benchmarkInstanceWarmedUpUntilSteadyState.getSteadyStateReachedDuringWarmUp();
+        Double actualDurationOfWarmUpInMilliseconds = benchmarkInstanceWarmedUpUntilSteadyState.getActualDurationOfWarmUpInMilliseconds();
+        assertNotNull(steadyStateReached);
+        assertNotNull(actualDurationOfWarmUpInMilliseconds);
+        assertTrue(benchmarkInstanceWarmedUpUntilSteadyState.getWarmUpIterationsExcludedFromBenchmarkStatistics() > 0);
+        assertTrue(steadyStateReached || actualDurationOfWarmUpInMilliseconds
+                >= ClassWithDummyMethodsForTestingPurposes.MAXIMUM_WARM_UP_TIME_IN_MILLISECONDS_OF_METHOD_WARMED_UP_UNTIL_STEADY_STATE);
+        assertEquals(100, benchmarkInstanceWarmedUpUntilSteadyState.getIterationsOfTest());
+        assertNull(benchmarkInstance.getSteadyStateReachedDuringWarmUp());
+        assertNotNull(benchmarkInstance.getActualDurationOfWarmUpInMilliseconds());
+    }
+
+    @Test
+    void testMethodExecutedOnMultipleThreadsAtOnce()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceOnMultipleThreads = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_ON_MULTIPLE_THREADS),
+                null);
+        ThreadGroupStatistics statisticsOfThreads = benchmarkInstanceOnMultipleThreads.getStatisticsOfThreads();
+        assertNotNull(statisticsOfThreads);
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.THREADS_OF_METHODS_ON_MULTIPLE_THREADS, statisticsOfThreads.getNumberOfThreads());
+        assertTrue(statisticsOfThreads.getStatisticsOfEachThread().stream().allMatch(thread -> thread.getExecutions() > 0));
+        final long ITERATIONS_OF_ALL_THREADS = statisticsOfThreads.getStatisticsOfEachThread().stream()
+                .mapToLong(ThreadStatistics::getExecutions).sum() / benchmarkInstanceOnMultipleThreads.getBatchSize();
+        assertEquals(ITERATIONS_OF_ALL_THREADS, benchmarkInstanceOnMultipleThreads.getIterationsOfTest());
+        assertTrue(benchmarkInstanceOnMultipleThreads.getIterationsOfTest()      // all stopped when the first completed
+                <= ClassWithDummyMethodsForTestingPurposes.THREADS_OF_METHODS_ON_MULTIPLE_THREADS * 10_000L);
+        assertEquals(ITERATIONS_OF_ALL_THREADS,
+                Objects.requireNonNull(benchmarkInstanceOnMultipleThreads.getDistributionOfDurationOfEachExecutionInNanoseconds()).getNumberOfSamples());
+        assertTrue(statisticsOfThreads.getFairnessIndex() >= 1d / statisticsOfThreads.getNumberOfThreads()
+                && statisticsOfThreads.getFairnessIndex() <= 1 + 1e-9);
+        assertTrue(benchmarkInstanceOnMultipleThreads.toString().contains("Statistics of each thread"));
+        assertNull(benchmarkInstance.getStatisticsOfThreads());
+    }
+
+    @Test
+    void testMethodExecutedOnMultipleThreadsAtOnceInThroughputMode()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceOnMultipleThreads = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_ON_MULTIPLE_THREADS_IN_THROUGHPUT_MODE),
+                null);
+        ThreadGroupStatistics statisticsOfThreads = benchmarkInstanceOnMultipleThreads.getStatisticsOfThreads();
+        assertNotNull(statisticsOfThreads);
+        assertNotNull(benchmarkInstanceOnMultipleThreads.getAverageThroughputInOperationsPerSecond());
+        final double SUM_OF_THROUGHPUTS_OF_EACH_THREAD = statisticsOfThreads.getStatisticsOfEachThread().stream()
+                .mapToDouble(ThreadStatistics::getThroughputInOperationsPerSecond).sum();
+        assertEquals(SUM_OF_THROUGHPUTS_OF_EACH_THREAD, statisticsOfThreads.getAggregateThroughputInOperationsPerSecond(),
+                SUM_OF_THROUGHPUTS_OF_EACH_THREAD * 0.5);
+        assertNull(benchmarkInstanceOnMultipleThreads.getDistributionOfDurationOfEachExecutionInNanoseconds());
+    }
+
+    @Test
+    void testThroughputMeasuredAtIncreasingNumbersOfThreadsInScalabilitySweep()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceWithScalabilitySweep = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_SCALABILITY_SWEEP),
+                null);
+        ScalabilityAnalysis scalability = benchmarkInstanceWithScalabilitySweep.getScalabilityOfThroughput();
+        assertNotNull(scalability);
+        assertArrayEquals(new int[]{1, 2, ClassWithDummyMethodsForTestingPurposes.MAXIMUM_THREADS_OF_METHOD_WITH_SCALABILITY_SWEEP},
+                scalability.getThreadCounts());
+        assertNotNull(scalability.getContentionCoefficient());
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.MAXIMUM_THREADS_OF_METHOD_WITH_SCALABILITY_SWEEP,
+                Objects.requireNonNull(benchmarkInstanceWithScalabilitySweep.getStatisticsOfThreads()).getNumberOfThreads());
+        assertEquals(benchmarkInstanceWithScalabilitySweep.getStatisticsOfThreads().getAggregateThroughputInOperationsPerSecond(),
+                scalability.getThroughputsInOperationsPerSecond()[2]);
+        assertTrue(benchmarkInstanceWithScalabilitySweep.toString().contains("Throughput against number of threads"));
+        assertNull(benchmarkInstance.getScalabilityOfThroughput());
+    }
+
+    @Test
+    void testMethodExecutedOnVirtualThreadsIfSupportedByTheRuntime()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceOnVirtualThreads = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_ON_VIRTUAL_THREADS),
+                null);
+        assertEquals(VirtualThreads.isSupported(), benchmarkInstanceOnVirtualThreads.getOnVirtualThreads());
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.THREADS_OF_METHOD_ON_VIRTUAL_THREADS,
+                Objects.requireNonNull(benchmarkInstanceOnVirtualThreads.getStatisticsOfThreads()).getNumberOfThreads());
+        if (VirtualThreads.isSupported()) {
+            assertTrue(benchmarkInstanceOnVirtualThreads.getThroughputOnVirtualThreadsRelativeToPlatformThreads() > 0);
+            assertEquals(VirtualThreadPinning.canBeRecorded(), benchmarkInstanceOnVirtualThreads.getPinningOfCarrierThreads() != null);
+        } else {    // platform threads are used instead
+            assertNull(benchmarkInstanceOnVirtualThreads.getThroughputOnVirtualThreadsRelativeToPlatformThreads());
+            assertNull(benchmarkInstanceOnVirtualThreads.getPinningOfCarrierThreads());
+        }
+        assertTrue(benchmarkInstanceOnVirtualThreads.toString().contains("other threads, sorted by throughput"));
+        assertNull(benchmarkInstance.getOnVirtualThreads());
+    }
+
+    @Test
+    void testMembersOfGroupExecutedAtOnceOnTheirOwnThreadsWithSharedState()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        final long CONSUMED_ELEMENTS_BEFORE = ClassWithDummyGroupsForTestingPurposes.CONSUMED_ELEMENTS.get();
+        final BenchmarkGroup.Registry GROUPS = new BenchmarkGroup.Registry();
+        BenchmarkInstance producer = new BenchmarkInstance(ClassWithDummyGroupsForTestingPurposes.class.getDeclaredMethod(
+                ClassWithDummyGroupsForTestingPurposes.NAME_OF_PRODUCER, ClassWithDummyGroupsForTestingPurposes.SharedQueue.class),
+                null, ClockCalibration.getLastCalibration(), GROUPS);
+        BenchmarkInstance consumer = new BenchmarkInstance(ClassWithDummyGroupsForTestingPurposes.class.getDeclaredMethod(
+                ClassWithDummyGroupsForTestingPurposes.NAME_OF_CONSUMER, ClassWithDummyGroupsForTestingPurposes.SharedQueue.class),
+                null, ClockCalibration.getLastCalibration(), GROUPS);
+        assertTrue(ClassWithDummyGroupsForTestingPurposes.CONSUMED_ELEMENTS.get() > CONSUMED_ELEMENTS_BEFORE);  // shared queue
+        assertEquals(ClassWithDummyGroupsForTestingPurposes.GROUP_OF_PRODUCERS_AND_CONSUMERS, producer.getGroup());
+        ThreadGroupStatistics statisticsOfProducer = Objects.requireNonNull(producer.getStatisticsOfThreads());
+        ThreadGroupStatistics statisticsOfConsumer = Objects.requireNonNull(consumer.getStatisticsOfThreads());
+        assertEquals(ClassWithDummyGroupsForTestingPurposes.THREADS_OF_PRODUCER, statisticsOfProducer.getNumberOfThreads());
+        assertEquals(1, statisticsOfConsumer.getNumberOfThreads());
+        assertTrue(statisticsOfProducer.getStatisticsOfEachThread().stream()
+                .allMatch(thread -> thread.getRole().equals(ClassWithDummyGroupsForTestingPurposes.NAME_OF_PRODUCER)));
+        ThreadGroupStatistics statisticsOfGroup = Objects.requireNonNull(producer.getStatisticsOfGroup());
+        assertEquals(ClassWithDummyGroupsForTestingPurposes.THREADS_OF_PRODUCER + 1, statisticsOfGroup.getNumberOfThreads());
+        assertEquals(statisticsOfGroup.getAggregateThroughputInOperationsPerSecond(),     // a single run of the group
+                Objects.requireNonNull(consumer.getStatisticsOfGroup()).getAggregateThroughputInOperationsPerSecond());
+        assertEquals(statisticsOfGroup.getAggregateThroughputInOperationsPerSecond(),
+                statisticsOfProducer.getAggregateThroughputInOperationsPerSecond()
+                        + statisticsOfConsumer.getAggregateThroughputInOperationsPerSecond(),
+                statisticsOfGroup.getAggregateThroughputInOperationsPerSecond() * 1e-9);
+        assertEquals(statisticsOfProducer.getAggregateThroughputInOperationsPerSecond(),
+                producer.getAverageThroughputInOperationsPerSecond(),
+                statisticsOfProducer.getAggregateThroughputInOperationsPerSecond() * 0.5);
+        assertTrue(consumer.toString().contains("(" + ClassWithDummyGroupsForTestingPurposes.NAME_OF_PRODUCER + ")"));
+        BenchmarkInstance consumerInAnotherRun = new BenchmarkInstance(ClassWithDummyGroupsForTestingPurposes.class.getDeclaredMethod(
+                ClassWithDummyGroupsForTestingPurposes.NAME_OF_CONSUMER, ClassWithDummyGroupsForTestingPurposes.SharedQueue.class),
+                null);
+        assertNotEquals(statisticsOfGroup.getAggregateThroughputInOperationsPerSecond(),    // the group is run again
+                Objects.requireNonNull(consumerInAnotherRun.getStatisticsOfGroup()).getAggregateThroughputInOperationsPerSecond());
+        assertNull(benchmarkInstance.getGroup());
+        assertThrows(IllegalArgumentException.class, () -> new BenchmarkInstance(
+                ClassWithDummyGroupsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyGroupsForTestingPurposes.NAME_OF_MEMBER_WITH_DIFFERENT_SETTINGS), null));
+    }
+
+    @Test
+    void testDurationsOfMethodWithTwoCodePathsDetectedAsMultimodal()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceWithTwoCodePaths = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_TWO_CODE_PATHS),
+                null);
+        KernelDensityEstimate density = benchmarkInstanceWithTwoCodePaths.getDensityOfDurationOfEachExecutionInNanoseconds();
+        assertNotNull(density);
+        assertTrue(density.isMultimodal(), density.toString());
+        assertTrue(benchmarkInstanceWithTwoCodePaths.toString().contains("MULTIMODAL"));
+        assertTrue(benchmarkInstanceWithTwoCodePaths.toString().contains("<- mode"));
+    }
+
+    @Test
+    void testSampleTimeModeBoundedByTimeNotOverrunByIterationsNotTimed()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        final long START_TIME = System.nanoTime();
+        BenchmarkInstance benchmarkInstanceRarelySampled = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_RARELY_SAMPLED_FOR_A_TIME),
+                null);
+        final double ELAPSED_MILLISECONDS = (System.nanoTime() - START_TIME) / 1e6;
+        assertTrue(benchmarkInstanceRarelySampled.getIterationsOfTest() > 0);
+        assertTrue(ELAPSED_MILLISECONDS    // iterations not timed (about 10^9 before a sample) would take much longer
+                        < ClassWithDummyMethodsForTestingPurposes.MEASUREMENT_TIME_IN_MILLISECONDS_OF_METHOD_RARELY_SAMPLED_FOR_A_TIME + 5_000,
+                "Elapsed milliseconds: " + ELAPSED_MILLISECONDS);
+    }
+
+    @Test
+    void testMemoryNotProportionalToWarmUpAndTearDownWithStreamingStatistics() throws Exception {
+        final int ITERATIONS = ClassWithDummyMethodsForTestingPurposes
+                .WARM_UP_AND_TEAR_DOWN_ITERATIONS_OF_METHOD_WITH_STREAMING_STATISTICS_AND_HUGE_WARM_UP;
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Method getThreadAllocatedBytes;
+        try {   // HotSpot-specific extension of ThreadMXBean
+            getThreadAllocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ClassNotFoundException e) {
+            getThreadAllocatedBytes = null;
+        }
+        assumeTrue(getThreadAllocatedBytes != null && getThreadAllocatedBytes.getDeclaringClass().isInstance(threadMXBean));
+        final long THREAD_ID = Thread.currentThread().getId();
+
+        long allocatedBytesBefore = (long) getThreadAllocatedBytes.invoke(threadMXBean, THREAD_ID);
+        BenchmarkInstance benchmarkInstanceWithHugeWarmUp = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_STREAMING_STATISTICS_AND_HUGE_WARM_UP),
+                null);
+        long allocatedBytesAfter = (long) getThreadAllocatedBytes.invoke(threadMXBean, THREAD_ID);
+        assertEquals(ITERATIONS, benchmarkInstanceWithHugeWarmUp.getWarmUpIterationsExcludedFromBenchmarkStatistics());
+        assertTrue(allocatedBytesAfter - allocatedBytesBefore < ITERATIONS,    // less than a byte per excluded iteration
+                "Allocated bytes: " + (allocatedBytesAfter - allocatedBytesBefore));
+    }
+
+    @Test
+    void testExecutionTimesAccumulatedInStreamingStatisticsIfRequested()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException {
+        BenchmarkInstance benchmarkInstanceWithStreamingStatistics = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_STREAMING_STATISTICS),
+                null);
+        StreamingStatistics streamingStatistics =
+                benchmarkInstanceWithStreamingStatistics.getStreamingStatisticsOfDurationOfEachIterationInNanoseconds();
+        DistributionStatistics distribution =
+                benchmarkInstanceWithStreamingStatistics.getDistributionOfDurationOfEachExecutionInNanoseconds();
+        assertNotNull(streamingStatistics);
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.ITERATIONS_OF_METHODS_WITH_STREAMING_STATISTICS,
+                streamingStatistics.getCount());
+        assertEquals(streamingStatistics.getCount(), distribution.getNumberOfSamples());
+        assertEquals(streamingStatistics.getMean() / benchmarkInstanceWithStreamingStatistics.getBatchSize(),
+                distribution.getMeanInNanoseconds(), 1e-9);
+        assertTrue(Double.isNaN(distribution.getMedianInNanoseconds()));    // no histogram
+        assertNull(benchmarkInstanceWithStreamingStatistics.getHistogramOfDurationOfEachIterationInNanoseconds());
+
+        BenchmarkInstance benchmarkInstanceWithStreamingStatisticsAndHistogram = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_STREAMING_STATISTICS_AND_HISTOGRAM),
+                null);
+        distribution = benchmarkInstanceWithStreamingStatisticsAndHistogram.getDistributionOfDurationOfEachExecutionInNanoseconds();
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.ITERATIONS_OF_METHODS_WITH_STREAMING_STATISTICS,
+                benchmarkInstanceWithStreamingStatisticsAndHistogram.getHistogramOfDurationOfEachIterationInNanoseconds().getTotalCount());
+        assertTrue(distribution.getMinimumInNanoseconds() <= distribution.getMedianInNanoseconds());
+        assertTrue(distribution.getMedianInNanoseconds() <= distribution.getMaximumInNanoseconds());
+        assertNull(benchmarkInstance.getStreamingStatisticsOfDurationOfEachIterationInNanoseconds());
+    }
+
+    @Test
+    void testExecutionTimesWrittenInRawSamplesFileIfRequested()
+            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException, IOException {
+        BenchmarkInstance benchmarkInstanceWithRawSamplesFile = new BenchmarkInstance(
+                ClassWithDummyMethodsForTestingPurposes.class.getDeclaredMethod(
+                        ClassWithDummyMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_WITH_RAW_SAMPLES_FILE),
+                null);
+        assertNotNull(benchmarkInstanceWithRawSamplesFile.getRawSamplesFile());
+        assertTrue(benchmarkInstanceWithRawSamplesFile.getRawSamplesFile()
+                .startsWith(ClassWithDummyMethodsForTestingPurposes.RAW_SAMPLES_DIRECTORY));
+        RawSampleFile rawSampleFile = RawSampleFile.open(benchmarkInstanceWithRawSamplesFile.getRawSamplesFile());
+        assertEquals(ClassWithDummyMethodsForTestingPurposes.ITERATIONS_OF_METHODS_WITH_STREAMING_STATISTICS,
+                rawSampleFile.getNumberOfSamples());
+        assertEquals(benchmarkInstanceWithRawSamplesFile.getBatchSize(), rawSampleFile.getBatchSize());
+        assertEquals(benchmarkInstanceWithRawSamplesFile.getStreamingStatisticsOfDurationOfEachIterationInNanoseconds().getMean(),
+                rawSampleFile.computeStreamingStatistics(0).getMean(), 1e-6);
+        assertNull(benchmarkInstance.getRawSamplesFile());
+    }
+}
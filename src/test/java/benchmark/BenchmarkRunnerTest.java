@@ -4,6 +4,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -15,6 +16,7 @@ import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -89,5 +91,15 @@ class BenchmarkRunnerTest {
         assertFalse(fakeStdErr.toString().contains(method.toString()));
     }
 
+    @Test
+    void exitWithErrorStatusIfArgumentsAreInvalid() {
+        assertEquals(BenchmarkRunner.EXIT_STATUS_IF_ERROR, BenchmarkRunner.run(new String[]{"--unknown-option"}));
+        assertEquals(BenchmarkRunner.EXIT_STATUS_IF_ERROR,
+                BenchmarkRunner.run(new String[]{BenchmarkRunner.OPTION_TO_SAVE_BASELINE}));
+        assertEquals(BenchmarkRunner.EXIT_STATUS_IF_ERROR,
+                BenchmarkRunner.run(new String[]{BenchmarkRunner.OPTION_OF_PARALLEL_WORKERS, "0"}));
+        assertTrue(fakeStdErr.toString().contains(BenchmarkRunner.OPTION_TO_CHECK_AGAINST_BASELINE));
+    }
+
 }
 
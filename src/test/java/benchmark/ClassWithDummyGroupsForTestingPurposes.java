@@ -0,0 +1,45 @@
+package benchmark;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuppressWarnings("unused") // dummy methods used for tests
+class ClassWithDummyGroupsForTestingPurposes {
+
+    final static String GROUP_OF_PRODUCERS_AND_CONSUMERS = "producersAndConsumers";
+    final static String NAME_OF_PRODUCER = "producer";
+    final static int THREADS_OF_PRODUCER = 3;
+    final static String NAME_OF_CONSUMER = "consumer";
+    final static String GROUP_OF_MEMBERS_WITH_DIFFERENT_SETTINGS = "membersWithDifferentSettings";
+    final static String NAME_OF_MEMBER_WITH_DIFFERENT_SETTINGS = "memberWithDifferentSettings";
+    static final AtomicLong CONSUMED_ELEMENTS = new AtomicLong();
+
+    static class SharedQueue {
+        private final BlockingQueue<Long> queue = new ArrayBlockingQueue<>(1024);
+    }
+
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, group = GROUP_OF_PRODUCERS_AND_CONSUMERS, threads = THREADS_OF_PRODUCER,
+            measurementWindows = 3, windowDurationInMilliseconds = 10, batchSize = 10)
+    static boolean producer(SharedQueue sharedQueue) {
+        return sharedQueue.queue.offer(1L);
+    }
+
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, group = GROUP_OF_PRODUCERS_AND_CONSUMERS,
+            measurementWindows = 3, windowDurationInMilliseconds = 10, batchSize = 10)
+    static Long consumer(SharedQueue sharedQueue) {
+        Long element = sharedQueue.queue.poll();
+        if (element != null) {
+            CONSUMED_ELEMENTS.incrementAndGet();
+        }
+        return element;
+    }
+
+    @Benchmark(group = GROUP_OF_MEMBERS_WITH_DIFFERENT_SETTINGS, iterations = 100)
+    static void memberWithDifferentSettings() {
+    }
+
+    @Benchmark(group = GROUP_OF_MEMBERS_WITH_DIFFERENT_SETTINGS, iterations = 200)
+    static void memberWithOtherSettings() {
+    }
+}
@@ -1,9 +1,50 @@
 package benchmark;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
 @SuppressWarnings({"unused", "EmptyMethod"}) // dummy methods used for tests
 class ClassWithDummyMethodsForTestingPurposes {
 
     final static String NAME_OF_PUBLIC_STATIC_METHOD_WITHOUT_PARAMETERS = "publicStaticMethodWithoutParameters";
+    final static String NAME_OF_STATIC_METHOD_WITH_AUTOMATIC_BATCH_SIZE = "staticMethodWithAutomaticBatchSize";
+    final static String NAME_OF_STATIC_METHOD_IN_THROUGHPUT_MODE = "staticMethodInThroughputMode";
+    final static String NAME_OF_STATIC_METHOD_WITH_TIME_BOUNDED_PHASES = "staticMethodWithTimeBoundedPhases";
+    final static String NAME_OF_STATIC_METHOD_IN_SINGLE_SHOT_MODE = "staticMethodInSingleShotMode";
+    final static int COLD_INVOCATIONS_IN_EACH_FORK_OF_METHOD_IN_SINGLE_SHOT_MODE = 3;
+    final static String NAME_OF_STATIC_METHOD_IN_SAMPLE_TIME_MODE = "staticMethodInSampleTimeMode";
+    final static int RESERVOIR_SIZE_OF_METHOD_IN_SAMPLE_TIME_MODE = 100;
+    final static String NAME_OF_STATIC_METHOD_RARELY_SAMPLED_FOR_A_TIME = "staticMethodRarelySampledForATime";
+    final static int MEASUREMENT_TIME_IN_MILLISECONDS_OF_METHOD_RARELY_SAMPLED_FOR_A_TIME = 200;
+    final static String NAME_OF_STATIC_METHOD_WITH_TARGET_PRECISION = "staticMethodWithTargetPrecision";
+    final static String NAME_OF_STATIC_METHOD_WITH_UNREACHABLE_TARGET_PRECISION = "staticMethodWithUnreachableTargetPrecision";
+    final static int MAXIMUM_ITERATIONS_OF_METHOD_WITH_UNREACHABLE_TARGET_PRECISION = 2_000;
+    final static String NAME_OF_STATIC_METHOD_WITH_HISTOGRAM = "staticMethodWithHistogram";
+    final static int ITERATIONS_OF_METHOD_WITH_HISTOGRAM = 100_000;
+    final static String NAME_OF_STATIC_METHOD_WARMED_UP_UNTIL_STEADY_STATE = "staticMethodWarmedUpUntilSteadyState";
+    final static int MAXIMUM_WARM_UP_TIME_IN_MILLISECONDS_OF_METHOD_WARMED_UP_UNTIL_STEADY_STATE = 2_000;
+    final static String NAME_OF_STATIC_METHOD_WITH_STREAMING_STATISTICS = "staticMethodWithStreamingStatistics";
+    final static String NAME_OF_STATIC_METHOD_WITH_STREAMING_STATISTICS_AND_HISTOGRAM = "staticMethodWithStreamingStatisticsAndHistogram";
+    final static int ITERATIONS_OF_METHODS_WITH_STREAMING_STATISTICS = 100_000;
+    final static String NAME_OF_STATIC_METHOD_WITH_STREAMING_STATISTICS_AND_HUGE_WARM_UP = "staticMethodWithStreamingStatisticsAndHugeWarmUp";
+    final static int WARM_UP_AND_TEAR_DOWN_ITERATIONS_OF_METHOD_WITH_STREAMING_STATISTICS_AND_HUGE_WARM_UP = 10_000_000;
+    final static String NAME_OF_STATIC_METHOD_WITH_RAW_SAMPLES_FILE = "staticMethodWithRawSamplesFile";
+    final static String RAW_SAMPLES_DIRECTORY = "target/raw-samples";
+    final static String NAME_OF_STATIC_METHOD_BASELINE_OF_COMPARISON = "staticMethodBaselineOfComparison";
+    final static String NAME_OF_STATIC_METHOD_FASTER_THAN_BASELINE = "staticMethodFasterThanBaseline";
+    final static String NAME_OF_STATIC_METHOD_WITH_TWO_CODE_PATHS = "staticMethodWithTwoCodePaths";
+    private static int invocationsOfMethodWithTwoCodePaths = 0;
+    final static String NAME_OF_STATIC_METHOD_ON_MULTIPLE_THREADS = "staticMethodOnMultipleThreads";
+    final static String NAME_OF_STATIC_METHOD_ON_MULTIPLE_THREADS_IN_THROUGHPUT_MODE = "staticMethodOnMultipleThreadsInThroughputMode";
+    final static int THREADS_OF_METHODS_ON_MULTIPLE_THREADS = 3;
+    final static String NAME_OF_STATIC_METHOD_WITH_SCALABILITY_SWEEP = "staticMethodWithScalabilitySweep";
+    final static int MAXIMUM_THREADS_OF_METHOD_WITH_SCALABILITY_SWEEP = 4;
+    private static final AtomicLong COUNTER_SHARED_BY_THREADS = new AtomicLong();
+    final static String NAME_OF_STATIC_METHOD_ON_VIRTUAL_THREADS = "staticMethodOnVirtualThreads";
+    final static int THREADS_OF_METHOD_ON_VIRTUAL_THREADS = 50;
+    final static int WARM_UP_TIME_IN_MILLISECONDS_OF_METHOD_WITH_TIME_BOUNDED_PHASES = 10;
+    private static volatile int volatileField = 1;
+    final static int MEASUREMENT_TIME_IN_MILLISECONDS_OF_METHOD_WITH_TIME_BOUNDED_PHASES = 30;
 
     @Benchmark
     private static void staticMethodWithoutParameters() {
@@ -13,6 +54,131 @@ class ClassWithDummyMethodsForTestingPurposes {
     public static void publicStaticMethodWithoutParameters() {
     }
 
+    @Benchmark(batchSize = Benchmark.AUTOMATIC_BATCH_SIZE, iterations = 10, warmUpIterations = 10, tearDownIterations = 0)
+    static void staticMethodWithAutomaticBatchSize() {
+    }
+
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, measurementWindows = 3, windowDurationInMilliseconds = 10, batchSize = 100)
+    static void staticMethodInThroughputMode() {
+    }
+
+    @Benchmark(warmUpTimeInMilliseconds = WARM_UP_TIME_IN_MILLISECONDS_OF_METHOD_WITH_TIME_BOUNDED_PHASES,
+            measurementTimeInMilliseconds = MEASUREMENT_TIME_IN_MILLISECONDS_OF_METHOD_WITH_TIME_BOUNDED_PHASES,
+            tearDownIterations = 0)
+    static void staticMethodWithTimeBoundedPhases() {
+    }
+
+    @Benchmark(mode = BenchmarkMode.SINGLE_SHOT, forks = 2,
+            coldInvocationsInEachFork = COLD_INVOCATIONS_IN_EACH_FORK_OF_METHOD_IN_SINGLE_SHOT_MODE)
+    static int staticMethodInSingleShotMode() {
+        return 42;
+    }
+
+    @Benchmark(mode = BenchmarkMode.SAMPLE_TIME, iterations = 100_000, samplingProbability = 0.05,
+            reservoirSize = RESERVOIR_SIZE_OF_METHOD_IN_SAMPLE_TIME_MODE)
+    static void staticMethodInSampleTimeMode() {
+    }
+
+    @Benchmark(mode = BenchmarkMode.SAMPLE_TIME, warmUpIterations = 0, tearDownIterations = 0, batchSize = 1,
+            measurementTimeInMilliseconds = MEASUREMENT_TIME_IN_MILLISECONDS_OF_METHOD_RARELY_SAMPLED_FOR_A_TIME,
+            samplingProbability = 1e-9)
+    static int staticMethodRarelySampledForATime() {
+        int sum = 0;
+        for (int i = 0; i < 100; i++) {
+            sum += volatileField;   // volatile reads cannot be optimized away
+        }
+        return sum;
+    }
+
+    @Benchmark(iterations = 100, targetRelativeHalfWidthOfConfidenceInterval = 0.5,
+            statisticOfTargetPrecision = CentralTendency.MEDIAN)
+    static void staticMethodWithTargetPrecision() {
+    }
+
+    @Benchmark(iterations = 100, targetRelativeHalfWidthOfConfidenceInterval = 1e-9,
+            maximumIterations = MAXIMUM_ITERATIONS_OF_METHOD_WITH_UNREACHABLE_TARGET_PRECISION)
+    static void staticMethodWithUnreachableTargetPrecision() {
+    }
+
+    @Benchmark(iterations = ITERATIONS_OF_METHOD_WITH_HISTOGRAM, histogramSignificantDigits = 3)
+    static void staticMethodWithHistogram() {
+    }
+
+    @Benchmark(iterations = ITERATIONS_OF_METHODS_WITH_STREAMING_STATISTICS, streamingStatistics = true)
+    static void staticMethodWithStreamingStatistics() {
+    }
+
+    @Benchmark(iterations = ITERATIONS_OF_METHODS_WITH_STREAMING_STATISTICS, streamingStatistics = true,
+            histogramSignificantDigits = 2)
+    static void staticMethodWithStreamingStatisticsAndHistogram() {
+    }
+
+    @Benchmark(warmUpIterations = WARM_UP_AND_TEAR_DOWN_ITERATIONS_OF_METHOD_WITH_STREAMING_STATISTICS_AND_HUGE_WARM_UP,
+            iterations = ITERATIONS_OF_METHODS_WITH_STREAMING_STATISTICS,
+            tearDownIterations = WARM_UP_AND_TEAR_DOWN_ITERATIONS_OF_METHOD_WITH_STREAMING_STATISTICS_AND_HUGE_WARM_UP,
+            batchSize = 1, streamingStatistics = true)
+    static void staticMethodWithStreamingStatisticsAndHugeWarmUp() {
+    }
+
+    @Benchmark(iterations = ITERATIONS_OF_METHODS_WITH_STREAMING_STATISTICS, rawSamplesDirectory = RAW_SAMPLES_DIRECTORY)
+    static void staticMethodWithRawSamplesFile() {
+    }
+
+    @Benchmark
+    static int staticMethodBaselineOfComparison() {
+        int sum = 0;
+        for (int i = 0; i < 100; i++) {
+            sum += volatileField;   // volatile reads cannot be optimized away
+        }
+        return sum;
+    }
+
+    @Benchmark(comparedWith = "benchmark.ClassWithDummyMethodsForTestingPurposes." + NAME_OF_STATIC_METHOD_BASELINE_OF_COMPARISON)
+    static int staticMethodFasterThanBaseline() {
+        return volatileField;
+    }
+
+    @Benchmark(batchSize = 1, minimumClockTicksPerIteration = 0)
+    static int staticMethodWithTwoCodePaths() {
+        int sum = 0;
+        if (invocationsOfMethodWithTwoCodePaths++ % 2 == 0) {   // slow path every other invocation
+            for (int i = 0; i < 2000; i++) {
+                sum += volatileField;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark(threads = THREADS_OF_METHODS_ON_MULTIPLE_THREADS, iterations = 10_000, batchSize = 10)
+    static long staticMethodOnMultipleThreads() {
+        return COUNTER_SHARED_BY_THREADS.incrementAndGet();
+    }
+
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, threads = THREADS_OF_METHODS_ON_MULTIPLE_THREADS,
+            measurementWindows = 3, windowDurationInMilliseconds = 10, batchSize = 100)
+    static long staticMethodOnMultipleThreadsInThroughputMode() {
+        return COUNTER_SHARED_BY_THREADS.incrementAndGet();
+    }
+
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, threads = Benchmark.SCALABILITY_SWEEP,
+            maximumThreadsOfScalabilitySweep = MAXIMUM_THREADS_OF_METHOD_WITH_SCALABILITY_SWEEP,
+            measurementWindows = 3, windowDurationInMilliseconds = 10, batchSize = 100)
+    static long staticMethodWithScalabilitySweep() {
+        return COUNTER_SHARED_BY_THREADS.incrementAndGet();
+    }
+
+    @Benchmark(mode = BenchmarkMode.THROUGHPUT, threads = THREADS_OF_METHOD_ON_VIRTUAL_THREADS, virtualThreads = true,
+            warmUpIterations = 10, tearDownIterations = 10, measurementWindows = 2, windowDurationInMilliseconds = 20)
+    static void staticMethodOnVirtualThreads() {
+        LockSupport.parkNanos(100_000);     // blocking
+    }
+
+    @Benchmark(warmUpIterations = Benchmark.UNTIL_STEADY_STATE,
+            warmUpTimeInMilliseconds = MAXIMUM_WARM_UP_TIME_IN_MILLISECONDS_OF_METHOD_WARMED_UP_UNTIL_STEADY_STATE,
+            iterations = 100, tearDownIterations = 0)
+    static void staticMethodWarmedUpUntilSteadyState() {
+    }
+
     @Benchmark
     private void notStaticMethod() {
     }
@@ -0,0 +1,24 @@
+package benchmark;
+
+@SuppressWarnings("unused") // dummy methods used for tests
+class ClassWithDummySingleThreadedMethodsForTestingPurposes {
+
+    final static String NAME_OF_STATIC_METHOD_BASELINE_OF_COMPARISON = "staticMethodBaselineOfComparison";
+    final static String NAME_OF_STATIC_METHOD_COMPARED_WITH_BASELINE = "staticMethodComparedWithBaseline";
+    private static volatile int volatileField = 1;
+
+    @Benchmark(warmUpIterations = 100, iterations = 100, tearDownIterations = 0)
+    static int staticMethodBaselineOfComparison() {
+        int sum = 0;
+        for (int i = 0; i < 100; i++) {
+            sum += volatileField;   // volatile reads cannot be optimized away
+        }
+        return sum;
+    }
+
+    @Benchmark(warmUpIterations = 100, iterations = 100, tearDownIterations = 0,
+            comparedWith = "benchmark.ClassWithDummySingleThreadedMethodsForTestingPurposes." + NAME_OF_STATIC_METHOD_BASELINE_OF_COMPARISON)
+    static int staticMethodComparedWithBaseline() {
+        return volatileField;
+    }
+}
@@ -0,0 +1,22 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClockCalibrationTest {
+
+    @Test
+    void latencyAndGranularityArePositive() {
+        ClockCalibration clockCalibration = ClockCalibration.calibrate();
+        assertTrue(clockCalibration.getLatencyInNanoseconds() > 0);
+        assertTrue(clockCalibration.getGranularityInNanoseconds() > 0);
+        assertTrue(clockCalibration.getResolutionInNanoseconds() >= clockCalibration.getGranularityInNanoseconds());
+    }
+
+    @Test
+    void lastCalibrationReused() {
+        ClockCalibration clockCalibration = ClockCalibration.calibrate();
+        assertSame(clockCalibration, ClockCalibration.getLastCalibration());
+    }
+}
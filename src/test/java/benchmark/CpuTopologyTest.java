@@ -0,0 +1,45 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpuTopologyTest {
+
+    @Test
+    void listOfCpusIsParsed() {
+        assertEquals(Arrays.asList(0, 1, 2, 3, 8, 10, 11), CpuTopology.parseListOfCpus(" 0-3,8,10-11\n"));
+        assertEquals(Collections.singletonList(0), CpuTopology.parseListOfCpus("0"));
+        assertEquals(Collections.emptyList(), CpuTopology.parseListOfCpus(""));
+        assertEquals("0,1,2,3,8,10,11", CpuTopology.formatListOfCpus(CpuTopology.parseListOfCpus("0-3,8,10-11")));
+    }
+
+    @Test
+    void invalidListOfCpusIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CpuTopology.parseListOfCpus("3-1"));
+        assertThrows(IllegalArgumentException.class, () -> CpuTopology.parseListOfCpus("1-2-3"));
+        assertThrows(IllegalArgumentException.class, () -> CpuTopology.parseListOfCpus("a"));
+    }
+
+    @Test
+    void hardwareThreadsOfTheSameCoreAreInTheSameSet() {
+        final List<List<Integer>> LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE = Arrays.asList(
+                Arrays.asList(0, 4), Arrays.asList(1, 5), Arrays.asList(2, 6), Arrays.asList(3, 7), Arrays.asList(8, 9));
+        assertEquals(Arrays.asList(Arrays.asList(0, 4), Arrays.asList(1, 2, 5, 6), Arrays.asList(3, 7, 8, 9)),
+                CpuTopology.splitIntoDisjointSets(LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE, 3));
+        assertEquals(1, CpuTopology.splitIntoDisjointSets(LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE, 1).size());
+        assertThrows(IllegalArgumentException.class,
+                () -> CpuTopology.splitIntoDisjointSets(LOGICAL_CPUS_OF_EACH_PHYSICAL_CORE, 6));
+    }
+
+    @Test
+    void physicalCoresHaveDisjointLogicalCpus() {
+        List<List<Integer>> logicalCpusOfEachPhysicalCore = CpuTopology.getLogicalCpusOfEachPhysicalCore();
+        assertEquals(logicalCpusOfEachPhysicalCore.stream().mapToLong(List::size).sum(),
+                logicalCpusOfEachPhysicalCore.stream().flatMap(List::stream).distinct().count());
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributionStatisticsTest {
+
+    private static final double TOLERANCE = 1e-9;
+    private static final double CONFIDENCE_LEVEL = 0.99;
+    private static final int RESAMPLES = 1000;
+
+    @Test
+    void statisticsOfEachExecutionComputedFromUnsortedBatches() {
+        final int BATCH_SIZE = 10;
+        long[] executionTimesOfBatches = {50, 10, 40, 20, 30, 1000};
+        DistributionStatistics statistics = new DistributionStatistics(
+                executionTimesOfBatches, BATCH_SIZE, CONFIDENCE_LEVEL, RESAMPLES, new SplittableRandom(0));
+        assertArrayEquals(new long[]{10, 20, 30, 40, 50, 1000}, executionTimesOfBatches);   // sorted in place
+        assertEquals(6, statistics.getNumberOfSamples());
+        assertEquals(1, statistics.getMinimumInNanoseconds(), TOLERANCE);
+        assertEquals(3.5, statistics.getMedianInNanoseconds(), TOLERANCE);
+        assertEquals(100, statistics.getPercentile90InNanoseconds(), TOLERANCE);
+        assertEquals(100, statistics.getMaximumInNanoseconds(), TOLERANCE);
+        assertEquals(19.166666667, statistics.getMeanInNanoseconds(), 1e-6);
+        assertEquals(1.5, statistics.getMedianAbsoluteDeviationInNanoseconds(), TOLERANCE);
+        assertEquals(statistics.getStandardDeviationInNanoseconds() / statistics.getMeanInNanoseconds(),
+                statistics.getCoefficientOfVariation(), TOLERANCE);
+    }
+
+    @Test
+    void confidenceIntervalsContainTheStatistics() {
+        long[] executionTimes = new SplittableRandom(0).longs(10_000, 100, 200).toArray();
+        DistributionStatistics statistics = new DistributionStatistics(
+                executionTimes, 1, CONFIDENCE_LEVEL, RESAMPLES, new SplittableRandom(0));
+        assertNotNull(statistics.getConfidenceIntervalOfMeanInNanoseconds());
+        assertTrue(statistics.getConfidenceIntervalOfMeanInNanoseconds().contains(statistics.getMeanInNanoseconds()));
+        assertTrue(statistics.getConfidenceIntervalOfMeanInNanoseconds().contains(149.5));
+        assertEquals(CONFIDENCE_LEVEL, statistics.getConfidenceIntervalOfMeanInNanoseconds().getConfidenceLevel());
+        assertTrue(statistics.getConfidenceIntervalOfMedianInNanoseconds().contains(statistics.getMedianInNanoseconds()));
+        assertTrue(statistics.getConfidenceIntervalOfPercentile90InNanoseconds().contains(statistics.getPercentile90InNanoseconds()));
+        assertTrue(statistics.getConfidenceIntervalOfPercentile99InNanoseconds().contains(statistics.getPercentile99InNanoseconds()));
+        assertTrue(statistics.getConfidenceIntervalOfMedianInNanoseconds().getHalfWidth() < 5);
+    }
+
+    @Test
+    void noSamplesNotAllowed() {
+        assertThrows(IllegalArgumentException.class, () -> new DistributionStatistics(new long[0], 1, CONFIDENCE_LEVEL, RESAMPLES, new SplittableRandom(0)));
+    }
+}
@@ -0,0 +1,56 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvokerTest {
+
+    private static Blackhole injectedBlackhole;
+
+    @SuppressWarnings("unused") // invoked through the Invoker
+    private static int methodWithBlackholeParameter(Blackhole blackhole) {
+        injectedBlackhole = blackhole;
+        return 42;
+    }
+
+    @SuppressWarnings("unused") // invoked through the Invoker
+    private static void methodWithStringParameter(String s) {
+    }
+
+    @SuppressWarnings("unused") // invoked through the Invoker
+    private void notStaticMethod() {
+    }
+
+    @Test
+    void blackholeInjectedAndReturnValueConsumed() throws Throwable {
+        Method method = InvokerTest.class.getDeclaredMethod("methodWithBlackholeParameter", Blackhole.class);
+        method.setAccessible(true);
+        Blackhole blackhole = new Blackhole();
+        Invoker invoker = Invoker.of(method);
+        Object returnedByHandle = invoker.getMethodHandle().invokeExact(blackhole);
+        assertEquals(InvocationEngine.METHOD_HANDLE, invoker.getInvocationEngine());
+        assertSame(blackhole, injectedBlackhole);
+        assertNull(returnedByHandle);
+    }
+
+    @Test
+    void reflectionUsedIfMethodHandleCannotBeObtained() throws NoSuchMethodException {
+        Method notAccessibleMethod = InvokerTest.class.getDeclaredMethod("methodWithBlackholeParameter", Blackhole.class);
+        assertEquals(InvocationEngine.REFLECTION, Invoker.of(notAccessibleMethod).getInvocationEngine());
+    }
+
+    @Test
+    void methodWithParametersNotBeingBlackholesRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Invoker.of(InvokerTest.class.getDeclaredMethod("methodWithStringParameter", String.class)));
+    }
+
+    @Test
+    void notStaticMethodRejected() {
+        assertThrows(NullPointerException.class,
+                () -> Invoker.of(InvokerTest.class.getDeclaredMethod("notStaticMethod")));
+    }
+}
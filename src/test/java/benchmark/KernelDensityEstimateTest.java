@@ -0,0 +1,101 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KernelDensityEstimateTest {
+
+    private static final int NUMBER_OF_SAMPLES = 10_000;
+
+    private static double[] toDoubles(long[] samples) {
+        return Arrays.stream(samples).asDoubleStream().toArray();
+    }
+
+    /**
+     * @param seed                   The seed of the random generator.
+     * @param fractionOfSecondMode   The fraction of the samples around the second mean.
+     * @return sorted samples normally distributed around 1000 (or 2000, for the given fraction),
+     * with standard deviation 50, rounded to integers.
+     */
+    private static long[] sortedSamplesOfMixture(long seed, double fractionOfSecondMode) {
+        Random random = new Random(seed);
+        long[] samples = LongStream.range(0, NUMBER_OF_SAMPLES)
+                .map(i -> Math.round((random.nextDouble() < fractionOfSecondMode ? 2000 : 1000) + 50 * random.nextGaussian()))
+                .toArray();
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    @Test
+    void normalDistributionIsUnimodal() {
+        KernelDensityEstimate estimate = KernelDensityEstimate.of(toDoubles(sortedSamplesOfMixture(1, 0)), 0);
+        assertFalse(estimate.isMultimodal(), estimate.toString());
+        assertEquals(1000, estimate.getModesInNanoseconds()[0], 20);
+    }
+
+    @Test
+    void mixtureOfDistantNormalDistributionsIsBimodal() {
+        KernelDensityEstimate estimate = KernelDensityEstimate.of(toDoubles(sortedSamplesOfMixture(2, 0.3)), 0);
+        assertTrue(estimate.isMultimodal(), estimate.toString());
+        assertEquals(2, estimate.getModesInNanoseconds().length);
+        assertEquals(1000, estimate.getModesInNanoseconds()[0], 20);
+        assertEquals(2000, estimate.getModesInNanoseconds()[1], 20);
+        assertEquals(0.3, estimate.getProbabilitiesOfModes()[1], 0.02);
+        assertTrue(estimate.toString().startsWith("MULTIMODAL"));
+    }
+
+    @Test
+    void smallClusterIsNotMode() {
+        assertFalse(KernelDensityEstimate.of(toDoubles(sortedSamplesOfMixture(3, 0.01)), 0).isMultimodal());
+    }
+
+    @Test
+    void durationsQuantizedByClockAreUnimodalGivenTheResolution() {
+        long[] samplesWithClockResolutionOf100Nanoseconds = Arrays.stream(sortedSamplesOfMixture(4, 0))
+                .map(sample -> sample / 100 * 100)
+                .toArray();
+        assertFalse(KernelDensityEstimate.of(toDoubles(samplesWithClockResolutionOf100Nanoseconds), 0).isMultimodal());
+        Random random = new Random(7);
+        double[] jitteredSamplesWithClockResolutionOf100Nanoseconds = Arrays.stream(samplesWithClockResolutionOf100Nanoseconds)
+                .mapToDouble(sample -> sample + random.nextInt(3) - 1)
+                .sorted()
+                .toArray();
+        assertTrue(KernelDensityEstimate.of(jitteredSamplesWithClockResolutionOf100Nanoseconds, 0).isMultimodal());
+        assertFalse(KernelDensityEstimate.of(jitteredSamplesWithClockResolutionOf100Nanoseconds, 100).isMultimodal());
+        double[] equalDurations = new double[KernelDensityEstimate.MINIMUM_NUMBER_OF_DURATIONS];
+        Arrays.fill(equalDurations, 42);
+        assertArrayEquals(new double[]{42}, KernelDensityEstimate.of(equalDurations, 0).getModesInNanoseconds());
+    }
+
+    @Test
+    void modesFromHistogramAsFromSamples() {
+        final long[] SAMPLES = sortedSamplesOfMixture(5, 0.5);
+        LatencyHistogram histogram = new LatencyHistogram(2);
+        Arrays.stream(SAMPLES).forEach(histogram::record);
+        KernelDensityEstimate fromHistogram = KernelDensityEstimate.of(histogram, 10, 0);
+        KernelDensityEstimate fromSamples = KernelDensityEstimate.of(Arrays.stream(SAMPLES).mapToDouble(sample -> sample / 10d).toArray(), 0);
+        assertEquals(2, fromHistogram.getModesInNanoseconds().length, fromHistogram.toString());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(fromSamples.getModesInNanoseconds()[i], fromHistogram.getModesInNanoseconds()[i], 5);
+        }
+    }
+
+    @Test
+    void asciiHistogramMarksModes() {
+        final String HISTOGRAM = KernelDensityEstimate.of(toDoubles(sortedSamplesOfMixture(6, 0.5)), 0).toAsciiHistogram();
+        assertEquals(2, HISTOGRAM.split("<- mode", -1).length - 1, HISTOGRAM);
+        assertTrue(HISTOGRAM.contains("#"));
+        assertTrue(HISTOGRAM.split(System.lineSeparator())[0].trim().startsWith("<"), HISTOGRAM);   // lower tail
+    }
+
+    @Test
+    void tooFewSamples() {
+        assertThrows(IllegalArgumentException.class,
+                () -> KernelDensityEstimate.of(new double[KernelDensityEstimate.MINIMUM_NUMBER_OF_DURATIONS - 1], 0));
+    }
+}
@@ -0,0 +1,100 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import utils.StatisticsUtility;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    private static final int NUMBER_OF_VALUES = 100_000;
+
+    private static long[] getRandomValuesSpanningManyMagnitudes(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return random.doubles(NUMBER_OF_VALUES).mapToLong(x -> (long) Math.exp(x * 20)).toArray();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4, 5})
+    void percentilesWithinTheGivenSignificantDigits(int significantDigits) {
+        long[] values = getRandomValuesSpanningManyMagnitudes(0);
+        LatencyHistogram histogram = new LatencyHistogram(significantDigits);
+        Arrays.stream(values).forEach(histogram::record);
+        long[] sortedValues = values.clone();
+        Arrays.sort(sortedValues);
+        for (double percentile : new double[]{0, 10, 50, 90, 99, 99.9, 100}) {
+            long exactValue = StatisticsUtility.percentile(sortedValues, percentile);
+            assertEquals(exactValue, histogram.getValueAtPercentile(percentile),
+                    Math.max(1, exactValue * Math.pow(10, -significantDigits)), "percentile " + percentile);
+        }
+        assertEquals(NUMBER_OF_VALUES, histogram.getTotalCount());
+        assertEquals(sortedValues[0], histogram.getMinimum());
+        assertEquals(sortedValues[NUMBER_OF_VALUES - 1], histogram.getMaximum());
+        assertEquals(StatisticsUtility.mean(values), histogram.getMean(), 1e-9 * histogram.getMean());
+        assertEquals(StatisticsUtility.sampleStandardDeviation(values), histogram.getStandardDeviation(),
+                1e-6 * histogram.getStandardDeviation());
+    }
+
+    @Test
+    void medianAbsoluteDeviationWithinThePrecisionOfTheBuckets() {
+        final int SIGNIFICANT_DIGITS = 3;
+        long[] values = getRandomValuesSpanningManyMagnitudes(1);
+        LatencyHistogram histogram = new LatencyHistogram(SIGNIFICANT_DIGITS);
+        Arrays.stream(values).forEach(histogram::record);
+        Arrays.sort(values);
+        final double EXACT_MEDIAN_ABSOLUTE_DEVIATION = StatisticsUtility.medianAbsoluteDeviation(values);
+        assertEquals(EXACT_MEDIAN_ABSOLUTE_DEVIATION, histogram.getMedianAbsoluteDeviation(),
+                StatisticsUtility.median(values) * Math.pow(10, -SIGNIFICANT_DIGITS) * 2);
+    }
+
+    @Test
+    void mergedHistogramEqualsHistogramOfAllTheValues() {
+        LatencyHistogram histogramOfAllTheValues = new LatencyHistogram(3);
+        LatencyHistogram mergedHistogram = new LatencyHistogram(3);
+        for (int seed = 0; seed < 3; seed++) {
+            LatencyHistogram histogramOfPart = new LatencyHistogram(3);
+            for (long value : getRandomValuesSpanningManyMagnitudes(seed)) {
+                histogramOfPart.record(value);
+                histogramOfAllTheValues.record(value);
+            }
+            mergedHistogram.add(histogramOfPart);
+        }
+        assertEquals(histogramOfAllTheValues.getTotalCount(), mergedHistogram.getTotalCount());
+        assertEquals(histogramOfAllTheValues.getMinimum(), mergedHistogram.getMinimum());
+        assertEquals(histogramOfAllTheValues.getMaximum(), mergedHistogram.getMaximum());
+        assertEquals(histogramOfAllTheValues.getMean(), mergedHistogram.getMean());
+        for (double percentile = 0; percentile <= 100; percentile += 0.5) {
+            assertEquals(histogramOfAllTheValues.getValueAtPercentile(percentile), mergedHistogram.getValueAtPercentile(percentile));
+        }
+        assertThrows(IllegalArgumentException.class, () -> mergedHistogram.add(new LatencyHistogram(2)));
+    }
+
+    @Test
+    void decodedHistogramEqualsTheEncodedOne() {
+        LatencyHistogram histogram = new LatencyHistogram(3);
+        Arrays.stream(getRandomValuesSpanningManyMagnitudes(0)).forEach(histogram::record);
+        byte[] encodedHistogram = histogram.encode();
+        LatencyHistogram decodedHistogram = LatencyHistogram.decode(encodedHistogram);
+        assertArrayEquals(encodedHistogram, decodedHistogram.encode());
+        assertEquals(histogram.getValueAtPercentile(99.9), decodedHistogram.getValueAtPercentile(99.9));
+        assertEquals(histogram.getMean(), decodedHistogram.getMean());
+        assertTrue(encodedHistogram.length < NUMBER_OF_VALUES);   // compact
+        assertThrows(IllegalArgumentException.class, () -> LatencyHistogram.decode(Arrays.copyOf(encodedHistogram, 10)));
+    }
+
+    @Test
+    void valuesOutOfRangeRecordedAtTheBounds() {
+        final long HIGHEST_TRACKABLE_VALUE = 1000;
+        LatencyHistogram histogram = new LatencyHistogram(HIGHEST_TRACKABLE_VALUE, 2);
+        histogram.record(-5);
+        histogram.record(HIGHEST_TRACKABLE_VALUE * 10);
+        assertEquals(0, histogram.getMinimum());
+        assertEquals(HIGHEST_TRACKABLE_VALUE, histogram.getMaximum());
+        assertEquals(HIGHEST_TRACKABLE_VALUE, histogram.getValueAtPercentile(100));
+    }
+}
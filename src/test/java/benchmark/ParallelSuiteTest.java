@@ -0,0 +1,55 @@
+package benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSuiteTest {
+
+    private static final PrintStream realStdOut = System.out;
+    private static final int REQUESTED_WORKERS = 2;
+    private static ParallelSuite parallelSuite;
+
+    @BeforeAll
+    static void runSuite() throws InterruptedException {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        parallelSuite = ParallelSuite.run(Arrays.asList(
+                ClassWithDummySingleThreadedMethodsForTestingPurposes.class.getName(),
+                ClassWithDummyGroupsForTestingPurposes.class.getName()), REQUESTED_WORKERS);
+    }
+
+    @AfterAll
+    static void restoreStdOut() {
+        System.setOut(realStdOut);
+    }
+
+    @Test
+    void workersAreLimitedToPhysicalCoresAndClassesRunInParallel() {
+        assertEquals(1, parallelSuite.getNumberOfWorkers());    // only one class without multi-threaded benchmarks
+        assertEquals(Collections.singletonList(ClassWithDummyGroupsForTestingPurposes.class.getName()),
+                parallelSuite.getClassesRunAlone());
+    }
+
+    @Test
+    void resultsOfAllWorkersAreMergedIntoOneReport() {
+        assertTrue(parallelSuite.getErrorOfEachFailedClass().isEmpty(), parallelSuite.getErrorOfEachFailedClass().toString());
+        List<String> benchmarkedMethods = parallelSuite.getBenchmarkedMethods();
+        assertEquals(4, benchmarkedMethods.size(), benchmarkedMethods.toString());
+        assertTrue(benchmarkedMethods.stream().anyMatch(method -> method.contains(
+                ClassWithDummySingleThreadedMethodsForTestingPurposes.NAME_OF_STATIC_METHOD_COMPARED_WITH_BASELINE)));
+        assertTrue(benchmarkedMethods.stream().anyMatch(method -> method.contains(
+                ClassWithDummyGroupsForTestingPurposes.NAME_OF_CONSUMER)));
+        final String REPORT = parallelSuite.toString();
+        assertTrue(REPORT.contains("COMPARISONS"), REPORT);
+        assertTrue(REPORT.contains("Statistics of each thread:"), REPORT);
+        assertEquals(2, parallelSuite.getBaseline().getSummaries().size());   // the group runs in throughput mode
+    }
+}
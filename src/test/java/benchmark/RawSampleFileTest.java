@@ -0,0 +1,72 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.StatisticsUtility;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawSampleFileTest {
+
+    private static final int NUMBER_OF_SAMPLES = 2 * RawSampleFile.SAMPLES_PER_SEGMENT + 12345;  // more segments
+    private static final int BATCH_SIZE = 10;
+    private static final double CONFIDENCE_LEVEL = 0.99;
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private long[] writeRandomSamples(Path file) throws IOException {
+        long[] samples = new SplittableRandom(0).longs(NUMBER_OF_SAMPLES, 100, 10_000).toArray();
+        try (RawSampleWriter writer = RawSampleWriter.create(file, BATCH_SIZE)) {
+            Arrays.stream(samples).forEach(writer::append);
+            assertEquals(NUMBER_OF_SAMPLES, writer.getNumberOfSamples());
+        }
+        return samples;
+    }
+
+    @Test
+    void samplesReadInTheOrderInWhichTheyWereWritten() throws IOException {
+        final Path FILE = temporaryDirectory.resolve("samples" + RawSampleFile.FILE_EXTENSION);
+        long[] samples = writeRandomSamples(FILE);
+        RawSampleFile rawSampleFile = RawSampleFile.open(FILE);
+        assertEquals(NUMBER_OF_SAMPLES, rawSampleFile.getNumberOfSamples());
+        assertEquals(BATCH_SIZE, rawSampleFile.getBatchSize());
+        assertTrue(RawSampleFile.HEADER_SIZE_IN_BYTES + (long) NUMBER_OF_SAMPLES * Long.BYTES <= Files.size(FILE));
+        long[] readSamples = new long[NUMBER_OF_SAMPLES];
+        int[] numberOfReadSamples = {0};
+        rawSampleFile.forEach(0, NUMBER_OF_SAMPLES, sample -> readSamples[numberOfReadSamples[0]++] = sample);
+        assertArrayEquals(samples, readSamples);
+    }
+
+    @Test
+    void statisticsComputedAfterTheGivenFirstSample() throws IOException {
+        final Path FILE = temporaryDirectory.resolve("samples" + RawSampleFile.FILE_EXTENSION);
+        final int FIRST_SAMPLE = RawSampleFile.SAMPLES_PER_SEGMENT + 1;
+        long[] samples = writeRandomSamples(FILE);
+        long[] samplesAfterCut = Arrays.copyOfRange(samples, FIRST_SAMPLE, NUMBER_OF_SAMPLES);
+        RawSampleFile rawSampleFile = RawSampleFile.open(FILE);
+        StreamingStatistics streamingStatistics = rawSampleFile.computeStreamingStatistics(FIRST_SAMPLE);
+        assertEquals(samplesAfterCut.length, streamingStatistics.getCount());
+        assertEquals(StatisticsUtility.mean(samplesAfterCut), streamingStatistics.getMean(), 1e-9 * streamingStatistics.getMean());
+        DistributionStatistics distribution = rawSampleFile.computeDistributionStatistics(FIRST_SAMPLE, 3, CONFIDENCE_LEVEL);
+        Arrays.sort(samplesAfterCut);
+        assertEquals(samplesAfterCut[0] / (double) BATCH_SIZE, distribution.getMinimumInNanoseconds());
+        assertEquals(StatisticsUtility.percentile(samplesAfterCut, 90) / (double) BATCH_SIZE,
+                distribution.getPercentile90InNanoseconds(), distribution.getPercentile90InNanoseconds() * 1e-3);
+        assertEquals(rawSampleFile.computeHistogram(FIRST_SAMPLE, 3).getValueAtPercentile(99) / (double) BATCH_SIZE,
+                distribution.getPercentile99InNanoseconds());
+    }
+
+    @Test
+    void filesOfOtherKindsRejected() throws IOException {
+        final Path FILE = temporaryDirectory.resolve("other");
+        Files.write(FILE, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> RawSampleFile.open(FILE));
+    }
+}
@@ -0,0 +1,36 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleReservoirTest {
+
+    private static final int CAPACITY = 1000;
+
+    @Test
+    void allSamplesKeptUntilCapacityIsReached() {
+        SampleReservoir reservoir = new SampleReservoir(CAPACITY, new SplittableRandom(0));
+        for (int i = 0; i < CAPACITY / 2; i++) {
+            reservoir.offer(i);
+        }
+        assertEquals(CAPACITY / 2, reservoir.getSize());
+        assertArrayEquals(new long[]{0, 1, 2}, Arrays.copyOf(reservoir.toArray(), 3));
+    }
+
+    @Test
+    void uniformSubsetKeptAfterCapacityIsReached() {
+        final int NUMBER_OF_OFFERED_SAMPLES = 100 * CAPACITY;
+        SampleReservoir reservoir = new SampleReservoir(CAPACITY, new SplittableRandom(0));
+        for (int i = 0; i < NUMBER_OF_OFFERED_SAMPLES; i++) {
+            reservoir.offer(i);
+        }
+        assertEquals(NUMBER_OF_OFFERED_SAMPLES, reservoir.getNumberOfOfferedSamples());
+        assertEquals(CAPACITY, reservoir.getSize());
+        double meanOfKeptSamples = Arrays.stream(reservoir.toArray()).average().orElse(0);
+        assertEquals(NUMBER_OF_OFFERED_SAMPLES / 2.0, meanOfKeptSamples, NUMBER_OF_OFFERED_SAMPLES * 0.05);
+    }
+}
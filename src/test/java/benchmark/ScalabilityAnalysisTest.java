@@ -0,0 +1,70 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalabilityAnalysisTest {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final double THROUGHPUT_OF_ONE_THREAD = 1e6;
+
+    /**
+     * @param sigma The contention coefficient.
+     * @param kappa The coherency coefficient.
+     * @return the throughputs given by the Universal Scalability Law at {@link #THREAD_COUNTS}.
+     */
+    private static double[] throughputsOfUsl(double sigma, double kappa) {
+        return Arrays.stream(THREAD_COUNTS)
+                .mapToDouble(n -> THROUGHPUT_OF_ONE_THREAD * n / (1 + sigma * (n - 1) + kappa * n * (n - 1)))
+                .toArray();
+    }
+
+    @Test
+    void coefficientsOfUslAreRecovered() {
+        ScalabilityAnalysis analysis = new ScalabilityAnalysis(THREAD_COUNTS, throughputsOfUsl(0.05, 0.001));
+        assertEquals(0.05, analysis.getContentionCoefficient(), 1e-9);
+        assertEquals(0.001, analysis.getCoherencyCoefficient(), 1e-9);
+        assertEquals(Math.sqrt(0.95 / 0.001), analysis.getPredictedPeakConcurrency(), 1e-6);
+        assertEquals(1, analysis.getCoefficientOfDeterminationOfUsl(), 1e-9);
+        assertTrue(analysis.getCoefficientOfDeterminationOfAmdahl() < analysis.getCoefficientOfDeterminationOfUsl());
+        assertTrue(analysis.toString().contains("peak at ~31 threads"), analysis.toString());
+    }
+
+    @Test
+    void amdahlLawHasNoPeak() {
+        ScalabilityAnalysis analysis = new ScalabilityAnalysis(THREAD_COUNTS, throughputsOfUsl(0.1, 0));
+        assertEquals(0.1, analysis.getSerialFraction(), 1e-9);
+        assertEquals(0, analysis.getCoherencyCoefficient(), 1e-9);
+        assertNull(analysis.getPredictedPeakConcurrency());
+        assertEquals(10 * THROUGHPUT_OF_ONE_THREAD, analysis.predictThroughputInOperationsPerSecond(1e9), THROUGHPUT_OF_ONE_THREAD * 1e-6);
+    }
+
+    @Test
+    void modelsAreNotFittedWithTooFewThreadCounts() {
+        ScalabilityAnalysis analysis = new ScalabilityAnalysis(new int[]{1}, new double[]{THROUGHPUT_OF_ONE_THREAD});
+        assertNull(analysis.getSerialFraction());
+        assertNull(analysis.getContentionCoefficient());
+        assertNull(analysis.predictThroughputInOperationsPerSecond(2));
+        assertNotNull(new ScalabilityAnalysis(new int[]{1, 2}, new double[]{1, 2}).getSerialFraction());
+        assertNull(new ScalabilityAnalysis(new int[]{1, 2}, new double[]{1, 2}).getContentionCoefficient());
+        assertThrows(IllegalArgumentException.class, () -> new ScalabilityAnalysis(new int[]{2, 4}, new double[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> new ScalabilityAnalysis(new int[]{1, 1}, new double[]{1, 2}));
+    }
+
+    @Test
+    void threadCountsOfSweepAreDoubledUpToMaximum() {
+        assertArrayEquals(new int[]{1}, ScalabilityAnalysis.getThreadCountsOfSweep(1));
+        assertArrayEquals(new int[]{1, 2, 4, 8}, ScalabilityAnalysis.getThreadCountsOfSweep(8));
+        assertArrayEquals(new int[]{1, 2, 4, 6}, ScalabilityAnalysis.getThreadCountsOfSweep(6));
+    }
+
+    @Test
+    void asciiPlotHasLineForEachThreadCount() {
+        final String PLOT = new ScalabilityAnalysis(THREAD_COUNTS, throughputsOfUsl(0.05, 0.001)).toAsciiPlot();
+        assertEquals(THREAD_COUNTS.length, PLOT.split(System.lineSeparator()).length, PLOT);
+        assertTrue(PLOT.contains("(fit: "));
+    }
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import org.junit.jupiter.api.Test;
+import utils.StatisticsUtility;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingStatisticsTest {
+
+    private static final int NUMBER_OF_VALUES = 100_000;
+
+    @Test
+    void statisticsEqualToTheOnesComputedFromAllTheValues() {
+        long[] values = new SplittableRandom(0).longs(NUMBER_OF_VALUES, 1_000, 2_000).toArray();
+        StreamingStatistics statistics = new StreamingStatistics();
+        Arrays.stream(values).forEach(statistics::record);
+        assertEquals(NUMBER_OF_VALUES, statistics.getCount());
+        assertEquals(Arrays.stream(values).min().orElse(-1), statistics.getMinimum());
+        assertEquals(Arrays.stream(values).max().orElse(-1), statistics.getMaximum());
+        assertEquals(StatisticsUtility.mean(values), statistics.getMean(), 1e-9 * statistics.getMean());
+        assertEquals(StatisticsUtility.sampleStandardDeviation(values), statistics.getStandardDeviation(),
+                1e-9 * statistics.getStandardDeviation());
+    }
+
+    @Test
+    void varianceAccurateWhenSmallWithRespectToTheMean() {
+        final long OFFSET = 1_000_000_000_000L;
+        StreamingStatistics statistics = new StreamingStatistics();
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            statistics.record(OFFSET + i % 2);  // variance close to 1/4
+        }
+        assertEquals(OFFSET + 0.5, statistics.getMean(), 1e-3);
+        assertEquals(0.25 * NUMBER_OF_VALUES / (NUMBER_OF_VALUES - 1), statistics.getVariance(), 1e-6);
+    }
+
+    @Test
+    void mergedStatisticsEqualToTheOnesOfAllTheValues() {
+        SplittableRandom random = new SplittableRandom(0);
+        StreamingStatistics first = new StreamingStatistics();
+        StreamingStatistics second = new StreamingStatistics();
+        StreamingStatistics all = new StreamingStatistics();
+        random.longs(NUMBER_OF_VALUES, 0, 1_000).forEach(value -> {
+            first.record(value);
+            all.record(value);
+        });
+        random.longs(NUMBER_OF_VALUES / 10, 5_000, 10_000).forEach(value -> {
+            second.record(value);
+            all.record(value);
+        });
+        first.add(second);
+        first.add(new StreamingStatistics());
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getMinimum(), first.getMinimum());
+        assertEquals(all.getMaximum(), first.getMaximum());
+        assertEquals(all.getMean(), first.getMean(), 1e-9 * all.getMean());
+        assertEquals(all.getVariance(), first.getVariance(), 1e-9 * all.getVariance());
+    }
+
+    @Test
+    void statisticsOfTooFewValuesNotDefined() {
+        StreamingStatistics statistics = new StreamingStatistics();
+        assertTrue(Double.isNaN(statistics.getMean()));
+        statistics.record(42);
+        assertEquals(42, statistics.getMean());
+        assertTrue(Double.isNaN(statistics.getVariance()));
+        statistics.reset();
+        assertEquals(0, statistics.getCount());
+        assertEquals(0, statistics.getMaximum());
+    }
+}
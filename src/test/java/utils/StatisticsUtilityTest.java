@@ -0,0 +1,171 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatisticsUtilityTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.975, 10, 2.228138852",
+            "0.995, 1, 63.656741163",
+            "0.95, 30, 1.697260887",
+            "0.5, 5, 0",
+            "0.025, 10, -2.228138852"
+    })
+    void studentTQuantile(double probability, double degreesOfFreedom, double expectedQuantile) {
+        assertEquals(expectedQuantile, StatisticsUtility.studentTQuantile(probability, degreesOfFreedom),
+                TOLERANCE * Math.max(1, Math.abs(expectedQuantile)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "2.228138852, 10, 0.975",
+            "0, 3, 0.5",
+            "-1.697260887, 30, 0.05"
+    })
+    void studentTCumulativeDistribution(double t, double degreesOfFreedom, double expectedProbability) {
+        assertEquals(expectedProbability, StatisticsUtility.studentTCumulativeDistribution(t, degreesOfFreedom), TOLERANCE);
+    }
+
+    @Test
+    void meanAndSampleStandardDeviation() {
+        double[] values = {2, 4, 4, 4, 5, 5, 7, 9};
+        assertEquals(5, StatisticsUtility.mean(values), TOLERANCE);
+        assertEquals(Math.sqrt(32.0 / 7), StatisticsUtility.sampleStandardDeviation(values), TOLERANCE);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 15",
+            "5, 15",
+            "30, 20",
+            "40, 20",
+            "50, 35",
+            "100, 50"
+    })
+    void percentile(double percentile, long expectedValue) {
+        assertEquals(expectedValue, StatisticsUtility.percentile(new long[]{15, 20, 35, 40, 50}, percentile));
+    }
+
+    @Test
+    void halfWidthOfConfidenceIntervalForTheMedian() {
+        long[] sortedValues = new long[101];
+        for (int i = 0; i < sortedValues.length; i++) {
+            sortedValues[i] = i;
+        }
+        // ranks floor(50.5 - 1.984*sqrt(101)/2) = 40 and ceil(1 + 50.5 + 1.984*sqrt(101)/2) = 62, i.e., values 39 and 61
+        assertEquals((61 - 39) / 2d, StatisticsUtility.halfWidthOfConfidenceIntervalForTheMedian(sortedValues, 0.95), TOLERANCE);
+    }
+
+    @Test
+    void meanAndSampleStandardDeviationOfPrimitiveLongs() {
+        long[] values = {2, 4, 4, 4, 5, 5, 7, 9};
+        assertEquals(5, StatisticsUtility.mean(values), TOLERANCE);
+        assertEquals(Math.sqrt(32.0 / 7), StatisticsUtility.sampleStandardDeviation(values), TOLERANCE);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'1 2 3 4 100', 3, 1",
+            "'1 2 3 4 5 6', 3.5, 1.5",
+            "'7', 7, 0",
+            "'1 1 2 2 4 6 9', 2, 1",
+            "'-5 0 0 0 1 1 10 10', 0.5, 0.5"
+    })
+    void medianAndMedianAbsoluteDeviation(String sortedValuesSeparatedBySpaces, double expectedMedian,
+                                          double expectedMedianAbsoluteDeviation) {
+        long[] sortedValues = Arrays.stream(sortedValuesSeparatedBySpaces.split(" "))
+                .mapToLong(Long::parseLong)
+                .toArray();
+        assertEquals(expectedMedian, StatisticsUtility.median(sortedValues), TOLERANCE);
+        assertEquals(expectedMedianAbsoluteDeviation, StatisticsUtility.medianAbsoluteDeviation(sortedValues), TOLERANCE);
+    }
+
+    @Test
+    void medianAbsoluteDeviationEqualsTheOneComputedBySorting() {
+        SplittableRandom random = new SplittableRandom(0);
+        for (int n = 1; n < 50; n++) {
+            long[] sortedValues = random.longs(n, 0, 20).sorted().toArray();
+            final double MEDIAN = StatisticsUtility.median(sortedValues);
+            double[] sortedDeviations = Arrays.stream(sortedValues).mapToDouble(value -> Math.abs(value - MEDIAN)).sorted().toArray();
+            double expectedMedianAbsoluteDeviation = (sortedDeviations[(n - 1) / 2] + sortedDeviations[n / 2]) / 2;
+            assertEquals(expectedMedianAbsoluteDeviation, StatisticsUtility.medianAbsoluteDeviation(sortedValues), TOLERANCE);
+        }
+    }
+
+    @Test
+    void bootstrapConfidenceIntervalsOfPercentilesContainTheTrueValues() {
+        final int NUMBER_OF_VALUES = 10_000;
+        final double[] PERCENTILES = {50, 90, 99};
+        SplittableRandom random = new SplittableRandom(0);
+        long[] sortedValues = random.longs(NUMBER_OF_VALUES, 0, 1_000_000).sorted().toArray();    // uniform
+        double[][] confidenceIntervals = StatisticsUtility.bootstrapConfidenceIntervalsOfPercentiles(
+                sortedValues, PERCENTILES, 0.999, 1000, random);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            double trueValue = PERCENTILES[i] / 100 * 1_000_000;
+            double lowerBound = confidenceIntervals[i][0];
+            double upperBound = confidenceIntervals[i][1];
+            assertTrue(lowerBound <= trueValue && trueValue <= upperBound, lowerBound + " " + trueValue + " " + upperBound);
+            assertTrue(lowerBound <= StatisticsUtility.percentile(sortedValues, PERCENTILES[i]));
+            assertTrue(upperBound >= StatisticsUtility.percentile(sortedValues, PERCENTILES[i]));
+            assertTrue(upperBound - lowerBound < 0.05 * 1_000_000);
+        }
+    }
+
+    @Test
+    void halfWidthOfConfidenceIntervalForTheMeanFromStandardDeviation() {
+        double[] values = {2, 4, 4, 4, 5, 5, 7, 9};
+        assertEquals(StatisticsUtility.halfWidthOfConfidenceIntervalForTheMean(values, 0.95),
+                StatisticsUtility.halfWidthOfConfidenceIntervalForTheMean(
+                        StatisticsUtility.sampleStandardDeviation(values), values.length, 0.95), TOLERANCE);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0.5",
+            "1.959963985, 0.975",
+            "-1.959963985, 0.025",
+            "-5, 2.866516e-7"
+    })
+    void standardNormalCumulativeDistribution(double z, double expectedProbability) {
+        assertEquals(expectedProbability, StatisticsUtility.standardNormalCumulativeDistribution(z), 2e-7 * expectedProbability);
+    }
+
+    @Test
+    void welchTTestOfSamplesWithDifferentVariances() {
+        double[] values1 = {27.5, 21.0, 19.0, 23.6, 17.0, 17.9, 16.9, 20.1, 21.9, 22.6, 23.1, 19.6, 19.0, 21.7, 21.4};
+        double[] values2 = {27.1, 22.0, 20.8, 23.4, 23.4, 23.5, 25.8, 22.0, 24.8, 20.2, 21.9, 22.1, 22.9, 20.5, 24.4};
+        double standardDeviation1 = StatisticsUtility.sampleStandardDeviation(values1);
+        double standardDeviation2 = StatisticsUtility.sampleStandardDeviation(values2);
+        assertEquals(24.99, StatisticsUtility.welchDegreesOfFreedom(
+                standardDeviation1, values1.length, standardDeviation2, values2.length), 0.01);
+        assertEquals(0.021, StatisticsUtility.welchTTestPValue(
+                StatisticsUtility.mean(values1), standardDeviation1, values1.length,
+                StatisticsUtility.mean(values2), standardDeviation2, values2.length), 1e-3);
+        assertEquals(1, StatisticsUtility.welchTTestPValue(
+                StatisticsUtility.mean(values1), standardDeviation1, values1.length,
+                StatisticsUtility.mean(values1), standardDeviation1, values1.length), TOLERANCE);
+    }
+
+    @Test
+    void mannWhitneyUTestOfSamplesWithTies() {
+        double[] sortedValues1 = {1, 2, 2, 3, 5, 8, 9, 9, 10, 12, 13, 15, 20, 21, 22, 30, 31, 33, 40, 41};
+        double[] sortedValues2 = {4, 5, 6, 9, 11, 14, 16, 18, 19, 23, 25, 26, 28, 29, 35, 36, 38, 42, 45, 50};
+        assertEquals(0.0786198, StatisticsUtility.mannWhitneyUTestPValue(sortedValues1, sortedValues2), 1e-6);
+        assertEquals(StatisticsUtility.mannWhitneyUTestPValue(sortedValues1, sortedValues2),
+                StatisticsUtility.mannWhitneyUTestPValue(sortedValues2, sortedValues1), TOLERANCE);
+        double[] shiftedValues = Arrays.stream(sortedValues1).map(value -> value + 100).toArray();
+        assertTrue(StatisticsUtility.mannWhitneyUTestPValue(sortedValues1, shiftedValues) < 1e-6);
+        assertEquals(1, StatisticsUtility.mannWhitneyUTestPValue(new double[]{7, 7}, new double[]{7, 7, 7}), TOLERANCE);
+    }
+}